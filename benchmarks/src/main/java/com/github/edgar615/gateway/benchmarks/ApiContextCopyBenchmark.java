@@ -0,0 +1,86 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiContext.copy()的基准测试，分别增加请求头和请求体的大小.
+ * mode=copyOnWrite时使用写时复制的ApiContext，每次copy之后都会读取请求头、请求体并写入一个变量，模拟filter的行为.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiContextCopyBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int headerCount;
+
+    @Param({"1", "10", "100"})
+    private int bodyFieldCount;
+
+    @Param({"default", "copyOnWrite"})
+    private String mode;
+
+    private ApiContext apiContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put("x-header-" + i, "value-" + i);
+        }
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("start", "0");
+        params.put("limit", "20");
+        JsonObject body = new JsonObject();
+        for (int i = 0; i < bodyFieldCount; i++) {
+            body.put("field" + i, "value-" + i);
+        }
+        if ("copyOnWrite".equals(mode)) {
+            apiContext = ApiContext.copyOnWrite(HttpMethod.POST, "/devices", headers, params, body);
+        } else {
+            apiContext = ApiContext.create(HttpMethod.POST, "/devices", headers, params, body);
+        }
+        apiContext.addVariable("request_clientIp", "127.0.0.1");
+        apiContext.addVariable("client_appKey", "benchmark");
+        apiContext.setPrincipal(new JsonObject().put("userId", 1));
+    }
+
+    @Benchmark
+    public ApiContext copy() {
+        return apiContext.copy();
+    }
+
+    @Benchmark
+    public ApiContext copyAndRead(Blackhole blackhole) {
+        ApiContext copy = apiContext.copy();
+        blackhole.consume(copy.headers());
+        blackhole.consume(copy.body());
+        copy.addVariable("filterStarted", 0L);
+        return copy;
+    }
+}
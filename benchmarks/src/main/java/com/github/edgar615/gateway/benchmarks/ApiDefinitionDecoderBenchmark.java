@@ -0,0 +1,81 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiDefinitionDecoder的基准测试(通过ApiDefinition.fromJson调用).
+ * 分别测试只有基本属性的API和带有ant忽略规则、多个插件的API.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiDefinitionDecoderBenchmark {
+
+    private JsonObject simple;
+
+    private JsonObject complex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonObject endpoint = new JsonObject()
+                .put("type", "simple-http")
+                .put("name", "get_device")
+                .put("method", "GET")
+                .put("path", "/devices/$var.id")
+                .put("host", "localhost")
+                .put("port", 8080);
+        simple = new JsonObject()
+                .put("name", "device.get.1.0.0")
+                .put("method", "GET")
+                .put("path", "/devices/123")
+                .put("endpoints", new JsonArray().add(endpoint));
+
+        complex = new JsonObject()
+                .put("name", "device.list.1.0.0")
+                .put("method", "GET")
+                .put("path", "/devices/**")
+                .put("type", "ant")
+                .put("ignoredPatterns", new JsonArray().add("/devices/internal/**"))
+                .put("endpoints", new JsonArray().add(endpoint).add(endpoint.copy()
+                        .put("name", "get_device_extra")))
+                .put("order", 10)
+                .put("scope", "device:read")
+                .put("predicate", new JsonObject()
+                        .put("before", "2099-01-01T00:00:00+08:00")
+                        .put("header", new JsonObject()
+                                .put("contains", new JsonArray().add("x-request-id"))
+                                .put("equals", new JsonObject().put("x-client", "web")))
+                        .put("query", new JsonObject()
+                                .put("regex", new JsonObject().put("limit", "\\d+"))));
+    }
+
+    @Benchmark
+    public ApiDefinition simple() {
+        return ApiDefinition.fromJson(simple);
+    }
+
+    @Benchmark
+    public ApiDefinition complex() {
+        return ApiDefinition.fromJson(complex);
+    }
+}
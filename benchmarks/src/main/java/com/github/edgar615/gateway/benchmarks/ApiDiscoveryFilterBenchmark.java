@@ -0,0 +1,106 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.apidiscovery.ApiDiscovery;
+import com.github.edgar615.gateway.core.apidiscovery.ApiDiscoveryOptions;
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiDiscovery.filter的基准测试.
+ * <p>
+ * API按照 相等、正则、ant 三种类型轮流创建，请求方法在GET、POST、PUT、DELETE之间轮换.
+ * 分别测试命中相等、正则、ant类型的API以及未命中任何API的情况.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiDiscoveryFilterBenchmark {
+
+    private static final HttpMethod[] METHODS =
+            {HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE};
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private Vertx vertx;
+
+    private ApiDiscovery discovery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        discovery = ApiDiscovery.create(vertx, new ApiDiscoveryOptions());
+        SimpleHttpEndpoint endpoint = SimpleHttpEndpoint
+                .http("resource", HttpMethod.GET, "/resource", 80, "localhost");
+        for (int i = 0; i < size; i++) {
+            HttpMethod method = METHODS[i % METHODS.length];
+            ApiDefinition definition;
+            if (i % 3 == 0) {
+                definition = ApiDefinition.create("exact." + i, method,
+                        "/v1/resource" + i + "/items", Lists.newArrayList(endpoint));
+            } else if (i % 3 == 1) {
+                definition = ApiDefinition.regexStyle("regex." + i, method,
+                        "/v2/resource" + i + "/([\\d+]+)", Lists.newArrayList(endpoint));
+            } else {
+                definition = ApiDefinition.antStyle("ant." + i, method,
+                        "/v3/resource" + i + "/**", Lists.newArrayList(endpoint));
+            }
+            discovery.publish(definition, ar -> {
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        discovery.close();
+        vertx.close();
+    }
+
+    @Benchmark
+    public void exact(Blackhole blackhole) {
+        //i=0:GET 相等
+        discovery.filter("GET", "/v1/resource0/items", ar -> blackhole.consume(ar.result()));
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        //i=4:GET 正则
+        discovery.filter("GET", "/v2/resource4/123", ar -> blackhole.consume(ar.result()));
+    }
+
+    @Benchmark
+    public void ant(Blackhole blackhole) {
+        //i=8:GET ant
+        discovery.filter("GET", "/v3/resource8/a/b/c", ar -> blackhole.consume(ar.result()));
+    }
+
+    @Benchmark
+    public void miss(Blackhole blackhole) {
+        discovery.filter("GET", "/v4/unknown/path", ar -> blackhole.consume(ar.result()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.utils.FilterPipeline;
+import com.github.edgar615.gateway.core.utils.Filters;
+import com.github.edgar615.util.vertx.task.Task;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters.doFilter与预编译的FilterPipeline的基准测试.
+ * <p>
+ * 每个filter都同步完成，测量的是filter链本身的开销(Task的组装、ApiContext的复制、日志变量等).
+ * 每隔一个filter的shouldFilter返回false，用来覆盖跳过filter的分支.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiltersBenchmark {
+
+    @Param({"5", "10", "20", "50"})
+    private int filterCount;
+
+    private List<Filter> filters;
+
+    private ApiContext apiContext;
+
+    private FilterPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filters = new ArrayList<>();
+        for (int i = 0; i < filterCount; i++) {
+            filters.add(new NoopFilter(i, i % 2 == 0));
+        }
+        Filters.sort(filters);
+        pipeline = FilterPipeline.compile(filters, null);
+        apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null,
+                new JsonObject().put("foo", "bar"));
+    }
+
+    @Benchmark
+    public void doFilter(Blackhole blackhole) {
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+        Filters.doFilter(task, filters).andThen(blackhole::consume);
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+        pipeline.doFilter(task).andThen(blackhole::consume);
+    }
+
+    private static class NoopFilter implements Filter {
+
+        private final int order;
+
+        private final boolean shouldFilter;
+
+        private NoopFilter(int order, boolean shouldFilter) {
+            this.order = order;
+            this.shouldFilter = shouldFilter;
+        }
+
+        @Override
+        public String type() {
+            return PRE;
+        }
+
+        @Override
+        public int order() {
+            return order;
+        }
+
+        @Override
+        public boolean shouldFilter(ApiContext apiContext) {
+            return shouldFilter;
+        }
+
+        @Override
+        public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+            completeFuture.complete(apiContext);
+        }
+    }
+}
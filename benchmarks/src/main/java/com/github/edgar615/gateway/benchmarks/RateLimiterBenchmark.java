@@ -0,0 +1,73 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.github.edgar615.gateway.core.plugin.ratelimit.RateLimit;
+import com.github.edgar615.gateway.core.plugin.ratelimit.RateLimiter;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiter的基准测试.
+ * <p>
+ * 4个线程模拟4个event loop，分别测试所有线程访问同一个key(整个API的限制)和访问1万个不同key(每个IP的限制)的情况.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10000;
+
+    private final RateLimit limit = RateLimit.create(Integer.MAX_VALUE, 1, Integer.MAX_VALUE);
+
+    private final String[] keys = new String[KEYS];
+
+    private Vertx vertx;
+
+    private RateLimiter limiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        limiter = RateLimiter.shared(vertx, new JsonObject());
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "ip:get_device:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public long sameKey() {
+        return limiter.tryAcquire("api:get_device:", limit);
+    }
+
+    @Benchmark
+    public long manyKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], limit);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.edgar615.gateway.benchmarks;
+
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RpcResponse.create(Buffer)的基准测试，分别解析JSON对象和JSON数组.
+ * passthrough对比不解析响应体直接透传的开销.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RpcResponseBenchmark {
+
+    @Param({"1", "32", "1024"})
+    private int fieldCount;
+
+    private Buffer objectBuffer;
+
+    private Buffer arrayBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonObject jsonObject = new JsonObject();
+        JsonArray jsonArray = new JsonArray();
+        for (int i = 0; i < fieldCount; i++) {
+            jsonObject.put("field" + i, "value-" + i);
+            jsonArray.add(new JsonObject().put("id", i).put("name", "device-" + i));
+        }
+        //模拟下游服务返回的前后空白
+        objectBuffer = Buffer.buffer("  " + jsonObject.encode() + "\n");
+        arrayBuffer = Buffer.buffer("  " + jsonArray.encode() + "\n");
+    }
+
+    @Benchmark
+    public RpcResponse jsonObject() {
+        return RpcResponse.create("benchmark", 200, objectBuffer, 0);
+    }
+
+    @Benchmark
+    public RpcResponse jsonArray() {
+        return RpcResponse.create("benchmark", 200, arrayBuffer, 0);
+    }
+
+    @Benchmark
+    public Buffer passthrough() {
+        return RpcResponse.passthrough("benchmark", 200, arrayBuffer, 0).rawBody();
+    }
+}
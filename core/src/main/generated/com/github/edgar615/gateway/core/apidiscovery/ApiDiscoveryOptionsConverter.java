@@ -27,24 +27,40 @@ import io.vertx.core.json.JsonArray;
 public class ApiDiscoveryOptionsConverter {
 
   public static void fromJson(JsonObject json, ApiDiscoveryOptions obj) {
+    if (json.getValue("changedAddress") instanceof String) {
+      obj.setChangedAddress((String)json.getValue("changedAddress"));
+    }
+    if (json.getValue("heartbeatInterval") instanceof Number) {
+      obj.setHeartbeatInterval(((Number)json.getValue("heartbeatInterval")).longValue());
+    }
     if (json.getValue("name") instanceof String) {
       obj.setName((String)json.getValue("name"));
     }
     if (json.getValue("publishedAddress") instanceof String) {
       obj.setPublishedAddress((String)json.getValue("publishedAddress"));
     }
+    if (json.getValue("snapshotAddress") instanceof String) {
+      obj.setSnapshotAddress((String)json.getValue("snapshotAddress"));
+    }
     if (json.getValue("unpublishedAddress") instanceof String) {
       obj.setUnpublishedAddress((String)json.getValue("unpublishedAddress"));
     }
   }
 
   public static void toJson(ApiDiscoveryOptions obj, JsonObject json) {
+    if (obj.getChangedAddress() != null) {
+      json.put("changedAddress", obj.getChangedAddress());
+    }
+    json.put("heartbeatInterval", obj.getHeartbeatInterval());
     if (obj.getName() != null) {
       json.put("name", obj.getName());
     }
     if (obj.getPublishedAddress() != null) {
       json.put("publishedAddress", obj.getPublishedAddress());
     }
+    if (obj.getSnapshotAddress() != null) {
+      json.put("snapshotAddress", obj.getSnapshotAddress());
+    }
     if (obj.getUnpublishedAddress() != null) {
       json.put("unpublishedAddress", obj.getUnpublishedAddress());
     }
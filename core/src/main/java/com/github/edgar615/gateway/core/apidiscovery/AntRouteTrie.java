@@ -0,0 +1,138 @@
+package com.github.edgar615.gateway.core.apidiscovery;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.utils.PathTokenizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ant风格API的路径树.
+ * <p>
+ * 按照"/"将路径拆分为若干段，每一段作为树的一个节点：普通的段按字面量索引，包含通配符(*、?)的段统一放入通配节点，"**"单独作为一个节点，可以匹配0到多段.
+ * 查找时先通过路径树筛选出候选的API，再使用API本身的匹配规则(包括忽略规则)做最终校验，所以路径树只需要保证不漏掉可能匹配的API.
+ * <p>
+ * 路径树在构建完成之后不再修改，可以在多个线程之间共享.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class AntRouteTrie {
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Node root = new Node();
+
+    private int size;
+
+    AntRouteTrie(Iterable<ApiDefinition> definitions) {
+        for (ApiDefinition definition : definitions) {
+            add(definition);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 查找与请求路径匹配的API.
+     *
+     * @param path 请求路径，已经去掉了末尾的"/"
+     * @return API的列表
+     */
+    List<ApiDefinition> match(String path) {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<String> segments = split(path);
+        List<ApiDefinition> candidates = new ArrayList<>();
+        collect(root, segments, 0, candidates);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<ApiDefinition> matched = new ArrayList<>(candidates.size());
+        for (ApiDefinition definition : candidates) {
+            if (definition.matchPath(path)) {
+                matched.add(definition);
+            }
+        }
+        return matched;
+    }
+
+    private void add(ApiDefinition definition) {
+        Node node = root;
+        for (String segment : split(definition.path())) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (node.doubleWildcard == null) {
+                    node.doubleWildcard = new Node();
+                }
+                node = node.doubleWildcard;
+            } else if (isWildcard(segment)) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        node.definitions.add(definition);
+        size++;
+    }
+
+    private void collect(Node node, List<String> segments, int index,
+                         List<ApiDefinition> candidates) {
+        if (node.doubleWildcard != null) {
+            //**可以匹配0到多段
+            for (int i = index; i <= segments.size(); i++) {
+                collect(node.doubleWildcard, segments, i, candidates);
+            }
+        }
+        if (index == segments.size()) {
+            for (ApiDefinition definition : node.definitions) {
+                //同一个API可能经过多个**分支被找到
+                if (!candidates.contains(definition)) {
+                    candidates.add(definition);
+                }
+            }
+            return;
+        }
+        Node literal = node.literals.get(segments.get(index));
+        if (literal != null) {
+            collect(literal, segments, index + 1, candidates);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, index + 1, candidates);
+        }
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
+    }
+
+    private static List<String> split(String path) {
+        List<String> segments = new ArrayList<>();
+        int end = path.length();
+        int start = PathTokenizer.nextSegment(path, 0, end);
+        while (start < end) {
+            int segmentEnd = PathTokenizer.segmentEnd(path, start, end);
+            segments.add(path.substring(start, segmentEnd));
+            start = PathTokenizer.nextSegment(path, segmentEnd, end);
+        }
+        return segments;
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+
+        private final List<ApiDefinition> definitions = new ArrayList<>(1);
+
+        private Node wildcard;
+
+        private Node doubleWildcard;
+    }
+}
@@ -2,9 +2,15 @@ package com.github.edgar615.gateway.core.apidiscovery;
 
 import com.github.edgar615.gateway.core.definition.ApiDefinition;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Created by Edgar on 2017/6/20.
@@ -21,4 +27,95 @@ public interface ApiDefinitionBackend {
     void getDefinition(String name, Handler<AsyncResult<ApiDefinition>> resultHandler);
 
     void clear(Handler<AsyncResult<Void>> resultHandler);
+
+    /**
+     * 批量保存API.
+     * 默认实现依次调用store，可以批量修改的存储应该覆盖这个方法.
+     *
+     * @param definitions   API的列表
+     * @param resultHandler 回调
+     */
+    default void storeAll(List<ApiDefinition> definitions,
+                          Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (ApiDefinition definition : definitions) {
+            Future<Void> future = Future.future();
+            store(definition, ar -> {
+                if (ar.succeeded()) {
+                    future.complete();
+                } else {
+                    future.fail(ar.cause());
+                }
+            });
+            futures.add(future);
+        }
+        CompositeFuture.all(new ArrayList<>(futures)).setHandler(ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+            } else {
+                resultHandler.handle(Future.succeededFuture(definitions));
+            }
+        });
+    }
+
+    /**
+     * 批量删除API，不存在的API直接忽略.
+     * 默认实现依次调用remove，可以批量修改的存储应该覆盖这个方法.
+     *
+     * @param names         API的名称
+     * @param resultHandler 回调，参数为实际删除的API
+     */
+    default void removeAll(Collection<String> names,
+                           Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        List<ApiDefinition> removed = new ArrayList<>();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (String name : names) {
+            Future<Void> future = Future.future();
+            remove(name, ar -> {
+                if (ar.succeeded()) {
+                    removed.add(ar.result());
+                }
+                future.complete();
+            });
+            futures.add(future);
+        }
+        CompositeFuture.all(new ArrayList<>(futures))
+                .setHandler(ar -> resultHandler.handle(Future.succeededFuture(removed)));
+    }
+
+    /**
+     * 根据请求方法和路径查找API，按照 相等>正则>ant 的优先级返回.
+     * 默认实现会遍历所有的API，可以使用索引的存储应该覆盖这个方法.
+     *
+     * @param method        请求方法
+     * @param path          请求路径
+     * @param resultHandler 回调
+     */
+    default void filter(HttpMethod method, String path,
+                        Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        getDefinitions(ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            List<ApiDefinition> definitions = ar.result().stream()
+                    .filter(d -> d.method() == method && d.matchPath(path))
+                    .collect(Collectors.toList());
+            List<ApiDefinition> exact = definitions.stream()
+                    .filter(d -> !d.antStyle() && !d.regexStyle())
+                    .collect(Collectors.toList());
+            if (!exact.isEmpty()) {
+                resultHandler.handle(Future.succeededFuture(exact));
+                return;
+            }
+            List<ApiDefinition> regex = definitions.stream()
+                    .filter(d -> d.regexStyle())
+                    .collect(Collectors.toList());
+            if (!regex.isEmpty()) {
+                resultHandler.handle(Future.succeededFuture(regex));
+                return;
+            }
+            resultHandler.handle(Future.succeededFuture(definitions));
+        });
+    }
 }
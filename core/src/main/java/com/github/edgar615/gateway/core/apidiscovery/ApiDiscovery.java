@@ -39,7 +39,7 @@ public interface ApiDiscovery extends ApiPublisher {
     void close();
 
     /**
-     * 根据请求方法、路径快速匹配API
+     * 根据请求方法、路径快速匹配API，按照 相等>正则>ant 的优先级返回：存在完全匹配的API时只返回完全匹配的API，其次是正则匹配，最后是ant匹配.
      *
      * @param method
      * @param path
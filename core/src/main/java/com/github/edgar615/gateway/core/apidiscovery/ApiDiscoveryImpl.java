@@ -7,10 +7,16 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -20,6 +26,14 @@ import java.util.stream.Collectors;
 
 /**
  * Created by Edgar on 2017/6/20.
+ * <p>
+ * 发布和删除API时除了在publishedAddress/unpublishedAddress上广播API，还会在changedAddress上广播带版本号的增量事件，
+ * 其他节点的ApiDiscovery收到之后应用到本地的注册表和路由索引，发现版本号不连续时向来源节点请求快照，
+ * 请求超时之后重试，重试失败之后放弃这次同步，由之后的增量事件或者心跳重新触发.
+ * 每个发布过API的节点定时在changedAddress上广播心跳，新节点启动时在snapshotAddress上广播加入的事件，其他节点收到之后立即广播一次心跳，
+ * 超过3个心跳间隔没有收到事件的节点被认为已经下线，删除从这个节点同步的API，参考{@link VersionedApiRegistry}.
+ * 批量发布和删除(包括通配符删除)在changedAddress、publishedAddress/unpublishedAddress上都只广播一个事件，
+ * publishedAddress/unpublishedAddress上的批量事件为{"definitions" : [API]}，单个发布和删除的事件仍然是API本身.
  *
  * @author Edgar  Date 2017/6/20
  */
@@ -29,6 +43,21 @@ class ApiDiscoveryImpl implements ApiDiscovery {
 
     private static final String NAME = "api-definition";
 
+    /**
+     * 请求快照的超时时间
+     */
+    private static final long SNAPSHOT_TIMEOUT = 3000;
+
+    /**
+     * 请求快照的重试间隔
+     */
+    private static final long SNAPSHOT_RETRY_SLEEP = 1000;
+
+    /**
+     * 请求快照的最大次数
+     */
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
     private final Vertx vertx;
 
     private final ApiDefinitionBackend backend;
@@ -41,14 +70,86 @@ class ApiDiscoveryImpl implements ApiDiscovery {
 
     private final ApiDiscoveryOptions options;
 
+    private final VersionedApiRegistry registry;
+
+    private final String changedAddress;
+
+    private final String snapshotAddress;
+
+    private final List<MessageConsumer<JsonObject>> consumers = new ArrayList<>();
+
+    private long heartbeatTimer = -1;
+
     ApiDiscoveryImpl(Vertx vertx, ApiDiscoveryOptions options) {
+        this(vertx, options, NAME);
+    }
+
+    /**
+     * 同一个vertx中的ApiDiscovery共享同一个存储，测试时通过不同的存储名称模拟多个网关节点.
+     *
+     * @param vertx   Vertx
+     * @param options 配置
+     * @param name    存储的名称
+     */
+    ApiDiscoveryImpl(Vertx vertx, ApiDiscoveryOptions options, String name) {
         Objects.requireNonNull(options.getPublishedAddress());
         Objects.requireNonNull(options.getUnpublishedAddress());
         this.vertx = vertx;
         this.options = options;
-        this.backend = new DefaultApiDefinitionBackend(vertx, NAME);
+        this.backend = new DefaultApiDefinitionBackend(vertx, name);
+        this.registry = VersionedApiRegistry.shared(vertx, name);
         this.publishedAddress = options.getPublishedAddress();
         this.unpublishedAddress = options.getUnpublishedAddress();
+        this.changedAddress = options.getChangedAddress();
+        this.snapshotAddress = options.getSnapshotAddress();
+        if (changedAddress != null && snapshotAddress != null) {
+            replicate();
+        }
+    }
+
+    private void replicate() {
+        consumers.add(vertx.eventBus().<JsonObject>consumer(changedAddress, msg -> {
+            if (registry.applyDelta(msg.body(), backend)) {
+                requestSnapshot(msg.body().getString("origin"), 1);
+            }
+        }));
+        //新节点加入，只有发布过API的节点广播心跳，新节点收到心跳之后再请求快照
+        consumers.add(vertx.eventBus().<JsonObject>consumer(snapshotAddress, msg -> {
+            if (!registry.nodeId().equals(msg.body().getString("node"))
+                && registry.version() > 0) {
+                registry.heartbeat(this::broadcast);
+            }
+        }));
+        consumers.add(vertx.eventBus().<JsonObject>consumer(
+                snapshotAddress + "." + registry.nodeId(),
+                msg -> msg.reply(registry.snapshot())));
+        long interval = options.getHeartbeatInterval();
+        heartbeatTimer = vertx.setPeriodic(interval, l -> {
+            if (registry.version() > 0) {
+                registry.heartbeat(this::broadcast);
+            }
+            registry.expire(interval * 3, backend);
+        });
+        vertx.eventBus().publish(snapshotAddress, new JsonObject().put("node", registry.nodeId()));
+    }
+
+    private void requestSnapshot(String origin, int attempt) {
+        DeliveryOptions deliveryOptions = new DeliveryOptions().setSendTimeout(SNAPSHOT_TIMEOUT);
+        vertx.eventBus().<JsonObject>send(snapshotAddress + "." + origin,
+                                          new JsonObject().put("node", registry.nodeId()),
+                                          deliveryOptions, ar -> {
+                    if (ar.succeeded()) {
+                        registry.applySnapshot(ar.result().body(), backend);
+                        return;
+                    }
+                    LOGGER.warn("[ApiDiscovery] [snapshot] {origin:{}, attempt:{}} {}", origin,
+                                attempt, ar.cause().getMessage());
+                    if (attempt >= SNAPSHOT_ATTEMPTS || consumers.isEmpty()) {
+                        registry.resyncFailed(origin);
+                        return;
+                    }
+                    vertx.setTimer(SNAPSHOT_RETRY_SLEEP, l -> requestSnapshot(origin, attempt + 1));
+                });
     }
 
     @Override
@@ -58,13 +159,50 @@ class ApiDiscoveryImpl implements ApiDiscovery {
         backend.store(definition, ar -> {
             if (ar.succeeded()) {
                 vertx.eventBus().publish(publishedAddress, definition.toJson());
+                registry.published(definition, this::broadcast);
+            }
+            resultHandler.handle(ar);
+        });
+    }
+
+    @Override
+    public void publishAll(List<ApiDefinition> definitions,
+                           Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        LOGGER.info("[ApiDiscovery] [publishAll] {size:{}}", definitions.size());
+        List<ApiDefinition> copy = new ArrayList<>(definitions);
+        backend.storeAll(copy, ar -> {
+            if (ar.succeeded() && !copy.isEmpty()) {
+                vertx.eventBus().publish(publishedAddress, batch(copy));
+                registry.publishedAll(copy, this::broadcast);
             }
             resultHandler.handle(ar);
         });
     }
 
+    @Override
+    public void unpublishAll(Collection<String> names, Handler<AsyncResult<Void>> resultHandler) {
+        LOGGER.info("[ApiDiscovery] [unpublishAll] {size:{}}", names.size());
+        backend.removeAll(new ArrayList<>(names), ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            if (!ar.result().isEmpty()) {
+                vertx.eventBus().publish(unpublishedAddress, batch(ar.result()));
+                registry.unpublishedAll(ar.result().stream()
+                                                .map(ApiDefinition::name)
+                                                .collect(Collectors.toList()), this::broadcast);
+            }
+            resultHandler.handle(Future.succeededFuture());
+        });
+    }
+
     @Override
     public void unpublish(String name, Handler<AsyncResult<Void>> resultHandler) {
+        if (name == null || name.contains("*")) {
+            unpublishMatched(name, resultHandler);
+            return;
+        }
         LOGGER.info("[ApiDiscovery] [unpublish] {name:{}}", name);
         backend.remove(name, ar -> {
             if (ar.failed()) {
@@ -74,23 +212,78 @@ class ApiDiscoveryImpl implements ApiDiscovery {
             ApiDefinition definition = ar.result();
             if (definition != null) {
                 vertx.eventBus().publish(unpublishedAddress, definition.toJson());
+                registry.unpublished(definition.name(), this::broadcast);
             }
             resultHandler.handle(Future.succeededFuture());
         });
 
     }
 
+    /**
+     * 删除所有与通配符匹配的API，匹配规则与getDefinitions的name条件相同.
+     */
+    private void unpublishMatched(String name, Handler<AsyncResult<Void>> resultHandler) {
+        Function<ApiDefinition, Boolean> filter;
+        if (name == null) {
+            filter = d -> true;
+        } else {
+            JsonObject json = new JsonObject().put("name", name);
+            filter = d -> d.match(json);
+        }
+        getDefinitions(filter, ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            unpublishAll(ar.result().stream()
+                                 .map(ApiDefinition::name)
+                                 .collect(Collectors.toList()), resultHandler);
+        });
+    }
+
+    private JsonObject batch(List<ApiDefinition> definitions) {
+        JsonArray array = new JsonArray();
+        definitions.forEach(d -> array.add(d.toJson()));
+        return new JsonObject().put("definitions", array);
+    }
+
+    private void broadcast(JsonObject delta) {
+        if (changedAddress != null) {
+            vertx.eventBus().publish(changedAddress, delta);
+        }
+    }
+
     @Override
     public void filter(String method, String path,
                        Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
         Objects.requireNonNull(method);
         Objects.requireNonNull(path);
+        HttpMethod httpMethod = httpMethod(method);
+        if (httpMethod != null) {
+            backend.filter(httpMethod, path, ar -> {
+                if (ar.failed()) {
+                    LOGGER.error("[ApiDiscovery] [filter] {method:{}, path:{}} {}", method, path,
+                            ar.cause().getMessage());
+                }
+                resultHandler.handle(ar);
+            });
+            return;
+        }
+        //方法中包含通配符，只能遍历所有的API
         JsonObject filter = new JsonObject()
                 .put("method", method)
                 .put("path", path);
         getDefinitions(filter, resultHandler);
     }
 
+    private HttpMethod httpMethod(String method) {
+        try {
+            return HttpMethod.valueOf(method.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     @Override
     public void getDefinitions(JsonObject filter,
                                Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
@@ -185,6 +378,12 @@ class ApiDiscoveryImpl implements ApiDiscovery {
 
     @Override
     public void close() {
+        if (heartbeatTimer != -1) {
+            vertx.cancelTimer(heartbeatTimer);
+            heartbeatTimer = -1;
+        }
+        consumers.forEach(MessageConsumer::unregister);
+        consumers.clear();
         clear(ar -> {
         });
         LOGGER.info("[ApiDiscovery] [close]");
@@ -192,6 +391,7 @@ class ApiDiscoveryImpl implements ApiDiscovery {
 
     @Override
     public void clear(Handler<AsyncResult<Void>> completionHandler) {
+        registry.clear();
         backend.clear(completionHandler);
     }
 
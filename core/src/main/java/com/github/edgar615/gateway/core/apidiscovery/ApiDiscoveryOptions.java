@@ -16,12 +16,26 @@ public class ApiDiscoveryOptions {
     public static final String DEFAULT_UNPUBLISHED_ADDRESS =
             "__com.github.edgar615.gateway.api.unpublished";
 
+    public static final String DEFAULT_CHANGED_ADDRESS =
+            "__com.github.edgar615.gateway.api.changed";
+
+    public static final String DEFAULT_SNAPSHOT_ADDRESS =
+            "__com.github.edgar615.gateway.api.snapshot";
+
+    public static final long DEFAULT_HEARTBEAT_INTERVAL = 10000;
+
     private String name;
 
     private String publishedAddress = DEFAULT_PUBLISHED_ADDRESS;
 
     private String unpublishedAddress = DEFAULT_UNPUBLISHED_ADDRESS;
 
+    private String changedAddress = DEFAULT_CHANGED_ADDRESS;
+
+    private String snapshotAddress = DEFAULT_SNAPSHOT_ADDRESS;
+
+    private long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+
     public ApiDiscoveryOptions() {
     }
 
@@ -62,4 +76,52 @@ public class ApiDiscoveryOptions {
         this.unpublishedAddress = unpublishedAddress;
         return this;
     }
+
+    public String getChangedAddress() {
+        return changedAddress;
+    }
+
+    /**
+     * 设置节点之间同步API的增量事件的地址.
+     *
+     * @param changedAddress 地址
+     * @return ApiDiscoveryOptions
+     */
+    public ApiDiscoveryOptions setChangedAddress(String changedAddress) {
+        this.changedAddress = changedAddress;
+        return this;
+    }
+
+    public String getSnapshotAddress() {
+        return snapshotAddress;
+    }
+
+    /**
+     * 设置节点之间请求API快照的地址.
+     * 新节点启动时在这个地址上广播加入的事件，其他节点收到之后立即广播一次心跳；
+     * 向某个节点请求快照时发送到snapshotAddress + "." + nodeId，并等待这个节点的响应.
+     *
+     * @param snapshotAddress 地址
+     * @return ApiDiscoveryOptions
+     */
+    public ApiDiscoveryOptions setSnapshotAddress(String snapshotAddress) {
+        this.snapshotAddress = snapshotAddress;
+        return this;
+    }
+
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * 设置节点之间广播心跳的间隔，单位毫秒.
+     * 超过3个间隔没有收到任何事件的节点被认为已经下线，删除从这个节点同步的API.
+     *
+     * @param heartbeatInterval 心跳间隔
+     * @return ApiDiscoveryOptions
+     */
+    public ApiDiscoveryOptions setHeartbeatInterval(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
 }
@@ -7,6 +7,8 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Api导入接口.
+ * <p>
+ * 一次导入大量的API时应该使用{@link ApiPublisher#publishAll}，避免每个API都重建一次路由索引、广播一次事件.
  *
  * @author Edgar  Date 2017/7/14
  */
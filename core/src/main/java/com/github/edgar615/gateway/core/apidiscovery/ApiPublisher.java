@@ -2,8 +2,14 @@ package com.github.edgar615.gateway.core.apidiscovery;
 
 import com.github.edgar615.gateway.core.definition.ApiDefinition;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * API的发布与注销接口.
  *
@@ -30,4 +36,53 @@ public interface ApiPublisher {
      * @param resultHandler 回调函数
      */
     void unpublish(String name, Handler<AsyncResult<Void>> resultHandler);
+
+    /**
+     * 批量添加路由映射，适合启动或者重新加载时导入大量的API.
+     * 默认实现逐个调用{@link #publish}.
+     * ApiDiscovery的实现中所有的映射同时生效，路由索引只重建一次，在publishedAddress和changedAddress上各只广播一个事件.
+     *
+     * @param definitions   路由映射
+     * @param resultHandler 回调函数
+     */
+    default void publishAll(List<ApiDefinition> definitions,
+                            Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        List<Future> futures = new ArrayList<>(definitions.size());
+        for (ApiDefinition definition : definitions) {
+            Future<ApiDefinition> future = Future.future();
+            publish(definition, future);
+            futures.add(future);
+        }
+        CompositeFuture.all(futures).setHandler(ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            resultHandler.handle(Future.succeededFuture(ar.result().list()));
+        });
+    }
+
+    /**
+     * 批量删除路由映射，不存在的name直接忽略.
+     * 默认实现逐个调用{@link #unpublish}.
+     * ApiDiscovery的实现中所有的映射同时删除，路由索引只重建一次，在unpublishedAddress和changedAddress上各只广播一个事件.
+     *
+     * @param names         name的集合，不支持通配符
+     * @param resultHandler 回调函数
+     */
+    default void unpublishAll(Collection<String> names, Handler<AsyncResult<Void>> resultHandler) {
+        List<Future> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            Future<Void> future = Future.future();
+            unpublish(name, future);
+            futures.add(future);
+        }
+        CompositeFuture.all(futures).setHandler(ar -> {
+            if (ar.failed()) {
+                resultHandler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            resultHandler.handle(Future.succeededFuture());
+        });
+    }
 }
@@ -0,0 +1,252 @@
+package com.github.edgar615.gateway.core.apidiscovery;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * API的路由索引.
+ * <p>
+ * 原来的filter方法需要遍历所有的API，对每个API都构造一次匹配规则，API数量较多的时候对性能影响比较大.
+ * 路由索引按照请求方法分组，每个请求方法下面再按照API的类型分别建立索引：
+ * <pre>
+ * 完全匹配：以路径为key的hash表
+ * 正则匹配：提取正则表达式中的字面量前缀，按照前缀中最后一个"/"之前的部分分桶，查找时只检查请求路径各级目录对应的桶
+ * ant匹配：按路径段组织的路径树
+ * </pre>
+ * 查找时按照 相等>正则>ant 的优先级返回，与{@code ApiDefinitionUtils.extractInOrder}的规则保持一致.
+ * <p>
+ * 索引采用写时复制：每次修改只重建受影响的请求方法的路由表，然后替换引用，读操作不需要加锁.
+ * 批量修改时所有受影响的请求方法也只重建一次，通过一次替换生效.
+ * 索引同时维护一份按名称保存的所有API的快照，也在修改完成之后整体替换，遍历API时不会读到只修改了一部分的批量修改.
+ * 索引声明为Shareable，存储在LocalMap中，与API的注册表在同一个vertx中共享.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class ApiRouteIndex implements Shareable {
+
+    /**
+     * 按请求方法保存的API，写操作需要同步
+     */
+    private final Map<HttpMethod, Map<String, ApiDefinition>> definitions =
+            new EnumMap<>(HttpMethod.class);
+
+    private volatile Map<HttpMethod, MethodRoutes> routes = Collections.emptyMap();
+
+    private volatile Map<String, ApiDefinition> named = Collections.emptyMap();
+
+    synchronized void add(ApiDefinition definition) {
+        update(Collections.singletonList(definition), Collections.emptyList());
+    }
+
+    synchronized void remove(ApiDefinition definition) {
+        update(Collections.emptyList(), Collections.singletonList(definition));
+    }
+
+    /**
+     * 批量修改API，每个受影响的请求方法只重建一次路由表，所有的修改通过一次引用替换同时生效.
+     *
+     * @param added   新增或者修改的API
+     * @param removed 删除的API
+     */
+    synchronized void update(Collection<ApiDefinition> added, Collection<ApiDefinition> removed) {
+        Set<HttpMethod> changed = EnumSet.noneOf(HttpMethod.class);
+        for (ApiDefinition definition : removed) {
+            Map<String, ApiDefinition> group = definitions.get(definition.method());
+            if (group != null && group.remove(definition.name()) != null) {
+                changed.add(definition.method());
+            }
+        }
+        for (ApiDefinition definition : added) {
+            //同名的API修改了请求方法，需要从原来的路由表中删除
+            for (Map.Entry<HttpMethod, Map<String, ApiDefinition>> entry : definitions.entrySet()) {
+                if (entry.getKey() != definition.method()
+                    && entry.getValue().remove(definition.name()) != null) {
+                    changed.add(entry.getKey());
+                }
+            }
+            definitions.computeIfAbsent(definition.method(), k -> new LinkedHashMap<>())
+                    .put(definition.name(), definition);
+            changed.add(definition.method());
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<HttpMethod, MethodRoutes> newRoutes = new EnumMap<>(HttpMethod.class);
+        newRoutes.putAll(routes);
+        for (HttpMethod method : changed) {
+            rebuild(newRoutes, method);
+        }
+        Map<String, ApiDefinition> newNamed = new LinkedHashMap<>();
+        definitions.values().forEach(newNamed::putAll);
+        this.routes = newRoutes;
+        this.named = Collections.unmodifiableMap(newNamed);
+    }
+
+    synchronized void clear() {
+        definitions.clear();
+        this.routes = Collections.emptyMap();
+        this.named = Collections.emptyMap();
+    }
+
+    /**
+     * @return 所有API的快照
+     */
+    Collection<ApiDefinition> definitions() {
+        return named.values();
+    }
+
+    /**
+     * @param name API的名称
+     * @return API，不存在时返回null
+     */
+    ApiDefinition definition(String name) {
+        return named.get(name);
+    }
+
+    /**
+     * 查找与请求匹配的API.
+     *
+     * @param method 请求方法
+     * @param path   请求路径
+     * @return API的列表，如果存在完全匹配的API，只返回完全匹配的API，其次是正则，最后是ant
+     */
+    List<ApiDefinition> match(HttpMethod method, String path) {
+        MethodRoutes methodRoutes = routes.get(method);
+        if (methodRoutes == null) {
+            return new ArrayList<>();
+        }
+        if (path.endsWith("/") && path.length() > 1) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return methodRoutes.match(path);
+    }
+
+    private void rebuild(Map<HttpMethod, MethodRoutes> newRoutes, HttpMethod method) {
+        Map<String, ApiDefinition> group = definitions.get(method);
+        if (group == null || group.isEmpty()) {
+            definitions.remove(method);
+            newRoutes.remove(method);
+        } else {
+            newRoutes.put(method, new MethodRoutes(group.values()));
+        }
+    }
+
+    /**
+     * 某个请求方法下的路由表，构建完成后不再修改.
+     */
+    private static class MethodRoutes {
+
+        private final Map<String, List<ApiDefinition>> exact = new HashMap<>();
+
+        /**
+         * 正则路由，key为字面量前缀截止到最后一个"/"的部分(包括"/")，没有前缀的正则使用空字符串
+         */
+        private final Map<String, List<RegexRoute>> regex = new HashMap<>();
+
+        private final AntRouteTrie ant;
+
+        private MethodRoutes(Collection<ApiDefinition> definitions) {
+            List<ApiDefinition> antDefinitions = new ArrayList<>();
+            for (ApiDefinition definition : definitions) {
+                if (definition.antStyle()) {
+                    antDefinitions.add(definition);
+                } else if (definition.regexStyle()) {
+                    RegexRoute route = new RegexRoute(definition);
+                    regex.computeIfAbsent(route.bucket(), k -> new ArrayList<>(1)).add(route);
+                } else {
+                    exact.computeIfAbsent(definition.path(), k -> new ArrayList<>(1))
+                            .add(definition);
+                }
+            }
+            this.ant = new AntRouteTrie(antDefinitions);
+        }
+
+        private List<ApiDefinition> match(String path) {
+            List<ApiDefinition> exactMatched = exact.get(path);
+            if (exactMatched != null) {
+                return new ArrayList<>(exactMatched);
+            }
+            List<ApiDefinition> regexMatched = new ArrayList<>();
+            if (!regex.isEmpty()) {
+                matchRegex(regex.get(""), path, regexMatched);
+                for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                    matchRegex(regex.get(path.substring(0, i + 1)), path, regexMatched);
+                }
+            }
+            if (!regexMatched.isEmpty()) {
+                return regexMatched;
+            }
+            return ant.match(path);
+        }
+
+        private void matchRegex(List<RegexRoute> routes, String path,
+                                List<ApiDefinition> matched) {
+            if (routes == null) {
+                return;
+            }
+            for (RegexRoute route : routes) {
+                if (route.match(path)) {
+                    matched.add(route.definition);
+                }
+            }
+        }
+    }
+
+    private static class RegexRoute {
+
+        private final ApiDefinition definition;
+
+        /**
+         * 正则表达式的字面量前缀，请求路径必须以这个前缀开头才可能匹配
+         */
+        private final String prefix;
+
+        private RegexRoute(ApiDefinition definition) {
+            this.definition = definition;
+            this.prefix = literalPrefix(definition.path());
+        }
+
+        private String bucket() {
+            return prefix.substring(0, prefix.lastIndexOf('/') + 1);
+        }
+
+        private boolean match(String path) {
+            return path.startsWith(prefix) && definition.matchPath(path);
+        }
+
+        private static String literalPrefix(String regex) {
+            if (regex.indexOf('|') >= 0) {
+                //存在分支，无法确定前缀
+                return "";
+            }
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < regex.length(); i++) {
+                char c = regex.charAt(i);
+                if (c == '*' || c == '?' || c == '{') {
+                    //前一个字符可以出现0次，不能作为前缀
+                    if (prefix.length() > 0) {
+                        prefix.setLength(prefix.length() - 1);
+                    }
+                    break;
+                }
+                if ("\\.[]()+^$".indexOf(c) >= 0) {
+                    break;
+                }
+                prefix.append(c);
+            }
+            return prefix.toString();
+        }
+    }
+}
@@ -5,17 +5,25 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.shareddata.LocalMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 使用本地map存储API.
  * 最初LocalMap中存储的是string，但是经过压测发现每次通过string转为ApiDefinition，对性能的影响较大。
  * 所以将ApiDefinition声明为Shareable，存储在LocalMap中(性能有显著提升)
+ * <p>
+ * 同时在另一个LocalMap中维护了一个路由索引{@link ApiRouteIndex}，同一个vertx中使用相同名称的backend共享这个索引，filter方法不再需要遍历所有的API.
+ * 批量保存和删除时路由索引只替换一次，请求不会匹配到只修改了一部分的路由表.
+ * getDefinitions和getDefinition也从索引的快照中读取，不会读到只保存了一部分的批量修改；
+ * 写操作在索引上同步，保证LocalMap和索引按照相同的顺序修改.
  *
  * @author Edgar  Date 2017/6/20
  */
@@ -23,10 +31,23 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiDefinitionBackend.class);
 
+    private static final String INDEX_KEY = "index";
+
     private final LocalMap<String, ApiDefinition> registry;
 
+    private final ApiRouteIndex index;
+
     DefaultApiDefinitionBackend(Vertx vertx, String name) {
         this.registry = vertx.sharedData().getLocalMap(name);
+        LocalMap<String, ApiRouteIndex> indexMap = vertx.sharedData().getLocalMap(name + ".index");
+        ApiRouteIndex newIndex = new ApiRouteIndex();
+        ApiRouteIndex existIndex = indexMap.putIfAbsent(INDEX_KEY, newIndex);
+        if (existIndex == null) {
+            registry.values().forEach(newIndex::add);
+            this.index = newIndex;
+        } else {
+            this.index = existIndex;
+        }
     }
 
     @Override
@@ -35,7 +56,10 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
             resultHandler.handle(Future.failedFuture("definition is null"));
             return;
         }
-        registry.put(definition.name(), definition);
+        synchronized (index) {
+            registry.put(definition.name(), definition);
+            index.add(definition);
+        }
         resultHandler.handle(Future.succeededFuture(definition));
     }
 
@@ -45,7 +69,13 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
             resultHandler.handle(Future.failedFuture("name required"));
             return;
         }
-        ApiDefinition definition = registry.remove(name);
+        ApiDefinition definition;
+        synchronized (index) {
+            definition = registry.remove(name);
+            if (definition != null) {
+                index.remove(definition);
+            }
+        }
         if (definition != null) {
             resultHandler.handle(Future.succeededFuture(definition));
         } else {
@@ -53,9 +83,45 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
         }
     }
 
+    @Override
+    public void storeAll(List<ApiDefinition> definitions,
+                         Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        if (definitions.contains(null)) {
+            resultHandler.handle(Future.failedFuture("definition is null"));
+            return;
+        }
+        synchronized (index) {
+            definitions.forEach(d -> registry.put(d.name(), d));
+            index.update(definitions, Collections.emptyList());
+        }
+        resultHandler.handle(Future.succeededFuture(definitions));
+    }
+
+    @Override
+    public void removeAll(Collection<String> names,
+                          Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        List<ApiDefinition> removed = new ArrayList<>();
+        synchronized (index) {
+            for (String name : names) {
+                ApiDefinition definition = registry.remove(name);
+                if (definition != null) {
+                    removed.add(definition);
+                }
+            }
+            index.update(Collections.emptyList(), removed);
+        }
+        resultHandler.handle(Future.succeededFuture(removed));
+    }
+
+    @Override
+    public void filter(HttpMethod method, String path,
+                       Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
+        resultHandler.handle(Future.succeededFuture(index.match(method, path)));
+    }
+
     @Override
     public void getDefinitions(Handler<AsyncResult<List<ApiDefinition>>> resultHandler) {
-        resultHandler.handle(Future.succeededFuture(new ArrayList<>(registry.values())));
+        resultHandler.handle(Future.succeededFuture(new ArrayList<>(index.definitions())));
     }
 
     @Override
@@ -64,7 +130,7 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
             resultHandler.handle(Future.failedFuture("name required"));
             return;
         }
-        ApiDefinition definition = registry.get(name);
+        ApiDefinition definition = index.definition(name);
         if (definition != null) {
             resultHandler.handle(Future.succeededFuture(definition));
         } else {
@@ -74,7 +140,10 @@ class DefaultApiDefinitionBackend implements ApiDefinitionBackend {
 
     @Override
     public void clear(Handler<AsyncResult<Void>> resultHandler) {
-        registry.clear();
+        synchronized (index) {
+            registry.clear();
+            index.clear();
+        }
         resultHandler.handle(Future.succeededFuture());
     }
 }
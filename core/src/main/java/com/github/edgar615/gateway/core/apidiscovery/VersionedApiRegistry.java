@@ -0,0 +1,414 @@
+package com.github.edgar615.gateway.core.apidiscovery;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 带版本号的API注册表，用于在多个网关节点之间同步API.
+ * <p>
+ * 每个节点有一个唯一的nodeId和单调递增的版本号，本节点每次发布/删除API时版本号加1，并广播一个增量事件：
+ * <pre>
+ * 发布：{"origin" : "nodeId", "version" : 12, "op" : "upsert", "api" : {...}}
+ * 删除：{"origin" : "nodeId", "version" : 13, "op" : "remove", "name" : "get_device"}
+ * 批量：{"origin" : "nodeId", "version" : 14, "op" : "batch", "upsert" : [{...}], "remove" : ["get_user"]}
+ * 心跳：{"origin" : "nodeId", "version" : 14, "op" : "heartbeat"}
+ * </pre>
+ * 批量发布/删除只占用一个版本号，其他节点收到之后也只替换一次路由索引.
+ * 心跳不占用版本号，只携带当前的版本号，用来发现丢失的最后几个增量事件，并刷新来源节点的存活时间.
+ * 其他节点按照来源分别记录已经应用的版本号：
+ * <pre>
+ * 版本号连续：直接应用到本地的注册表和路由索引
+ * 版本号不大于已应用的版本：重复的事件，忽略
+ * 版本号不连续(丢失了事件或者节点刚刚加入)：向来源节点请求全量快照，等待快照期间收到的增量事件先缓存，应用快照之后再重放
+ * </pre>
+ * 快照只包含来源节点自己发布的API：{"origin" : "nodeId", "version" : 13, "apis" : [...]}，
+ * 应用快照时会删除之前从这个节点同步、但是快照中已经不存在的API.
+ * 请求快照失败时调用{@link #resyncFailed(String)}放弃这次同步，由之后的增量事件或者心跳重新触发.
+ * <p>
+ * 节点重启之后nodeId会变化，旧的nodeId不会再发送任何事件，超过一定时间没有收到事件的来源节点通过{@link #expire(long, ApiDefinitionBackend)}删除，
+ * 同时删除从这个节点同步的API.
+ * <p>
+ * 同一个API只应该由一个节点发布.本节点自己发布的API优先：其他节点同名API的发布、删除和过期都不会修改本节点发布的API，
+ * 只有其他节点之间发布同名的API时以最后收到的为准.
+ * 注册表声明为Shareable，存储在LocalMap中，同一个vertx中同名的ApiDiscovery共享一个注册表(即一个节点)，所有的方法都需要同步.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class VersionedApiRegistry implements Shareable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VersionedApiRegistry.class);
+
+    private static final String REGISTRY_KEY = "registry";
+
+    /**
+     * 等待快照期间最多缓存的增量事件，超过之后丢弃，由之后的事件重新触发同步
+     */
+    private static final int MAX_PENDING = 10000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 本节点发布的API
+     */
+    private final Map<String, ApiDefinition> owned = new LinkedHashMap<>();
+
+    /**
+     * 从其他节点同步的API，value为来源节点
+     */
+    private final Map<String, String> owners = new HashMap<>();
+
+    private final Map<String, Origin> origins = new HashMap<>();
+
+    private long version;
+
+    static VersionedApiRegistry shared(Vertx vertx, String name) {
+        LocalMap<String, VersionedApiRegistry> map =
+                vertx.sharedData().getLocalMap(name + ".replication");
+        VersionedApiRegistry registry = new VersionedApiRegistry();
+        VersionedApiRegistry exists = map.putIfAbsent(REGISTRY_KEY, registry);
+        return exists == null ? registry : exists;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * @param origin 来源节点
+     * @return 已经应用的来源节点的版本号
+     */
+    synchronized long version(String origin) {
+        Origin state = origins.get(origin);
+        return state == null ? 0 : state.version;
+    }
+
+    /**
+     * 本节点发布了一个API，在锁内广播增量事件，保证事件按照版本号的顺序发出.
+     *
+     * @param definition  API
+     * @param broadcaster 广播增量事件
+     */
+    synchronized void published(ApiDefinition definition, Handler<JsonObject> broadcaster) {
+        owned.put(definition.name(), definition);
+        owners.remove(definition.name());
+        broadcaster.handle(delta("upsert").put("api", definition.toJson()));
+    }
+
+    /**
+     * 本节点删除了一个API.
+     *
+     * @param name        API的名称
+     * @param broadcaster 广播增量事件
+     */
+    synchronized void unpublished(String name, Handler<JsonObject> broadcaster) {
+        owned.remove(name);
+        owners.remove(name);
+        broadcaster.handle(delta("remove").put("name", name));
+    }
+
+    /**
+     * 本节点批量发布了API，只广播一个增量事件.
+     *
+     * @param definitions API的列表
+     * @param broadcaster 广播增量事件
+     */
+    synchronized void publishedAll(List<ApiDefinition> definitions,
+                                   Handler<JsonObject> broadcaster) {
+        JsonArray upsert = new JsonArray();
+        for (ApiDefinition definition : definitions) {
+            owned.put(definition.name(), definition);
+            owners.remove(definition.name());
+            upsert.add(definition.toJson());
+        }
+        broadcaster.handle(delta("batch").put("upsert", upsert).put("remove", new JsonArray()));
+    }
+
+    /**
+     * 本节点批量删除了API，只广播一个增量事件.
+     *
+     * @param names       API的名称
+     * @param broadcaster 广播增量事件
+     */
+    synchronized void unpublishedAll(Collection<String> names, Handler<JsonObject> broadcaster) {
+        JsonArray remove = new JsonArray();
+        for (String name : names) {
+            owned.remove(name);
+            owners.remove(name);
+            remove.add(name);
+        }
+        broadcaster.handle(delta("batch").put("upsert", new JsonArray()).put("remove", remove));
+    }
+
+    /**
+     * 广播心跳.
+     *
+     * @param broadcaster 广播心跳
+     */
+    synchronized void heartbeat(Handler<JsonObject> broadcaster) {
+        broadcaster.handle(new JsonObject()
+                                   .put("origin", nodeId)
+                                   .put("version", version)
+                                   .put("op", "heartbeat"));
+    }
+
+    /**
+     * @return 本节点发布的API的快照
+     */
+    synchronized JsonObject snapshot() {
+        JsonArray apis = new JsonArray();
+        owned.values().forEach(d -> apis.add(d.toJson()));
+        return new JsonObject()
+                .put("origin", nodeId)
+                .put("version", version)
+                .put("apis", apis);
+    }
+
+    /**
+     * 应用其他节点的增量事件.
+     *
+     * @param delta   增量事件
+     * @param backend 本地的存储
+     * @return 如果需要向来源节点请求快照，返回true
+     */
+    synchronized boolean applyDelta(JsonObject delta, ApiDefinitionBackend backend) {
+        String origin = delta.getString("origin");
+        if (nodeId.equals(origin)) {
+            return false;
+        }
+        Origin state = origins.computeIfAbsent(origin, k -> new Origin());
+        state.lastSeen = System.currentTimeMillis();
+        long deltaVersion = delta.getLong("version");
+        if ("heartbeat".equals(delta.getString("op"))) {
+            if (state.resyncing || deltaVersion <= state.version) {
+                return false;
+            }
+            LOGGER.info("[ApiDiscovery] [resync] {origin:{}, version:{}, heartbeat:{}}", origin,
+                        state.version, deltaVersion);
+            state.resyncing = true;
+            return true;
+        }
+        if (state.resyncing) {
+            if (state.pending.size() < MAX_PENDING) {
+                state.pending.add(delta);
+            } else {
+                state.pending.clear();
+                state.resyncing = false;
+            }
+            return false;
+        }
+        if (deltaVersion <= state.version) {
+            return false;
+        }
+        if (deltaVersion > state.version + 1) {
+            LOGGER.info("[ApiDiscovery] [resync] {origin:{}, version:{}, received:{}}", origin,
+                        state.version, deltaVersion);
+            state.resyncing = true;
+            state.pending.add(delta);
+            return true;
+        }
+        apply(origin, state, delta, backend);
+        return false;
+    }
+
+    /**
+     * 应用其他节点的快照，然后重放等待期间缓存的增量事件.
+     *
+     * @param snapshot 快照
+     * @param backend  本地的存储
+     */
+    synchronized void applySnapshot(JsonObject snapshot, ApiDefinitionBackend backend) {
+        String origin = snapshot.getString("origin");
+        if (nodeId.equals(origin)) {
+            return;
+        }
+        Origin state = origins.computeIfAbsent(origin, k -> new Origin());
+        state.lastSeen = System.currentTimeMillis();
+        long snapshotVersion = snapshot.getLong("version");
+        if (snapshotVersion <= state.version && !state.resyncing) {
+            return;
+        }
+        Set<String> names = new HashSet<>();
+        List<ApiDefinition> definitions = new ArrayList<>();
+        for (Object api : snapshot.getJsonArray("apis")) {
+            ApiDefinition definition = ApiDefinition.fromJson((JsonObject) api);
+            names.add(definition.name());
+            definitions.add(definition);
+        }
+        List<String> stale = new ArrayList<>();
+        Iterator<Map.Entry<String, String>> iterator = owners.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            if (entry.getValue().equals(origin) && !names.contains(entry.getKey())) {
+                iterator.remove();
+                stale.add(entry.getKey());
+            }
+        }
+        storeAll(origin, definitions, backend);
+        if (!stale.isEmpty()) {
+            backend.removeAll(stale, ar -> {
+            });
+        }
+        state.version = Math.max(state.version, snapshotVersion);
+        state.resyncing = false;
+        List<JsonObject> pending = new ArrayList<>(state.pending);
+        state.pending.clear();
+        //只重放连续的事件，出现新的缺口时等待之后的事件重新触发同步
+        for (JsonObject delta : pending) {
+            long deltaVersion = delta.getLong("version");
+            if (deltaVersion == state.version + 1) {
+                apply(origin, state, delta, backend);
+            } else if (deltaVersion > state.version + 1) {
+                break;
+            }
+        }
+        LOGGER.info("[ApiDiscovery] [snapshot] {origin:{}, version:{}, apis:{}}", origin,
+                    state.version, names.size());
+    }
+
+    /**
+     * 请求快照失败，放弃这次同步，丢弃缓存的增量事件.
+     * 版本号保持不变，之后收到的增量事件或者心跳会重新发现缺口并请求快照.
+     *
+     * @param origin 来源节点
+     */
+    synchronized void resyncFailed(String origin) {
+        Origin state = origins.get(origin);
+        if (state == null) {
+            return;
+        }
+        state.resyncing = false;
+        state.pending.clear();
+    }
+
+    /**
+     * 删除超过timeout毫秒没有收到任何事件的来源节点，以及从这些节点同步的API.
+     *
+     * @param timeout 超时时间，单位毫秒
+     * @param backend 本地的存储
+     */
+    synchronized void expire(long timeout, ApiDefinitionBackend backend) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Origin>> iterator = origins.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Origin> entry = iterator.next();
+            if (now - entry.getValue().lastSeen <= timeout) {
+                continue;
+            }
+            iterator.remove();
+            String origin = entry.getKey();
+            List<String> names = owners.entrySet().stream()
+                    .filter(e -> e.getValue().equals(origin))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            removeAll(origin, names, backend);
+            LOGGER.info("[ApiDiscovery] [expire] {origin:{}, apis:{}}", origin, names.size());
+        }
+    }
+
+    synchronized void clear() {
+        owned.clear();
+        owners.clear();
+        origins.clear();
+    }
+
+    private JsonObject delta(String op) {
+        version++;
+        return new JsonObject()
+                .put("origin", nodeId)
+                .put("version", version)
+                .put("op", op);
+    }
+
+    private void apply(String origin, Origin state, JsonObject delta,
+                       ApiDefinitionBackend backend) {
+        state.version = delta.getLong("version");
+        String op = delta.getString("op");
+        if ("upsert".equals(op)) {
+            storeAll(origin, Collections.singletonList(
+                    ApiDefinition.fromJson(delta.getJsonObject("api"))), backend);
+        } else if ("remove".equals(op)) {
+            removeAll(origin, Collections.singletonList(delta.getString("name")), backend);
+        } else if ("batch".equals(op)) {
+            List<ApiDefinition> definitions = new ArrayList<>();
+            for (Object api : delta.getJsonArray("upsert")) {
+                definitions.add(ApiDefinition.fromJson((JsonObject) api));
+            }
+            List<String> names = new ArrayList<>();
+            for (Object name : delta.getJsonArray("remove")) {
+                names.add((String) name);
+            }
+            storeAll(origin, definitions, backend);
+            removeAll(origin, names, backend);
+        }
+    }
+
+    private void storeAll(String origin, List<ApiDefinition> definitions,
+                          ApiDefinitionBackend backend) {
+        //本节点发布的API不会被其他节点覆盖
+        List<ApiDefinition> accepted = new ArrayList<>();
+        for (ApiDefinition definition : definitions) {
+            if (owned.containsKey(definition.name())) {
+                LOGGER.warn("[ApiDiscovery] [conflict] {name:{}, origin:{}}", definition.name(),
+                            origin);
+                continue;
+            }
+            owners.put(definition.name(), origin);
+            accepted.add(definition);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        backend.storeAll(accepted, ar -> {
+        });
+    }
+
+    private void removeAll(String origin, List<String> names, ApiDefinitionBackend backend) {
+        //只删除从这个节点同步的API
+        List<String> removed = new ArrayList<>();
+        for (String name : names) {
+            if (origin.equals(owners.get(name))) {
+                owners.remove(name);
+                removed.add(name);
+            }
+        }
+        if (!removed.isEmpty()) {
+            backend.removeAll(removed, ar -> {
+            });
+        }
+    }
+
+    private static class Origin {
+
+        private final List<JsonObject> pending = new ArrayList<>();
+
+        private long version;
+
+        private boolean resyncing;
+
+        private long lastSeen = System.currentTimeMillis();
+    }
+}
@@ -8,6 +8,9 @@ import java.util.List;
 
 /**
  * ant匹配规则的API定义.
+ * <p>
+ * 路径和忽略规则在创建(添加)时编译为{@link AntPathPattern}，匹配请求时不再创建AntPathMatcher.
+ * ignoredPatterns()返回的仍然是原始的列表，调用方直接修改列表之后，下一次匹配时发现列表变化再重新编译忽略规则.
  *
  * @author Edgar  Date 2018/1/11
  */
@@ -18,9 +21,17 @@ class AntPathApiDefinition extends ApiDefinitionImpl {
      */
     private final List<String> ignoredPatterns = new ArrayList<>();
 
+    private final AntPathPattern pathPattern;
+
+    /**
+     * 编译后的忽略规则，规则变化时整体替换
+     */
+    private volatile CompiledPatterns compiledIgnoredPatterns = CompiledPatterns.EMPTY;
+
     AntPathApiDefinition(String name, HttpMethod method, String path,
                          List<Endpoint> endpoints) {
         super(name, method, path, endpoints);
+        this.pathPattern = AntPathPattern.compile(super.path());
     }
 
     public AntPathApiDefinition addIgnoredPattern(String pattern) {
@@ -29,8 +40,61 @@ class AntPathApiDefinition extends ApiDefinitionImpl {
         return this;
     }
 
+    /**
+     * 匹配请求路径的[0, end)部分，命中忽略规则的路径不匹配.
+     *
+     * @param path 请求路径
+     * @param end  结束位置(不包括)
+     * @return 匹配返回true
+     */
+    boolean matchPath(String path, int end) {
+        CompiledPatterns compiled = compiledIgnoredPatterns;
+        if (!compiled.compiledFrom(ignoredPatterns)) {
+            compiled = new CompiledPatterns(ignoredPatterns);
+            compiledIgnoredPatterns = compiled;
+        }
+        for (AntPathPattern ignored : compiled.patterns) {
+            if (ignored.matches(path, end)) {
+                return false;
+            }
+        }
+        return pathPattern.matches(path, end);
+    }
+
     public List<String> ignoredPatterns() {
         return ignoredPatterns;
     }
 
+    private static class CompiledPatterns {
+
+        private static final CompiledPatterns EMPTY = new CompiledPatterns(new ArrayList<>());
+
+        private final List<String> sources;
+
+        private final AntPathPattern[] patterns;
+
+        private CompiledPatterns(List<String> sources) {
+            this.sources = new ArrayList<>(sources);
+            this.patterns = new AntPathPattern[this.sources.size()];
+            for (int i = 0; i < patterns.length; i++) {
+                patterns[i] = AntPathPattern.compile(this.sources.get(i));
+            }
+        }
+
+        /**
+         * 规则一般只有几条，并且是同一个字符串对象，逐个比较的开销很小.
+         */
+        private boolean compiledFrom(List<String> current) {
+            if (current.size() != sources.size()) {
+                return false;
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                if (!sources.get(i).equals(current.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
@@ -0,0 +1,185 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.github.edgar615.gateway.core.utils.PathTokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的ant风格路径.
+ * <p>
+ * 原来每次匹配都会创建一个AntPathMatcher，并且重新拆分规则和请求路径.
+ * 现在在创建API的时候将规则拆分为段并编译好，匹配时使用{@link PathTokenizer}直接在请求路径上按下标比较，不再创建对象.
+ * <p>
+ * 支持的规则：
+ * <pre>
+ * ?  匹配一个字符
+ * *  匹配一段中的0到多个字符
+ * ** 匹配0到多段
+ * </pre>
+ * 与原来的AntPathMatcher保持一致，"{"和"}"是普通字符，不支持{name}形式的变量.
+ * 与API路径的处理保持一致，开头和末尾的"/"以及连续的"/"都会被忽略.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class AntPathPattern {
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final String pattern;
+
+    private final Segment[] segments;
+
+    private AntPathPattern(String pattern, Segment[] segments) {
+        this.pattern = pattern;
+        this.segments = segments;
+    }
+
+    static AntPathPattern compile(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        int end = pattern.length();
+        int start = PathTokenizer.nextSegment(pattern, 0, end);
+        while (start < end) {
+            int segmentEnd = PathTokenizer.segmentEnd(pattern, start, end);
+            String token = pattern.substring(start, segmentEnd);
+            if (DOUBLE_WILDCARD.equals(token)) {
+                //连续的**等价于一个**
+                if (segments.isEmpty() || !segments.get(segments.size() - 1).doubleWildcard()) {
+                    segments.add(Segment.DOUBLE_WILDCARD);
+                }
+            } else if (token.indexOf('*') >= 0 || token.indexOf('?') >= 0) {
+                segments.add(new WildcardSegment(token));
+            } else {
+                segments.add(new LiteralSegment(token));
+            }
+            start = PathTokenizer.nextSegment(pattern, segmentEnd, end);
+        }
+        return new AntPathPattern(pattern, segments.toArray(new Segment[0]));
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    boolean matches(String path) {
+        return matches(path, path.length());
+    }
+
+    /**
+     * 匹配请求路径的[0, end)部分.
+     *
+     * @param path 请求路径
+     * @param end  结束位置(不包括)
+     * @return 匹配返回true
+     */
+    boolean matches(String path, int end) {
+        return match(0, path, PathTokenizer.nextSegment(path, 0, end), end);
+    }
+
+    private boolean match(int index, String path, int start, int end) {
+        if (index == segments.length) {
+            return start >= end;
+        }
+        Segment segment = segments[index];
+        if (segment.doubleWildcard()) {
+            //依次尝试让**匹配0段、1段...直到路径结束
+            int position = start;
+            while (true) {
+                if (match(index + 1, path, position, end)) {
+                    return true;
+                }
+                if (position >= end) {
+                    return false;
+                }
+                position = PathTokenizer.nextSegment(path,
+                        PathTokenizer.segmentEnd(path, position, end), end);
+            }
+        }
+        if (start >= end) {
+            return false;
+        }
+        int segmentEnd = PathTokenizer.segmentEnd(path, start, end);
+        return segment.matches(path, start, segmentEnd)
+                && match(index + 1, path, PathTokenizer.nextSegment(path, segmentEnd, end), end);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private interface Segment {
+
+        Segment DOUBLE_WILDCARD = new Segment() {
+            @Override
+            public boolean matches(String path, int start, int end) {
+                return true;
+            }
+
+            @Override
+            public boolean doubleWildcard() {
+                return true;
+            }
+        };
+
+        boolean matches(String path, int start, int end);
+
+        default boolean doubleWildcard() {
+            return false;
+        }
+    }
+
+    private static class LiteralSegment implements Segment {
+
+        private final String text;
+
+        private LiteralSegment(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public boolean matches(String path, int start, int end) {
+            return end - start == text.length()
+                    && path.regionMatches(start, text, 0, text.length());
+        }
+    }
+
+    /**
+     * 包含*和?的段，使用回溯的方式匹配，不创建对象.
+     */
+    private static class WildcardSegment implements Segment {
+
+        private final String glob;
+
+        private WildcardSegment(String glob) {
+            this.glob = glob;
+        }
+
+        @Override
+        public boolean matches(String path, int start, int end) {
+            int g = 0;
+            int p = start;
+            int starGlob = -1;
+            int starPath = -1;
+            while (p < end) {
+                if (g < glob.length()
+                        && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                    g++;
+                    p++;
+                } else if (g < glob.length() && glob.charAt(g) == '*') {
+                    starGlob = g++;
+                    starPath = p;
+                } else if (starGlob >= 0) {
+                    g = starGlob + 1;
+                    p = ++starPath;
+                } else {
+                    return false;
+                }
+            }
+            while (g < glob.length() && glob.charAt(g) == '*') {
+                g++;
+            }
+            return g == glob.length();
+        }
+    }
+}
@@ -6,7 +6,6 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.Shareable;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * API定义的接口.
@@ -127,14 +126,39 @@ public interface ApiDefinition extends Shareable {
      */
     default ApiPlugin plugin(String name) {
         Preconditions.checkNotNull(name, "name cannot be null");
-        List<ApiPlugin> apiPlugins =
-                plugins().stream()
-                        .filter(p -> name.equalsIgnoreCase(p.name()))
-                        .collect(Collectors.toList());
-        if (apiPlugins.isEmpty()) {
-            return null;
+        for (ApiPlugin plugin : plugins()) {
+            if (name.equalsIgnoreCase(plugin.name())) {
+                return plugin;
+            }
         }
-        return apiPlugins.get(0);
+        return null;
+    }
+
+    /**
+     * 根据插件的类型返回插件.
+     *
+     * @param type 插件的类型
+     * @param <T>  插件的类型
+     * @return 如果未找到对应的插件，返回null
+     */
+    default <T extends ApiPlugin> T plugin(Class<T> type) {
+        Preconditions.checkNotNull(type, "type cannot be null");
+        for (ApiPlugin plugin : plugins()) {
+            if (type.isInstance(plugin)) {
+                return type.cast(plugin);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据{@link ApiPluginRegistry}分配的槽位返回插件.
+     *
+     * @param slot 槽位
+     * @return 如果未找到对应的插件，返回null
+     */
+    default ApiPlugin plugin(int slot) {
+        return plugin(ApiPluginRegistry.instance().factory(slot).name());
     }
 
     /**
@@ -162,4 +186,14 @@ public interface ApiDefinition extends Shareable {
     default boolean match(JsonObject filter) {
         return ApiDefinitionUtils.match(this, filter);
     }
+
+    /**
+     * 判断请求路径是否与API的路径匹配，根据API的类型分别使用相等、正则、ant风格匹配.
+     *
+     * @param path 请求路径
+     * @return 匹配返回true
+     */
+    default boolean matchPath(String path) {
+        return ApiDefinitionUtils.matchPath(this, path);
+    }
 }
@@ -39,7 +39,15 @@ class ApiDefinitionImpl implements ApiDefinition {
      */
     private final List<Endpoint> endpoints;
 
-    private final List<ApiPlugin> plugins = new ArrayList<>();
+    /**
+     * 按{@link ApiPluginRegistry}的槽位保存的插件，未注册的插件只保存在plugins中
+     */
+    private final ApiPlugin[] slots = new ApiPlugin[ApiPluginRegistry.instance().size()];
+
+    /**
+     * 插件列表，修改时整体替换，plugins()直接返回，不再复制
+     */
+    private volatile List<ApiPlugin> plugins = ImmutableList.of();
 
     ApiDefinitionImpl(String name, HttpMethod method, String path,
                       List<Endpoint> endpoints) {
@@ -84,26 +92,62 @@ class ApiDefinitionImpl implements ApiDefinition {
 
     @Override
     public List<ApiPlugin> plugins() {
-        return ImmutableList.copyOf(plugins);
+        return plugins;
+    }
+
+    @Override
+    public ApiPlugin plugin(String name) {
+        Preconditions.checkNotNull(name, "name cannot be null");
+        int slot = ApiPluginRegistry.instance().slot(name);
+        if (slot >= 0) {
+            return slots[slot];
+        }
+        return ApiDefinition.super.plugin(name);
+    }
+
+    @Override
+    public <T extends ApiPlugin> T plugin(Class<T> type) {
+        Preconditions.checkNotNull(type, "type cannot be null");
+        int slot = ApiPluginRegistry.instance().slot(type);
+        if (slot >= 0) {
+            ApiPlugin plugin = slots[slot];
+            return type.isInstance(plugin) ? type.cast(plugin) : null;
+        }
+        return ApiDefinition.super.plugin(type);
     }
 
     @Override
-    public ApiDefinition addPlugin(ApiPlugin plugin) {
+    public ApiPlugin plugin(int slot) {
+        return slots[slot];
+    }
+
+    @Override
+    public synchronized ApiDefinition addPlugin(ApiPlugin plugin) {
         if (plugin == null) {
             return this;
         }
         Preconditions.checkNotNull(plugin, "plugin cannot be null");
         removePlugin(plugin.name());
-        plugins.add(plugin);
+        int slot = ApiPluginRegistry.instance().slot(plugin.name());
+        if (slot >= 0) {
+            slots[slot] = plugin;
+        }
+        this.plugins = ImmutableList.<ApiPlugin>builder().addAll(plugins).add(plugin).build();
         return this;
     }
 
     @Override
-    public ApiDefinition removePlugin(String name) {
+    public synchronized ApiDefinition removePlugin(String name) {
         Preconditions.checkNotNull(name, "name cannot be null");
         ApiPlugin apiPlugin = plugin(name);
         if (apiPlugin != null) {
-            plugins.remove(apiPlugin);
+            int slot = ApiPluginRegistry.instance().slot(name);
+            if (slot >= 0) {
+                slots[slot] = null;
+            }
+            List<ApiPlugin> newPlugins = new ArrayList<>(plugins);
+            newPlugins.remove(apiPlugin);
+            this.plugins = ImmutableList.copyOf(newPlugins);
         }
         return this;
     }
@@ -1,6 +1,5 @@
 package com.github.edgar615.gateway.core.definition;
 
-import com.github.edgar615.util.base.AntPathMatcher;
 import io.vertx.core.json.JsonObject;
 
 import java.util.List;
@@ -77,14 +76,18 @@ class ApiDefinitionUtils {
     }
 
     static boolean matchPath(ApiDefinition definition, String expected) {
+        if (definition instanceof AntPathApiDefinition) {
+            //ant风格按下标匹配，末尾的"/"直接跳过，不需要截取字符串
+            int end = expected.length();
+            if (end > 1 && expected.charAt(end - 1) == '/') {
+                end--;
+            }
+            return ((AntPathApiDefinition) definition).matchPath(expected, end);
+        }
         if (expected.endsWith("/") && expected.length() > 1) {
             expected = expected.substring(0, expected.length() - 1);
         }
-        if (definition instanceof AntPathApiDefinition) {
-            AntPathMatcher matcher = new AntPathMatcher.Builder().build();
-            return !matchIgnore((AntPathApiDefinition) definition, matcher, expected)
-                    && matcher.isMatch(definition.path(), expected);
-        } else if (definition instanceof RegexPathApiDefinition) {
+        if (definition instanceof RegexPathApiDefinition) {
             RegexPathApiDefinition regexPathApiDefinition = (RegexPathApiDefinition) definition;
             Pattern pattern = regexPathApiDefinition.pattern();
             Matcher matcher = pattern.matcher(expected);
@@ -95,12 +98,6 @@ class ApiDefinitionUtils {
 
     }
 
-    static boolean matchIgnore(AntPathApiDefinition definition, AntPathMatcher matcher,
-                               String expected) {
-        return definition.ignoredPatterns()
-                .stream().anyMatch(p -> matcher.isMatch(p, expected));
-    }
-
     static boolean match(Object actual, Object expected) {
         if (actual == null) {
             return false;
@@ -6,7 +6,6 @@ import io.vertx.core.json.JsonObject;
 
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.ServiceLoader;
 
 /**
@@ -24,11 +23,9 @@ public interface ApiPlugin {
 
     static ApiPluginFactory factory(String name) {
         Preconditions.checkNotNull(name, "name cannot null");
-        Optional<ApiPluginFactory> optional
-                = factories.stream().filter(f -> name.equalsIgnoreCase(f.name()))
-                .findAny();
-        if (optional.isPresent()) {
-            return optional.get();
+        int slot = ApiPluginRegistry.instance().slot(name);
+        if (slot >= 0) {
+            return ApiPluginRegistry.instance().factory(slot);
         }
         throw new NoSuchElementException("no such factory->" + name);
     }
@@ -39,9 +36,11 @@ public interface ApiPlugin {
     String name();
 
     default JsonObject encode() {
-        return factories.stream().filter(f -> this.name().equalsIgnoreCase(f.name()))
-                .map(f -> f.encode(this))
-                .findFirst().orElseGet(() -> new JsonObject());
+        int slot = ApiPluginRegistry.instance().slot(name());
+        if (slot < 0) {
+            return new JsonObject();
+        }
+        return ApiPluginRegistry.instance().factory(slot).encode(this);
     }
 
 }
@@ -0,0 +1,137 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 插件的注册表.
+ * <p>
+ * 原来查找插件需要遍历插件列表并逐个忽略大小写比较名称，每个filter的shouldFilter方法都会调用，而plugins()每次都会复制一个新的列表.
+ * 注册表为ServiceLoader加载的每个{@link ApiPluginFactory}分配一个固定的槽位(按加载顺序，从0开始)，
+ * ApiDefinition按槽位将插件保存在一个固定长度的数组中，判断插件是否存在和查找插件都只需要读一次数组，不会创建对象.
+ * <p>
+ * 除了按名称查找槽位，还可以按插件的类型查找：注册时会调用一次factory.create()，将插件的类以及它实现的插件接口都映射到这个槽位.
+ * 推荐的用法是在filter中将槽位保存为常量：
+ * <pre>
+ * private static final int SLOT = ApiPluginRegistry.instance().slot(PredicatePlugin.class);
+ * ...
+ * apiDefinition.plugin(SLOT) != null
+ * </pre>
+ * 注册表创建之后不再修改，可以在多个线程之间共享.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ApiPluginRegistry {
+
+    private final List<ApiPluginFactory> factories;
+
+    private final Map<String, Integer> nameSlots = new HashMap<>();
+
+    private final Map<Class<?>, Integer> typeSlots = new HashMap<>();
+
+    private final ClassValue<Integer> resolvedTypeSlots = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return typeSlots.getOrDefault(type, -1);
+        }
+    };
+
+    ApiPluginRegistry(List<ApiPluginFactory> factories) {
+        this.factories = ImmutableList.copyOf(factories);
+        for (int i = 0; i < this.factories.size(); i++) {
+            ApiPluginFactory factory = this.factories.get(i);
+            nameSlots.putIfAbsent(factory.name(), i);
+            nameSlots.putIfAbsent(factory.name().toLowerCase(), i);
+            registerTypes(factory, i);
+        }
+    }
+
+    public static ApiPluginRegistry instance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return 槽位的数量
+     */
+    public int size() {
+        return factories.size();
+    }
+
+    /**
+     * 根据插件名称查找槽位，忽略大小写.
+     *
+     * @param name 插件名称
+     * @return 槽位，未注册的插件返回-1
+     */
+    public int slot(String name) {
+        Preconditions.checkNotNull(name, "name cannot be null");
+        Integer slot = nameSlots.get(name);
+        if (slot == null) {
+            slot = nameSlots.get(name.toLowerCase());
+        }
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * 根据插件的类型查找槽位.
+     *
+     * @param type 插件的类或者接口
+     * @return 槽位，未注册的类型或者多个插件共用的类型返回-1
+     */
+    public int slot(Class<? extends ApiPlugin> type) {
+        Preconditions.checkNotNull(type, "type cannot be null");
+        return resolvedTypeSlots.get(type);
+    }
+
+    /**
+     * @param slot 槽位
+     * @return 槽位对应的插件工厂
+     */
+    public ApiPluginFactory factory(int slot) {
+        return factories.get(slot);
+    }
+
+    /**
+     * 将插件的类、父类以及所有继承自ApiPlugin的接口映射到槽位，同一个类型被多个插件使用时不做映射.
+     */
+    private void registerTypes(ApiPluginFactory factory, int slot) {
+        ApiPlugin plugin;
+        try {
+            plugin = factory.create();
+        } catch (RuntimeException e) {
+            //无法创建默认插件，只能通过名称查找
+            return;
+        }
+        if (plugin == null) {
+            return;
+        }
+        Deque<Class<?>> types = new ArrayDeque<>();
+        types.add(plugin.getClass());
+        while (!types.isEmpty()) {
+            Class<?> type = types.poll();
+            if (type == ApiPlugin.class || !ApiPlugin.class.isAssignableFrom(type)) {
+                continue;
+            }
+            Integer exists = typeSlots.putIfAbsent(type, slot);
+            if (exists != null && exists != slot) {
+                typeSlots.put(type, -1);
+            }
+            if (type.getSuperclass() != null) {
+                types.add(type.getSuperclass());
+            }
+            for (Class<?> anInterface : type.getInterfaces()) {
+                types.add(anInterface);
+            }
+        }
+    }
+
+    private static class Holder {
+        private static final ApiPluginRegistry INSTANCE = new ApiPluginRegistry(ApiPlugin.factories);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.http.HttpMethod;
+
+import java.util.List;
+
+/**
+ * 客户端负载均衡的HTTP类型的Endpoint.
+ * <p>
+ * 在endpoint中直接指定下游服务的多个实例，网关按照负载均衡策略选择一个实例转发，不需要经过额外的负载均衡器.
+ * 负载均衡策略：
+ * <pre>
+ * round-robin：轮询
+ * p2c：        随机选择两个实例，选择正在处理的请求数较少的实例(power of two choices)
+ * peak-ewma：  随机选择两个实例，选择延迟(峰值敏感的指数加权移动平均)乘以正在处理的请求数较小的实例
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public interface LoadBalancedHttpEndpoint extends HttpEndpoint {
+    String TYPE = "lb-http";
+
+    String ROUND_ROBIN = "round-robin";
+
+    String P2C = "p2c";
+
+    String PEAK_EWMA = "peak-ewma";
+
+    /**
+     * 创建负载均衡的HTTP类型的Endpoint
+     *
+     * @param name      名称
+     * @param method    请求方法 GET | POST | DELETE | PUT
+     * @param path      API路径
+     * @param instances 下游服务的实例
+     * @param strategy  负载均衡策略 round-robin | p2c | peak-ewma
+     * @return LoadBalancedHttpEndpoint
+     */
+    static LoadBalancedHttpEndpoint http(String name, HttpMethod method, String path,
+                                         List<HostAndPort> instances, String strategy) {
+        return new LoadBalancedHttpEndpointImpl(name, method, path, instances, strategy, false);
+    }
+
+    /**
+     * 创建负载均衡的HTTP类型的Endpoint
+     *
+     * @param name      名称
+     * @param method    请求方法 GET | POST | DELETE | PUT
+     * @param path      API路径
+     * @param instances 下游服务的实例
+     * @param strategy  负载均衡策略 round-robin | p2c | peak-ewma
+     * @param http2     是否使用HTTP/2(h2c)访问下游服务
+     * @return LoadBalancedHttpEndpoint
+     */
+    static LoadBalancedHttpEndpoint http(String name, HttpMethod method, String path,
+                                         List<HostAndPort> instances, String strategy,
+                                         boolean http2) {
+        return new LoadBalancedHttpEndpointImpl(name, method, path, instances, strategy, http2);
+    }
+
+    /**
+     * @return 下游服务的实例，不可修改
+     */
+    List<HostAndPort> instances();
+
+    /**
+     * @return 负载均衡策略
+     */
+    String strategy();
+
+    /**
+     * 是否使用HTTP/2访问下游服务，参考{@link SimpleHttpEndpoint#http2()}.
+     *
+     * @return true：HTTP/2，false：HTTP/1.1
+     */
+    boolean http2();
+
+    default String type() {
+        return TYPE;
+    }
+}
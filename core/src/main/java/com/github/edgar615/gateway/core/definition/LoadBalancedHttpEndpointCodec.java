@@ -0,0 +1,73 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.base.Preconditions;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 负载均衡的HTTP类型的Endpoint的编解码类.
+ * <pre>
+ * {
+ *   "type" : "lb-http",
+ *   "name" : "device",
+ *   "method" : "GET",
+ *   "path" : "/devices",
+ *   "instances" : ["10.0.0.1:8080", "10.0.0.2:8080"],
+ *   "strategy" : "peak-ewma"
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancedHttpEndpointCodec implements EndpointCodec {
+
+    @Override
+    public Endpoint fromJson(JsonObject jsonObject) {
+        String type = jsonObject.getString("type");
+        Preconditions.checkNotNull(type, "endpoint type cannot be null");
+        Preconditions.checkArgument(type.equalsIgnoreCase(LoadBalancedHttpEndpoint.TYPE),
+                                    "endpoint type must be lb-http");
+        String name = jsonObject.getString("name", "default");
+        String path = jsonObject.getString("path");
+        Preconditions.checkNotNull(path, "endpoint path cannot be null");
+        HttpMethod method = Endpoints.method(jsonObject.getString("method", "get"));
+        JsonArray instanceArray = jsonObject.getJsonArray("instances");
+        Preconditions.checkNotNull(instanceArray, "endpoint instances cannot be null");
+        List<HostAndPort> instances = new ArrayList<>(instanceArray.size());
+        for (int i = 0; i < instanceArray.size(); i++) {
+            instances.add(HostAndPort.fromString(instanceArray.getString(i)));
+        }
+        String strategy = jsonObject.getString("strategy", LoadBalancedHttpEndpoint.ROUND_ROBIN);
+        boolean http2 = jsonObject.getBoolean("http2", false);
+        return new LoadBalancedHttpEndpointImpl(name, method, path, instances, strategy.toLowerCase(),
+                                                http2);
+    }
+
+    @Override
+    public JsonObject toJson(Endpoint endpoint) {
+        LoadBalancedHttpEndpoint httpEndpoint = (LoadBalancedHttpEndpoint) endpoint;
+        JsonArray instances = new JsonArray();
+        httpEndpoint.instances().forEach(i -> instances.add(i.toString()));
+        JsonObject jsonObject = new JsonObject()
+                .put("type", httpEndpoint.type())
+                .put("name", httpEndpoint.name())
+                .put("instances", instances)
+                .put("strategy", httpEndpoint.strategy())
+                .put("path", httpEndpoint.path())
+                .put("method", httpEndpoint.method());
+        if (httpEndpoint.http2()) {
+            jsonObject.put("http2", true);
+        }
+        return jsonObject;
+    }
+
+    @Override
+    public String type() {
+        return LoadBalancedHttpEndpoint.TYPE;
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.http.HttpMethod;
+
+import java.util.List;
+
+/**
+ * 负载均衡的HTTP的远程调用定义.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class LoadBalancedHttpEndpointImpl implements LoadBalancedHttpEndpoint {
+
+    private static final ImmutableSet<String> STRATEGIES = ImmutableSet.of(ROUND_ROBIN, P2C, PEAK_EWMA);
+
+    /**
+     * endpoint名称
+     */
+    private final String name;
+
+    /**
+     * 请求方法 GET | POST | DELETE | PUT
+     */
+    private final HttpMethod method;
+
+    /**
+     * 远程rest路径
+     */
+    private final String path;
+
+    /**
+     * 下游服务的实例
+     */
+    private final List<HostAndPort> instances;
+
+    /**
+     * 负载均衡策略
+     */
+    private final String strategy;
+
+    /**
+     * 是否使用HTTP/2
+     */
+    private final boolean http2;
+
+    LoadBalancedHttpEndpointImpl(String name, HttpMethod method, String path,
+                                 List<HostAndPort> instances, String strategy, boolean http2) {
+        Preconditions.checkNotNull(name, "name can not be null");
+        Preconditions.checkNotNull(method, "method can not be null");
+        Preconditions.checkNotNull(path, "path can not be null");
+        Preconditions.checkNotNull(instances, "instances can not be null");
+        Preconditions.checkArgument(!instances.isEmpty(), "instances can not be empty");
+        for (HostAndPort instance : instances) {
+            Preconditions.checkArgument(instance.hasPort(), "instance must have port: " + instance);
+        }
+        Preconditions.checkArgument(STRATEGIES.contains(strategy),
+                                    "strategy must be round-robin | p2c | peak-ewma");
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.instances = ImmutableList.copyOf(instances);
+        this.strategy = strategy;
+        this.http2 = http2;
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    @Override
+    public HttpMethod method() {
+        return method;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public List<HostAndPort> instances() {
+        return instances;
+    }
+
+    @Override
+    public String strategy() {
+        return strategy;
+    }
+
+    @Override
+    public boolean http2() {
+        return http2;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(LoadBalancedHttpEndpoint.class.getSimpleName())
+                .add("name", name)
+                .add("instances", instances)
+                .add("strategy", strategy)
+                .add("path", path)
+                .add("method", method.name())
+                .add("http2", http2)
+                .toString();
+    }
+
+}
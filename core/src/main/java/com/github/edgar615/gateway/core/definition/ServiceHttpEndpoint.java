@@ -0,0 +1,66 @@
+package com.github.edgar615.gateway.core.definition;
+
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * 使用服务发现的HTTP类型的Endpoint.
+ * <p>
+ * endpoint中只指定下游服务的名称，实例从本地的实例缓存中读取，缓存由服务发现的事件更新，请求时不需要查询服务发现.
+ * 有多个实例时按照负载均衡策略选择，参考{@link LoadBalancedHttpEndpoint}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public interface ServiceHttpEndpoint extends HttpEndpoint {
+    String TYPE = "http";
+
+    /**
+     * 创建服务发现的HTTP类型的Endpoint，使用轮询
+     *
+     * @param name    名称
+     * @param method  请求方法 GET | POST | DELETE | PUT
+     * @param path    API路径
+     * @param service 下游服务的名称
+     * @return ServiceHttpEndpoint
+     */
+    static ServiceHttpEndpoint http(String name, HttpMethod method, String path, String service) {
+        return new ServiceHttpEndpointImpl(name, method, path, service,
+                                           LoadBalancedHttpEndpoint.ROUND_ROBIN, false);
+    }
+
+    /**
+     * 创建服务发现的HTTP类型的Endpoint
+     *
+     * @param name     名称
+     * @param method   请求方法 GET | POST | DELETE | PUT
+     * @param path     API路径
+     * @param service  下游服务的名称
+     * @param strategy 负载均衡策略 round-robin | p2c | peak-ewma
+     * @param http2    是否使用HTTP/2(h2c)访问下游服务
+     * @return ServiceHttpEndpoint
+     */
+    static ServiceHttpEndpoint http(String name, HttpMethod method, String path, String service,
+                                    String strategy, boolean http2) {
+        return new ServiceHttpEndpointImpl(name, method, path, service, strategy, http2);
+    }
+
+    /**
+     * @return 下游服务的名称
+     */
+    String service();
+
+    /**
+     * @return 负载均衡策略
+     */
+    String strategy();
+
+    /**
+     * 是否使用HTTP/2访问下游服务，参考{@link SimpleHttpEndpoint#http2()}.
+     *
+     * @return true：HTTP/2，false：HTTP/1.1
+     */
+    boolean http2();
+
+    default String type() {
+        return TYPE;
+    }
+}
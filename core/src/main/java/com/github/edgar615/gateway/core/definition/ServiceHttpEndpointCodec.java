@@ -0,0 +1,54 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.base.Preconditions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 服务发现的HTTP类型的Endpoint的编解码类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceHttpEndpointCodec implements EndpointCodec {
+
+    @Override
+    public Endpoint fromJson(JsonObject jsonObject) {
+        String type = jsonObject.getString("type");
+        Preconditions.checkNotNull(type, "endpoint type cannot be null");
+        Preconditions.checkArgument(type.equalsIgnoreCase(ServiceHttpEndpoint.TYPE),
+                                    "endpoint type must be http");
+        String name = jsonObject.getString("name", "default");
+        String path = jsonObject.getString("path");
+        Preconditions.checkNotNull(path, "endpoint path cannot be null");
+        HttpMethod method = Endpoints.method(jsonObject.getString("method", "get"));
+        String service = jsonObject.getString("service");
+        Preconditions.checkNotNull(service, "endpoint service cannot be null");
+        String strategy = jsonObject.getString("strategy", LoadBalancedHttpEndpoint.ROUND_ROBIN);
+        boolean http2 = jsonObject.getBoolean("http2", false);
+        return new ServiceHttpEndpointImpl(name, method, path, service, strategy.toLowerCase(),
+                                           http2);
+    }
+
+    @Override
+    public JsonObject toJson(Endpoint endpoint) {
+        ServiceHttpEndpoint httpEndpoint = (ServiceHttpEndpoint) endpoint;
+        JsonObject jsonObject = new JsonObject()
+                .put("type", httpEndpoint.type())
+                .put("name", httpEndpoint.name())
+                .put("service", httpEndpoint.service())
+                .put("path", httpEndpoint.path())
+                .put("method", httpEndpoint.method());
+        if (!LoadBalancedHttpEndpoint.ROUND_ROBIN.equals(httpEndpoint.strategy())) {
+            jsonObject.put("strategy", httpEndpoint.strategy());
+        }
+        if (httpEndpoint.http2()) {
+            jsonObject.put("http2", true);
+        }
+        return jsonObject;
+    }
+
+    @Override
+    public String type() {
+        return ServiceHttpEndpoint.TYPE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * 服务发现的HTTP的远程调用定义.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class ServiceHttpEndpointImpl implements ServiceHttpEndpoint {
+
+    private static final ImmutableSet<String> STRATEGIES =
+            ImmutableSet.of(LoadBalancedHttpEndpoint.ROUND_ROBIN, LoadBalancedHttpEndpoint.P2C,
+                            LoadBalancedHttpEndpoint.PEAK_EWMA);
+
+    /**
+     * endpoint名称
+     */
+    private final String name;
+
+    /**
+     * 请求方法 GET | POST | DELETE | PUT
+     */
+    private final HttpMethod method;
+
+    /**
+     * 远程rest路径
+     */
+    private final String path;
+
+    /**
+     * 下游服务的名称
+     */
+    private final String service;
+
+    /**
+     * 负载均衡策略
+     */
+    private final String strategy;
+
+    /**
+     * 是否使用HTTP/2
+     */
+    private final boolean http2;
+
+    ServiceHttpEndpointImpl(String name, HttpMethod method, String path, String service,
+                            String strategy, boolean http2) {
+        Preconditions.checkNotNull(name, "name can not be null");
+        Preconditions.checkNotNull(method, "method can not be null");
+        Preconditions.checkNotNull(path, "path can not be null");
+        Preconditions.checkNotNull(service, "service can not be null");
+        Preconditions.checkArgument(STRATEGIES.contains(strategy),
+                                    "strategy must be round-robin | p2c | peak-ewma");
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        if (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.service = service;
+        this.strategy = strategy;
+        this.http2 = http2;
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    @Override
+    public HttpMethod method() {
+        return method;
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public String service() {
+        return service;
+    }
+
+    @Override
+    public String strategy() {
+        return strategy;
+    }
+
+    @Override
+    public boolean http2() {
+        return http2;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(ServiceHttpEndpoint.class.getSimpleName())
+                .add("name", name)
+                .add("service", service)
+                .add("strategy", strategy)
+                .add("path", path)
+                .add("method", method.name())
+                .add("http2", http2)
+                .toString();
+    }
+
+}
@@ -27,6 +27,22 @@ public interface SimpleHttpEndpoint extends HttpEndpoint {
         return new SimpleHttpEndpointImpl(name, method, path, port, host);
     }
 
+    /**
+     * 创建HTTP类型的Endpoint
+     *
+     * @param name   名称
+     * @param method 请求方法 GET | POST | DELETE | PUT
+     * @param path   API路径
+     * @param port   下游服务的端口
+     * @param host   下游服务的host
+     * @param http2  是否使用HTTP/2(h2c)访问下游服务
+     * @return SimpleHttpEndpoint
+     */
+    static SimpleHttpEndpoint http(String name, HttpMethod method, String path,
+                                   int port, String host, boolean http2) {
+        return new SimpleHttpEndpointImpl(name, method, path, port, host, http2);
+    }
+
     /**
      * 创建HTTP类型的Endpoint，名称为"default"
      *
@@ -53,6 +69,15 @@ public interface SimpleHttpEndpoint extends HttpEndpoint {
      */
     int port();
 
+    /**
+     * 是否使用HTTP/2访问下游服务.
+     * 使用明文的HTTP/2(h2c)，并且不经过HTTP/1.1升级，下游服务必须支持h2c.
+     * 同一个下游服务的并发请求会复用少量的连接.
+     *
+     * @return true：HTTP/2，false：HTTP/1.1
+     */
+    boolean http2();
+
     default String type() {
         return TYPE;
     }
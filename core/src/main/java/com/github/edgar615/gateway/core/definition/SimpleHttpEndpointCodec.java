@@ -26,19 +26,24 @@ public class SimpleHttpEndpointCodec implements EndpointCodec {
         Preconditions.checkNotNull(host, "endpoint host cannot be null");
         Integer port = jsonObject.getInteger("port");
         Preconditions.checkNotNull(path, "endpoint port cannot be null");
-        return new SimpleHttpEndpointImpl(name, method, path, port, host);
+        boolean http2 = jsonObject.getBoolean("http2", false);
+        return new SimpleHttpEndpointImpl(name, method, path, port, host, http2);
     }
 
     @Override
     public JsonObject toJson(Endpoint endpoint) {
         SimpleHttpEndpoint httpEndpoint = (SimpleHttpEndpoint) endpoint;
-        return new JsonObject()
+        JsonObject jsonObject = new JsonObject()
                 .put("type", httpEndpoint.type())
                 .put("name", httpEndpoint.name())
                 .put("host", httpEndpoint.host())
                 .put("port", httpEndpoint.port())
                 .put("path", httpEndpoint.path())
                 .put("method", httpEndpoint.method());
+        if (httpEndpoint.http2()) {
+            jsonObject.put("http2", true);
+        }
+        return jsonObject;
     }
 
     @Override
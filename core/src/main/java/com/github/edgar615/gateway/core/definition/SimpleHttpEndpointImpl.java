@@ -38,9 +38,20 @@ class SimpleHttpEndpointImpl implements SimpleHttpEndpoint {
      */
     private final int port;
 
+    /**
+     * 是否使用HTTP/2
+     */
+    private final boolean http2;
+
     SimpleHttpEndpointImpl(String name, HttpMethod method, String path,
                            int port,
                            String host) {
+        this(name, method, path, port, host, false);
+    }
+
+    SimpleHttpEndpointImpl(String name, HttpMethod method, String path,
+                           int port,
+                           String host, boolean http2) {
         Preconditions.checkNotNull(name, "name can not be null");
         Preconditions.checkNotNull(method, "method can not be null");
         Preconditions.checkNotNull(path, "path can not be null");
@@ -58,6 +69,7 @@ class SimpleHttpEndpointImpl implements SimpleHttpEndpoint {
         this.path = path;
         this.host = host;
         this.port = port;
+        this.http2 = http2;
     }
 
     @Override
@@ -85,6 +97,11 @@ class SimpleHttpEndpointImpl implements SimpleHttpEndpoint {
         return port;
     }
 
+    @Override
+    public boolean http2() {
+        return http2;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(SimpleHttpEndpoint.class.getSimpleName())
@@ -93,6 +110,7 @@ class SimpleHttpEndpointImpl implements SimpleHttpEndpoint {
                 .add("port", port)
                 .add("path", path)
                 .add("method", method.name())
+                .add("http2", http2)
                 .toString();
     }
 
@@ -53,6 +53,44 @@ public interface ApiContext {
         return create(UUID.randomUUID().toString(), method, path, headers, params, body);
     }
 
+    /**
+     * 创建写时复制的ApiContext对象.
+     * <p>
+     * 请求只在创建时复制一次，headers()、params()直接返回共享的只读对象，copy()不再复制请求数据，
+     * variables、requests、responses、result在被修改(或读取可变对象)时才复制.
+     * body()与{@link #create(String, HttpMethod, String, Multimap, Multimap, JsonObject)}一样每次返回一个副本，修改副本不会影响上下文.
+     *
+     * @param id      上下文ID，该值应该使用一个全局唯一ID
+     * @param method  HTTP方法
+     * @param path    请求路径
+     * @param headers 请求头
+     * @param params  请求参数
+     * @param body    请求体
+     * @return ApiContext对象
+     */
+    static ApiContext copyOnWrite(String id, HttpMethod method, String path,
+                                  Multimap<String, String> headers,
+                                  Multimap<String, String> params, JsonObject body) {
+        return new CopyOnWriteApiContext(id, method, path, headers, params, body);
+    }
+
+    /**
+     * 创建写时复制的ApiContext对象.该方法使用一个UUID作为ID.
+     *
+     * @param method  HTTP方法
+     * @param path    请求路径
+     * @param headers 请求头
+     * @param params  请求参数
+     * @param body    请求体
+     * @return ApiContext对象
+     * @see #copyOnWrite(String, HttpMethod, String, Multimap, Multimap, JsonObject)
+     */
+    static ApiContext copyOnWrite(HttpMethod method, String path,
+                                  Multimap<String, String> headers,
+                                  Multimap<String, String> params, JsonObject body) {
+        return copyOnWrite(UUID.randomUUID().toString(), method, path, headers, params, body);
+    }
+
     /**
      * 将上下文中的可变属性复制到另外一个上下文中.
      * <p>
@@ -0,0 +1,287 @@
+package com.github.edgar615.gateway.core.dispatch;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 写时复制的ApiContext.
+ * <p>
+ * ApiContextImpl每次读取headers、params、body都会复制一次，Filters在执行每个filter之前还会copy()一次上下文，
+ * filter较多、请求体较大的时候会产生大量的临时对象.
+ * 这个实现在创建时只复制一次请求，之后的读取和copy()都共享同一份数据：
+ * <pre>
+ * headers、params：创建时转换为ImmutableMultimap，直接返回
+ * body：创建时复制一次，copy()之后共享；body()与ApiContextImpl一样每次返回一个副本，嵌套的JsonObject和JsonArray也会复制，
+ *       调用方修改返回的对象不会影响任何上下文
+ * variables：使用写时复制的Map，第一次修改时才复制
+ * requests、responses、result：这些对象本身是可变的，在copy()之后第一次读取或修改时才复制
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class CopyOnWriteApiContext implements ApiContext {
+
+    private final String id;
+
+    private final String path;
+
+    private final HttpMethod method;
+
+    private final ImmutableMultimap<String, String> headers;
+
+    private final ImmutableMultimap<String, String> params;
+
+    private final JsonObject body;
+
+    private final CopyOnWriteMap<String, Object> variables;
+
+    private List<RpcRequest> requests;
+
+    private boolean requestsShared;
+
+    private List<RpcResponse> responses;
+
+    private boolean responsesShared;
+
+    private Result result;
+
+    private boolean resultShared;
+
+    private JsonObject principal;
+
+    private ApiDefinition apiDefinition;
+
+    CopyOnWriteApiContext(String id, HttpMethod method, String path,
+                          Multimap<String, String> headers,
+                          Multimap<String, String> params, JsonObject body) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.headers = headers == null ? ImmutableMultimap.of() : ImmutableMultimap.copyOf(headers);
+        this.params = params == null ? ImmutableMultimap.of() : ImmutableMultimap.copyOf(params);
+        this.body = body == null ? null : deepCopy(body);
+        this.variables = new CopyOnWriteMap<>();
+        this.requests = new ArrayList<>();
+        this.responses = new ArrayList<>();
+    }
+
+    private CopyOnWriteApiContext(CopyOnWriteApiContext source) {
+        this.id = source.id;
+        this.method = source.method;
+        this.path = source.path;
+        this.headers = source.headers;
+        this.params = source.params;
+        this.body = source.body;
+        this.variables = source.variables.share();
+        this.requests = source.requests;
+        this.requestsShared = true;
+        source.requestsShared = true;
+        this.responses = source.responses;
+        this.responsesShared = true;
+        source.responsesShared = true;
+        this.result = source.result;
+        this.resultShared = true;
+        source.resultShared = true;
+        this.principal = source.principal;
+        this.apiDefinition = source.apiDefinition;
+    }
+
+    @Override
+    public ApiContext copy() {
+        return new CopyOnWriteApiContext(this);
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public Multimap<String, String> params() {
+        return params;
+    }
+
+    @Override
+    public Multimap<String, String> headers() {
+        return headers;
+    }
+
+    @Override
+    public JsonObject body() {
+        return body == null ? null : deepCopy(body);
+    }
+
+    @Override
+    public String path() {
+        return path;
+    }
+
+    @Override
+    public HttpMethod method() {
+        return method;
+    }
+
+    @Override
+    public JsonObject principal() {
+        return principal;
+    }
+
+    @Override
+    public ApiContext setPrincipal(JsonObject principal) {
+        this.principal = principal;
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> variables() {
+        return variables;
+    }
+
+    @Override
+    public ApiContext addVariable(String name, Object value) {
+        variables.put(name, value);
+        return this;
+    }
+
+    @Override
+    public ApiDefinition apiDefinition() {
+        return apiDefinition;
+    }
+
+    @Override
+    public ApiContext setApiDefinition(ApiDefinition apiDefinition) {
+        this.apiDefinition = apiDefinition;
+        return this;
+    }
+
+    @Override
+    public List<RpcRequest> requests() {
+        if (requestsShared) {
+            List<RpcRequest> copy = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                copy.add(requests.get(i).copy());
+            }
+            this.requests = copy;
+            this.requestsShared = false;
+        }
+        return requests;
+    }
+
+    @Override
+    public ApiContext addRequest(RpcRequest request) {
+        requests().add(request);
+        return this;
+    }
+
+    @Override
+    public List<RpcResponse> responses() {
+        if (responsesShared) {
+            List<RpcResponse> copy = new ArrayList<>(responses.size());
+            for (int i = 0; i < responses.size(); i++) {
+                copy.add(responses.get(i).copy());
+            }
+            this.responses = copy;
+            this.responsesShared = false;
+        }
+        return responses;
+    }
+
+    @Override
+    public ApiContext addResponse(RpcResponse response) {
+        responses().add(response);
+        return this;
+    }
+
+    @Override
+    public Result result() {
+        if (resultShared) {
+            if (result != null) {
+                this.result = result.copy();
+            }
+            this.resultShared = false;
+        }
+        return result;
+    }
+
+    @Override
+    public ApiContext setResult(Result result) {
+        this.result = result;
+        this.resultShared = false;
+        return this;
+    }
+
+    @Override
+    public String nextRpcId() {
+        int counter = (int) variables.getOrDefault("rpc.sn", 0) + 1;
+        variables.put("rpc.sn", counter);
+        return id + "." + counter;
+    }
+
+    /**
+     * 深度复制JsonObject，保持KEY的顺序，校验签名需要使用.
+     */
+    private static JsonObject deepCopy(JsonObject source) {
+        JsonObject copy = new JsonObject();
+        for (Map.Entry<String, Object> entry : source.getMap().entrySet()) {
+            copy.put(entry.getKey(), deepCopyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object deepCopyValue(Object value) {
+        if (value instanceof JsonObject) {
+            return deepCopy((JsonObject) value);
+        }
+        if (value instanceof Map) {
+            return deepCopy(new JsonObject((Map<String, Object>) value));
+        }
+        if (value instanceof JsonArray) {
+            return deepCopy(((JsonArray) value).getList());
+        }
+        if (value instanceof List) {
+            return deepCopy((List<Object>) value);
+        }
+        return value;
+    }
+
+    private static JsonArray deepCopy(List<Object> source) {
+        JsonArray copy = new JsonArray();
+        for (Object value : source) {
+            copy.add(deepCopyValue(value));
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper("ApiContext")
+                .add("id", id)
+                .add("method", method)
+                .add("path", path)
+                .add("params", params)
+                .add("headers", headers)
+                .add("body", body)
+                .add("variables", variables)
+                .add("apiDefinition", apiDefinition);
+        if (principal != null) {
+            helper.add("principal", principal.encode());
+        }
+        helper.add("requests", requests);
+        helper.add("responses", responses);
+        helper.add("result", result);
+
+        return helper.toString();
+    }
+}
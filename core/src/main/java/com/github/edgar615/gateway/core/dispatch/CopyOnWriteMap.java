@@ -0,0 +1,103 @@
+package com.github.edgar615.gateway.core.dispatch;
+
+import com.google.common.collect.ForwardingMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * 写时复制的Map.
+ * <p>
+ * 通过{@link #share()}得到的Map与原Map共享底层数据，任意一方第一次修改时才复制底层数据.
+ * 为了避免绕过复制直接修改底层数据，keySet()、values()、entrySet()返回的都是只读视图.
+ * <p>
+ * 非线程安全，与ApiContext一样只应该在一个线程中使用.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class CopyOnWriteMap<K, V> extends ForwardingMap<K, V> {
+
+    private Map<K, V> delegate;
+
+    private boolean shared;
+
+    CopyOnWriteMap() {
+        this.delegate = new HashMap<>();
+    }
+
+    private CopyOnWriteMap(Map<K, V> delegate) {
+        this.delegate = delegate;
+        this.shared = true;
+    }
+
+    /**
+     * 创建一个共享底层数据的Map.
+     *
+     * @return CopyOnWriteMap
+     */
+    CopyOnWriteMap<K, V> share() {
+        this.shared = true;
+        return new CopyOnWriteMap<>(delegate);
+    }
+
+    @Override
+    protected Map<K, V> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        ensureOwned();
+        return delegate.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        ensureOwned();
+        delegate.putAll(map);
+    }
+
+    @Override
+    public V remove(Object key) {
+        ensureOwned();
+        return delegate.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        ensureOwned();
+        delegate.clear();
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        ensureOwned();
+        delegate.replaceAll(function);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(delegate.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(delegate.values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return Collections.unmodifiableSet(delegate.entrySet());
+    }
+
+    private void ensureOwned() {
+        if (shared) {
+            delegate = new HashMap<>(delegate);
+            shared = false;
+        }
+    }
+}
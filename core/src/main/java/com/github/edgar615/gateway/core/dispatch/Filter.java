@@ -1,5 +1,6 @@
 package com.github.edgar615.gateway.core.dispatch;
 
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
 import com.google.common.collect.ImmutableList;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -64,6 +65,32 @@ public interface Filter {
      */
     boolean shouldFilter(ApiContext apiContext);
 
+    /**
+     * 根据API定义静态判断是否应该执行filter，用于预编译filter链(FilterPipeline).
+     * <p>
+     * 很多filter只根据API是否定义了某个插件来决定是否执行，这种判断在API确定之后就不会再变化，
+     * 覆盖这个方法之后，预编译的filter链会直接跳过不需要执行的filter，不再对每个请求调用shouldFilter(ApiContext).
+     *
+     * @param apiDefinition api定义，可能为null
+     * @return true 一定执行，false 一定不执行，null 需要在请求时调用shouldFilter(ApiContext)判断(默认)
+     */
+    default Boolean shouldFilterStatically(ApiDefinition apiDefinition) {
+        return null;
+    }
+
+    /**
+     * 是否需要读取RPC的响应体(RpcResponse或者Result的JSON内容).
+     * <p>
+     * 如果一个API的filter链中没有filter需要读取响应体，可以直接透传下游服务返回的原始数据，不再解析和重新编码，
+     * 参考{@link com.github.edgar615.gateway.core.utils.FilterPipeline#needResponseBody()}.
+     * 只修改响应头或者只做统计的POST filter可以覆盖这个方法返回false.
+     *
+     * @return 默认POST类型的filter返回true，PRE类型的filter返回false
+     */
+    default boolean needResponseBody() {
+        return POST.equalsIgnoreCase(type());
+    }
+
     /**
      * filter的处理方法.
      * 该方法的第二个参数用于将filter传递给下一个filter,
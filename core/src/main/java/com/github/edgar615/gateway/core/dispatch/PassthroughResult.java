@@ -0,0 +1,112 @@
+package com.github.edgar615.gateway.core.dispatch;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 保留原始响应体的结果，与{@link com.github.edgar615.gateway.core.rpc.RpcResponse#passthrough}对应.
+ * <p>
+ * 写回客户端时可以直接使用rawBody，如果调用了isArray、responseObject或者responseArray，会在第一次调用时解析响应体.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class PassthroughResult implements Result {
+
+    private final int statusCode;
+
+    private final Buffer body;
+
+    private final Multimap<String, String> headers = ArrayListMultimap.create();
+
+    /**
+     * 解析后的结果，第一次读取JSON内容时才会解析
+     */
+    private Result parsed;
+
+    PassthroughResult(int statusCode, Buffer body, Multimap<String, String> headers) {
+        this.statusCode = statusCode;
+        this.body = body;
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public boolean isArray() {
+        return parsed().isArray();
+    }
+
+    @Override
+    public JsonObject responseObject() {
+        return parsed().responseObject();
+    }
+
+    @Override
+    public JsonArray responseArray() {
+        return parsed().responseArray();
+    }
+
+    @Override
+    public Multimap<String, String> headers() {
+        return ImmutableMultimap.copyOf(headers);
+    }
+
+    @Override
+    public int byteSize() {
+        return body.length();
+    }
+
+    @Override
+    public Buffer rawBody() {
+        return body;
+    }
+
+    @Override
+    public Result addHeader(String name, String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
+    @Override
+    public Result addHeaders(Multimap<String, String> header) {
+        this.headers.putAll(header);
+        return this;
+    }
+
+    @Override
+    public Result copy() {
+        if (parsed != null) {
+            if (parsed.isArray()) {
+                return Result.createJsonArray(statusCode, parsed.responseArray().copy(), headers);
+            }
+            return Result.createJsonObject(statusCode, parsed.responseObject(), headers);
+        }
+        return new PassthroughResult(statusCode, body, headers);
+    }
+
+    private Result parsed() {
+        if (parsed == null) {
+            parsed = Result.create(statusCode, body, null);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("Result")
+                .add("statusCode", statusCode)
+                .add("rawBody", body.length() + "bytes")
+                .add("headers", headers)
+                .toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.edgar615.gateway.core.dispatch;
 
+import com.github.edgar615.gateway.core.utils.JsonBuffers;
 import com.github.edgar615.util.exception.DefaultErrorCode;
 import com.github.edgar615.util.exception.SystemException;
 import com.google.common.collect.Multimap;
@@ -40,6 +41,18 @@ public interface Result {
         return new ResultImpl(statusCode, responseArray, header);
     }
 
+    /**
+     * 创建一个保留原始响应体的响应，响应体只有在读取JSON内容时才会解析.
+     *
+     * @param statusCode 响应码
+     * @param data       响应数据
+     * @param header     响应头
+     * @return Result
+     */
+    static Result passthrough(int statusCode, Buffer data, Multimap<String, String> header) {
+        return new PassthroughResult(statusCode, data, header);
+    }
+
     /**
      * 将buffer转换为AsyncResult，如果转换为JSON数组失败，尝试转换为JSON对象，
      * 同理，如果转换为JSON对象失败，尝试转换为JSON数组.
@@ -50,8 +63,26 @@ public interface Result {
      * @return Result
      */
     static Result create(int statusCode, Buffer data, Multimap<String, String> header) {
-        String str = data.toString().trim();
-        return create(statusCode, str, header);
+        char type = JsonBuffers.type(data);
+        if (type == JsonBuffers.OBJECT) {
+            try {
+                return createJsonObject(statusCode, JsonBuffers.decodeObject(data), header);
+            } catch (Exception e) {
+                throw SystemException.wrap(DefaultErrorCode.INVALID_JSON, e)
+                        .set("details",
+                                "The result of RPC is incorrect, It should be a JSON object");
+            }
+        }
+        if (type == JsonBuffers.ARRAY) {
+            try {
+                return createJsonArray(statusCode, JsonBuffers.decodeArray(data), header);
+            } catch (Exception e) {
+                throw SystemException.wrap(DefaultErrorCode.INVALID_JSON, e)
+                        .set("details", "The result of RPC is incorrect, It should be JSON array");
+            }
+        }
+        throw SystemException.create(DefaultErrorCode.INVALID_JSON)
+                .set("details", "The result of RPC is incorrect, It should be a JSON object");
     }
 
     /**
@@ -114,6 +145,13 @@ public interface Result {
 
     int byteSize();
 
+    /**
+     * @return 原始的响应体，只有通过passthrough创建的响应才有，其他响应返回null
+     */
+    default Buffer rawBody() {
+        return null;
+    }
+
     Result addHeader(String name, String value);
 
     Result addHeaders(Multimap<String, String> header);
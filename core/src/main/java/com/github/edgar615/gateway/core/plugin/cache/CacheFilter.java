@@ -0,0 +1,132 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.Result;
+import com.google.common.collect.Multimap;
+import com.google.common.escape.Escaper;
+import com.google.common.net.UrlEscapers;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 读取响应缓存.
+ * <p>
+ * 命中缓存时，将缓存的原始响应体作为passthrough的Result设置到上下文中，并设置变量cache_hit=true，响应体不需要重新编码.
+ * core中没有调用下游服务的filter，负责发送RPC的调度verticle需要在发送请求之前检查apiContext.result()，
+ * 已经有Result时直接响应，与{@link com.github.edgar615.gateway.core.plugin.ratelimit.RateLimitFilter}返回429的处理方式相同.
+ * 未命中时将缓存的key保存在cache_key变量中，由{@link CacheUpdateFilter}在收到下游服务的响应之后写入缓存.
+ * <p>
+ * 该filter应该在认证、权限校验之后执行，避免未通过校验的请求读到缓存.
+ * 已经通过认证的请求默认把principal加入缓存的key中，不同的用户不会读到彼此的缓存，
+ * 除非API的CachePlugin设置了shared=true.
+ * <p>
+ * <b>前置条件</b>：GET请求，API有CachePlugin插件
+ * 配置项参考{@link ResponseCache}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CacheFilter implements Filter {
+
+    static final String CACHE_KEY = "cache_key";
+
+    static final String CACHE_HIT = "cache_hit";
+
+    private static final Escaper ESCAPER = UrlEscapers.urlFormParameterEscaper();
+
+    private final ResponseCache cache;
+
+    CacheFilter(Vertx vertx, JsonObject config) {
+        this.cache = ResponseCache.shared(vertx, config);
+    }
+
+    @Override
+    public String type() {
+        return PRE;
+    }
+
+    @Override
+    public int order() {
+        return 15000;
+    }
+
+    @Override
+    public Boolean shouldFilterStatically(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            return null;
+        }
+        return apiDefinition.method() == HttpMethod.GET
+               && apiDefinition.plugin(CachePlugin.class) != null;
+    }
+
+    @Override
+    public boolean shouldFilter(ApiContext apiContext) {
+        return apiContext.method() == HttpMethod.GET
+               && apiContext.apiDefinition() != null
+               && apiContext.apiDefinition().plugin(CachePlugin.class) != null;
+    }
+
+    @Override
+    public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+        CachePlugin plugin = apiContext.apiDefinition().plugin(CachePlugin.class);
+        String key = cacheKey(apiContext, plugin);
+        ResponseCache.Entry entry = cache.get(key, plugin);
+        if (entry == null) {
+            apiContext.addVariable(CACHE_KEY, key);
+        } else {
+            log(apiContext.id(), "cache.hit");
+            apiContext.addVariable(CACHE_HIT, true);
+            apiContext.setResult(Result.passthrough(entry.statusCode(), entry.body(),
+                                                    entry.headers()));
+        }
+        completeFuture.complete(apiContext);
+    }
+
+    /**
+     * 缓存的key：API名称 请求方法 请求路径?选择的参数|选择的请求头|$user=principal.
+     * 名称和值都经过URL编码，值中的分隔符不会与其他参数组成相同的key.
+     * principal的属性按名称排序，与属性的添加顺序无关.
+     */
+    static String cacheKey(ApiContext apiContext, CachePlugin plugin) {
+        StringBuilder key = new StringBuilder(64)
+                .append(ESCAPER.escape(apiContext.apiDefinition().name())).append(' ')
+                .append(apiContext.method().name()).append(' ')
+                .append(ESCAPER.escape(apiContext.path()));
+        Multimap<String, String> params = apiContext.params();
+        Collection<String> names = plugin.params() == null
+                ? new TreeSet<>(params.keySet()) : plugin.params();
+        char separator = '?';
+        for (String name : names) {
+            for (String value : params.get(name)) {
+                key.append(separator).append(ESCAPER.escape(name)).append('=')
+                        .append(ESCAPER.escape(value));
+                separator = '&';
+            }
+        }
+        if (!plugin.headers().isEmpty()) {
+            Multimap<String, String> headers = apiContext.headers();
+            for (String name : plugin.headers()) {
+                key.append('|').append(ESCAPER.escape(name.toLowerCase())).append('=');
+                for (Map.Entry<String, String> header : headers.entries()) {
+                    if (name.equalsIgnoreCase(header.getKey())) {
+                        key.append(ESCAPER.escape(header.getValue())).append(',');
+                    }
+                }
+            }
+        }
+        JsonObject principal = apiContext.principal();
+        if (principal != null && !plugin.shared()) {
+            String user = new JsonObject(new TreeMap<>(principal.getMap())).encode();
+            key.append("|$user=").append(ESCAPER.escape(user));
+        }
+        return key.toString();
+    }
+}
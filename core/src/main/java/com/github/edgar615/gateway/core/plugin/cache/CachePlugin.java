@@ -0,0 +1,64 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+
+import java.util.List;
+
+/**
+ * 响应缓存的策略，只对GET请求生效.
+ * 该插件对应的JSON配置的key为<b>cache</b>
+ * <pre>
+ *   cache: true 使用默认的配置，缓存60秒，所有的请求参数都参与计算缓存的key
+ *   cache: {
+ *     "expires": 60,                   缓存的时间，秒
+ *     "params": ["type", "page"],      参与计算缓存key的请求参数，不设置时使用所有的请求参数
+ *     "headers": ["Accept-Language"],  参与计算缓存key的请求头，不设置时不使用请求头
+ *     "shared": false                  已认证的用户是否共享缓存，默认false
+ *   }
+ * </pre>
+ * 缓存的key由请求方法、请求路径、选择的请求参数和请求头组成.
+ * 请求有principal时(已经通过认证)，默认把principal加入key中，每个用户有自己的缓存；
+ * 只有响应与用户无关的API才应该设置shared=true，让所有用户共享同一份缓存.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public interface CachePlugin extends ApiPlugin {
+
+    long DEFAULT_EXPIRES = 60;
+
+    static CachePlugin create(long expires, List<String> params, List<String> headers) {
+        return new CachePluginImpl(expires, params, headers, false);
+    }
+
+    static CachePlugin create(long expires, List<String> params, List<String> headers,
+                              boolean shared) {
+        return new CachePluginImpl(expires, params, headers, shared);
+    }
+
+    /**
+     * @return 缓存的时间，秒
+     */
+    long expires();
+
+    /**
+     * @return 参与计算缓存key的请求参数，null表示使用所有的请求参数
+     */
+    List<String> params();
+
+    /**
+     * @return 参与计算缓存key的请求头
+     */
+    List<String> headers();
+
+    /**
+     * @return 已认证的用户是否共享缓存，false时principal参与计算缓存的key
+     */
+    default boolean shared() {
+        return false;
+    }
+
+    @Override
+    default String name() {
+        return CachePlugin.class.getSimpleName();
+    }
+}
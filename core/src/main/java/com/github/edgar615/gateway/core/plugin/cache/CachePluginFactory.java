@@ -0,0 +1,65 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.definition.ApiPluginFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+
+/**
+ * 响应缓存的工厂类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CachePluginFactory implements ApiPluginFactory {
+    @Override
+    public String name() {
+        return CachePlugin.class.getSimpleName();
+    }
+
+    @Override
+    public ApiPlugin create() {
+        return new CachePluginImpl(CachePlugin.DEFAULT_EXPIRES, null, null, false);
+    }
+
+    @Override
+    public ApiPlugin decode(JsonObject jsonObject) {
+        Object value = jsonObject.getValue("cache");
+        if (Boolean.TRUE.equals(value)) {
+            return new CachePluginImpl(CachePlugin.DEFAULT_EXPIRES, null, null, false);
+        }
+        if (value instanceof JsonObject) {
+            JsonObject cache = (JsonObject) value;
+            return new CachePluginImpl(cache.getLong("expires", CachePlugin.DEFAULT_EXPIRES),
+                                       toList(cache.getJsonArray("params")),
+                                       toList(cache.getJsonArray("headers")),
+                                       cache.getBoolean("shared", false));
+        }
+        return null;
+    }
+
+    @Override
+    public JsonObject encode(ApiPlugin plugin) {
+        if (plugin == null) {
+            return new JsonObject();
+        }
+        CachePlugin cachePlugin = (CachePlugin) plugin;
+        JsonObject cache = new JsonObject().put("expires", cachePlugin.expires());
+        if (cachePlugin.params() != null) {
+            cache.put("params", new JsonArray(cachePlugin.params()));
+        }
+        if (!cachePlugin.headers().isEmpty()) {
+            cache.put("headers", new JsonArray(cachePlugin.headers()));
+        }
+        if (cachePlugin.shared()) {
+            cache.put("shared", true);
+        }
+        return new JsonObject().put("cache", cache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> toList(JsonArray jsonArray) {
+        return jsonArray == null ? null : jsonArray.getList();
+    }
+}
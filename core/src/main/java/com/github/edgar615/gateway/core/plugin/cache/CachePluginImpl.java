@@ -0,0 +1,62 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class CachePluginImpl implements CachePlugin {
+
+    private final long expires;
+
+    private final List<String> params;
+
+    private final List<String> headers;
+
+    private final boolean shared;
+
+    CachePluginImpl(long expires, List<String> params, List<String> headers, boolean shared) {
+        Preconditions.checkArgument(expires > 0, "expires must > 0");
+        this.expires = expires;
+        this.params = params == null ? null : ImmutableList.copyOf(params);
+        this.headers = headers == null ? ImmutableList.of() : ImmutableList.copyOf(headers);
+        this.shared = shared;
+    }
+
+    @Override
+    public long expires() {
+        return expires;
+    }
+
+    @Override
+    public List<String> params() {
+        return params;
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    public boolean shared() {
+        return shared;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects
+                .toStringHelper("CachePlugin")
+                .add("expires", expires)
+                .add("params", params)
+                .add("headers", headers)
+                .add("shared", shared)
+                .toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.Result;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+
+/**
+ * 将下游服务的响应写入缓存.
+ * <p>
+ * 只缓存响应码为200的结果. 透传的Result直接缓存原始响应体，其他Result编码一次之后缓存.
+ * 带有Set-Cookie响应头，或者Cache-Control为private、no-store的响应与用户相关，不缓存.
+ * 该filter应该在其他POST filter之前执行，缓存的是下游服务的响应，而不是被其他filter修改过的响应，
+ * 命中缓存的请求同样会经过后续的POST filter.
+ * <p>
+ * <b>前置条件</b>：{@link CacheFilter}未命中缓存(上下文中有cache_key变量)
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CacheUpdateFilter implements Filter {
+
+    private final ResponseCache cache;
+
+    CacheUpdateFilter(Vertx vertx, JsonObject config) {
+        this.cache = ResponseCache.shared(vertx, config);
+    }
+
+    @Override
+    public String type() {
+        return POST;
+    }
+
+    @Override
+    public int order() {
+        return 100;
+    }
+
+    @Override
+    public Boolean shouldFilterStatically(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            return null;
+        }
+        if (apiDefinition.method() != HttpMethod.GET
+            || apiDefinition.plugin(CachePlugin.class) == null) {
+            return false;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean needResponseBody() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldFilter(ApiContext apiContext) {
+        return apiContext.variables().containsKey(CacheFilter.CACHE_KEY)
+               && apiContext.result() != null
+               && apiContext.result().statusCode() == 200
+               && cacheable(apiContext.result())
+               && apiContext.apiDefinition() != null
+               && apiContext.apiDefinition().plugin(CachePlugin.class) != null;
+    }
+
+    @Override
+    public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+        CachePlugin plugin = apiContext.apiDefinition().plugin(CachePlugin.class);
+        Result result = apiContext.result();
+        Buffer body = result.rawBody();
+        if (body == null) {
+            body = Buffer.buffer(result.isArray() ? result.responseArray().encode()
+                                         : result.responseObject().encode());
+        }
+        String key = (String) apiContext.variables().get(CacheFilter.CACHE_KEY);
+        if (cache.put(key, apiContext.apiDefinition().name(), plugin, result.statusCode(), body,
+                      result.headers())) {
+            log(apiContext.id(), "cache.put");
+        }
+        completeFuture.complete(apiContext);
+    }
+
+    private static boolean cacheable(Result result) {
+        if (result.headers() == null) {
+            return true;
+        }
+        for (Map.Entry<String, String> header : result.headers().entries()) {
+            if ("Set-Cookie".equalsIgnoreCase(header.getKey())) {
+                return false;
+            }
+            if ("Cache-Control".equalsIgnoreCase(header.getKey())) {
+                String value = header.getValue().toLowerCase();
+                if (value.contains("private") || value.contains("no-store")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.FilterFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * CacheUpdateFilter的工厂类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CacheUpdateFilterFactory implements FilterFactory {
+    @Override
+    public String name() {
+        return CacheUpdateFilter.class.getSimpleName();
+    }
+
+    @Override
+    public Filter create(Vertx vertx, JsonObject config) {
+        return new CacheUpdateFilter(vertx, config);
+    }
+}
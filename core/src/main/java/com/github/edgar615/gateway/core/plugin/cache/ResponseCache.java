@@ -0,0 +1,348 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import com.github.edgar615.gateway.core.utils.SharedInstances;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * API响应的缓存.
+ * <p>
+ * 缓存按照字节数限制大小，使用分段LRU(Segmented LRU)淘汰：
+ * <pre>
+ * probation：新写入的数据先进入这个区域
+ * protected：在probation中再次被访问的数据晋升到这个区域，最多占总容量的protectedRatio，超出时最久未访问的数据降级回probation
+ * </pre>
+ * 容量不足时优先淘汰probation中最久未访问的数据，只访问过一次的数据不会把热点数据挤出缓存.
+ * 为了降低锁竞争，缓存按照key的hash划分为多个条带(stripe)，每个条带有自己的锁和容量.
+ * <p>
+ * 缓存的是下游服务返回的原始响应体(Buffer)，命中时直接作为passthrough的Result返回，不需要再次编码.
+ * 每个缓存项记录了写入时API使用的{@link CachePlugin}对象，API被重新发布之后会创建新的插件对象，旧的缓存项在读取时就会失效.
+ * <p>
+ * 同一个vertx中的所有filter共享同一个缓存，参考{@link SharedInstances}.
+ * 配置项：
+ * <pre>
+ * "response.cache" : {
+ *   "maxBytes" : 67108864,   缓存的最大字节数，默认64M
+ *   "stripes" : 16,          条带数
+ *   "protectedRatio" : 0.8   protected区域占的比例
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ResponseCache {
+
+    public static final String CONFIG_KEY = "response.cache";
+
+    private static final String SHARED_MAP = "__gateway.responseCache";
+
+    private static final long DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private static final double DEFAULT_PROTECTED_RATIO = 0.8;
+
+    /**
+     * 每个缓存项除了key和响应体之外的估计大小
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Segment[] segments;
+
+    private final long maxEntryBytes;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(long maxBytes, int stripes, double protectedRatio) {
+        Preconditions.checkArgument(maxBytes > 0, "maxBytes must > 0");
+        Preconditions.checkArgument(stripes > 0, "stripes must > 0");
+        Preconditions.checkArgument(protectedRatio >= 0 && protectedRatio < 1,
+                                    "protectedRatio must between 0 and 1");
+        this.segments = new Segment[stripes];
+        long segmentBytes = Math.max(1, maxBytes / stripes);
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment(segmentBytes, (long) (segmentBytes * protectedRatio));
+        }
+        //太大的响应会挤掉大量的缓存项，不缓存
+        this.maxEntryBytes = Math.max(1, segmentBytes / 4);
+    }
+
+    /**
+     * 返回vertx中共享的缓存.
+     *
+     * @param vertx  Vertx
+     * @param config 配置
+     * @return ResponseCache
+     */
+    public static ResponseCache shared(Vertx vertx, JsonObject config) {
+        JsonObject cacheConfig = config.getJsonObject(CONFIG_KEY, new JsonObject());
+        return SharedInstances.getOrCreate(vertx, SHARED_MAP, cacheConfig, () -> new ResponseCache(
+                cacheConfig.getLong("maxBytes", DEFAULT_MAX_BYTES),
+                cacheConfig.getInteger("stripes", DEFAULT_STRIPES),
+                cacheConfig.getDouble("protectedRatio", DEFAULT_PROTECTED_RATIO)));
+    }
+
+    /**
+     * 读取缓存.
+     *
+     * @param key    缓存的key
+     * @param plugin API当前使用的插件，与写入时的插件不同说明API已经重新发布，缓存失效
+     * @return 缓存项，不存在或者已经过期返回null
+     */
+    public Entry get(String key, CachePlugin plugin) {
+        Entry entry = segment(key).get(key, plugin, System.currentTimeMillis());
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * 写入缓存.
+     *
+     * @param key        缓存的key
+     * @param apiName    API名称
+     * @param plugin     API当前使用的插件
+     * @param statusCode 响应码
+     * @param body       响应体
+     * @param headers    响应头
+     * @return 写入成功返回true，响应体太大时不写入
+     */
+    public boolean put(String key, String apiName, CachePlugin plugin, int statusCode,
+                       Buffer body, Multimap<String, String> headers) {
+        long weight = ENTRY_OVERHEAD + key.length() * 2L + body.length();
+        if (weight > maxEntryBytes) {
+            return false;
+        }
+        Entry entry = new Entry(key, apiName, plugin, statusCode, body,
+                                ImmutableMultimap.copyOf(headers),
+                                System.currentTimeMillis() + plugin.expires() * 1000, weight);
+        evictions.add(segment(key).put(entry));
+        return true;
+    }
+
+    /**
+     * 删除某个API的所有缓存.
+     *
+     * @param apiName API名称
+     * @return 删除的缓存项数量
+     */
+    public int invalidate(String apiName) {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.invalidate(apiName);
+        }
+        return count;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public JsonObject metrics() {
+        long size = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.probation.size() + segment.protectedEntries.size();
+                bytes += segment.probationBytes + segment.protectedBytes;
+            }
+        }
+        return new JsonObject()
+                .put("size", size)
+                .put("bytes", bytes)
+                .put("hits", hits.sum())
+                .put("misses", misses.sum())
+                .put("evictions", evictions.sum());
+    }
+
+    private Segment segment(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * 缓存项，创建之后不再修改.
+     */
+    public static class Entry {
+
+        private final String key;
+
+        private final String apiName;
+
+        private final CachePlugin plugin;
+
+        private final int statusCode;
+
+        private final Buffer body;
+
+        private final Multimap<String, String> headers;
+
+        private final long expiresAt;
+
+        private final long weight;
+
+        private Entry(String key, String apiName, CachePlugin plugin, int statusCode, Buffer body,
+                      Multimap<String, String> headers, long expiresAt, long weight) {
+            this.key = key;
+            this.apiName = apiName;
+            this.plugin = plugin;
+            this.statusCode = statusCode;
+            this.body = body;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+
+        public int statusCode() {
+            return statusCode;
+        }
+
+        public Buffer body() {
+            return body;
+        }
+
+        public Multimap<String, String> headers() {
+            return headers;
+        }
+
+        public long expiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static class Segment {
+
+        private final long capacity;
+
+        private final long protectedCapacity;
+
+        private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<String, Entry> protectedEntries =
+                new LinkedHashMap<>(16, 0.75f, true);
+
+        private long probationBytes;
+
+        private long protectedBytes;
+
+        private Segment(long capacity, long protectedCapacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = protectedCapacity;
+        }
+
+        private synchronized Entry get(String key, CachePlugin plugin, long now) {
+            Entry entry = protectedEntries.get(key);
+            if (entry != null) {
+                if (!valid(entry, plugin, now)) {
+                    protectedEntries.remove(key);
+                    protectedBytes -= entry.weight;
+                    return null;
+                }
+                return entry;
+            }
+            entry = probation.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            probationBytes -= entry.weight;
+            if (!valid(entry, plugin, now)) {
+                return null;
+            }
+            //第二次访问，晋升到protected
+            protectedEntries.put(key, entry);
+            protectedBytes += entry.weight;
+            while (protectedBytes > protectedCapacity && !protectedEntries.isEmpty()) {
+                Entry demoted = removeEldest(protectedEntries);
+                protectedBytes -= demoted.weight;
+                probation.put(demoted.key, demoted);
+                probationBytes += demoted.weight;
+            }
+            return entry;
+        }
+
+        private synchronized int put(Entry entry) {
+            remove(entry.key);
+            probation.put(entry.key, entry);
+            probationBytes += entry.weight;
+            int evicted = 0;
+            while (probationBytes + protectedBytes > capacity) {
+                if (!probation.isEmpty()) {
+                    probationBytes -= removeEldest(probation).weight;
+                } else {
+                    protectedBytes -= removeEldest(protectedEntries).weight;
+                }
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private synchronized int invalidate(String apiName) {
+            return invalidate(probation, apiName, true) + invalidate(protectedEntries, apiName, false);
+        }
+
+        private int invalidate(Map<String, Entry> entries, String apiName, boolean inProbation) {
+            int count = 0;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.apiName.equals(apiName)) {
+                    it.remove();
+                    if (inProbation) {
+                        probationBytes -= entry.weight;
+                    } else {
+                        protectedBytes -= entry.weight;
+                    }
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private synchronized void clear() {
+            probation.clear();
+            protectedEntries.clear();
+            probationBytes = 0;
+            protectedBytes = 0;
+        }
+
+        private void remove(String key) {
+            Entry old = probation.remove(key);
+            if (old != null) {
+                probationBytes -= old.weight;
+            }
+            old = protectedEntries.remove(key);
+            if (old != null) {
+                protectedBytes -= old.weight;
+            }
+        }
+
+        private static boolean valid(Entry entry, CachePlugin plugin, long now) {
+            return entry.plugin == plugin && entry.expiresAt > now;
+        }
+
+        private static Entry removeEldest(LinkedHashMap<String, Entry> entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            Entry eldest = it.next();
+            it.remove();
+            return eldest;
+        }
+    }
+}
@@ -2,32 +2,38 @@ package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
 
-import java.time.Instant;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 public class AfterPredicate implements ApiPredicate {
 
-    private final ZonedDateTime zonedDateTime;
+    /**
+     * 时间对应的毫秒数，在创建时计算，断言时只比较数值
+     */
+    private final long epochMilli;
 
     private final String dateTime;
 
     public AfterPredicate(String datetime) {
         Objects.requireNonNull(datetime);
         this.dateTime = datetime;
-        this.zonedDateTime = ZonedDateTime.parse(datetime, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        this.epochMilli = ZonedDateTime.parse(datetime, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                .toInstant().toEpochMilli();
     }
 
     public boolean test(ApiContext context) {
-        long requestReceivedOn = (long) context.variables().getOrDefault("requestReceivedOn",
-                System.currentTimeMillis
-                        ());
-        ZonedDateTime now =
-                Instant.ofEpochMilli(requestReceivedOn).atOffset(ZoneOffset.ofTotalSeconds(0))
-                        .toZonedDateTime();
-        return now.isAfter(zonedDateTime);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        return context.requestReceivedOn() > epochMilli;
+    }
+
+    @Override
+    public int cost() {
+        return COST_CONSTANT;
     }
 
     public String dateTime() {
@@ -5,4 +5,43 @@ import com.github.edgar615.gateway.core.dispatch.ApiContext;
 import java.util.function.Predicate;
 
 public interface ApiPredicate extends Predicate<ApiContext> {
+
+    /**
+     * 只比较数值，如请求时间
+     */
+    int COST_CONSTANT = 0;
+
+    /**
+     * 需要读取客户端IP
+     */
+    int COST_REMOTE_ADDR = 10;
+
+    /**
+     * 需要读取请求头或者请求参数
+     */
+    int COST_LOOKUP = 20;
+
+    /**
+     * 需要执行正则表达式
+     */
+    int COST_REGEX = 30;
+
+    /**
+     * 使用预先读取的请求上下文判断，多个断言共享同一个PredicateContext，请求数据只读取一次.
+     *
+     * @param context 断言的请求上下文
+     * @return 满足条件返回true
+     */
+    default boolean test(PredicateContext context) {
+        return test(context.apiContext());
+    }
+
+    /**
+     * 断言的开销，PredicatePlugin按照开销从小到大的顺序执行断言，遇到不满足的断言立即返回.
+     *
+     * @return 开销
+     */
+    default int cost() {
+        return COST_LOOKUP;
+    }
 }
@@ -2,17 +2,18 @@ package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
 
-import java.time.Instant;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 public class BetweenPredicate implements ApiPredicate {
 
-    private final ZonedDateTime zoneStartDateTime;
+    /**
+     * 开始时间和结束时间对应的毫秒数，在创建时计算，断言时只比较数值
+     */
+    private final long startEpochMilli;
 
-    private final ZonedDateTime zoneEndDateTime;
+    private final long endEpochMilli;
 
     private final String startDateTime;
 
@@ -23,21 +24,27 @@ public class BetweenPredicate implements ApiPredicate {
         Objects.requireNonNull(endDateTime);
         this.startDateTime = startDateTime;
         this.endDateTime = endDateTime;
-        this.zoneStartDateTime =
-                ZonedDateTime.parse(startDateTime, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-        this.zoneEndDateTime =
-                ZonedDateTime.parse(endDateTime, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-        ;
+        this.startEpochMilli =
+                ZonedDateTime.parse(startDateTime, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                        .toInstant().toEpochMilli();
+        this.endEpochMilli =
+                ZonedDateTime.parse(endDateTime, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                        .toInstant().toEpochMilli();
     }
 
     public boolean test(ApiContext context) {
-        long requestReceivedOn = (long) context.variables().getOrDefault("requestReceivedOn",
-                System.currentTimeMillis
-                        ());
-        ZonedDateTime now =
-                Instant.ofEpochMilli(requestReceivedOn).atOffset(ZoneOffset.ofTotalSeconds(0))
-                        .toZonedDateTime();
-        return now.isBefore(zoneEndDateTime) && now.isAfter(zoneStartDateTime);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        long requestReceivedOn = context.requestReceivedOn();
+        return requestReceivedOn < endEpochMilli && requestReceivedOn > startEpochMilli;
+    }
+
+    @Override
+    public int cost() {
+        return COST_CONSTANT;
     }
 
     public String startDateTime() {
@@ -1,7 +1,6 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,14 +10,25 @@ public class HeaderContainsPredicate implements ApiPredicate {
 
     private final List<String> headers = new ArrayList<>();
 
+    /**
+     * 小写的名称
+     */
+    private final String[] names;
+
     public HeaderContainsPredicate(List<String> headers) {
         Objects.requireNonNull(headers);
         this.headers.addAll(headers);
+        this.names = this.headers.stream().map(String::toLowerCase).toArray(String[]::new);
     }
 
     public boolean test(ApiContext context) {
-        for (String header : headers) {
-            if (MultimapUtils.getCaseInsensitive(context.headers(), header) == null) {
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (String name : names) {
+            if (context.header(name) == null) {
                 return false;
             }
         }
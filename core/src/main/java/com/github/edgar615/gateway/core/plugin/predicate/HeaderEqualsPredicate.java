@@ -1,31 +1,47 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 public class HeaderEqualsPredicate implements ApiPredicate {
 
     private final Map<String, String> headers = new HashMap<>();
 
+    /**
+     * 小写的名称，与values一一对应
+     */
+    private final String[] names;
+
+    private final String[] values;
+
     public HeaderEqualsPredicate(Map<String, String> headers) {
         Objects.requireNonNull(headers);
         this.headers.putAll(headers);
+        this.names = new String[this.headers.size()];
+        this.values = new String[this.headers.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : this.headers.entrySet()) {
+            names[i] = entry.getKey().toLowerCase();
+            values[i] = entry.getValue();
+            i++;
+        }
     }
 
     public boolean test(ApiContext context) {
-        Set<String> names = headers.keySet();
-        for (String name : names) {
-            String value = headers.get(name);
-            String headerValue = MultimapUtils.getCaseInsensitive(context.headers(), name);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (int i = 0; i < names.length; i++) {
+            String headerValue = context.header(names[i]);
             if (headerValue == null) {
                 return false;
             }
-            if (!value.equals(headerValue)) {
+            if (!values[i].equals(headerValue)) {
                 return false;
             }
         }
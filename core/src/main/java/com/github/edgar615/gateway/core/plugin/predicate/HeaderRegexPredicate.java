@@ -1,37 +1,62 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.regex.Pattern;
 
 public class HeaderRegexPredicate implements ApiPredicate {
 
     private final Map<String, String> headers = new HashMap<>();
 
+    /**
+     * 小写的名称，与patterns一一对应
+     */
+    private final String[] names;
+
+    /**
+     * 预编译的正则表达式，原来每次调用String.matches都会重新编译
+     */
+    private final Pattern[] patterns;
+
     public HeaderRegexPredicate(Map<String, String> headers) {
         Objects.requireNonNull(headers);
         this.headers.putAll(headers);
+        this.names = new String[this.headers.size()];
+        this.patterns = new Pattern[this.headers.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : this.headers.entrySet()) {
+            names[i] = entry.getKey().toLowerCase();
+            patterns[i] = Pattern.compile(entry.getValue());
+            i++;
+        }
     }
 
     public boolean test(ApiContext context) {
-        Set<String> names = headers.keySet();
-        for (String name : names) {
-            String value = headers.get(name);
-            String headerValue = MultimapUtils.getCaseInsensitive(context.headers(), name);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (int i = 0; i < names.length; i++) {
+            String headerValue = context.header(names[i]);
             if (headerValue == null) {
                 return false;
             }
-            if (!headerValue.matches(value)) {
+            if (!patterns[i].matcher(headerValue).matches()) {
                 return false;
             }
         }
         return true;
     }
 
+    @Override
+    public int cost() {
+        return COST_REGEX;
+    }
+
     public Map<String, String> headers() {
         return headers;
     }
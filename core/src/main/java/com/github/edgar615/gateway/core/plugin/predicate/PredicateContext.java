@@ -0,0 +1,117 @@
+package com.github.edgar615.gateway.core.plugin.predicate;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.utils.IpAddress;
+import com.google.common.base.Strings;
+import com.google.common.collect.Multimap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 一次断言使用的请求上下文.
+ * <p>
+ * 断言需要的请求数据只在第一次使用时从ApiContext中读取一次，后面的断言直接使用：
+ * <pre>
+ * 请求头和请求参数：ApiContext.headers()和params()每次调用都会复制，这里只读取一次，key转换为小写，只保留第一个值
+ * 请求时间：requestReceivedOn变量，没有时使用当前时间
+ * 客户端IP：request_clientIp变量，解析后的地址通过{@link IpAddress#clientAddress(ApiContext)}在ApiContext中缓存，同一个请求只解析一次
+ * </pre>
+ * 这个类不是线程安全的，只在一次请求的处理过程中使用.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class PredicateContext {
+
+    private final ApiContext apiContext;
+
+    private Map<String, String> headers;
+
+    private Map<String, String> params;
+
+    private Long requestReceivedOn;
+
+    private boolean clientAddressParsed;
+
+    private IpAddress clientAddress;
+
+    public PredicateContext(ApiContext apiContext) {
+        this.apiContext = apiContext;
+    }
+
+    public ApiContext apiContext() {
+        return apiContext;
+    }
+
+    /**
+     * 获取请求头.
+     *
+     * @param lowerCaseName 小写的请求头名称
+     * @return 请求头的第一个值，不存在返回null
+     */
+    public String header(String lowerCaseName) {
+        if (headers == null) {
+            headers = lowerCase(apiContext.headers());
+        }
+        return headers.get(lowerCaseName);
+    }
+
+    /**
+     * 获取请求参数.
+     *
+     * @param lowerCaseName 小写的参数名称
+     * @return 参数的第一个值，不存在返回null
+     */
+    public String param(String lowerCaseName) {
+        if (params == null) {
+            params = lowerCase(apiContext.params());
+        }
+        return params.get(lowerCaseName);
+    }
+
+    /**
+     * @return 收到请求的时间，毫秒
+     */
+    public long requestReceivedOn() {
+        if (requestReceivedOn == null) {
+            Object value = apiContext.variables().get("requestReceivedOn");
+            requestReceivedOn = value == null ? System.currentTimeMillis() : (long) value;
+        }
+        return requestReceivedOn;
+    }
+
+    /**
+     * @return 客户端IP，不存在返回null
+     */
+    public String clientIp() {
+        String clientIp = (String) apiContext.variables().get("request_clientIp");
+        return Strings.isNullOrEmpty(clientIp) ? null : clientIp;
+    }
+
+    /**
+     * @return 解析后的客户端IP，不存在或者不合法时返回null
+     */
+    public IpAddress clientAddress() {
+        if (!clientAddressParsed) {
+            clientAddressParsed = true;
+            clientAddress = IpAddress.clientAddress(apiContext);
+        }
+        return clientAddress;
+    }
+
+    /**
+     * @return IPv4的客户端IP转换后的数值，不存在或者是IPv6地址时返回-1
+     */
+    public long clientIpNumber() {
+        IpAddress address = clientAddress();
+        return address == null ? -1 : address.toLong();
+    }
+
+    private static Map<String, String> lowerCase(Multimap<String, String> multimap) {
+        Map<String, String> map = new HashMap<>();
+        for (Map.Entry<String, String> entry : multimap.entries()) {
+            map.putIfAbsent(entry.getKey().toLowerCase(), entry.getValue());
+        }
+        return map;
+    }
+}
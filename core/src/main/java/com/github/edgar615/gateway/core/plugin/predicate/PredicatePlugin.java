@@ -1,14 +1,28 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
+/**
+ * 断言插件，请求需要满足所有的断言.
+ * <p>
+ * 断言在PredicatePluginFactory.decode时编译一次：按照{@link ApiPredicate#cost()}从小到大排序，
+ * 判断时所有的断言共享一个{@link PredicateContext}，请求头、参数、客户端IP只读取一次，遇到不满足的断言立即返回.
+ */
 public class PredicatePlugin implements ApiPlugin {
 
     private final List<ApiPredicate> predicates = new ArrayList<>();
 
+    /**
+     * 按照开销排好序的断言，修改断言之后重新编译
+     */
+    private volatile ApiPredicate[] compiled;
+
     @Override
     public String name() {
         return PredicatePlugin.class.getSimpleName();
@@ -16,15 +30,49 @@ public class PredicatePlugin implements ApiPlugin {
 
     public PredicatePlugin add(ApiPredicate predicate) {
         this.predicates.add(predicate);
+        this.compiled = null;
         return this;
     }
 
     public PredicatePlugin addAll(List<ApiPredicate> predicates) {
         this.predicates.addAll(predicates);
+        this.compiled = null;
         return this;
     }
 
     public List<ApiPredicate> predicates() {
-        return predicates;
+        return Collections.unmodifiableList(predicates);
+    }
+
+    /**
+     * 编译断言.
+     *
+     * @return PredicatePlugin
+     */
+    public PredicatePlugin compile() {
+        List<ApiPredicate> sorted = new ArrayList<>(predicates);
+        sorted.sort(Comparator.comparingInt(ApiPredicate::cost));
+        this.compiled = sorted.toArray(new ApiPredicate[0]);
+        return this;
+    }
+
+    /**
+     * 判断请求是否满足所有的断言.
+     *
+     * @param apiContext api上下文
+     * @return 满足所有的断言返回true
+     */
+    public boolean test(ApiContext apiContext) {
+        ApiPredicate[] predicates = compiled;
+        if (predicates == null) {
+            predicates = compile().compiled;
+        }
+        PredicateContext context = new PredicateContext(apiContext);
+        for (ApiPredicate predicate : predicates) {
+            if (!predicate.test(context)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
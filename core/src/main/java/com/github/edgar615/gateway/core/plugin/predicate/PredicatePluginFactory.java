@@ -31,7 +31,7 @@ public class PredicatePluginFactory implements ApiPluginFactory {
                 plugin.add(new BeforePredicate(predicate.getString("before")));
             }
             if (predicate.getValue("after") instanceof String) {
-                plugin.add(new BeforePredicate(predicate.getString("after")));
+                plugin.add(new AfterPredicate(predicate.getString("after")));
             }
             if (predicate.getValue("between") instanceof JsonArray) {
                 JsonArray between = predicate.getJsonArray("between");
@@ -47,7 +47,7 @@ public class PredicatePluginFactory implements ApiPluginFactory {
             if (predicate.getValue("remoteAddr") instanceof JsonObject) {
                 plugin.addAll(remoteAddrPredicate(predicate.getJsonObject("remoteAddr")));
             }
-            return plugin;
+            return plugin.compile();
         }
         return null;
     }
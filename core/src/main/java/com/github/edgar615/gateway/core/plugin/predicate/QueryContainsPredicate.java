@@ -1,7 +1,6 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,14 +10,25 @@ public class QueryContainsPredicate implements ApiPredicate {
 
     private final List<String> query = new ArrayList<>();
 
+    /**
+     * 小写的名称
+     */
+    private final String[] names;
+
     public QueryContainsPredicate(List<String> query) {
         Objects.requireNonNull(query);
         this.query.addAll(query);
+        this.names = this.query.stream().map(String::toLowerCase).toArray(String[]::new);
     }
 
     public boolean test(ApiContext context) {
-        for (String name : query) {
-            if (MultimapUtils.getCaseInsensitive(context.params(), name) == null) {
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (String name : names) {
+            if (context.param(name) == null) {
                 return false;
             }
         }
@@ -1,31 +1,47 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 public class QueryEqualsPredicate implements ApiPredicate {
 
     private final Map<String, String> query = new HashMap<>();
 
+    /**
+     * 小写的名称，与values一一对应
+     */
+    private final String[] names;
+
+    private final String[] values;
+
     public QueryEqualsPredicate(Map<String, String> query) {
         Objects.requireNonNull(query);
         this.query.putAll(query);
+        this.names = new String[this.query.size()];
+        this.values = new String[this.query.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : this.query.entrySet()) {
+            names[i] = entry.getKey().toLowerCase();
+            values[i] = entry.getValue();
+            i++;
+        }
     }
 
     public boolean test(ApiContext context) {
-        Set<String> names = query.keySet();
-        for (String name : names) {
-            String value = query.get(name);
-            String paramValue = MultimapUtils.getCaseInsensitive(context.params(), name);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (int i = 0; i < names.length; i++) {
+            String paramValue = context.param(names[i]);
             if (paramValue == null) {
                 return false;
             }
-            if (!value.equals(paramValue)) {
+            if (!values[i].equals(paramValue)) {
                 return false;
             }
         }
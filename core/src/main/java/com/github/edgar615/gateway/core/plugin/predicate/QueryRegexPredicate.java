@@ -1,37 +1,62 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.gateway.core.utils.MultimapUtils;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.regex.Pattern;
 
 public class QueryRegexPredicate implements ApiPredicate {
 
     private final Map<String, String> query = new HashMap<>();
 
+    /**
+     * 小写的名称，与patterns一一对应
+     */
+    private final String[] names;
+
+    /**
+     * 预编译的正则表达式，原来每次调用String.matches都会重新编译
+     */
+    private final Pattern[] patterns;
+
     public QueryRegexPredicate(Map<String, String> query) {
         Objects.requireNonNull(query);
         this.query.putAll(query);
+        this.names = new String[this.query.size()];
+        this.patterns = new Pattern[this.query.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : this.query.entrySet()) {
+            names[i] = entry.getKey().toLowerCase();
+            patterns[i] = Pattern.compile(entry.getValue());
+            i++;
+        }
     }
 
     public boolean test(ApiContext context) {
-        Set<String> names = query.keySet();
-        for (String name : names) {
-            String value = query.get(name);
-            String queryValue = MultimapUtils.getCaseInsensitive(context.params(), name);
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        for (int i = 0; i < names.length; i++) {
+            String queryValue = context.param(names[i]);
             if (queryValue == null) {
                 return false;
             }
-            if (!queryValue.matches(value)) {
+            if (!patterns[i].matcher(queryValue).matches()) {
                 return false;
             }
         }
         return true;
     }
 
+    @Override
+    public int cost() {
+        return COST_REGEX;
+    }
+
     public Map<String, String> query() {
         return query;
     }
@@ -1,52 +1,48 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.google.common.base.Splitter;
-import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
+import com.github.edgar615.gateway.core.utils.IpPrefixTrie;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * 客户端IP属于指定的IP集合.
+ * <p>
+ * IP集合在创建时编译为{@link IpPrefixTrie}，支持单个地址、通配符、部分地址、CIDR和地址段，查找的时间与集合的大小无关.
+ * 不合法的IP记录日志后忽略，不会导致API定义加载失败.
+ */
 public class RemoteAddrAppointPredicate implements ApiPredicate {
     /**
      * IP的集合
      */
     private final List<String> appoint = new ArrayList<>();
 
+    private final IpPrefixTrie trie = new IpPrefixTrie();
+
     public RemoteAddrAppointPredicate(List<String> appoint) {
         Objects.requireNonNull(appoint);
         this.appoint.addAll(appoint);
+        this.trie.addAll(appoint, 1);
     }
 
     public boolean test(ApiContext context) {
-        String clientIp = (String) context.variables().get("request_clientIp");
-        if (Strings.isNullOrEmpty(clientIp)) {
-            return false;
-        }
-        return appoint.stream()
-                .filter(r -> checkIp(r, clientIp))
-                .count() > 0;
+        return test(new PredicateContext(context));
     }
 
-    public List<String> appoint() {
-        return appoint;
+    @Override
+    public boolean test(PredicateContext context) {
+        return trie.contains(context.clientAddress());
     }
 
-    private boolean checkIp(String rule, String clientIp) {
-        List<String> rules = Lists.newArrayList(Splitter.on(".").trimResults().split(rule));
-        for (int i = rules.size(); i < 5; i++) {
-            rules.add("*");
-        }
-        List<String> ips = Lists.newArrayList(Splitter.on(".").trimResults().split(clientIp));
-        for (int i = 0; i < 4; i++) {
-            String r = rules.get(i);
-            String ip = ips.get(i);
-            if (!r.equals(ip) && !"*".equals(r)) {
-                return false;
-            }
-        }
-        return true;
+    @Override
+    public int cost() {
+        return COST_REMOTE_ADDR;
+    }
+
+    public List<String> appoint() {
+        return Collections.unmodifiableList(appoint);
     }
 }
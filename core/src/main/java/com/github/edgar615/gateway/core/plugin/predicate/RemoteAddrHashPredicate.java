@@ -1,9 +1,7 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.util.net.IPUtils;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
 
 public class RemoteAddrHashPredicate implements ApiPredicate {
     /**
@@ -25,15 +23,24 @@ public class RemoteAddrHashPredicate implements ApiPredicate {
     }
 
     public boolean test(ApiContext context) {
-        String clientIp = (String) context.variables().get("request_clientIp");
-        if (Strings.isNullOrEmpty(clientIp)) {
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        long ipNumber = context.clientIpNumber();
+        if (ipNumber < 0) {
             return false;
         }
-        long ipNumber = IPUtils.ipToLong(clientIp);
         long ipHash = ipNumber % 100;
         return ipHash >= start && ipHash <= end;
     }
 
+    @Override
+    public int cost() {
+        return COST_REMOTE_ADDR;
+    }
+
     public int start() {
         return start;
     }
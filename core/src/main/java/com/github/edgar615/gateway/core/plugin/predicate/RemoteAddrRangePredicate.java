@@ -1,9 +1,7 @@
 package com.github.edgar615.gateway.core.plugin.predicate;
 
 import com.github.edgar615.gateway.core.dispatch.ApiContext;
-import com.github.edgar615.util.net.IPUtils;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Strings;
 
 public class RemoteAddrRangePredicate implements ApiPredicate {
     /**
@@ -26,14 +24,23 @@ public class RemoteAddrRangePredicate implements ApiPredicate {
     }
 
     public boolean test(ApiContext context) {
-        String clientIp = (String) context.variables().get("request_clientIp");
-        if (Strings.isNullOrEmpty(clientIp)) {
+        return test(new PredicateContext(context));
+    }
+
+    @Override
+    public boolean test(PredicateContext context) {
+        long ipNumber = context.clientIpNumber();
+        if (ipNumber < 0) {
             return false;
         }
-        long ipNumber = IPUtils.ipToLong(clientIp);
         return ipNumber >= start && ipNumber <= end;
     }
 
+    @Override
+    public int cost() {
+        return COST_REMOTE_ADDR;
+    }
+
     public long start() {
         return start;
     }
@@ -0,0 +1,271 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.base.Preconditions;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 集群限流：从{@link RateLimitCoordinator}租用令牌，在本地消耗.
+ * <p>
+ * 每个key在本地保存一个租约：
+ * <pre>
+ * 本地有令牌：直接消耗，不访问协调者；剩余的令牌不到一批的一半时异步续租，热点key的请求不需要等待
+ * 本地没有令牌：请求等待正在进行的续租(或者发起续租)，协调者返回之后依次处理等待的请求
+ * 协调者也没有令牌：在协调者返回的等待时间之内直接拒绝，不再访问协调者
+ * 租约过期：没有用完的令牌不再使用，随下一次续租归还给协调者，避免一个节点长时间占用令牌
+ * </pre>
+ * 每次租用的令牌数为burst * batchRatio，批次越大访问协调者的次数越少，但是节点之间的令牌越不均衡.
+ * <p>
+ * 协调者不可用(超时或者没有协调者)时，在leaseTime之内使用本节点的{@link RateLimiter}限流，限制退化为每个节点单独计算.
+ * <p>
+ * 租约不是线程安全的，ClusterRateLimiter只能在创建它的Context上使用，一般每个filter(verticle)一个.
+ * 配置项：
+ * <pre>
+ * "rate.limit.cluster" : {
+ *   "address" : "__com.github.edgar615.gateway.ratelimit.coordinator",   协调者的地址
+ *   "batchRatio" : 0.1,   每次租用的令牌数占burst的比例
+ *   "leaseTime" : 1000,   租约的有效期，毫秒
+ *   "timeout" : 500,      访问协调者的超时时间，毫秒
+ *   "maxWaiters" : 1000   每个key最多等待续租的请求数，超过之后直接拒绝
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ClusterRateLimiter {
+
+    public static final String CONFIG_KEY = "rate.limit.cluster";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private final Vertx vertx;
+
+    private final String address;
+
+    private final double batchRatio;
+
+    private final long leaseTime;
+
+    private final DeliveryOptions deliveryOptions;
+
+    private final int maxWaiters;
+
+    private final RateLimiter fallback;
+
+    private final LongSupplier clock;
+
+    private final Map<String, Lease> leases = new HashMap<>();
+
+    private final LongAdder renewals = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    private long lastSweep;
+
+    ClusterRateLimiter(Vertx vertx, JsonObject options, RateLimiter fallback, LongSupplier clock) {
+        this.vertx = vertx;
+        this.address = options.getString("address", RateLimitCoordinator.DEFAULT_ADDRESS);
+        this.batchRatio = options.getDouble("batchRatio", 0.1);
+        this.leaseTime = TimeUnit.MILLISECONDS.toNanos(options.getLong("leaseTime", 1000L));
+        this.deliveryOptions = new DeliveryOptions().setSendTimeout(options.getLong("timeout", 500L));
+        this.maxWaiters = options.getInteger("maxWaiters", 1000);
+        this.fallback = fallback;
+        this.clock = clock;
+        this.lastSweep = clock.getAsLong();
+        Preconditions.checkArgument(batchRatio > 0 && batchRatio <= 1,
+                                    "batchRatio must between 0 and 1");
+        Preconditions.checkArgument(leaseTime > 0, "leaseTime must > 0");
+    }
+
+    /**
+     * 如果配置了rate.limit.cluster，创建ClusterRateLimiter，否则返回null.
+     *
+     * @param vertx  Vertx
+     * @param config 配置
+     * @return ClusterRateLimiter
+     */
+    public static ClusterRateLimiter create(Vertx vertx, JsonObject config) {
+        JsonObject clusterConfig = config.getJsonObject(CONFIG_KEY);
+        if (clusterConfig == null) {
+            return null;
+        }
+        return new ClusterRateLimiter(vertx, clusterConfig, RateLimiter.shared(vertx, config),
+                                      System::nanoTime);
+    }
+
+    /**
+     * 获取一个令牌.
+     *
+     * @param key     限流的key
+     * @param limit   限制
+     * @param handler 获取成功时参数为0，否则为还需要等待的纳秒数，本地有令牌时同步调用
+     */
+    public void acquire(String key, RateLimit limit, Handler<Long> handler) {
+        long now = clock.getAsLong();
+        Lease lease = lease(key, limit, now);
+        if (now < lease.fallbackUntil) {
+            handler.handle(fallback.tryAcquire(key, limit));
+            return;
+        }
+        if (lease.expiresAt <= now && lease.tokens > 0) {
+            lease.returned += lease.tokens;
+            lease.tokens = 0;
+        }
+        if (lease.tokens > 0) {
+            lease.tokens--;
+            if (lease.tokens <= lease.batch / 2 && !lease.pending) {
+                renew(key, lease);
+            }
+            handler.handle(0L);
+            return;
+        }
+        if (now < lease.deniedUntil) {
+            handler.handle(lease.deniedUntil - now);
+            return;
+        }
+        if (lease.waiters.size() >= maxWaiters) {
+            handler.handle(limit.intervalNanos());
+            return;
+        }
+        lease.waiters.add(handler);
+        if (!lease.pending) {
+            renew(key, lease);
+        }
+    }
+
+    /**
+     * @return leases：本地的租约数，renewals：访问协调者的次数，fallbacks：协调者不可用的次数
+     */
+    public JsonObject metrics() {
+        return new JsonObject()
+                .put("leases", leases.size())
+                .put("renewals", renewals.sum())
+                .put("fallbacks", fallbacks.sum());
+    }
+
+    private Lease lease(String key, RateLimit limit, long now) {
+        Lease lease = leases.get(key);
+        if (lease != null && lease.limit.equals(limit)) {
+            return lease;
+        }
+        if (now - lastSweep >= leaseTime) {
+            lastSweep = now;
+            sweep(now);
+        }
+        lease = new Lease(limit, Math.max(1, (long) Math.ceil(limit.burst() * batchRatio)));
+        leases.put(key, lease);
+        return lease;
+    }
+
+    /**
+     * 删除已经过期并且没有等待请求的租约，没有归还的令牌会丢失，协调者的令牌桶会随时间补充.
+     */
+    private void sweep(long now) {
+        Iterator<Lease> iterator = leases.values().iterator();
+        while (iterator.hasNext()) {
+            Lease lease = iterator.next();
+            if (!lease.pending && lease.waiters.isEmpty() && lease.expiresAt <= now
+                && lease.deniedUntil <= now && lease.fallbackUntil <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void renew(String key, Lease lease) {
+        lease.pending = true;
+        renewals.increment();
+        long returned = lease.returned;
+        JsonObject request = lease.limit.toJson()
+                .put("key", key)
+                .put("permits", lease.batch)
+                .put("returned", returned);
+        lease.returned = 0;
+        vertx.eventBus().<JsonObject>send(address, request, deliveryOptions,
+                                          ar -> onLease(key, lease, returned, ar));
+    }
+
+    /**
+     * @param returned 这次续租归还的令牌数，续租失败时重新计入租约，随下一次续租归还
+     */
+    private void onLease(String key, Lease lease, long returned,
+                         AsyncResult<Message<JsonObject>> ar) {
+        lease.pending = false;
+        long now = clock.getAsLong();
+        if (ar.failed()) {
+            //超时的请求可能已经被协调者处理，重复归还的令牌最多让令牌桶回到满的状态
+            lease.returned += returned;
+            fallbacks.increment();
+            LOGGER.warn("[rateLimit] [coordinator] [{}] [{}]", key, ar.cause().getMessage());
+            lease.fallbackUntil = now + leaseTime;
+            for (Handler<Long> waiter : drainWaiters(lease)) {
+                waiter.handle(fallback.tryAcquire(key, lease.limit));
+            }
+            return;
+        }
+        long granted = ar.result().body().getLong("granted", 0L);
+        long wait = ar.result().body().getLong("wait", 0L);
+        lease.tokens += granted;
+        lease.expiresAt = now + leaseTime;
+        if (granted == 0) {
+            lease.deniedUntil = now + wait;
+        }
+        for (Handler<Long> waiter : drainWaiters(lease)) {
+            if (lease.tokens > 0) {
+                lease.tokens--;
+                waiter.handle(0L);
+            } else {
+                waiter.handle(Math.max(wait, lease.limit.intervalNanos()));
+            }
+        }
+    }
+
+    /**
+     * 取出所有等待的请求，回调中可能再次获取同一个key的令牌，新的请求需要等待下一次续租.
+     */
+    private Queue<Handler<Long>> drainWaiters(Lease lease) {
+        Queue<Handler<Long>> waiters = new ArrayDeque<>(lease.waiters);
+        lease.waiters.clear();
+        return waiters;
+    }
+
+    private static class Lease {
+
+        private final RateLimit limit;
+
+        private final long batch;
+
+        private final Queue<Handler<Long>> waiters = new ArrayDeque<>();
+
+        private long tokens;
+
+        private long returned;
+
+        private long expiresAt;
+
+        private long deniedUntil;
+
+        private long fallbackUntil;
+
+        private boolean pending;
+
+        private Lease(RateLimit limit, long batch) {
+            this.limit = limit;
+            this.batch = batch;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一个限流规则：每period秒最多rate个请求，最多允许burst个请求的突发.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public final class RateLimit {
+
+    private final long rate;
+
+    private final long period;
+
+    private final long burst;
+
+    private RateLimit(long rate, long period, long burst) {
+        Preconditions.checkArgument(rate > 0, "rate must > 0");
+        Preconditions.checkArgument(period > 0, "period must > 0");
+        Preconditions.checkArgument(burst > 0, "burst must > 0");
+        this.rate = rate;
+        this.period = period;
+        this.burst = burst;
+    }
+
+    /**
+     * @param rate   每个周期允许的请求数
+     * @param period 周期，秒
+     * @param burst  允许的突发请求数
+     * @return RateLimit
+     */
+    public static RateLimit create(long rate, long period, long burst) {
+        return new RateLimit(rate, period, burst);
+    }
+
+    /**
+     * 从JSON中读取规则，period默认1秒，burst默认等于rate.
+     *
+     * @param jsonObject JSON
+     * @return RateLimit
+     */
+    static RateLimit fromJson(JsonObject jsonObject) {
+        long rate = jsonObject.getLong("rate");
+        return new RateLimit(rate, jsonObject.getLong("period", 1L),
+                             jsonObject.getLong("burst", rate));
+    }
+
+    JsonObject toJson() {
+        return new JsonObject().put("rate", rate).put("period", period).put("burst", burst);
+    }
+
+    public long rate() {
+        return rate;
+    }
+
+    public long period() {
+        return period;
+    }
+
+    public long burst() {
+        return burst;
+    }
+
+    /**
+     * @return 产生一个令牌需要的时间，纳秒
+     */
+    long intervalNanos() {
+        return Math.max(1, TimeUnit.SECONDS.toNanos(period) / rate);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RateLimit that = (RateLimit) o;
+        return rate == that.rate && period == that.period && burst == that.burst;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rate, period, burst);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("RateLimit")
+                .add("rate", rate)
+                .add("period", period)
+                .add("burst", burst)
+                .toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 集群限流的协调者，保存所有网关节点共享的令牌桶.
+ * <p>
+ * 网关节点({@link ClusterRateLimiter})不会为每个请求访问协调者，而是一次租用一批令牌在本地消耗，
+ * 令牌快用完时异步续租，租约过期时把没有用完的令牌随下一次续租归还.
+ * 协调者在event bus的address上接收租用请求：
+ * <pre>
+ * 请求：{"key" : "ip:get_device:10.0.0.1", "rate" : 10, "period" : 1, "burst" : 10, "permits" : 2, "returned" : 0}
+ * 响应：{"granted" : 2, "wait" : 0}   granted：租到的令牌数，wait：没有令牌时需要等待的纳秒数
+ * </pre>
+ * 令牌桶保存在一个独立的{@link RateLimiter}中，key的数量同样受maxKeys限制.
+ * 一个集群中只能有一个协调者，一般部署在一个单独的节点上，也可以在测试中与网关运行在同一个vertx中.
+ * 配置项：
+ * <pre>
+ * "rate.limit.coordinator" : {
+ *   "address" : "__com.github.edgar615.gateway.ratelimit.coordinator",
+ *   "maxKeys" : 100000,
+ *   "stripes" : 16,
+ *   "sweepInterval" : 10000
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitCoordinator {
+
+    public static final String CONFIG_KEY = "rate.limit.coordinator";
+
+    public static final String DEFAULT_ADDRESS =
+            "__com.github.edgar615.gateway.ratelimit.coordinator";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitCoordinator.class);
+
+    private final RateLimiter limiter;
+
+    private final MessageConsumer<JsonObject> consumer;
+
+    private final LongAdder leases = new LongAdder();
+
+    private final LongAdder granted = new LongAdder();
+
+    private final LongAdder returned = new LongAdder();
+
+    public RateLimitCoordinator(Vertx vertx, JsonObject config) {
+        JsonObject coordinatorConfig = config.getJsonObject(CONFIG_KEY, new JsonObject());
+        this.limiter = new RateLimiter(coordinatorConfig.getInteger("maxKeys", 100000),
+                                       coordinatorConfig.getInteger("stripes", 16),
+                                       coordinatorConfig.getLong("sweepInterval", 10000L),
+                                       System::nanoTime);
+        this.consumer = vertx.eventBus().consumer(
+                coordinatorConfig.getString("address", DEFAULT_ADDRESS), this::lease);
+    }
+
+    /**
+     * @return leases：租用请求数，granted：租出的令牌数，returned：归还的令牌数，keys：令牌桶的数量
+     */
+    public JsonObject metrics() {
+        return new JsonObject()
+                .put("leases", leases.sum())
+                .put("granted", granted.sum())
+                .put("returned", returned.sum())
+                .put("keys", limiter.size());
+    }
+
+    public void close() {
+        consumer.unregister();
+    }
+
+    private void lease(Message<JsonObject> msg) {
+        JsonObject body = msg.body();
+        String key = body.getString("key");
+        RateLimit limit;
+        try {
+            Objects.requireNonNull(key, "key");
+            limit = RateLimit.fromJson(body);
+        } catch (Exception e) {
+            LOGGER.warn("[rateLimit] [coordinator] [invalid] [{}]", body.encode());
+            msg.fail(400, "invalid lease: " + e.getMessage());
+            return;
+        }
+        long now = limiter.now();
+        TokenBucket bucket = limiter.bucket(key, limit, now);
+        long giveBack = body.getLong("returned", 0L);
+        if (giveBack > 0) {
+            bucket.giveBack(now, giveBack);
+            returned.add(giveBack);
+        }
+        long permits = bucket.acquireUpTo(now, Math.max(1, body.getLong("permits", 1L)));
+        leases.increment();
+        granted.add(permits);
+        msg.reply(new JsonObject()
+                          .put("granted", permits)
+                          .put("wait", permits > 0 ? 0 : bucket.waitNanos(now)));
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.Result;
+import com.github.edgar615.util.exception.CustomErrorCode;
+import com.github.edgar615.util.exception.ErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.google.common.collect.ImmutableMultimap;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流.
+ * <p>
+ * 按照{@link RateLimitPlugin}的配置依次检查调用方IP(变量request_clientIp)、appKey(变量client_appKey)和整个API的令牌桶，
+ * 先检查范围小的维度，被单个调用方的限制拒绝的请求不会消耗整个API的令牌.
+ * <p>
+ * 被拒绝的请求直接设置一个429的passthrough的Result，并设置变量rate_limited=true，调度器不再调用下游服务.
+ * 响应体是预先编码好的，拒绝请求时不需要创建异常，也不需要编码JSON，Retry-After响应头表示需要等待的秒数.
+ * <p>
+ * 配置了rate.limit.cluster时，限制对整个集群生效，令牌从协调者批量租用，参考{@link ClusterRateLimiter}.
+ * <p>
+ * 该filter应该在AppKeyFilter之后执行，才能读取到client_appKey.
+ * <p>
+ * <b>前置条件</b>：API有RateLimitPlugin插件
+ * 配置项参考{@link RateLimiter}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitFilter implements Filter {
+
+    static final String RATE_LIMITED = "rate_limited";
+
+    static final ErrorCode TOO_MANY_REQUESTS = CustomErrorCode.create(1010, "Too Many Requests");
+
+    private static final Buffer REJECTED_BODY = Buffer.buffer(
+            new JsonObject(SystemException.create(TOO_MANY_REQUESTS).asMap()).encode());
+
+    /**
+     * 检查的顺序：范围小的维度在前
+     */
+    private static final String[] DIMENSIONS = {"ip", "appKey", "api"};
+
+    private final RateLimiter limiter;
+
+    private final ClusterRateLimiter clusterLimiter;
+
+    RateLimitFilter(Vertx vertx, JsonObject config) {
+        this.limiter = RateLimiter.shared(vertx, config);
+        this.clusterLimiter = ClusterRateLimiter.create(vertx, config);
+    }
+
+    @Override
+    public String type() {
+        return PRE;
+    }
+
+    @Override
+    public int order() {
+        return 8500;
+    }
+
+    @Override
+    public Boolean shouldFilterStatically(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            return null;
+        }
+        return apiDefinition.plugin(RateLimitPlugin.class) != null;
+    }
+
+    @Override
+    public boolean shouldFilter(ApiContext apiContext) {
+        return apiContext.apiDefinition() != null
+               && apiContext.apiDefinition().plugin(RateLimitPlugin.class) != null;
+    }
+
+    @Override
+    public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+        check(apiContext, apiContext.apiDefinition().plugin(RateLimitPlugin.class), 0,
+              completeFuture);
+    }
+
+    /**
+     * 从第index个维度开始依次检查，集群限流时需要等待上一个维度的结果.
+     */
+    private void check(ApiContext apiContext, RateLimitPlugin plugin, int index,
+                       Future<ApiContext> completeFuture) {
+        for (; index < DIMENSIONS.length; index++) {
+            RateLimit limit = limit(plugin, index);
+            Object value = value(apiContext, index);
+            if (limit == null || value == null) {
+                continue;
+            }
+            String key = DIMENSIONS[index] + ":" + apiContext.apiDefinition().name() + ":" + value;
+            if (clusterLimiter == null) {
+                long wait = limiter.tryAcquire(key, limit);
+                if (wait > 0) {
+                    reject(apiContext, wait);
+                    completeFuture.complete(apiContext);
+                    return;
+                }
+                continue;
+            }
+            int next = index + 1;
+            clusterLimiter.acquire(key, limit, wait -> {
+                if (wait > 0) {
+                    reject(apiContext, wait);
+                    completeFuture.complete(apiContext);
+                } else {
+                    check(apiContext, plugin, next, completeFuture);
+                }
+            });
+            return;
+        }
+        completeFuture.complete(apiContext);
+    }
+
+    private RateLimit limit(RateLimitPlugin plugin, int index) {
+        if (index == 0) {
+            return plugin.ip();
+        }
+        return index == 1 ? plugin.appKey() : plugin.api();
+    }
+
+    private Object value(ApiContext apiContext, int index) {
+        if (index == 0) {
+            return apiContext.variables().get("request_clientIp");
+        }
+        return index == 1 ? apiContext.variables().get("client_appKey") : "";
+    }
+
+    private void reject(ApiContext apiContext, long wait) {
+        log(apiContext.id(), "rate.limited");
+        apiContext.addVariable(RATE_LIMITED, true);
+        apiContext.setResult(Result.passthrough(429, REJECTED_BODY, ImmutableMultimap.of(
+                "Content-Type", "application/json;charset=utf-8",
+                "Retry-After", String.valueOf(retryAfter(wait)))));
+    }
+
+    /**
+     * @return 需要等待的秒数，向上取整
+     */
+    static long retryAfter(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.FilterFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * RateLimitFilter的工厂类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitFilterFactory implements FilterFactory {
+    @Override
+    public String name() {
+        return RateLimitFilter.class.getSimpleName();
+    }
+
+    @Override
+    public Filter create(Vertx vertx, JsonObject config) {
+        return new RateLimitFilter(vertx, config);
+    }
+}
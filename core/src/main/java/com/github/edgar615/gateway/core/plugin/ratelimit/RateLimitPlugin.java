@@ -0,0 +1,45 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+
+/**
+ * 限流的策略.
+ * 该插件对应的JSON配置的key为<b>rateLimit</b>
+ * <pre>
+ *   rateLimit: {
+ *     "api": {"rate": 1000, "period": 1, "burst": 2000},   整个API的限制
+ *     "appKey": {"rate": 100},                              每个appKey(变量client_appKey)的限制
+ *     "ip": {"rate": 10, "burst": 20}                       每个调用方IP(变量request_clientIp)的限制
+ *   }
+ * </pre>
+ * 三个维度都是可选的，每个维度的rate表示每period秒(默认1秒)允许的请求数，burst表示允许的突发请求数(默认等于rate).
+ * 上下文中没有对应变量的请求不受这个维度的限制.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public interface RateLimitPlugin extends ApiPlugin {
+
+    static RateLimitPlugin create(RateLimit api, RateLimit appKey, RateLimit ip) {
+        return new RateLimitPluginImpl(api, appKey, ip);
+    }
+
+    /**
+     * @return 整个API的限制，可能为null
+     */
+    RateLimit api();
+
+    /**
+     * @return 每个appKey的限制，可能为null
+     */
+    RateLimit appKey();
+
+    /**
+     * @return 每个调用方IP的限制，可能为null
+     */
+    RateLimit ip();
+
+    @Override
+    default String name() {
+        return RateLimitPlugin.class.getSimpleName();
+    }
+}
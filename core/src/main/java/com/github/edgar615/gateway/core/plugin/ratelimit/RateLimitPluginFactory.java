@@ -0,0 +1,62 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.definition.ApiPluginFactory;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 限流插件的工厂类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitPluginFactory implements ApiPluginFactory {
+
+    /**
+     * 默认的限制：整个API每秒1000个请求
+     */
+    private static final long DEFAULT_RATE = 1000;
+
+    @Override
+    public String name() {
+        return RateLimitPlugin.class.getSimpleName();
+    }
+
+    @Override
+    public ApiPlugin create() {
+        return new RateLimitPluginImpl(RateLimit.create(DEFAULT_RATE, 1, DEFAULT_RATE), null, null);
+    }
+
+    @Override
+    public ApiPlugin decode(JsonObject jsonObject) {
+        JsonObject rateLimit = jsonObject.getJsonObject("rateLimit");
+        if (rateLimit == null) {
+            return null;
+        }
+        return new RateLimitPluginImpl(limit(rateLimit, "api"), limit(rateLimit, "appKey"),
+                                       limit(rateLimit, "ip"));
+    }
+
+    @Override
+    public JsonObject encode(ApiPlugin plugin) {
+        if (plugin == null) {
+            return new JsonObject();
+        }
+        RateLimitPlugin rateLimitPlugin = (RateLimitPlugin) plugin;
+        JsonObject rateLimit = new JsonObject();
+        if (rateLimitPlugin.api() != null) {
+            rateLimit.put("api", rateLimitPlugin.api().toJson());
+        }
+        if (rateLimitPlugin.appKey() != null) {
+            rateLimit.put("appKey", rateLimitPlugin.appKey().toJson());
+        }
+        if (rateLimitPlugin.ip() != null) {
+            rateLimit.put("ip", rateLimitPlugin.ip().toJson());
+        }
+        return new JsonObject().put("rateLimit", rateLimit);
+    }
+
+    private RateLimit limit(JsonObject rateLimit, String dimension) {
+        JsonObject limit = rateLimit.getJsonObject(dimension);
+        return limit == null ? null : RateLimit.fromJson(limit);
+    }
+}
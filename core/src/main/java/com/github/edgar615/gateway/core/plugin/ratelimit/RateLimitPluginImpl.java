@@ -0,0 +1,51 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class RateLimitPluginImpl implements RateLimitPlugin {
+
+    private final RateLimit api;
+
+    private final RateLimit appKey;
+
+    private final RateLimit ip;
+
+    RateLimitPluginImpl(RateLimit api, RateLimit appKey, RateLimit ip) {
+        Preconditions.checkArgument(api != null || appKey != null || ip != null,
+                                    "rateLimit must have at least one limit");
+        this.api = api;
+        this.appKey = appKey;
+        this.ip = ip;
+    }
+
+    @Override
+    public RateLimit api() {
+        return api;
+    }
+
+    @Override
+    public RateLimit appKey() {
+        return appKey;
+    }
+
+    @Override
+    public RateLimit ip() {
+        return ip;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects
+                .toStringHelper("RateLimitPlugin")
+                .add("api", api)
+                .add("appKey", appKey)
+                .add("ip", ip)
+                .toString();
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.base.Preconditions;
+import com.github.edgar615.gateway.core.utils.SharedInstances;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 按key保存的令牌桶.
+ * <p>
+ * 令牌桶({@link TokenBucket})本身是无锁的，已经存在的key获取令牌只需要一次ConcurrentHashMap的读取和一次CAS，
+ * 多个event loop同时访问同一个key也不会阻塞.
+ * <p>
+ * key按照hash划分为多个条带(stripe)，每个条带独立维护：
+ * <pre>
+ * 条带在创建新的令牌桶时，如果距离上次清理超过sweepInterval，或者条带已经满了，清理已经满了(空闲)的令牌桶，
+ * 空闲的令牌桶与新建的令牌桶等价，删除之后不会放过多余的请求
+ * 清理之后仍然超过容量时，淘汰条带中的部分客户端令牌桶(直到容量的90%)，避免大量的IP(例如攻击)耗尽内存，
+ * 优先淘汰tat最早的令牌桶：最久没有使用，也最接近满的状态，被淘汰的key会得到一个新的令牌桶，多放过的请求最少
+ * </pre>
+ * 只有按客户端划分的key(ip:开头)受maxKeys限制，可以被淘汰.
+ * API和appKey的key数量由API和appKey的数量决定，保存在单独的Map中，只会在空闲时删除，
+ * 否则攻击产生的大量IP会把整个API的令牌桶挤掉，API的限制就失效了.
+ * 令牌桶记录了创建时使用的{@link RateLimit}，API的限制修改之后会创建新的令牌桶.
+ * <p>
+ * 同一个vertx中的所有filter共享同一个限流器，限制对整个进程生效，参考{@link SharedInstances}.
+ * 配置项：
+ * <pre>
+ * "rate.limit" : {
+ *   "maxKeys" : 100000,       最多保存的客户端key
+ *   "stripes" : 16,           条带数
+ *   "sweepInterval" : 10000   清理空闲令牌桶的间隔，毫秒
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimiter {
+
+    public static final String CONFIG_KEY = "rate.limit";
+
+    private static final String SHARED_MAP = "__gateway.rateLimiter";
+
+    private static final int DEFAULT_MAX_KEYS = 100000;
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private static final long DEFAULT_SWEEP_INTERVAL = 10000;
+
+    /**
+     * 按客户端划分的key的前缀，参考{@link RateLimitFilter}
+     */
+    private static final String CLIENT_KEY_PREFIX = "ip:";
+
+    private final Stripe[] stripes;
+
+    private final int maxKeysPerStripe;
+
+    private final long sweepInterval;
+
+    private final LongSupplier clock;
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder evicted = new LongAdder();
+
+    RateLimiter(int maxKeys, int stripes, long sweepInterval, LongSupplier clock) {
+        Preconditions.checkArgument(maxKeys > 0, "maxKeys must > 0");
+        Preconditions.checkArgument(stripes > 0, "stripes must > 0");
+        Preconditions.checkArgument(sweepInterval > 0, "sweepInterval must > 0");
+        this.clock = clock;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripes);
+        this.sweepInterval = TimeUnit.MILLISECONDS.toNanos(sweepInterval);
+    }
+
+    /**
+     * 返回vertx中共享的限流器.
+     *
+     * @param vertx  Vertx
+     * @param config 配置
+     * @return RateLimiter
+     */
+    public static RateLimiter shared(Vertx vertx, JsonObject config) {
+        JsonObject limitConfig = config.getJsonObject(CONFIG_KEY, new JsonObject());
+        return SharedInstances.getOrCreate(vertx, SHARED_MAP, limitConfig, () -> new RateLimiter(
+                limitConfig.getInteger("maxKeys", DEFAULT_MAX_KEYS),
+                limitConfig.getInteger("stripes", DEFAULT_STRIPES),
+                limitConfig.getLong("sweepInterval", DEFAULT_SWEEP_INTERVAL),
+                System::nanoTime));
+    }
+
+    /**
+     * 获取一个令牌.
+     *
+     * @param key   限流的key
+     * @param limit 限制
+     * @return 获取成功返回0，否则返回还需要等待的纳秒数
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = clock.getAsLong();
+        long wait = bucket(key, limit, now).tryAcquire(now);
+        if (wait == 0) {
+            allowed.increment();
+        } else {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * 返回key对应的令牌桶，不存在或者限制已经修改时创建新的令牌桶.
+     */
+    TokenBucket bucket(String key, RateLimit limit, long now) {
+        Stripe stripe = stripe(key);
+        Map<String, TokenBucket> buckets = stripe.buckets(key);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null || !bucket.limit().equals(limit)) {
+            bucket = stripe.create(buckets, key, limit, now);
+        }
+        return bucket;
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @return 当前保存的key的数量
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.clients.size() + stripe.pinned.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return keys：当前保存的key，allowed：通过的请求数，rejected：拒绝的请求数，evicted：因为超过容量而淘汰的key
+     */
+    public JsonObject metrics() {
+        return new JsonObject()
+                .put("keys", size())
+                .put("allowed", allowed.sum())
+                .put("rejected", rejected.sum())
+                .put("evicted", evicted.sum());
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[((h ^ (h >>> 16)) & 0x7fffffff) % stripes.length];
+    }
+
+    private class Stripe {
+
+        /**
+         * 按客户端划分的令牌桶，超过容量时淘汰
+         */
+        private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+
+        /**
+         * API和appKey的令牌桶，只删除空闲的
+         */
+        private final Map<String, TokenBucket> pinned = new ConcurrentHashMap<>();
+
+        private final AtomicLong lastSweep = new AtomicLong(clock.getAsLong());
+
+        private Map<String, TokenBucket> buckets(String key) {
+            return key.startsWith(CLIENT_KEY_PREFIX) ? clients : pinned;
+        }
+
+        private TokenBucket create(Map<String, TokenBucket> buckets, String key, RateLimit limit,
+                                   long now) {
+            long last = lastSweep.get();
+            boolean full = clients.size() >= maxKeysPerStripe;
+            if ((full || now - last >= sweepInterval) && lastSweep.compareAndSet(last, now)) {
+                sweep(now);
+            }
+            TokenBucket created = new TokenBucket(limit, now);
+            return buckets.compute(key, (k, v) -> v != null && v.limit().equals(limit)
+                    ? v : created);
+        }
+
+        private void sweep(long now) {
+            pinned.values().removeIf(bucket -> bucket.idle(now));
+            clients.values().removeIf(bucket -> bucket.idle(now));
+            //淘汰到容量的90%，避免之后每创建一个令牌桶都要清理一次
+            int target = maxKeysPerStripe - Math.max(1, maxKeysPerStripe / 10);
+            int excess = clients.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            //排序之前先取出tat，排序期间tat仍然可能变化
+            List<Map.Entry<Long, String>> candidates = new ArrayList<>(clients.size());
+            clients.forEach((key, bucket) -> candidates
+                    .add(new AbstractMap.SimpleImmutableEntry<>(bucket.tat(), key)));
+            candidates.sort(Map.Entry.comparingByKey());
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                if (clients.remove(candidates.get(i).getValue()) != null) {
+                    evicted.increment();
+                }
+            }
+        }
+    }
+}
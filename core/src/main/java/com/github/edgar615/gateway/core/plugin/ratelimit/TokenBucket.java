@@ -0,0 +1,115 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁的令牌桶.
+ * <p>
+ * 使用GCRA(generic cell rate algorithm)实现，只保存一个"理论到达时间"(tat)：
+ * 每个请求把tat向后推一个令牌的间隔，tat超过当前时间burst个间隔时拒绝请求.
+ * 与按时间补充令牌的实现等价，但是不需要单独的补充逻辑，获取令牌只有一次CAS.
+ * tat不晚于当前时间时，令牌桶是满的，与新建的令牌桶没有区别，可以随时删除.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class TokenBucket {
+
+    private final RateLimit limit;
+
+    private final long interval;
+
+    private final long tolerance;
+
+    private final AtomicLong tat;
+
+    TokenBucket(RateLimit limit, long now) {
+        this.limit = limit;
+        this.interval = limit.intervalNanos();
+        this.tolerance = interval * limit.burst();
+        this.tat = new AtomicLong(now);
+    }
+
+    RateLimit limit() {
+        return limit;
+    }
+
+    /**
+     * 获取一个令牌.
+     *
+     * @param now 当前时间，纳秒
+     * @return 获取成功返回0，否则返回还需要等待的纳秒数
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > tolerance) {
+                return next - now - tolerance;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 一次获取多个令牌，令牌不足时获取剩余的全部令牌.
+     *
+     * @param now     当前时间，纳秒
+     * @param permits 希望获取的令牌数
+     * @return 实际获取的令牌数
+     */
+    long acquireUpTo(long now, long permits) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long available = (now + tolerance - base) / interval;
+            if (available <= 0) {
+                return 0;
+            }
+            long granted = Math.min(available, permits);
+            if (tat.compareAndSet(current, base + granted * interval)) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * 归还没有使用的令牌.
+     *
+     * @param now     当前时间，纳秒
+     * @param permits 归还的令牌数
+     */
+    void giveBack(long now, long permits) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(now, current - permits * interval);
+            if (next >= current || tat.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param now 当前时间，纳秒
+     * @return 下一个令牌可用之前需要等待的纳秒数，有令牌时返回0
+     */
+    long waitNanos(long now) {
+        return Math.max(0, Math.max(tat.get(), now) + interval - now - tolerance);
+    }
+
+    /**
+     * @return 理论到达时间，越早说明越久没有使用、越接近满的状态
+     */
+    long tat() {
+        return tat.get();
+    }
+
+    /**
+     * @param now 当前时间，纳秒
+     * @return 令牌桶是否已经满了
+     */
+    boolean idle(long now) {
+        return tat.get() <= now;
+    }
+}
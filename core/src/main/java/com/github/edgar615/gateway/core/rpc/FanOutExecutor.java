@@ -0,0 +1,308 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.rpc.http.HttpRpcRequest;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 并发执行ApiContext中的所有RPC请求.
+ * <p>
+ * 一个API可以定义多个endpoint，所有的请求同时发出，聚合API的耗时取决于最慢的endpoint，而不是所有endpoint的耗时之和.
+ * <pre>
+ * endpoint超时：HTTP请求使用请求自己的timeout，其他请求使用endpointTimeout
+ * 总超时：deadline毫秒之后还没有完成的请求按超时处理
+ * </pre>
+ * 支持三种策略({@link Policy})：
+ * <pre>
+ * ALL：    所有请求都成功才算成功，任何一个请求失败都会立即失败
+ * FIRST：  返回第一个成功的响应，所有请求都失败时才算失败
+ * PARTIAL：尽量返回所有的响应，失败(或超时)的请求如果设置了fallback({@link Fallbackable})，使用fallback的副本代替，
+ *          否则这个请求的位置为null，所有请求都失败且没有fallback时才算失败
+ * </pre>
+ * 返回的响应按照请求的顺序排列，ALL和PARTIAL策略下第i个响应就是第i个请求的响应.
+ * 执行ApiContext中的请求时，null不会添加到ApiContext的响应中.
+ * 配置项：
+ * <pre>
+ * "rpc.fanout" : {
+ *   "policy" : "ALL",          默认策略
+ *   "deadline" : 15000,        总超时，毫秒
+ *   "endpointTimeout" : 10000  非HTTP请求的超时，毫秒
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class FanOutExecutor {
+
+    public static final String CONFIG_KEY = "rpc.fanout";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    private static final long DEFAULT_DEADLINE = 15000;
+
+    private static final long DEFAULT_ENDPOINT_TIMEOUT = 10000;
+
+    private final Vertx vertx;
+
+    private final Map<String, RpcHandler> handlers;
+
+    private final Policy policy;
+
+    private final long deadline;
+
+    private final long endpointTimeout;
+
+    public FanOutExecutor(Vertx vertx, Map<String, RpcHandler> handlers, JsonObject options) {
+        this.vertx = vertx;
+        this.handlers = ImmutableMap.copyOf(handlers);
+        this.policy = Policy.valueOf(options.getString("policy", Policy.ALL.name()).toUpperCase());
+        this.deadline = options.getLong("deadline", DEFAULT_DEADLINE);
+        this.endpointTimeout = options.getLong("endpointTimeout", DEFAULT_ENDPOINT_TIMEOUT);
+        Preconditions.checkArgument(deadline > 0, "deadline must > 0");
+        Preconditions.checkArgument(endpointTimeout > 0, "endpointTimeout must > 0");
+    }
+
+    /**
+     * 使用ServiceLoader加载的所有{@link RpcHandlerFactory}创建FanOutExecutor.
+     *
+     * @param vertx  Vertx
+     * @param config 配置
+     * @return FanOutExecutor
+     */
+    public static FanOutExecutor create(Vertx vertx, JsonObject config) {
+        Map<String, RpcHandler> handlers = new HashMap<>();
+        for (RpcHandlerFactory factory : ServiceLoader.load(RpcHandlerFactory.class)) {
+            handlers.put(factory.type(), factory.create(vertx, config));
+        }
+        return new FanOutExecutor(vertx, handlers, config.getJsonObject(CONFIG_KEY, new JsonObject()));
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * 使用默认策略执行ApiContext中的所有请求，并将响应添加到ApiContext中.
+     *
+     * @param apiContext ApiContext
+     * @return ApiContext
+     */
+    public Future<ApiContext> execute(ApiContext apiContext) {
+        Future<ApiContext> future = Future.future();
+        execute(apiContext.requests(), policy).setHandler(ar -> {
+            if (ar.failed()) {
+                future.fail(ar.cause());
+                return;
+            }
+            for (RpcResponse response : ar.result()) {
+                if (response != null) {
+                    apiContext.addResponse(response);
+                }
+            }
+            future.complete(apiContext);
+        });
+        return future;
+    }
+
+    /**
+     * 并发执行请求.
+     *
+     * @param requests 请求
+     * @param policy   策略
+     * @return 按照请求顺序排列的响应，PARTIAL策略下失败且没有fallback的请求为null
+     */
+    public Future<List<RpcResponse>> execute(List<RpcRequest> requests, Policy policy) {
+        if (requests.isEmpty()) {
+            return Future.succeededFuture(Collections.emptyList());
+        }
+        return new Round(new ArrayList<>(requests), policy).start();
+    }
+
+    private long timeout(RpcRequest request) {
+        if (request instanceof HttpRpcRequest && ((HttpRpcRequest) request).timeout() > 0) {
+            return Math.min(((HttpRpcRequest) request).timeout(), deadline);
+        }
+        return Math.min(endpointTimeout, deadline);
+    }
+
+    /**
+     * 多个请求的合并策略.
+     */
+    public enum Policy {
+        ALL, FIRST, PARTIAL
+    }
+
+    /**
+     * 一次并发执行，请求的结果可能在不同的线程上返回，状态的修改都需要加锁.
+     */
+    private class Round {
+
+        private final List<RpcRequest> requests;
+
+        private final Policy policy;
+
+        private final List<AsyncResult<RpcResponse>> results;
+
+        private final long[] timers;
+
+        private final Future<List<RpcResponse>> future = Future.future();
+
+        private int pending;
+
+        private long deadlineTimer;
+
+        private boolean done;
+
+        private Round(List<RpcRequest> requests, Policy policy) {
+            this.requests = requests;
+            this.policy = policy;
+            this.results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+            this.timers = new long[requests.size()];
+            this.pending = requests.size();
+        }
+
+        private Future<List<RpcResponse>> start() {
+            synchronized (this) {
+                deadlineTimer = vertx.setTimer(deadline, l -> onDeadline());
+                for (int i = 0; i < requests.size(); i++) {
+                    int index = i;
+                    RpcRequest request = requests.get(i);
+                    timers[i] = vertx.setTimer(timeout(request), l -> onComplete(index, Future
+                            .failedFuture(timeoutException(request, "endpoint timeout"))));
+                }
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                int index = i;
+                RpcRequest request = requests.get(i);
+                RpcHandler handler = handlers.get(request.type());
+                if (handler == null) {
+                    onComplete(index, Future.failedFuture(
+                            SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)
+                                    .set("details", "no handler: " + request.type())));
+                    continue;
+                }
+                try {
+                    handler.handle(request).setHandler(ar -> onComplete(index, ar));
+                } catch (Exception e) {
+                    onComplete(index, Future.failedFuture(e));
+                }
+            }
+            return future;
+        }
+
+        private void onComplete(int index, AsyncResult<RpcResponse> ar) {
+            Runnable action = null;
+            synchronized (this) {
+                if (done || results.get(index) != null) {
+                    return;
+                }
+                results.set(index, ar);
+                pending--;
+                vertx.cancelTimer(timers[index]);
+                if (ar.failed()) {
+                    LOGGER.warn("[{}] [fanout] [{}] [failed] [{}]", requests.get(index).id(),
+                                requests.get(index).name(), ar.cause().getMessage());
+                }
+                if (policy == Policy.ALL && ar.failed()) {
+                    action = finish(() -> future.tryFail(ar.cause()));
+                } else if (policy == Policy.FIRST && ar.succeeded()) {
+                    action = finish(() -> future.tryComplete(Collections.singletonList(ar.result())));
+                } else if (pending == 0) {
+                    action = finish(this::resolve);
+                }
+            }
+            if (action != null) {
+                action.run();
+            }
+        }
+
+        private void onDeadline() {
+            Runnable action;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    if (results.get(i) == null) {
+                        results.set(i, Future.failedFuture(
+                                timeoutException(requests.get(i), "deadline")));
+                    }
+                }
+                pending = 0;
+                action = finish(this::resolve);
+            }
+            action.run();
+        }
+
+        /**
+         * 标记为已完成并取消所有的定时器，返回需要在锁外执行的回调.
+         */
+        private Runnable finish(Runnable action) {
+            done = true;
+            vertx.cancelTimer(deadlineTimer);
+            for (long timer : timers) {
+                vertx.cancelTimer(timer);
+            }
+            return action;
+        }
+
+        private void resolve() {
+            Throwable cause = null;
+            List<RpcResponse> responses = new ArrayList<>(results.size());
+            boolean succeeded = false;
+            for (int i = 0; i < results.size(); i++) {
+                AsyncResult<RpcResponse> ar = results.get(i);
+                if (ar.succeeded()) {
+                    responses.add(ar.result());
+                    succeeded = true;
+                    continue;
+                }
+                if (cause == null) {
+                    cause = ar.cause();
+                }
+                if (policy == Policy.PARTIAL) {
+                    //保持与请求的位置一致
+                    RpcResponse fallback = fallback(requests.get(i));
+                    responses.add(fallback);
+                    succeeded |= fallback != null;
+                }
+            }
+            if (policy == Policy.ALL && cause != null) {
+                future.tryFail(cause);
+            } else if (!succeeded) {
+                future.tryFail(cause);
+            } else {
+                future.tryComplete(responses);
+            }
+        }
+
+        private RpcResponse fallback(RpcRequest request) {
+            if (request instanceof Fallbackable && ((Fallbackable) request).fallback() != null) {
+                LOGGER.info("[{}] [fanout] [{}] [fallback]", request.id(), request.name());
+                return ((Fallbackable) request).fallback().copy();
+            }
+            return null;
+        }
+
+        private SystemException timeoutException(RpcRequest request, String details) {
+            return SystemException.create(DefaultErrorCode.TIME_OUT)
+                    .set("details", details + ": " + request.name());
+        }
+    }
+}
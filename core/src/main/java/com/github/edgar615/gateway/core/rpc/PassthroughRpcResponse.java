@@ -0,0 +1,98 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 保留原始响应体的响应.
+ * <p>
+ * 如果后续的filter不需要读取响应体，可以直接把下游服务返回的Buffer原样写回客户端，避免解析为JSON之后再重新编码.
+ * 如果仍然调用了isArray、responseObject或者responseArray，会在第一次调用时解析响应体，并缓存解析的结果.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class PassthroughRpcResponse implements RpcResponse {
+
+    private final String id;
+
+    private final int statusCode;
+
+    private final Buffer body;
+
+    private final long elapsedTime;
+
+    /**
+     * 解析后的响应，第一次读取JSON内容时才会解析
+     */
+    private RpcResponse parsed;
+
+    PassthroughRpcResponse(String id, int statusCode, Buffer body, long elapsedTime) {
+        this.id = id;
+        this.statusCode = statusCode;
+        this.body = body;
+        this.elapsedTime = elapsedTime;
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public boolean isArray() {
+        return parsed().isArray();
+    }
+
+    @Override
+    public JsonObject responseObject() {
+        return parsed().responseObject();
+    }
+
+    @Override
+    public JsonArray responseArray() {
+        return parsed().responseArray();
+    }
+
+    @Override
+    public long elapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public Buffer rawBody() {
+        return body;
+    }
+
+    @Override
+    public RpcResponse copy() {
+        if (parsed != null) {
+            return parsed.copy();
+        }
+        //没有解析过的响应体不会被修改，可以直接共享
+        return new PassthroughRpcResponse(id, statusCode, body, elapsedTime);
+    }
+
+    private RpcResponse parsed() {
+        if (parsed == null) {
+            parsed = RpcResponse.create(id, statusCode, body, elapsedTime);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("RpcResponse")
+                .add("id", id)
+                .add("statusCode", statusCode)
+                .add("rawBody", body.length() + "bytes")
+                .add("elapsedTime", elapsedTime)
+                .toString();
+    }
+}
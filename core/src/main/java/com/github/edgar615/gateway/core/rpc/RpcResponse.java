@@ -1,10 +1,12 @@
 package com.github.edgar615.gateway.core.rpc;
 
+import com.github.edgar615.gateway.core.utils.JsonBuffers;
 import com.github.edgar615.util.exception.DefaultErrorCode;
 import com.github.edgar615.util.exception.SystemException;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 
 /**
  * Created by Edgar on 2016/9/21.
@@ -39,6 +41,35 @@ public interface RpcResponse {
         return new RpcResponseImpl(id, statusCode, responseArray, elapsedTime);
     }
 
+    /**
+     * 创建一个保留原始响应体的响应.
+     * 响应体只有在读取JSON内容(isArray、responseObject、responseArray)时才会解析，如果没有filter需要读取响应体，可以直接使用rawBody写回客户端.
+     *
+     * @param id          id
+     * @param statusCode  响应码
+     * @param data        响应数据
+     * @param elapsedTime 耗时
+     * @return RpcResponse
+     */
+    static RpcResponse passthrough(String id, int statusCode, Buffer data, long elapsedTime) {
+        return new PassthroughRpcResponse(id, statusCode, data, elapsedTime);
+    }
+
+    /**
+     * 创建一个流式的响应.
+     * 响应体通过bodyStream读取，不能读取JSON内容.
+     *
+     * @param id          id
+     * @param statusCode  响应码
+     * @param body        响应体
+     * @param elapsedTime 耗时
+     * @return RpcResponse
+     */
+    static RpcResponse stream(String id, int statusCode, ReadStream<Buffer> body,
+                              long elapsedTime) {
+        return new StreamRpcResponse(id, statusCode, body, elapsedTime);
+    }
+
     /**
      * 将buffer转换为AsyncResult，如果转换为JSON数组失败，尝试转换为JSON对象，
      * 同理，如果转换为JSON对象失败，尝试转换为JSON数组.
@@ -50,8 +81,29 @@ public interface RpcResponse {
      * @return RpcResponse
      */
     static RpcResponse create(String id, int statusCode, Buffer data, long elapsedTime) {
-        String str = data.toString().trim();
-        return create(id, statusCode, str, elapsedTime);
+        char type = JsonBuffers.type(data);
+        if (type == JsonBuffers.OBJECT) {
+            try {
+                return createJsonObject(id, statusCode,
+                        JsonBuffers.decodeObject(data), elapsedTime);
+            } catch (Exception e) {
+                throw SystemException.wrap(DefaultErrorCode.INVALID_JSON, e)
+                        .set("details",
+                                "The result of RPC is incorrect, It should be a JSON object");
+            }
+        }
+        if (type == JsonBuffers.ARRAY) {
+            try {
+                return createJsonArray(id, statusCode,
+                        JsonBuffers.decodeArray(data), elapsedTime);
+            } catch (Exception e) {
+                throw SystemException.wrap(DefaultErrorCode.INVALID_JSON, e)
+                        .set("details",
+                                "The result of RPC is incorrect, It should be a JSON object");
+            }
+        }
+        throw SystemException.create(DefaultErrorCode.INVALID_JSON)
+                .set("details", "The result of RPC is incorrect, It should be a JSON object");
     }
 
     /**
@@ -123,6 +175,22 @@ public interface RpcResponse {
      */
     String id();
 
+    /**
+     * @return 原始的响应体，只有通过passthrough创建的响应才有，其他响应返回null
+     */
+    default Buffer rawBody() {
+        return null;
+    }
+
+    /**
+     * 流式的响应体，处于暂停状态，可以使用{@link com.github.edgar615.gateway.core.utils.StreamUtils#pump}写入客户端的响应.
+     *
+     * @return 响应体，只有通过stream创建的响应才有，其他响应返回null
+     */
+    default ReadStream<Buffer> bodyStream() {
+        return null;
+    }
+
     default RpcResponse copy() {
         if (isArray()) {
             return RpcResponse
@@ -0,0 +1,103 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * 只能被读取一次的流.
+ * <p>
+ * 流式的请求和响应被复制之后，每个对象持有自己的SingleReadStream，它们通过{@link #share()}共享同一个底层的流.
+ * 取得流不受限制，在读取时才检查：第一个设置处理函数、暂停或者恢复流的SingleReadStream成为唯一的读取方，
+ * 之后通过其他SingleReadStream读取会抛出IllegalStateException.
+ * 这样复制的对象和原来的对象都可以被丢弃，不管最后由哪一个读取，流都只会被读取一次.
+ *
+ * @param <T> 数据类型
+ * @author Edgar  Date 2026/10/18
+ */
+public class SingleReadStream<T> implements ReadStream<T> {
+
+    private final Holder<T> holder;
+
+    private SingleReadStream(Holder<T> holder) {
+        this.holder = holder;
+    }
+
+    /**
+     * 包装一个流，已经是SingleReadStream时直接返回.
+     *
+     * @param id       请求id，用于异常信息
+     * @param delegate 流，可以为null
+     * @param <T>      数据类型
+     * @return SingleReadStream，delegate为null时返回null
+     */
+    public static <T> SingleReadStream<T> wrap(String id, ReadStream<T> delegate) {
+        if (delegate == null) {
+            return null;
+        }
+        if (delegate instanceof SingleReadStream) {
+            return (SingleReadStream<T>) delegate;
+        }
+        return new SingleReadStream<>(new Holder<>(id, delegate));
+    }
+
+    /**
+     * @return 与这个流共享同一个底层流的SingleReadStream，用于复制请求和响应
+     */
+    public SingleReadStream<T> share() {
+        return new SingleReadStream<>(holder);
+    }
+
+    @Override
+    public SingleReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        holder.claim(this).exceptionHandler(handler);
+        return this;
+    }
+
+    @Override
+    public SingleReadStream<T> handler(Handler<T> handler) {
+        holder.claim(this).handler(handler);
+        return this;
+    }
+
+    @Override
+    public SingleReadStream<T> pause() {
+        holder.claim(this).pause();
+        return this;
+    }
+
+    @Override
+    public SingleReadStream<T> resume() {
+        holder.claim(this).resume();
+        return this;
+    }
+
+    @Override
+    public SingleReadStream<T> endHandler(Handler<Void> endHandler) {
+        holder.claim(this).endHandler(endHandler);
+        return this;
+    }
+
+    private static class Holder<T> {
+
+        private final String id;
+
+        private final ReadStream<T> delegate;
+
+        private SingleReadStream<T> reader;
+
+        private Holder(String id, ReadStream<T> delegate) {
+            this.id = id;
+            this.delegate = delegate;
+        }
+
+        private synchronized ReadStream<T> claim(SingleReadStream<T> stream) {
+            if (reader == null) {
+                reader = stream;
+            } else if (reader != stream) {
+                throw new IllegalStateException("The body stream of " + id
+                                                + " has been read by a copy");
+            }
+            return delegate;
+        }
+    }
+}
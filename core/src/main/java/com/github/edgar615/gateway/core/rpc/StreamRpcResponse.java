@@ -0,0 +1,86 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.google.common.base.MoreObjects;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * 流式的响应.
+ * <p>
+ * 收到下游服务的响应头之后就返回，响应体通过bodyStream读取，只能读取一次.
+ * copy()返回的响应与原来的响应共享同一个流，任何一个响应都可以取得流，但是只有第一个读取的响应可以读取，
+ * 另一个响应再读取会抛出IllegalStateException，参考{@link SingleReadStream}.
+ * 流式响应不能读取JSON内容，调用isArray、responseObject或者responseArray会抛出IllegalStateException.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class StreamRpcResponse implements RpcResponse {
+
+    private final String id;
+
+    private final int statusCode;
+
+    private final SingleReadStream<Buffer> body;
+
+    private final long elapsedTime;
+
+    StreamRpcResponse(String id, int statusCode, ReadStream<Buffer> body, long elapsedTime) {
+        this.id = id;
+        this.statusCode = statusCode;
+        this.body = SingleReadStream.wrap(id, body);
+        this.elapsedTime = elapsedTime;
+    }
+
+    @Override
+    public int statusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public boolean isArray() {
+        throw new IllegalStateException("The response body of " + id + " is a stream");
+    }
+
+    @Override
+    public JsonObject responseObject() {
+        throw new IllegalStateException("The response body of " + id + " is a stream");
+    }
+
+    @Override
+    public JsonArray responseArray() {
+        throw new IllegalStateException("The response body of " + id + " is a stream");
+    }
+
+    @Override
+    public long elapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public ReadStream<Buffer> bodyStream() {
+        return body;
+    }
+
+    @Override
+    public RpcResponse copy() {
+        return new StreamRpcResponse(id, statusCode, body == null ? null : body.share(),
+                                     elapsedTime);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("RpcResponse")
+                .add("id", id)
+                .add("statusCode", statusCode)
+                .add("bodyStream", "stream")
+                .add("elapsedTime", elapsedTime)
+                .toString();
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 无锁的断路器.
+ * <p>
+ * 断路器有三个状态：
+ * <pre>
+ * CLOSED：   正常调用，在{@link SlidingWindow}中统计调用结果，窗口内的失败率或者慢调用比例达到阈值之后进入OPEN
+ * OPEN：     直接拒绝调用，经过openDuration之后进入HALF_OPEN
+ * HALF_OPEN：只允许halfOpenCalls个探测请求，全部成功之后进入CLOSED并清空统计数据，任何一个失败都会重新进入OPEN，
+ *            探测请求用完之后经过openDuration还没有得到结果(例如请求一直没有返回)，开始新一轮的探测
+ * </pre>
+ * 状态保存在一个不可变的Phase对象中，状态切换通过CAS替换Phase，所有的event loop共享同一个断路器，不需要加锁.
+ * <p>
+ * 每个Phase有一个递增的序号，{@link #tryAcquire()}返回这个序号，调用结束时需要带上这个序号：
+ * 状态切换之前发出的请求的结果会被忽略，这样半开状态只会统计探测请求的结果.
+ * <pre>
+ * long permit = circuitBreaker.tryAcquire();
+ * if (permit &lt; 0) {
+ *   //断路器已打开
+ * }
+ * ...
+ * circuitBreaker.onSuccess(permit, elapsedTime);
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+
+    private final CircuitBreakerOptions options;
+
+    private final LongSupplier clock;
+
+    private final SlidingWindow window;
+
+    private final AtomicReference<Phase> phase;
+
+    private final LongAdder rejected = new LongAdder();
+
+    CircuitBreaker(String name, CircuitBreakerOptions options) {
+        this(name, options, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerOptions options, LongSupplier clock) {
+        this.name = name;
+        this.options = options;
+        this.clock = clock;
+        this.window = new SlidingWindow(options.getWindow(), options.getBuckets());
+        this.phase = new AtomicReference<>(new Phase(State.CLOSED, 0, clock.getAsLong(), 0));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public State state() {
+        return phase.get().state;
+    }
+
+    /**
+     * 是否允许调用，不会申请许可，也不会改变断路器的状态.
+     * 打开的时间超过openDuration之后返回true，由之后的{@link #tryAcquire()}转为半开状态.
+     *
+     * @return 断路器关闭、半开状态下还有探测许可或者打开/半开的时间已经超过openDuration时返回true
+     */
+    public boolean isCallPermitted() {
+        Phase current = phase.get();
+        if (current.state == State.CLOSED) {
+            return true;
+        }
+        if (current.state == State.HALF_OPEN && current.permits.get() > 0) {
+            return true;
+        }
+        return clock.getAsLong() - current.since >= options.getOpenDuration();
+    }
+
+    /**
+     * 申请一次调用.
+     *
+     * 半开状态下的探测请求已满、并且超过openDuration没有得到结果时开始新一轮的探测，之前的探测请求的结果会被忽略.
+     *
+     * @return 调用许可的序号，断路器打开或者半开状态下的探测请求已满时返回-1
+     */
+    public long tryAcquire() {
+        while (true) {
+            Phase current = phase.get();
+            if (current.state == State.CLOSED) {
+                return current.generation;
+            }
+            if (current.state == State.HALF_OPEN && current.permits.decrementAndGet() >= 0) {
+                return current.generation;
+            }
+            long now = clock.getAsLong();
+            if (now - current.since < options.getOpenDuration()) {
+                rejected.increment();
+                return -1;
+            }
+            transition(current, State.HALF_OPEN, now);
+        }
+    }
+
+    /**
+     * 调用成功.
+     *
+     * @param permit      {@link #tryAcquire()}返回的序号
+     * @param elapsedTime 调用的耗时，毫秒
+     */
+    public void onSuccess(long permit, long elapsedTime) {
+        onComplete(permit, false, elapsedTime);
+    }
+
+    /**
+     * 调用失败.
+     *
+     * @param permit      {@link #tryAcquire()}返回的序号
+     * @param elapsedTime 调用的耗时，毫秒
+     */
+    public void onFailure(long permit, long elapsedTime) {
+        onComplete(permit, true, elapsedTime);
+    }
+
+    /**
+     * 调用被内层拒绝(例如并发限制)，没有到达上游，释放许可但是不记录结果.
+     * 半开状态下归还探测许可，避免被拒绝的探测请求关闭断路器.
+     *
+     * @param permit {@link #tryAcquire()}返回的序号
+     */
+    public void release(long permit) {
+        Phase current = phase.get();
+        if (permit >= 0 && current.generation == permit && current.state == State.HALF_OPEN) {
+            current.permits.incrementAndGet();
+        }
+    }
+
+    public JsonObject metrics() {
+        long[] counts = window.snapshot(clock.getAsLong());
+        return new JsonObject()
+                .put("name", name)
+                .put("state", state().name())
+                .put("calls", counts[0])
+                .put("failures", counts[1])
+                .put("slowCalls", counts[2])
+                .put("rejected", rejected.sum());
+    }
+
+    private void onComplete(long permit, boolean failure, long elapsedTime) {
+        Phase current = phase.get();
+        if (permit < 0 || current.generation != permit) {
+            return;
+        }
+        long now = clock.getAsLong();
+        boolean slow = elapsedTime >= options.getSlowCallDuration();
+        if (current.state == State.CLOSED) {
+            window.record(now, failure, slow);
+            if ((failure || slow) && shouldOpen(now)) {
+                transition(current, State.OPEN, now);
+            }
+        } else if (current.state == State.HALF_OPEN) {
+            if (failure) {
+                transition(current, State.OPEN, now);
+            } else if (current.successes.incrementAndGet() >= options.getHalfOpenCalls()) {
+                window.reset();
+                transition(current, State.CLOSED, now);
+            }
+        }
+    }
+
+    private boolean shouldOpen(long now) {
+        long[] counts = window.snapshot(now);
+        long total = counts[0];
+        if (total < options.getMinimumCalls()) {
+            return false;
+        }
+        return counts[1] * 100 >= options.getFailureRateThreshold() * total
+               || counts[2] * 100 >= options.getSlowCallRateThreshold() * total;
+    }
+
+    private void transition(Phase current, State state, long now) {
+        int permits = state == State.HALF_OPEN ? options.getHalfOpenCalls() : 0;
+        if (phase.compareAndSet(current, new Phase(state, current.generation + 1, now, permits))) {
+            LOGGER.warn("[circuitBreaker] [{}] [{} -> {}]", name, current.state, state);
+        }
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static class Phase {
+
+        private final State state;
+
+        private final long generation;
+
+        private final long since;
+
+        /**
+         * 半开状态下剩余的探测请求数
+         */
+        private final AtomicInteger permits;
+
+        /**
+         * 半开状态下成功的探测请求数
+         */
+        private final AtomicInteger successes = new AtomicInteger();
+
+        private Phase(State state, long generation, long since, int permits) {
+            this.state = state;
+            this.generation = generation;
+            this.since = since;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * 断路器的配置.
+ * <pre>
+ * "circuit.breaker" : {
+ *   "window" : 10000,              统计窗口的长度，毫秒
+ *   "buckets" : 10,                统计窗口划分的桶数
+ *   "minimumCalls" : 20,           窗口内的调用次数达到这个值之后才会计算失败率
+ *   "failureRateThreshold" : 50,   失败率(百分比)达到这个值之后打开断路器
+ *   "slowCallDuration" : 5000,     超过这个时间(毫秒)的调用视为慢调用
+ *   "slowCallRateThreshold" : 100, 慢调用的比例(百分比)达到这个值之后打开断路器，100表示所有的调用都是慢调用时才打开
+ *   "openDuration" : 5000,         断路器打开之后等待多久(毫秒)进入半开状态
+ *   "halfOpenCalls" : 3            半开状态下允许的探测请求数，全部成功之后关闭断路器
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CircuitBreakerOptions {
+
+    private static final long DEFAULT_WINDOW = 10000;
+
+    private static final int DEFAULT_BUCKETS = 10;
+
+    private static final int DEFAULT_MINIMUM_CALLS = 20;
+
+    private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+
+    private static final long DEFAULT_SLOW_CALL_DURATION = 5000;
+
+    private static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+
+    private static final long DEFAULT_OPEN_DURATION = 5000;
+
+    private static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private long window = DEFAULT_WINDOW;
+
+    private int buckets = DEFAULT_BUCKETS;
+
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+
+    private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+
+    private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    private long openDuration = DEFAULT_OPEN_DURATION;
+
+    private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+    public CircuitBreakerOptions() {
+    }
+
+    public CircuitBreakerOptions(JsonObject json) {
+        setWindow(json.getLong("window", DEFAULT_WINDOW));
+        setBuckets(json.getInteger("buckets", DEFAULT_BUCKETS));
+        setMinimumCalls(json.getInteger("minimumCalls", DEFAULT_MINIMUM_CALLS));
+        setFailureRateThreshold(
+                json.getInteger("failureRateThreshold", DEFAULT_FAILURE_RATE_THRESHOLD));
+        setSlowCallDuration(json.getLong("slowCallDuration", DEFAULT_SLOW_CALL_DURATION));
+        setSlowCallRateThreshold(
+                json.getInteger("slowCallRateThreshold", DEFAULT_SLOW_CALL_RATE_THRESHOLD));
+        setOpenDuration(json.getLong("openDuration", DEFAULT_OPEN_DURATION));
+        setHalfOpenCalls(json.getInteger("halfOpenCalls", DEFAULT_HALF_OPEN_CALLS));
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    public CircuitBreakerOptions setWindow(long window) {
+        Preconditions.checkArgument(window > 0, "window must > 0");
+        this.window = window;
+        return this;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public CircuitBreakerOptions setBuckets(int buckets) {
+        Preconditions.checkArgument(buckets > 0, "buckets must > 0");
+        this.buckets = buckets;
+        return this;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public CircuitBreakerOptions setMinimumCalls(int minimumCalls) {
+        Preconditions.checkArgument(minimumCalls > 0, "minimumCalls must > 0");
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public CircuitBreakerOptions setFailureRateThreshold(int failureRateThreshold) {
+        Preconditions.checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 100,
+                                    "failureRateThreshold must between 1 and 100");
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public CircuitBreakerOptions setSlowCallDuration(long slowCallDuration) {
+        Preconditions.checkArgument(slowCallDuration > 0, "slowCallDuration must > 0");
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public CircuitBreakerOptions setSlowCallRateThreshold(int slowCallRateThreshold) {
+        Preconditions.checkArgument(slowCallRateThreshold > 0 && slowCallRateThreshold <= 100,
+                                    "slowCallRateThreshold must between 1 and 100");
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public CircuitBreakerOptions setOpenDuration(long openDuration) {
+        Preconditions.checkArgument(openDuration > 0, "openDuration must > 0");
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public CircuitBreakerOptions setHalfOpenCalls(int halfOpenCalls) {
+        Preconditions.checkArgument(halfOpenCalls > 0, "halfOpenCalls must > 0");
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CircuitBreakerOptions that = (CircuitBreakerOptions) o;
+        return window == that.window &&
+               buckets == that.buckets &&
+               minimumCalls == that.minimumCalls &&
+               failureRateThreshold == that.failureRateThreshold &&
+               slowCallDuration == that.slowCallDuration &&
+               slowCallRateThreshold == that.slowCallRateThreshold &&
+               openDuration == that.openDuration &&
+               halfOpenCalls == that.halfOpenCalls;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(window, buckets, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold, openDuration, halfOpenCalls);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("CircuitBreakerOptions")
+                .add("window", window)
+                .add("buckets", buckets)
+                .add("minimumCalls", minimumCalls)
+                .add("failureRateThreshold", failureRateThreshold)
+                .add("slowCallDuration", slowCallDuration)
+                .add("slowCallRateThreshold", slowCallRateThreshold)
+                .add("openDuration", openDuration)
+                .add("halfOpenCalls", halfOpenCalls)
+                .toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import com.github.edgar615.gateway.core.utils.SharedInstances;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按名称保存的断路器.
+ * <p>
+ * 断路器的名称来自{@link com.github.edgar615.gateway.core.rpc.CircuitBreakerExecutable#circuitBreakerName()}，
+ * HTTP请求使用host:port，同一个上游服务的所有API共用一个断路器.
+ * 同一个vertx中所有verticle的RpcHandler共享同一组断路器，参考{@link SharedInstances}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CircuitBreakerRegistry {
+
+    private static final String SHARED_MAP = "__gateway.circuitBreakers";
+
+    private final CircuitBreakerOptions options;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    CircuitBreakerRegistry(CircuitBreakerOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 返回vertx中共享的注册表.
+     *
+     * @param vertx   Vertx
+     * @param options 断路器的配置
+     * @return CircuitBreakerRegistry
+     */
+    public static CircuitBreakerRegistry shared(Vertx vertx, CircuitBreakerOptions options) {
+        return SharedInstances.getOrCreate(vertx, SHARED_MAP, options,
+                                           () -> new CircuitBreakerRegistry(options));
+    }
+
+    public CircuitBreaker circuitBreaker(String name) {
+        return circuitBreakers.computeIfAbsent(name, k -> new CircuitBreaker(k, options));
+    }
+
+    /**
+     * @param name 断路器名称
+     * @return 断路器，还没有创建时返回null
+     */
+    public CircuitBreaker find(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    /**
+     * @return key为断路器名称，value为断路器的统计信息
+     */
+    public JsonObject metrics() {
+        JsonObject metrics = new JsonObject();
+        circuitBreakers.forEach((name, circuitBreaker) -> metrics.put(name, circuitBreaker.metrics()));
+        return metrics;
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import com.github.edgar615.gateway.core.rpc.CircuitBreakerExecutable;
+import com.github.edgar615.gateway.core.rpc.Fallbackable;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 使用断路器包装的RpcHandler.
+ * <p>
+ * 只对实现了{@link CircuitBreakerExecutable}的请求生效，按照circuitBreakerName()选择断路器：
+ * <pre>
+ * 断路器打开：不再发送请求，如果请求设置了fallback({@link Fallbackable})，直接返回fallback的副本，否则返回1003(Service Unavailable)
+ * 调用失败、返回5xx或者delegate直接抛出异常：记为失败
+ * 内层拒绝了请求(1003，例如并发限制)：请求没有到达上游，释放许可，不记录结果
+ * 其他：记为成功，SystemException一般是请求本身的参数错误，也记为成功，避免因为一个错误的API定义打开整个上游服务的断路器
+ * </pre>
+ * 交给内层处理时暂时去掉请求的fallback，这样内层的拒绝总是以1003返回，不会被当作一次成功的调用，之后再使用fallback代替.
+ * 配置了circuit.breaker时才会启用，配置项参考{@link CircuitBreakerOptions}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CircuitBreakerRpcHandler implements RpcHandler {
+
+    public static final String CONFIG_KEY = "circuit.breaker";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerRpcHandler.class);
+
+    private final RpcHandler delegate;
+
+    private final CircuitBreakerRegistry registry;
+
+    public CircuitBreakerRpcHandler(RpcHandler delegate, CircuitBreakerRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    /**
+     * 如果配置了circuit.breaker，使用断路器包装RpcHandler.
+     *
+     * @param vertx    Vertx
+     * @param config   配置
+     * @param delegate 被包装的RpcHandler
+     * @return RpcHandler
+     */
+    public static RpcHandler wrap(Vertx vertx, JsonObject config, RpcHandler delegate) {
+        JsonObject circuitBreakerConfig = config.getJsonObject(CONFIG_KEY);
+        if (circuitBreakerConfig == null) {
+            return delegate;
+        }
+        return new CircuitBreakerRpcHandler(delegate, CircuitBreakerRegistry
+                .shared(vertx, new CircuitBreakerOptions(circuitBreakerConfig)));
+    }
+
+    public RpcHandler delegate() {
+        return delegate;
+    }
+
+    /**
+     * @return 断路器的统计信息
+     */
+    public JsonObject metrics() {
+        return registry.metrics();
+    }
+
+    @Override
+    public String type() {
+        return delegate.type();
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        if (!(rpcRequest instanceof CircuitBreakerExecutable)) {
+            return delegate.handle(rpcRequest);
+        }
+        String name = ((CircuitBreakerExecutable) rpcRequest).circuitBreakerName();
+        if (name == null) {
+            return delegate.handle(rpcRequest);
+        }
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(name);
+        long permit = circuitBreaker.tryAcquire();
+        if (permit < 0) {
+            return rejected(rpcRequest, name);
+        }
+        RpcResponse fallback = rpcRequest instanceof Fallbackable
+                ? ((Fallbackable) rpcRequest).fallback() : null;
+        if (fallback != null) {
+            ((Fallbackable) rpcRequest).setFallback(null);
+        }
+        long started = System.currentTimeMillis();
+        Future<RpcResponse> result = Future.future();
+        try {
+            delegate.handle(rpcRequest).setHandler(ar -> {
+                if (fallback != null) {
+                    ((Fallbackable) rpcRequest).setFallback(fallback);
+                }
+                long elapsedTime = System.currentTimeMillis() - started;
+                if (ar.failed() && rejected(ar.cause())) {
+                    circuitBreaker.release(permit);
+                    if (fallback != null) {
+                        LOGGER.info("[{}] [circuitBreaker] [{}] [fallback]", rpcRequest.id(), name);
+                        result.complete(fallback.copy());
+                        return;
+                    }
+                } else if (ar.succeeded() ? ar.result().statusCode() >= 500
+                        : !(ar.cause() instanceof SystemException)) {
+                    circuitBreaker.onFailure(permit, elapsedTime);
+                } else {
+                    circuitBreaker.onSuccess(permit, elapsedTime);
+                }
+                result.handle(ar);
+            });
+        } catch (RuntimeException e) {
+            if (fallback != null) {
+                ((Fallbackable) rpcRequest).setFallback(fallback);
+            }
+            circuitBreaker.onFailure(permit, System.currentTimeMillis() - started);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 断路器或者并发限制拒绝了请求.
+     *
+     * @param cause 失败的原因
+     * @return 1003(Service Unavailable)返回true
+     */
+    public static boolean rejected(Throwable cause) {
+        return cause instanceof SystemException
+               && ((SystemException) cause).getErrorCode() == DefaultErrorCode.SERVICE_UNAVAILABLE;
+    }
+
+    private Future<RpcResponse> rejected(RpcRequest rpcRequest, String name) {
+        if (rpcRequest instanceof Fallbackable
+            && ((Fallbackable) rpcRequest).fallback() != null) {
+            LOGGER.info("[{}] [circuitBreaker] [{}] [fallback]", rpcRequest.id(), name);
+            return Future.succeededFuture(((Fallbackable) rpcRequest).fallback().copy());
+        }
+        LOGGER.info("[{}] [circuitBreaker] [{}] [rejected]", rpcRequest.id(), name);
+        return Future.failedFuture(SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)
+                                           .set("details", "circuit breaker is open: " + name));
+    }
+}
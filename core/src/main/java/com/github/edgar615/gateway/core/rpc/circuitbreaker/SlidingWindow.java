@@ -0,0 +1,98 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 无锁的滑动时间窗口，统计窗口内的调用次数、失败次数和慢调用次数.
+ * <p>
+ * 窗口被划分为若干个桶，每个桶记录一个时间片的数据，桶按照时间片的序号循环使用：
+ * 记录数据时如果发现桶里保存的是过期的时间片，使用CAS替换为一个新的桶，替换失败说明其他线程已经替换，重新读取即可.
+ * 统计时只累加没有过期的桶. 所有的event loop可以同时记录，不需要加锁.
+ * <p>
+ * 桶的替换和计数不是一个原子操作，时间片切换的瞬间可能丢失极少量的数据，对断路器来说这是可以接受的.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class SlidingWindow {
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private final long bucketMillis;
+
+    SlidingWindow(long windowMillis, int bucketCount) {
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, new Bucket(-1));
+        }
+    }
+
+    void record(long now, boolean failure, boolean slow) {
+        Bucket bucket = bucket(now);
+        bucket.total.incrementAndGet();
+        if (failure) {
+            bucket.failures.incrementAndGet();
+        }
+        if (slow) {
+            bucket.slowCalls.incrementAndGet();
+        }
+    }
+
+    /**
+     * 统计窗口内的数据.
+     *
+     * @param now 当前时间
+     * @return 长度为3的数组：调用次数、失败次数、慢调用次数
+     */
+    long[] snapshot(long now) {
+        long epoch = now / bucketMillis;
+        long[] counts = new long[3];
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket.epoch > epoch - buckets.length() && bucket.epoch <= epoch) {
+                counts[0] += bucket.total.get();
+                counts[1] += bucket.failures.get();
+                counts[2] += bucket.slowCalls.get();
+            }
+        }
+        return counts;
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, new Bucket(-1));
+        }
+    }
+
+    private Bucket bucket(long now) {
+        long epoch = now / bucketMillis;
+        int index = (int) (epoch % buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket.epoch >= epoch) {
+                //时钟回拨时继续使用新的桶
+                return bucket;
+            }
+            Bucket newBucket = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                return newBucket;
+            }
+        }
+    }
+
+    private static class Bucket {
+
+        private final long epoch;
+
+        private final AtomicLong total = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private final AtomicLong slowCalls = new AtomicLong();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
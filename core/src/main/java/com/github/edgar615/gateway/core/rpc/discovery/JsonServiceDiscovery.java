@@ -0,0 +1,125 @@
+package com.github.edgar615.gateway.core.rpc.discovery;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 使用JSON配置的服务发现，用于没有consul、zookeeper的小型应用和测试.
+ * <p>
+ * 与JsonServiceDiscoveryVerticle使用相同的配置格式：
+ * <pre>
+ * {
+ *   "service.discovery" : {"announceAddress" : "vertx.discovery.announce"},
+ *   "services" : {
+ *     "device" : [{"host" : "192.168.0.100", "port" : 8081}]
+ *   }
+ * }
+ * </pre>
+ * 注册和注销的实例会以Record的格式广播到announceAddress，{@link ServiceInstanceCache}收到广播之后更新缓存；
+ * 同时在announceAddress.records上返回当前所有的Record，供新创建的缓存初始化.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class JsonServiceDiscovery {
+
+    private final Vertx vertx;
+
+    private final String announceAddress;
+
+    private final Map<String, JsonObject> records = new ConcurrentHashMap<>();
+
+    private final MessageConsumer<JsonObject> recordsConsumer;
+
+    public JsonServiceDiscovery(Vertx vertx, JsonObject config) {
+        this.vertx = vertx;
+        this.announceAddress = config.getJsonObject(ServiceInstanceCache.CONFIG_KEY, new JsonObject())
+                .getString("announceAddress", ServiceInstanceCache.DEFAULT_ANNOUNCE_ADDRESS);
+        this.recordsConsumer = vertx.eventBus().consumer(
+                announceAddress + ".records",
+                msg -> msg.reply(new JsonArray(new ArrayList<>(records.values()))));
+        importServices(config.getJsonObject("services", new JsonObject()));
+    }
+
+    /**
+     * 注册配置中的所有服务.
+     *
+     * @param services key为服务名称，value为实例数组
+     */
+    public void importServices(JsonObject services) {
+        for (String name : services.fieldNames()) {
+            JsonArray instances = services.getJsonArray(name);
+            for (int i = 0; i < instances.size(); i++) {
+                JsonObject instance = instances.getJsonObject(i);
+                register(name, instance.getString("host"), instance.getInteger("port"));
+            }
+        }
+    }
+
+    /**
+     * 从JSON文件中读取services并注册.
+     *
+     * @param path    文件路径
+     * @param handler 回调
+     */
+    public void importFile(String path, Handler<AsyncResult<Void>> handler) {
+        vertx.fileSystem().readFile(path, ar -> {
+            if (ar.failed()) {
+                handler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            try {
+                importServices(ar.result().toJsonObject().getJsonObject("services", new JsonObject()));
+                handler.handle(Future.succeededFuture());
+            } catch (Exception e) {
+                handler.handle(Future.failedFuture(e));
+            }
+        });
+    }
+
+    /**
+     * 注册一个实例.
+     *
+     * @param name 服务名称
+     * @param host host
+     * @param port 端口
+     * @return 注册ID
+     */
+    public String register(String name, String host, int port) {
+        String registration = UUID.randomUUID().toString();
+        JsonObject record = new JsonObject()
+                .put("name", name)
+                .put("status", "UP")
+                .put("registration", registration)
+                .put("type", "http-endpoint")
+                .put("location", new JsonObject().put("host", host).put("port", port));
+        records.put(registration, record);
+        vertx.eventBus().publish(announceAddress, record);
+        return registration;
+    }
+
+    /**
+     * 注销一个实例.
+     *
+     * @param registration 注册ID
+     */
+    public void unregister(String registration) {
+        JsonObject record = records.remove(registration);
+        if (record != null) {
+            vertx.eventBus().publish(announceAddress, record.copy().put("status", "DOWN"));
+        }
+    }
+
+    public void close() {
+        recordsConsumer.unregister();
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.edgar615.gateway.core.rpc.discovery;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * 本地的服务实例缓存.
+ * <p>
+ * 缓存监听服务发现的广播地址(service.discovery.announceAddress，默认vertx.discovery.announce)，
+ * 广播的消息使用vert.x service-discovery的Record格式：
+ * <pre>
+ * {
+ *   "name" : "device",
+ *   "status" : "UP",                  UP：上线，DOWN、OUT_OF_SERVICE：下线
+ *   "registration" : "b8c3...",       注册ID
+ *   "location" : {"host" : "10.0.0.1", "port" : 8080}
+ * }
+ * </pre>
+ * 启动时向announceAddress.records请求一次当前所有的Record，之后只根据广播更新.
+ * 每个服务的实例列表是一个不可变的List，更新时整体替换，请求时只读取当前的List，不会查询服务发现.
+ * <p>
+ * 缓存在创建它的Context上接收广播，一般每个verticle一个.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceInstanceCache {
+
+    public static final String CONFIG_KEY = "service.discovery";
+
+    public static final String DEFAULT_ANNOUNCE_ADDRESS = "vertx.discovery.announce";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceInstanceCache.class);
+
+    private final Map<String, List<HostAndPort>> instances = new ConcurrentHashMap<>();
+
+    /**
+     * key为服务名称，value为注册ID和实例的映射
+     */
+    private final Map<String, Map<String, HostAndPort>> registrations = new HashMap<>();
+
+    private final List<BiConsumer<String, HostAndPort>> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<BiConsumer<String, HostAndPort>> removeListeners =
+            new CopyOnWriteArrayList<>();
+
+    private MessageConsumer<JsonObject> consumer;
+
+    public ServiceInstanceCache() {
+    }
+
+    /**
+     * 创建缓存并开始监听服务发现的广播.
+     *
+     * @param vertx  Vertx
+     * @param config 配置
+     * @return ServiceInstanceCache
+     */
+    public static ServiceInstanceCache create(Vertx vertx, JsonObject config) {
+        String address = config.getJsonObject(CONFIG_KEY, new JsonObject())
+                .getString("announceAddress", DEFAULT_ANNOUNCE_ADDRESS);
+        ServiceInstanceCache cache = new ServiceInstanceCache();
+        cache.consumer = vertx.eventBus().consumer(address, msg -> cache.apply(msg.body()));
+        vertx.eventBus().<JsonArray>send(address + ".records", new JsonObject(), ar -> {
+            if (ar.failed()) {
+                LOGGER.debug("[discovery] [records] [{}]", ar.cause().getMessage());
+                return;
+            }
+            for (int i = 0; i < ar.result().body().size(); i++) {
+                cache.apply(ar.result().body().getJsonObject(i));
+            }
+        });
+        return cache;
+    }
+
+    /**
+     * @param service 服务名称
+     * @return 服务的实例，不可修改，没有实例时返回空List
+     */
+    public List<HostAndPort> instances(String service) {
+        return instances.getOrDefault(service, ImmutableList.of());
+    }
+
+    /**
+     * 添加实例上线的监听器，例如预热连接.
+     *
+     * @param listener 参数为服务名称和新上线的实例
+     */
+    public void addListener(BiConsumer<String, HostAndPort> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 添加实例下线的监听器，例如删除实例的统计信息.
+     *
+     * @param listener 参数为服务名称和下线的实例
+     */
+    public void addRemoveListener(BiConsumer<String, HostAndPort> listener) {
+        removeListeners.add(listener);
+    }
+
+    /**
+     * 根据服务发现的Record更新缓存.
+     *
+     * @param record Record
+     */
+    public void apply(JsonObject record) {
+        String name = record.getString("name");
+        String registration = record.getString("registration");
+        JsonObject location = record.getJsonObject("location");
+        if (name == null || registration == null) {
+            return;
+        }
+        HostAndPort added = null;
+        HostAndPort removed;
+        synchronized (this) {
+            Map<String, HostAndPort> serviceRegistrations =
+                    registrations.computeIfAbsent(name, k -> new LinkedHashMap<>());
+            if ("UP".equalsIgnoreCase(record.getString("status", "UP"))) {
+                if (location == null || location.getString("host") == null
+                    || location.getInteger("port") == null) {
+                    return;
+                }
+                HostAndPort instance = HostAndPort.fromParts(location.getString("host"),
+                                                             location.getInteger("port"));
+                HostAndPort old = serviceRegistrations.put(registration, instance);
+                if (!instance.equals(old)) {
+                    added = instance;
+                }
+                removed = old;
+            } else {
+                removed = serviceRegistrations.remove(registration);
+            }
+            //其他注册ID仍然使用这个地址时不算下线
+            if (removed != null && serviceRegistrations.containsValue(removed)) {
+                removed = null;
+            }
+            if (serviceRegistrations.isEmpty()) {
+                registrations.remove(name);
+                instances.remove(name);
+            } else {
+                instances.put(name, ImmutableList.copyOf(
+                        new LinkedHashSet<>(serviceRegistrations.values())));
+            }
+        }
+        LOGGER.info("[discovery] [{}] [{}] [{}]", name, record.getString("status", "UP"),
+                    instances(name));
+        if (removed != null) {
+            for (BiConsumer<String, HostAndPort> listener : removeListeners) {
+                listener.accept(name, removed);
+            }
+        }
+        if (added != null) {
+            for (BiConsumer<String, HostAndPort> listener : listeners) {
+                listener.accept(name, added);
+            }
+        }
+    }
+
+    /**
+     * @return key为服务名称，value为实例
+     */
+    public JsonObject metrics() {
+        JsonObject metrics = new JsonObject();
+        instances.forEach((name, list) -> {
+            List<String> addresses = new ArrayList<>(list.size());
+            list.forEach(i -> addresses.add(i.toString()));
+            metrics.put(name, new JsonArray(addresses));
+        });
+        return metrics;
+    }
+
+    public void close() {
+        if (consumer != null) {
+            consumer.unregister();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.google.common.collect.ImmutableList;
+import com.google.common.escape.Escaper;
+import com.google.common.net.UrlEscapers;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 合并相同的并发请求(single-flight).
+ * <p>
+ * 缓存过期或者热点数据被大量访问时，同一时刻会有大量相同的请求发往下游服务.
+ * 对于幂等的GET请求，请求方法、host、port、路径、请求参数和选择的请求头都相同的并发请求只会发送一次，
+ * 第一个请求(leader)发往下游服务，其他请求等待leader的结果，每个请求都会得到一个自己的RpcResponse副本(id为自己的请求id).
+ * <p>
+ * 流式的请求和响应不会合并.
+ * 对冲请求不会与原始请求合并，否则对冲请求只是等待原始请求；leader不会被对冲取消，否则等待它的请求都会失败.
+ * 等待的请求在自己的Context上收到结果，不会在leader的event loop上执行后续的逻辑.
+ * <p>
+ * 配置了rpc.coalescing时才会启用：
+ * <pre>
+ * "rpc.coalescing" : {
+ *   "headers" : ["Authorization", "Accept-Language"]   参与比较的请求头，不设置时比较所有的请求头
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CoalescingRpcHandler implements RpcHandler {
+
+    public static final String CONFIG_KEY = "rpc.coalescing";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingRpcHandler.class);
+
+    private static final Escaper ESCAPER = UrlEscapers.urlFormParameterEscaper();
+
+    private final RpcHandler delegate;
+
+    /**
+     * 参与比较的请求头(小写)，null表示所有的请求头
+     */
+    private final List<String> headers;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+
+    private final LongAdder joined = new LongAdder();
+
+    public CoalescingRpcHandler(RpcHandler delegate, List<String> headers) {
+        this.delegate = delegate;
+        if (headers == null) {
+            this.headers = null;
+        } else {
+            List<String> lowerCaseHeaders = new ArrayList<>(headers.size());
+            headers.forEach(h -> lowerCaseHeaders.add(h.toLowerCase()));
+            this.headers = ImmutableList.copyOf(lowerCaseHeaders);
+        }
+    }
+
+    /**
+     * 如果配置了rpc.coalescing，使用CoalescingRpcHandler包装RpcHandler.
+     *
+     * @param config   配置
+     * @param delegate 被包装的RpcHandler
+     * @return RpcHandler
+     */
+    @SuppressWarnings("unchecked")
+    public static RpcHandler wrap(JsonObject config, RpcHandler delegate) {
+        JsonObject coalescingConfig = config.getJsonObject(CONFIG_KEY);
+        if (coalescingConfig == null) {
+            return delegate;
+        }
+        JsonArray headers = coalescingConfig.getJsonArray("headers");
+        return new CoalescingRpcHandler(delegate, headers == null ? null : headers.getList());
+    }
+
+    public RpcHandler delegate() {
+        return delegate;
+    }
+
+    /**
+     * @return leader：发往下游服务的请求数，joined：合并到其他请求的请求数，inFlight：正在执行的请求数
+     */
+    public JsonObject metrics() {
+        return new JsonObject()
+                .put("leaders", leaders.sum())
+                .put("joined", joined.sum())
+                .put("inFlight", flights.size());
+    }
+
+    @Override
+    public String type() {
+        return delegate.type();
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        if (!coalescible(rpcRequest)) {
+            return delegate.handle(rpcRequest);
+        }
+        HttpRpcRequest request = (HttpRpcRequest) rpcRequest;
+        if (request.listener() != null && request.listener().hedge()) {
+            return delegate.handle(rpcRequest);
+        }
+        String key = key(request);
+        while (true) {
+            Flight flight = new Flight();
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                leaders.increment();
+                request.setListener(null);
+                Future<RpcResponse> result = Future.future();
+                delegate.handle(rpcRequest).setHandler(ar -> {
+                    flights.remove(key, flight);
+                    flight.complete(ar);
+                    result.handle(ar);
+                });
+                return result;
+            }
+            Future<RpcResponse> future = Future.future();
+            if (existing.join(rpcRequest.id(), future)) {
+                joined.increment();
+                LOGGER.debug("[{}] [coalescing] [{}]", rpcRequest.id(), key);
+                return future;
+            }
+            //leader刚刚完成，重新发起
+            flights.remove(key, existing);
+        }
+    }
+
+    private boolean coalescible(RpcRequest rpcRequest) {
+        if (!(rpcRequest instanceof HttpRpcRequest)) {
+            return false;
+        }
+        HttpRpcRequest request = (HttpRpcRequest) rpcRequest;
+        return request.method() == HttpMethod.GET
+               && !request.streamResponse()
+               && request.bodyStream() == null;
+    }
+
+    /**
+     * 请求的key，所有的名称和值都经过URL编码，值中的分隔符不会与其他参数组成相同的key.
+     */
+    private String key(HttpRpcRequest request) {
+        StringBuilder key = new StringBuilder(128)
+                .append(request.method().name()).append(' ')
+                .append(ESCAPER.escape(request.host())).append(':').append(request.port())
+                .append(' ').append(ESCAPER.escape(request.path()));
+        char separator = '?';
+        for (String name : new TreeSet<>(request.params().keySet())) {
+            for (String value : request.params().get(name)) {
+                key.append(separator).append(ESCAPER.escape(name)).append('=')
+                        .append(ESCAPER.escape(value));
+                separator = '&';
+            }
+        }
+        Collection<String> headerNames = headers;
+        if (headerNames == null) {
+            headerNames = new TreeSet<>();
+            for (String name : request.headers().keySet()) {
+                headerNames.add(name.toLowerCase());
+            }
+        }
+        for (String name : headerNames) {
+            key.append('|').append(ESCAPER.escape(name)).append('=');
+            for (Map.Entry<String, String> header : request.headers().entries()) {
+                if (name.equalsIgnoreCase(header.getKey())) {
+                    key.append(ESCAPER.escape(header.getValue())).append(',');
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static RpcResponse copy(String id, RpcResponse response) {
+        if (response.rawBody() != null) {
+            return RpcResponse.passthrough(id, response.statusCode(), response.rawBody(),
+                                           response.elapsedTime());
+        }
+        if (response.isArray()) {
+            return RpcResponse.createJsonArray(id, response.statusCode(),
+                                               response.responseArray().copy(),
+                                               response.elapsedTime());
+        }
+        return RpcResponse.createJsonObject(id, response.statusCode(),
+                                            response.responseObject().copy(),
+                                            response.elapsedTime());
+    }
+
+    /**
+     * 一次发往下游服务的请求，以及等待这个请求的结果的其他请求.
+     */
+    private static class Flight {
+
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        private boolean completed;
+
+        private synchronized boolean join(String id, Future<RpcResponse> future) {
+            if (completed) {
+                return false;
+            }
+            waiters.add(new Waiter(id, future, Vertx.currentContext()));
+            return true;
+        }
+
+        private void complete(AsyncResult<RpcResponse> ar) {
+            List<Waiter> snapshot;
+            synchronized (this) {
+                completed = true;
+                snapshot = new ArrayList<>(waiters);
+            }
+            for (Waiter waiter : snapshot) {
+                waiter.complete(ar);
+            }
+        }
+    }
+
+    private static class Waiter {
+
+        private final String id;
+
+        private final Future<RpcResponse> future;
+
+        private final Context context;
+
+        private Waiter(String id, Future<RpcResponse> future, Context context) {
+            this.id = id;
+            this.future = future;
+            this.context = context;
+        }
+
+        /**
+         * 副本在leader的结果返回之前就创建好，leader之后对响应的修改不会影响其他请求.
+         */
+        private void complete(AsyncResult<RpcResponse> ar) {
+            AsyncResult<RpcResponse> result = ar;
+            if (ar.succeeded()) {
+                try {
+                    result = Future.succeededFuture(copy(id, ar.result()));
+                } catch (Exception e) {
+                    result = Future.failedFuture(e);
+                }
+            }
+            AsyncResult<RpcResponse> copied = result;
+            Runnable action = () -> {
+                if (copied.succeeded()) {
+                    future.tryComplete(copied.result());
+                } else {
+                    future.tryFail(copied.cause());
+                }
+            };
+            if (context == null || context == Vertx.currentContext()) {
+                action.run();
+            } else {
+                context.runOnContext(v -> action.run());
+            }
+        }
+    }
+}
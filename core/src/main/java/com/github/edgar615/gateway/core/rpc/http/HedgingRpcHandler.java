@@ -0,0 +1,370 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.google.common.base.Preconditions;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 对冲请求(hedged request).
+ * <p>
+ * 尾部延迟通常来自偶尔变慢的下游实例，而不是所有请求都慢.
+ * 对于幂等的GET请求，如果在延迟分位数(percentile)之内还没有响应，再发送一个相同的请求，
+ * 两个请求中先成功的作为结果，另一个请求会被取消(重置连接)，只有两个请求都失败才算失败.
+ * <p>
+ * 对冲在负载均衡之上：lb-http和service-http的对冲请求会重新选择实例，排除原始请求选中的实例，
+ * 只有一个实例时仍然发往这个实例.
+ * simple-http只有一个实例，对冲请求使用连接池中的另一个连接发往同一个host:port.
+ * 原始请求和对冲请求分别经过断路器和并发限制，对冲请求不会与原始请求合并.
+ * <p>
+ * 每个下游服务(host:port)有一个{@link LatencyHistogram}记录最近的延迟，样本数达到minSamples之后才会对冲，
+ * 使用的是原始请求选中的实例的直方图.
+ * 记录的是调用方看到的延迟，即从第一次发送请求到得到结果的时间，而不是先返回的那个请求自己的耗时.
+ * 对冲请求先返回时，被取消的原始请求至少已经耗费了这么长的时间，同样按这个值记录，
+ * 否则直方图中只有较快的样本，对冲延迟会越来越小.
+ * 为了避免对冲放大下游服务的压力，对冲的比例不会超过maxHedgeRate：每个请求积累maxHedgeRate%个令牌，
+ * 每个对冲请求消耗一个令牌，令牌最多积累burst个.
+ * <p>
+ * 流式的请求和响应不会对冲.
+ * 配置了rpc.hedging时才会启用：
+ * <pre>
+ * "rpc.hedging" : {
+ *   "percentile" : 95,     延迟的分位数，超过这个延迟之后发送对冲请求
+ *   "minDelay" : 5,        对冲的最小延迟，毫秒
+ *   "minSamples" : 100,    样本数达到这个值之后才会对冲
+ *   "maxHedgeRate" : 10,   对冲请求占总请求数的最大比例(百分比)
+ *   "burst" : 10           令牌最多积累的个数
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class HedgingRpcHandler implements RpcHandler {
+
+    public static final String CONFIG_KEY = "rpc.hedging";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HedgingRpcHandler.class);
+
+    /**
+     * 一个令牌对应的额度
+     */
+    private static final long TOKEN = 100;
+
+    private final Vertx vertx;
+
+    private final RpcHandler delegate;
+
+    private final double percentile;
+
+    private final long minDelay;
+
+    private final long minSamples;
+
+    private final long maxHedgeRate;
+
+    private final long maxCredits;
+
+    private final AtomicLong credits = new AtomicLong();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder hedges = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    public HedgingRpcHandler(Vertx vertx, RpcHandler delegate, JsonObject options) {
+        this.vertx = vertx;
+        this.delegate = delegate;
+        this.percentile = options.getDouble("percentile", 95d);
+        this.minDelay = options.getLong("minDelay", 5L);
+        this.minSamples = options.getLong("minSamples", 100L);
+        this.maxHedgeRate = options.getLong("maxHedgeRate", 10L);
+        this.maxCredits = options.getLong("burst", 10L) * TOKEN;
+        Preconditions.checkArgument(percentile > 0 && percentile < 100,
+                                    "percentile must between 0 and 100");
+        Preconditions.checkArgument(maxHedgeRate >= 0 && maxHedgeRate <= 100,
+                                    "maxHedgeRate must between 0 and 100");
+    }
+
+    /**
+     * 如果配置了rpc.hedging，使用HedgingRpcHandler包装RpcHandler.
+     *
+     * @param vertx    Vertx
+     * @param config   配置
+     * @param delegate 被包装的RpcHandler，simple-http的RpcHandler或者{@link LoadBalancedHttpHandler}
+     * @return RpcHandler
+     */
+    public static RpcHandler wrap(Vertx vertx, JsonObject config, RpcHandler delegate) {
+        JsonObject hedgingConfig = config.getJsonObject(CONFIG_KEY);
+        if (hedgingConfig == null) {
+            return delegate;
+        }
+        return new HedgingRpcHandler(vertx, delegate, hedgingConfig);
+    }
+
+    public RpcHandler delegate() {
+        return delegate;
+    }
+
+    /**
+     * @return requests：请求数，hedges：对冲请求数，hedgeWins：对冲请求先返回的次数，throttled：因为超过对冲比例而放弃的次数，
+     * delays：每个下游服务当前的对冲延迟
+     */
+    public JsonObject metrics() {
+        JsonObject delays = new JsonObject();
+        histograms.forEach((upstream, histogram) -> delays.put(upstream, delay(histogram)));
+        return new JsonObject()
+                .put("requests", requests.sum())
+                .put("hedges", hedges.sum())
+                .put("hedgeWins", hedgeWins.sum())
+                .put("throttled", throttled.sum())
+                .put("delays", delays);
+    }
+
+    @Override
+    public String type() {
+        return delegate.type();
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        if (!hedgeable(rpcRequest)) {
+            return delegate.handle(rpcRequest);
+        }
+        HttpRpcRequest request = (HttpRpcRequest) rpcRequest;
+        requests.increment();
+        credits.getAndUpdate(c -> Math.min(maxCredits, c + maxHedgeRate));
+        Hedge hedge = new Hedge(request);
+        if (request instanceof SimpleHttpRequest) {
+            hedge.first = HostAndPort.fromParts(request.host(), request.port());
+        }
+        //负载均衡在发送原始请求时同步选择实例
+        hedge.send(false);
+        long delay = hedge.delay();
+        if (delay >= 0) {
+            hedge.timer = vertx.setTimer(delay, l -> {
+                if (hedge.tryStartHedge()) {
+                    hedge.send(true);
+                }
+            });
+        }
+        return hedge.result;
+    }
+
+    private boolean hedgeable(RpcRequest rpcRequest) {
+        if (!(rpcRequest instanceof SimpleHttpRequest)
+            && !(rpcRequest instanceof LoadBalancedHttpRequest)) {
+            return false;
+        }
+        HttpRpcRequest request = (HttpRpcRequest) rpcRequest;
+        return request.method() == HttpMethod.GET
+               && !request.streamResponse()
+               && request.bodyStream() == null;
+    }
+
+    private LatencyHistogram histogram(HostAndPort instance) {
+        return histograms.computeIfAbsent(instance.getHost() + ":" + instance.getPort(),
+                                          k -> new LatencyHistogram(1000));
+    }
+
+    /**
+     * @return 对冲的延迟，样本不足时返回-1
+     */
+    private long delay(LatencyHistogram histogram) {
+        if (histogram.count() < minSamples) {
+            return -1;
+        }
+        return Math.max(minDelay, histogram.percentile(percentile));
+    }
+
+    private boolean acquireCredit() {
+        while (true) {
+            long current = credits.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (credits.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 一次对冲：原始请求和可能的对冲请求.
+     */
+    private class Hedge {
+
+        private final HttpRpcRequest request;
+
+        private final Future<RpcResponse> result = Future.future();
+
+        private final Runnable[] cancellations = new Runnable[2];
+
+        /**
+         * 第一次发送请求的时间
+         */
+        private final long started = System.currentTimeMillis();
+
+        /**
+         * 原始请求选中的实例，负载均衡失败时为null
+         */
+        private volatile HostAndPort first;
+
+        private volatile long timer = -1;
+
+        private boolean hedged;
+
+        private int failures;
+
+        private boolean done;
+
+        private int winner = -1;
+
+        private Hedge(HttpRpcRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * @return 对冲的延迟，不能对冲时返回-1
+         */
+        private long delay() {
+            HostAndPort instance = first;
+            if (instance == null) {
+                return -1;
+            }
+            return HedgingRpcHandler.this.delay(histogram(instance));
+        }
+
+        private synchronized boolean tryStartHedge() {
+            if (done) {
+                return false;
+            }
+            if (!acquireCredit()) {
+                throttled.increment();
+                return false;
+            }
+            hedged = true;
+            return true;
+        }
+
+        private void send(boolean isHedge) {
+            int index = isHedge ? 1 : 0;
+            HttpRpcRequest attempt = isHedge ? hedgeRequest() : request;
+            if (isHedge) {
+                hedges.increment();
+                LOGGER.info("[{}] [hedge] [{}]", request.id(), first);
+            }
+            attempt.setListener(new Attempt(index));
+            delegate.handle(attempt).setHandler(ar -> onComplete(index, ar));
+        }
+
+        /**
+         * 对冲请求是原始请求的副本，负载均衡的请求排除原始请求选中的实例.
+         */
+        private HttpRpcRequest hedgeRequest() {
+            HttpRpcRequest copy = (HttpRpcRequest) request.copy();
+            if (copy instanceof LoadBalancedHttpRequest) {
+                LoadBalancedHttpRequest loadBalanced = (LoadBalancedHttpRequest) copy;
+                List<HostAndPort> others = loadBalanced.instances().stream()
+                        .filter(instance -> !instance.equals(first))
+                        .collect(Collectors.toList());
+                if (!others.isEmpty()) {
+                    loadBalanced.setInstances(others);
+                }
+            }
+            return copy;
+        }
+
+        private void onComplete(int index, AsyncResult<RpcResponse> ar) {
+            Runnable loser;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (ar.failed()) {
+                    failures++;
+                    //另一个请求还在进行中
+                    if (hedged && failures < 2) {
+                        return;
+                    }
+                }
+                done = true;
+                winner = index;
+                loser = cancellations[1 - index];
+            }
+            if (timer >= 0) {
+                vertx.cancelTimer(timer);
+            }
+            HostAndPort instance = first;
+            if (ar.succeeded() && instance != null) {
+                //对冲请求先返回时，这个值也是被取消的原始请求已经耗费的时间
+                histogram(instance).record(System.currentTimeMillis() - started);
+            }
+            if (ar.succeeded() && index == 1) {
+                hedgeWins.increment();
+            }
+            if (loser != null) {
+                loser.run();
+            }
+            result.handle(ar);
+        }
+
+        /**
+         * 原始请求或者对冲请求的回调.
+         */
+        private class Attempt implements SendListener {
+
+            private final int index;
+
+            private Attempt(int index) {
+                this.index = index;
+            }
+
+            @Override
+            public boolean hedge() {
+                return index == 1;
+            }
+
+            @Override
+            public void selected(HostAndPort instance) {
+                if (index == 0) {
+                    first = instance;
+                }
+            }
+
+            @Override
+            public void sent(Runnable cancellation) {
+                boolean lost;
+                synchronized (Hedge.this) {
+                    //在并发限制中排队的请求可能在另一个请求完成之后才发出
+                    lost = done && winner != index;
+                    if (!lost) {
+                        cancellations[index] = cancellation;
+                    }
+                }
+                if (lost) {
+                    cancellation.run();
+                }
+            }
+        }
+    }
+}
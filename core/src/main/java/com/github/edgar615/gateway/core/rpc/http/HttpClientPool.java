@@ -0,0 +1,110 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一个HttpClient连接池，以及它的统计信息.
+ * <p>
+ * vert.x的HttpClient没有直接暴露连接池的状态，这里通过请求和连接的事件自己计算：
+ * <pre>
+ * connections：已经建立的连接数(新建连接时加1，连接关闭时减1)
+ * inFlight：已经发出还没有完成的请求数
+ * inUse：正在使用的连接数，HTTP/1.x的一个连接同时只处理一个请求，所以等于min(inFlight, connections)
+ * idle：空闲的连接数，connections - inUse
+ * waiting：等待连接的请求数，inFlight - inUse
+ * </pre>
+ * HTTP/2的一个连接可以同时处理多个请求(最多http2MultiplexingLimit个，-1表示不限制)，所以waiting为超出所有连接并发上限的请求数.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class HttpClientPool {
+
+    private final String name;
+
+    private final HttpClient httpClient;
+
+    private final HttpClientOptions options;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Set<HttpConnection> connections =
+            Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    HttpClientPool(Vertx vertx, String name, HttpClientOptions options) {
+        this.name = name;
+        this.options = options;
+        this.httpClient = vertx.createHttpClient(options);
+    }
+
+    String name() {
+        return name;
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    HttpClientOptions options() {
+        return options;
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void requestEnded() {
+        inFlight.decrementAndGet();
+    }
+
+    void connectionOpened(HttpConnection connection) {
+        if (connections.add(connection)) {
+            connection.closeHandler(v -> connections.remove(connection));
+        }
+    }
+
+    JsonObject metrics() {
+        int connectionCount = connections.size();
+        int inFlightCount = inFlight.get();
+        int inUse = Math.min(inFlightCount, connectionCount);
+        int waiting = inFlightCount - inUse;
+        int maxPoolSize = options.getMaxPoolSize();
+        if (http2()) {
+            maxPoolSize = options.getHttp2MaxPoolSize();
+            int limit = options.getHttp2MultiplexingLimit();
+            if (connectionCount == 0) {
+                waiting = inFlightCount;
+            } else if (limit <= 0) {
+                waiting = 0;
+            } else {
+                waiting = Math.max(0, inFlightCount - connectionCount * limit);
+            }
+        }
+        return new JsonObject()
+                .put("protocol", options.getProtocolVersion().name())
+                .put("maxPoolSize", maxPoolSize)
+                .put("maxWaitQueueSize", options.getMaxWaitQueueSize())
+                .put("connections", connectionCount)
+                .put("inFlight", inFlightCount)
+                .put("inUse", inUse)
+                .put("idle", connectionCount - inUse)
+                .put("waiting", waiting);
+    }
+
+    boolean http2() {
+        return options.getProtocolVersion() == HttpVersion.HTTP_2;
+    }
+
+    void close() {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按照上游服务(host:port)划分的HttpClient连接池.
+ * <p>
+ * 配置项：
+ * <pre>
+ * http.client：HttpClientOptions的JSON配置，如maxPoolSize、keepAlive、pipelining、maxWaitQueueSize、idleTimeout，默认连接池和所有独立连接池都使用这个配置
+ * http.client.perUpstream：是否为每个host:port创建独立的连接池，默认false，所有上游服务共享一个默认连接池
+ * http.client.upstreams：为某个host:port单独设置连接池参数，key为host:port，value会覆盖http.client中的同名配置，配置了的上游服务总是使用独立的连接池
+ * http.client.http2：是否默认使用HTTP/2(h2c)访问上游服务，默认false，也可以在SimpleHttpEndpoint上单独开启
+ * </pre>
+ * 使用独立的连接池之后，一个响应缓慢的上游服务只会耗尽它自己的连接，不会影响到其他的API.
+ * <p>
+ * HTTP/2的请求使用单独的连接池，名称加上"h2c"前缀.
+ * HTTP/2使用prior knowledge的方式直接发送HTTP/2的连接前言，不经过HTTP/1.1的升级，每个连接可以同时处理多个请求，
+ * 连接数由http2MaxPoolSize控制(默认1)，每个连接的并发请求数由http2MultiplexingLimit控制.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class HttpClientPools {
+
+    static final String DEFAULT_POOL = "default";
+
+    static final String H2C_PREFIX = "h2c";
+
+    private final Vertx vertx;
+
+    private final JsonObject baseOptions;
+
+    private final boolean perUpstream;
+
+    private final JsonObject upstreams;
+
+    private final boolean http2;
+
+    private final HttpClientPool defaultPool;
+
+    private volatile HttpClientPool defaultH2cPool;
+
+    private final Map<String, HttpClientPool> pools = new ConcurrentHashMap<>();
+
+    HttpClientPools(Vertx vertx, JsonObject config) {
+        this.vertx = vertx;
+        this.baseOptions = config.getJsonObject("http.client", new JsonObject());
+        this.perUpstream = config.getBoolean("http.client.perUpstream", false);
+        this.upstreams = config.getJsonObject("http.client.upstreams", new JsonObject());
+        this.http2 = config.getBoolean("http.client.http2", false);
+        this.defaultPool = new HttpClientPool(vertx, DEFAULT_POOL,
+                new HttpClientOptions(baseOptions));
+    }
+
+    /**
+     * @return 是否默认使用HTTP/2
+     */
+    boolean http2() {
+        return http2;
+    }
+
+    /**
+     * 返回上游服务使用的连接池.
+     *
+     * @param host 主机
+     * @param port 端口
+     * @return HttpClientPool
+     */
+    HttpClientPool pool(String host, int port) {
+        return pool(host, port, false);
+    }
+
+    /**
+     * 返回上游服务使用的连接池.
+     *
+     * @param host  主机
+     * @param port  端口
+     * @param http2 是否使用HTTP/2
+     * @return HttpClientPool
+     */
+    HttpClientPool pool(String host, int port, boolean http2) {
+        String upstream = host + ":" + port;
+        if (!perUpstream && !upstreams.containsKey(upstream)) {
+            return http2 ? defaultH2cPool() : defaultPool;
+        }
+        String name = http2 ? H2C_PREFIX + ":" + upstream : upstream;
+        return pools.computeIfAbsent(name, k -> {
+            JsonObject options = baseOptions.copy()
+                    .mergeIn(upstreams.getJsonObject(upstream, new JsonObject()));
+            return new HttpClientPool(vertx, k, options(options, http2));
+        });
+    }
+
+    private HttpClientPool defaultH2cPool() {
+        if (defaultH2cPool == null) {
+            synchronized (this) {
+                if (defaultH2cPool == null) {
+                    defaultH2cPool = new HttpClientPool(vertx, H2C_PREFIX,
+                            options(baseOptions, true));
+                }
+            }
+        }
+        return defaultH2cPool;
+    }
+
+    private HttpClientOptions options(JsonObject json, boolean http2) {
+        HttpClientOptions options = new HttpClientOptions(json);
+        if (http2) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setHttp2ClearTextUpgrade(false);
+        }
+        return options;
+    }
+
+    /**
+     * @return 所有连接池的统计信息，key为连接池名称(default、h2c、host:port或者h2c:host:port)
+     */
+    JsonObject metrics() {
+        JsonObject metrics = new JsonObject().put(DEFAULT_POOL, defaultPool.metrics());
+        if (defaultH2cPool != null) {
+            metrics.put(H2C_PREFIX, defaultH2cPool.metrics());
+        }
+        pools.forEach((name, pool) -> metrics.put(name, pool.metrics()));
+        return metrics;
+    }
+
+    void close() {
+        defaultPool.close();
+        if (defaultH2cPool != null) {
+            defaultH2cPool.close();
+        }
+        pools.values().forEach(HttpClientPool::close);
+        pools.clear();
+    }
+}
@@ -4,12 +4,15 @@ import com.github.edgar615.gateway.core.rpc.CircuitBreakerExecutable;
 import com.github.edgar615.gateway.core.rpc.Fallbackable;
 import com.github.edgar615.gateway.core.rpc.RpcRequest;
 import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.SingleReadStream;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 
 /**
  * Created by Edgar on 2017/8/25.
@@ -57,8 +60,29 @@ public abstract class HttpRpcRequest implements RpcRequest, CircuitBreakerExecut
      */
     private int timeout = 10000;
 
+    /**
+     * 是否需要解析响应体，如果后续的filter不需要读取响应体，可以设置为false，直接透传下游服务的响应
+     */
+    private boolean parseBody = true;
+
+    /**
+     * 流式的请求体，设置之后使用Pump将请求体写入下游服务，不再使用body.
+     * 复制的请求共享同一个流，只有一个请求可以读取
+     */
+    private SingleReadStream<Buffer> bodyStream;
+
+    /**
+     * 是否以流的方式返回下游服务的响应体
+     */
+    private boolean streamResponse;
+
     private RpcResponse fallback;
 
+    /**
+     * 对冲请求使用的回调，不会被复制
+     */
+    private SendListener listener;
+
     protected HttpRpcRequest(String id, String name) {
         Preconditions.checkNotNull(id);
         Preconditions.checkNotNull(name);
@@ -159,6 +183,44 @@ public abstract class HttpRpcRequest implements RpcRequest, CircuitBreakerExecut
         return this;
     }
 
+    public boolean parseBody() {
+        return parseBody;
+    }
+
+    public HttpRpcRequest setParseBody(boolean parseBody) {
+        this.parseBody = parseBody;
+        return this;
+    }
+
+    public ReadStream<Buffer> bodyStream() {
+        return bodyStream;
+    }
+
+    public HttpRpcRequest setBodyStream(ReadStream<Buffer> bodyStream) {
+        this.bodyStream = SingleReadStream.wrap(id, bodyStream);
+        return this;
+    }
+
+    /**
+     * 复制或者转换后的请求使用的请求体.
+     * 与原来的请求共享同一个流，任何一个请求都可以取得流，但是只有第一个读取的请求可以读取，
+     * 另一个请求再读取会抛出IllegalStateException，参考{@link SingleReadStream}.
+     *
+     * @return 流式的请求体，没有时返回null
+     */
+    protected ReadStream<Buffer> shareBodyStream() {
+        return bodyStream == null ? null : bodyStream.share();
+    }
+
+    public boolean streamResponse() {
+        return streamResponse;
+    }
+
+    public HttpRpcRequest setStreamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+        return this;
+    }
+
     public RpcResponse fallback() {
         return fallback;
     }
@@ -168,4 +230,33 @@ public abstract class HttpRpcRequest implements RpcRequest, CircuitBreakerExecut
         this.fallback = fallback;
     }
 
+    SendListener listener() {
+        return listener;
+    }
+
+    HttpRpcRequest setListener(SendListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * 将HTTP请求的公共属性复制到另一个请求，用于在不同类型的HTTP请求之间转换.
+     *
+     * @param target 目标请求
+     */
+    protected void copyProperties(HttpRpcRequest target) {
+        target.setPath(path);
+        target.setHttpMethod(httpMethod);
+        target.setTimeout(timeout);
+        target.setParseBody(parseBody);
+        target.setBodyStream(shareBodyStream());
+        target.setStreamResponse(streamResponse);
+        target.setBody(body);
+        target.addParams(ArrayListMultimap.create(params));
+        target.addHeaders(ArrayListMultimap.create(headers));
+        if (fallback != null) {
+            target.setFallback(fallback.copy());
+        }
+    }
+
 }
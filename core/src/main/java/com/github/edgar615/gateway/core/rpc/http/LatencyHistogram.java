@@ -0,0 +1,105 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的延迟直方图，用于估算最近一段时间的延迟分位数.
+ * <p>
+ * 桶按照指数划分，每翻一倍分为4个桶，误差不超过25%，超过约115秒的延迟都记在最后一个桶.
+ * 每记录decayEvery个样本，所有桶的计数减半，旧的样本逐渐失去权重，分位数能够跟上下游服务延迟的变化.
+ * 衰减和记录之间没有加锁，得到的是一个近似值，用于计算对冲请求的延迟足够了.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong sinceDecay = new AtomicLong();
+
+    private final int decayEvery;
+
+    LatencyHistogram(int decayEvery) {
+        this.decayEvery = decayEvery;
+    }
+
+    void record(long latency) {
+        counts.incrementAndGet(bucket(Math.max(0, latency)));
+        total.incrementAndGet();
+        if (sinceDecay.incrementAndGet() >= decayEvery) {
+            sinceDecay.set(0);
+            long remaining = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = counts.get(i);
+                long halved = count >> 1;
+                counts.addAndGet(i, halved - count);
+                remaining += halved;
+            }
+            total.set(remaining);
+        }
+    }
+
+    /**
+     * @return 当前有效的样本数(衰减之后)
+     */
+    long count() {
+        return total.get();
+    }
+
+    /**
+     * 估算分位数.
+     *
+     * @param percentile 百分位，0-100
+     * @return 分位数所在桶的上界(毫秒)，没有样本时返回-1
+     */
+    long percentile(double percentile) {
+        long sum = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            sum += snapshot[i];
+        }
+        if (sum == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(sum * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * 0-3ms各占一个桶，之后每翻一倍分为4个桶.
+     */
+    static int bucket(long latency) {
+        if (latency < SUB_BUCKETS) {
+            return (int) latency;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(latency);
+        int sub = (int) ((latency >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        int bucket = (exponent - 1) * SUB_BUCKETS + sub;
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        int sub = bucket % SUB_BUCKETS;
+        //桶覆盖[2^e + sub * 2^(e-2), 2^e + (sub + 1) * 2^(e-2))
+        return (1L << exponent) + (sub + 1) * (1L << (exponent - 2)) - 1;
+    }
+}
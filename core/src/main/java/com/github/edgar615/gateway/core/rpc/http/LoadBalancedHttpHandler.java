@@ -0,0 +1,160 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.LoadBalancedHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreaker;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerOptions;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerRegistry;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerRpcHandler;
+import com.github.edgar615.gateway.core.rpc.loadbalance.LoadBalancer;
+import com.github.edgar615.gateway.core.rpc.loadbalance.UpstreamStats;
+import com.github.edgar615.gateway.core.rpc.loadbalance.UpstreamStatsRegistry;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 客户端负载均衡的HTTP请求.
+ * <p>
+ * 按照请求的负载均衡策略选择一个实例，转换为{@link SimpleHttpRequest}之后交给simple-http的RpcHandler发送，
+ * simple-http上配置的断路器、并发限制和合并请求对每个实例分别生效.
+ * 对冲请求在负载均衡之上，对冲时重新选择实例，参考{@link HedgingRpcHandler}.
+ * 请求开始和结束时更新实例的统计信息，失败或者返回5xx的请求记为失败.
+ * <p>
+ * 配置了circuit.breaker时，选择实例之前先排除断路器已经打开的实例，所有实例的断路器都打开时仍然从所有实例中选择，
+ * 由断路器拒绝请求.
+ * 发往实例的请求不带fallback，断路器或者并发限制拒绝的请求以失败返回，记为这个实例的失败，而不是一次延迟很低的成功，
+ * 之后再使用原始请求的fallback代替.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancedHttpHandler implements RpcHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancedHttpHandler.class);
+
+    private final RpcHandler delegate;
+
+    private final UpstreamStatsRegistry registry;
+
+    /**
+     * 没有配置断路器时为null
+     */
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    private final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+
+    public LoadBalancedHttpHandler(RpcHandler delegate, UpstreamStatsRegistry registry) {
+        this(delegate, registry, null);
+    }
+
+    public LoadBalancedHttpHandler(RpcHandler delegate, UpstreamStatsRegistry registry,
+                                   CircuitBreakerRegistry circuitBreakers) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    /**
+     * 创建LoadBalancedHttpHandler，配置了circuit.breaker时使用与simple-http相同的断路器.
+     *
+     * @param vertx    Vertx
+     * @param config   配置
+     * @param delegate simple-http的RpcHandler
+     * @param registry 实例的统计信息
+     * @return LoadBalancedHttpHandler
+     */
+    public static LoadBalancedHttpHandler create(Vertx vertx, JsonObject config,
+                                                 RpcHandler delegate,
+                                                 UpstreamStatsRegistry registry) {
+        JsonObject circuitBreakerConfig = config.getJsonObject(CircuitBreakerRpcHandler.CONFIG_KEY);
+        CircuitBreakerRegistry circuitBreakers = circuitBreakerConfig == null ? null
+                : CircuitBreakerRegistry.shared(vertx, new CircuitBreakerOptions(circuitBreakerConfig));
+        return new LoadBalancedHttpHandler(delegate, registry, circuitBreakers);
+    }
+
+    /**
+     * @return key为host:port，value为实例的统计信息
+     */
+    public JsonObject metrics() {
+        return registry.metrics();
+    }
+
+    @Override
+    public String type() {
+        return LoadBalancedHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        LoadBalancedHttpRequest request = (LoadBalancedHttpRequest) rpcRequest;
+        if (request.instances().isEmpty()) {
+            return Future.failedFuture(SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)
+                                               .set("details", "no instance: " + request.name()));
+        }
+        LoadBalancer loadBalancer;
+        try {
+            loadBalancer = loadBalancers.computeIfAbsent(request.strategy().toLowerCase(),
+                                                         s -> LoadBalancer.create(s, registry));
+        } catch (IllegalArgumentException e) {
+            return Future.failedFuture(SystemException.create(DefaultErrorCode.INVALID_ARGS)
+                                               .set("details", e.getMessage()));
+        }
+        HostAndPort instance = loadBalancer.select(available(request.instances()));
+        if (request.listener() != null) {
+            request.listener().selected(instance);
+        }
+        UpstreamStats stats = registry.stats(instance);
+        SimpleHttpRequest simpleHttpRequest = request.toSimpleHttpRequest(instance);
+        simpleHttpRequest.setFallback(null);
+        long started = stats.start();
+        Future<RpcResponse> result = Future.future();
+        delegate.handle(simpleHttpRequest).setHandler(ar -> {
+            stats.end(started, ar.failed() || ar.result().statusCode() >= 500);
+            if (ar.failed() && CircuitBreakerRpcHandler.rejected(ar.cause())
+                && request.fallback() != null) {
+                LOGGER.info("[{}] [loadBalance] [{}] [fallback]", request.id(), instance);
+                result.complete(request.fallback().copy());
+                return;
+            }
+            result.handle(ar);
+        });
+        return result;
+    }
+
+    /**
+     * @return 断路器没有打开的实例，都打开时返回所有的实例
+     */
+    private List<HostAndPort> available(List<HostAndPort> instances) {
+        if (circuitBreakers == null || instances.size() == 1) {
+            return instances;
+        }
+        List<HostAndPort> available = null;
+        for (int i = 0; i < instances.size(); i++) {
+            HostAndPort instance = instances.get(i);
+            CircuitBreaker circuitBreaker = circuitBreakers.find(instance.getHost() + ":"
+                                                                 + instance.getPort());
+            boolean permitted = circuitBreaker == null || circuitBreaker.isCallPermitted();
+            if (!permitted && available == null) {
+                available = new ArrayList<>(instances.subList(0, i));
+            } else if (permitted && available != null) {
+                available.add(instance);
+            }
+        }
+        if (available == null) {
+            return instances;
+        }
+        return available.isEmpty() ? instances : available;
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.LoadBalancedHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+
+import java.util.List;
+
+/**
+ * 负载均衡的HTTP类型的rpc请求.
+ * <p>
+ * 请求本身只记录所有的实例，由{@link LoadBalancedHttpHandler}选择实例之后转换为{@link SimpleHttpRequest}发送，
+ * 断路器按照选中的实例生效.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancedHttpRequest extends HttpRpcRequest {
+
+    /**
+     * 下游服务的实例
+     */
+    private List<HostAndPort> instances = ImmutableList.of();
+
+    /**
+     * 负载均衡策略
+     */
+    private String strategy = LoadBalancedHttpEndpoint.ROUND_ROBIN;
+
+    /**
+     * 是否使用HTTP/2(h2c)
+     */
+    private boolean http2;
+
+    LoadBalancedHttpRequest(String id, String name) {
+        super(id, name);
+    }
+
+    /**
+     * 创建负载均衡的HTTP类型的RPC请求
+     *
+     * @param id   id
+     * @param name 名称
+     * @return LoadBalancedHttpRequest
+     */
+    public static LoadBalancedHttpRequest create(String id, String name) {
+        return new LoadBalancedHttpRequest(id, name);
+    }
+
+    @Override
+    public String type() {
+        return LoadBalancedHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public RpcRequest copy() {
+        LoadBalancedHttpRequest copyReq = LoadBalancedHttpRequest.create(id(), name());
+        copyProperties(copyReq);
+        copyReq.setInstances(instances);
+        copyReq.setStrategy(strategy);
+        copyReq.setHttp2(http2);
+        return copyReq;
+    }
+
+    /**
+     * 转换为发往某个实例的请求.
+     *
+     * @param instance 实例
+     * @return SimpleHttpRequest
+     */
+    public SimpleHttpRequest toSimpleHttpRequest(HostAndPort instance) {
+        SimpleHttpRequest request = SimpleHttpRequest.create(id(), name());
+        copyProperties(request);
+        request.setHost(instance.getHost());
+        request.setPort(instance.getPort());
+        request.setHttp2(http2);
+        request.setListener(listener());
+        return request;
+    }
+
+    /**
+     * @return 第一个实例的端口，实际使用的实例由负载均衡器选择
+     */
+    @Override
+    public int port() {
+        return instances.isEmpty() ? 80 : instances.get(0).getPort();
+    }
+
+    /**
+     * @return 第一个实例的host，实际使用的实例由负载均衡器选择
+     */
+    @Override
+    public String host() {
+        return instances.isEmpty() ? "localhost" : instances.get(0).getHost();
+    }
+
+    public List<HostAndPort> instances() {
+        return instances;
+    }
+
+    public LoadBalancedHttpRequest setInstances(List<HostAndPort> instances) {
+        Preconditions.checkNotNull(instances);
+        this.instances = ImmutableList.copyOf(instances);
+        return this;
+    }
+
+    public String strategy() {
+        return strategy;
+    }
+
+    public LoadBalancedHttpRequest setStrategy(String strategy) {
+        Preconditions.checkNotNull(strategy);
+        this.strategy = strategy;
+        return this;
+    }
+
+    public boolean http2() {
+        return http2;
+    }
+
+    public LoadBalancedHttpRequest setHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * 断路器按照选中的实例生效，这里不使用断路器.
+     */
+    @Override
+    public String circuitBreakerName() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(LoadBalancedHttpRequest.class.getSimpleName())
+                .add("id", id())
+                .add("name", name())
+                .add("instances", instances)
+                .add("strategy", strategy)
+                .add("http2", http2)
+                .add("method", method())
+                .add("path", path())
+                .add("timeout", timeout())
+                .add("headers", headers())
+                .add("params", params())
+                .add("body", body() == null ? null : body().encode())
+                .add("fallback", fallback())
+                .toString();
+    }
+}
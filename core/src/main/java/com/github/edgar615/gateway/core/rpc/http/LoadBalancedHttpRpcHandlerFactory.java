@@ -0,0 +1,29 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.LoadBalancedHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcHandlerFactory;
+import com.github.edgar615.gateway.core.rpc.loadbalance.UpstreamStatsRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 负载均衡的HTTP请求，选中实例之后的请求由{@link SimpleHttpRpcHandlerFactory#wrap}包装的RpcHandler发送.
+ * 配置了rpc.hedging时在负载均衡之上对冲，对冲请求重新选择实例，参考{@link HedgingRpcHandler}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancedHttpRpcHandlerFactory implements RpcHandlerFactory {
+    @Override
+    public String type() {
+        return LoadBalancedHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public RpcHandler create(Vertx vertx, JsonObject config) {
+        RpcHandler delegate = SimpleHttpRpcHandlerFactory
+                .wrap(vertx, config, new SimpleHttpHandler(vertx, config));
+        return HedgingRpcHandler.wrap(vertx, config, LoadBalancedHttpHandler
+                .create(vertx, config, delegate, UpstreamStatsRegistry.shared(vertx)));
+    }
+}
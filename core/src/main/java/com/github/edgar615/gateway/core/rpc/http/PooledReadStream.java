@@ -0,0 +1,131 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 流式响应的包装，在响应体结束或者出现异常时归还连接池的计数.
+ * <p>
+ * 调用方会覆盖HttpClientResponse的endHandler和exceptionHandler，所以不能直接在HttpClientResponse上注册回调.
+ * <p>
+ * 如果在超时时间之内没有人读取响应体(例如后面的filter失败了)，重置请求并归还连接，流以超时失败结束：
+ * 已经设置的exceptionHandler会收到超时的异常，之后再读取的调用方也会在exceptionHandler中收到这个异常，
+ * 不会把不完整的响应体当作正常结束.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class PooledReadStream implements ReadStream<Buffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledReadStream.class);
+
+    private final ReadStream<Buffer> delegate;
+
+    private final Vertx vertx;
+
+    private final String id;
+
+    private final Runnable release;
+
+    private final Runnable reset;
+
+    private final long timerId;
+
+    private boolean consumed;
+
+    /**
+     * 超时之后的异常
+     */
+    private Throwable failure;
+
+    private Handler<Throwable> exceptionHandler;
+
+    PooledReadStream(Vertx vertx, String id, ReadStream<Buffer> delegate, Runnable release,
+                     Runnable reset, long timeout) {
+        this.vertx = vertx;
+        this.id = id;
+        this.delegate = delegate;
+        this.release = release;
+        this.reset = reset;
+        delegate.endHandler(v -> release.run());
+        delegate.exceptionHandler(throwable -> release.run());
+        this.timerId = vertx.setTimer(Math.max(1, timeout), l -> timeout(timeout));
+    }
+
+    private void timeout(long timeout) {
+        if (consumed) {
+            return;
+        }
+        consumed = true;
+        LOGGER.warn("[{}] [CR] [HTTP] [stream] [not consumed, reset]", id);
+        failure = SystemException.create(DefaultErrorCode.TIME_OUT)
+                .set("details", "response body not read in " + timeout + "ms");
+        reset.run();
+        release.run();
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(failure);
+        }
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        delegate.exceptionHandler(throwable -> {
+            release.run();
+            //重置请求引起的异常，调用方已经收到了超时的异常
+            if (handler != null && failure == null) {
+                handler.handle(throwable);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        if (handler != null && failure != null) {
+            Handler<Throwable> current = exceptionHandler;
+            if (current == null) {
+                throw new IllegalStateException("The body stream of " + id + " has timed out",
+                                                failure);
+            }
+            vertx.runOnContext(v -> current.handle(failure));
+            return this;
+        }
+        if (handler != null && !consumed) {
+            consumed = true;
+            vertx.cancelTimer(timerId);
+        }
+        delegate.handler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        delegate.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        if (failure == null) {
+            delegate.resume();
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        delegate.endHandler(v -> {
+            release.run();
+            if (endHandler != null) {
+                endHandler.handle(v);
+            }
+        });
+        return this;
+    }
+}
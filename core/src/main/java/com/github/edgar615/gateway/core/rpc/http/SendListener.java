@@ -0,0 +1,33 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.google.common.net.HostAndPort;
+
+/**
+ * 请求发送过程中的回调.
+ * <p>
+ * {@link HedgingRpcHandler}在负载均衡之上，通过它得到负载均衡选中的实例和取消落后请求的函数.
+ * 只在选中实例的请求({@link LoadBalancedHttpRequest#toSimpleHttpRequest})上传递，复制请求时不复制.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+interface SendListener {
+
+    /**
+     * @return 是否是对冲请求，对冲请求不会与原始请求合并
+     */
+    boolean hedge();
+
+    /**
+     * 负载均衡选中了一个实例.
+     *
+     * @param instance 实例
+     */
+    void selected(HostAndPort instance);
+
+    /**
+     * 请求已经发出.
+     *
+     * @param cancellation 重置还没有完成的请求，并以失败结束
+     */
+    void sent(Runnable cancellation);
+}
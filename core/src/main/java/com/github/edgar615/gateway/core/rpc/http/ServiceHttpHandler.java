@@ -0,0 +1,53 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.ServiceHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.discovery.ServiceInstanceCache;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Future;
+
+import java.util.List;
+
+/**
+ * 使用服务发现的HTTP请求.
+ * <p>
+ * 从{@link ServiceInstanceCache}中读取服务的实例，没有实例时立即返回1003(Service Unavailable)，
+ * 否则转换为{@link LoadBalancedHttpRequest}，由{@link LoadBalancedHttpHandler}选择实例发送.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceHttpHandler implements RpcHandler {
+
+    private final ServiceInstanceCache cache;
+
+    private final RpcHandler delegate;
+
+    public ServiceHttpHandler(ServiceInstanceCache cache, RpcHandler delegate) {
+        this.cache = cache;
+        this.delegate = delegate;
+    }
+
+    public ServiceInstanceCache cache() {
+        return cache;
+    }
+
+    @Override
+    public String type() {
+        return ServiceHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        ServiceHttpRequest request = (ServiceHttpRequest) rpcRequest;
+        List<HostAndPort> instances = cache.instances(request.service());
+        if (instances.isEmpty()) {
+            return Future.failedFuture(SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)
+                                               .set("details", "no instance: " + request.service()));
+        }
+        return delegate.handle(request.toLoadBalancedHttpRequest(instances));
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.LoadBalancedHttpEndpoint;
+import com.github.edgar615.gateway.core.definition.ServiceHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.net.HostAndPort;
+
+import java.util.List;
+
+/**
+ * 使用服务发现的HTTP类型的rpc请求.
+ * <p>
+ * 请求只记录服务名称，由{@link ServiceHttpHandler}从本地的实例缓存中读取实例之后转换为{@link LoadBalancedHttpRequest}发送.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceHttpRequest extends HttpRpcRequest {
+
+    /**
+     * 下游服务的名称
+     */
+    private String service;
+
+    /**
+     * 负载均衡策略
+     */
+    private String strategy = LoadBalancedHttpEndpoint.ROUND_ROBIN;
+
+    /**
+     * 是否使用HTTP/2(h2c)
+     */
+    private boolean http2;
+
+    ServiceHttpRequest(String id, String name) {
+        super(id, name);
+    }
+
+    /**
+     * 创建服务发现的HTTP类型的RPC请求
+     *
+     * @param id   id
+     * @param name 名称
+     * @return ServiceHttpRequest
+     */
+    public static ServiceHttpRequest create(String id, String name) {
+        return new ServiceHttpRequest(id, name);
+    }
+
+    @Override
+    public String type() {
+        return ServiceHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public RpcRequest copy() {
+        ServiceHttpRequest copyReq = ServiceHttpRequest.create(id(), name());
+        copyProperties(copyReq);
+        copyReq.setService(service);
+        copyReq.setStrategy(strategy);
+        copyReq.setHttp2(http2);
+        return copyReq;
+    }
+
+    /**
+     * 转换为负载均衡的请求.
+     *
+     * @param instances 服务的实例
+     * @return LoadBalancedHttpRequest
+     */
+    public LoadBalancedHttpRequest toLoadBalancedHttpRequest(List<HostAndPort> instances) {
+        LoadBalancedHttpRequest request = LoadBalancedHttpRequest.create(id(), name());
+        copyProperties(request);
+        request.setInstances(instances);
+        request.setStrategy(strategy);
+        request.setHttp2(http2);
+        return request;
+    }
+
+    /**
+     * @return 服务名称，实际使用的实例由服务发现和负载均衡决定
+     */
+    @Override
+    public String host() {
+        return service;
+    }
+
+    @Override
+    public int port() {
+        return 80;
+    }
+
+    public String service() {
+        return service;
+    }
+
+    public ServiceHttpRequest setService(String service) {
+        Preconditions.checkNotNull(service);
+        this.service = service;
+        return this;
+    }
+
+    public String strategy() {
+        return strategy;
+    }
+
+    public ServiceHttpRequest setStrategy(String strategy) {
+        Preconditions.checkNotNull(strategy);
+        this.strategy = strategy;
+        return this;
+    }
+
+    public boolean http2() {
+        return http2;
+    }
+
+    public ServiceHttpRequest setHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    /**
+     * 断路器按照选中的实例生效，这里不使用断路器.
+     */
+    @Override
+    public String circuitBreakerName() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(ServiceHttpRequest.class.getSimpleName())
+                .add("id", id())
+                .add("name", name())
+                .add("service", service)
+                .add("strategy", strategy)
+                .add("http2", http2)
+                .add("method", method())
+                .add("path", path())
+                .add("timeout", timeout())
+                .add("headers", headers())
+                .add("params", params())
+                .add("body", body() == null ? null : body().encode())
+                .add("fallback", fallback())
+                .toString();
+    }
+}
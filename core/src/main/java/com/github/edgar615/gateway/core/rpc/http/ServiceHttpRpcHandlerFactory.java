@@ -0,0 +1,57 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import com.github.edgar615.gateway.core.definition.ServiceHttpEndpoint;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcHandlerFactory;
+import com.github.edgar615.gateway.core.rpc.discovery.ServiceInstanceCache;
+import com.github.edgar615.gateway.core.rpc.limit.ConcurrencyLimitRpcHandler;
+import com.github.edgar615.gateway.core.rpc.loadbalance.UpstreamStatsRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * 使用服务发现的HTTP请求.
+ * <p>
+ * 配置了concurrency.limit时，除了每个实例(host:port)的限制，整个服务还有一个按服务名的并发限制.
+ * 配置了rpc.hedging时在负载均衡之上对冲，对冲请求重新选择实例.
+ * 实例下线时删除负载均衡使用的统计信息.
+ * <p>
+ * 新的实例上线时预热连接，配置项：
+ * <pre>
+ * "service.warmup" : {
+ *   "enabled" : true,   是否预热，默认true
+ *   "path" : "/",       预热请求(HEAD)的路径
+ *   "connections" : 1   每个实例预热的连接数
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceHttpRpcHandlerFactory implements RpcHandlerFactory {
+    @Override
+    public String type() {
+        return ServiceHttpEndpoint.TYPE;
+    }
+
+    @Override
+    public RpcHandler create(Vertx vertx, JsonObject config) {
+        SimpleHttpHandler simpleHttpHandler = new SimpleHttpHandler(vertx, config);
+        UpstreamStatsRegistry registry = UpstreamStatsRegistry.shared(vertx);
+        RpcHandler loadBalanced = HedgingRpcHandler.wrap(vertx, config, LoadBalancedHttpHandler.create(
+                vertx, config, SimpleHttpRpcHandlerFactory.wrap(vertx, config, simpleHttpHandler),
+                registry));
+        ServiceInstanceCache cache = ServiceInstanceCache.create(vertx, config);
+        cache.addRemoveListener((service, instance) -> registry.remove(instance));
+        JsonObject warmup = config.getJsonObject("service.warmup", new JsonObject());
+        if (warmup.getBoolean("enabled", true)) {
+            String path = warmup.getString("path", "/");
+            int connections = warmup.getInteger("connections", 1);
+            Context context = vertx.getOrCreateContext();
+            cache.addListener((service, instance) -> context.runOnContext(v -> simpleHttpHandler
+                    .warm(instance.getHost(), instance.getPort(), path, connections)));
+        }
+        return ConcurrencyLimitRpcHandler
+                .wrap(vertx, config, new ServiceHttpHandler(cache, loadBalanced));
+    }
+}
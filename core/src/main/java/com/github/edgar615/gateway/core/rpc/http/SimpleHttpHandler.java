@@ -5,6 +5,7 @@ import com.github.edgar615.gateway.core.rpc.RpcHandler;
 import com.github.edgar615.gateway.core.rpc.RpcRequest;
 import com.github.edgar615.gateway.core.rpc.RpcResponse;
 import com.github.edgar615.gateway.core.utils.MultimapUtils;
+import com.github.edgar615.gateway.core.utils.StreamUtils;
 import com.github.edgar615.util.exception.DefaultErrorCode;
 import com.github.edgar615.util.exception.SystemException;
 import com.google.common.base.Joiner;
@@ -12,7 +13,6 @@ import com.google.common.base.Strings;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
@@ -23,9 +23,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by Edgar on 2016/12/30.
+ * <p>
+ * HttpClient的配置和连接池的划分参考{@link HttpClientPools}.
  *
  * @author Edgar  Date 2016/12/30
  */
@@ -33,10 +36,22 @@ public class SimpleHttpHandler implements RpcHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleHttpHandler.class);
 
-    private final HttpClient httpClient;
+    private final Vertx vertx;
+
+    private final HttpClientPools pools;
 
     public SimpleHttpHandler(Vertx vertx, JsonObject config) {
-        this.httpClient = vertx.createHttpClient();
+        this.vertx = vertx;
+        this.pools = new HttpClientPools(vertx, config);
+    }
+
+    /**
+     * 连接池的统计信息.
+     *
+     * @return key为连接池名称(default或者host:port)，value为连接池的统计信息
+     */
+    public JsonObject metrics() {
+        return pools.metrics();
     }
 
     //  @Override
@@ -56,24 +71,61 @@ public class SimpleHttpHandler implements RpcHandler {
         }
 
         logClientSend(request);
+        HttpClientPool pool = pools.pool(request.host(), request.port(),
+                request.http2() || pools.http2());
+        pool.requestStarted();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                pool.requestEnded();
+            }
+        };
+        Future<RpcResponse> result = Future.future();
         Future<RpcResponse> future = Future.future();
+        future.setHandler(ar -> {
+            //流式响应在响应体读取完之后才归还
+            if (ar.failed() || ar.result().bodyStream() == null) {
+                release.run();
+            }
+            result.handle(ar);
+        });
         String path = requestPath(request);
         final Duration duration = new Duration();
         HttpClientRequest httpClientRequest =
-                httpClient
+                pool.httpClient()
                         .request(request.method(), request.port(), request.host(), path)
                         .putHeader("content-type", "application/json; charset=utf-8");
         httpClientRequest.handler(response -> {
             duration.setRepliedOn(System.currentTimeMillis());
+            if (request.streamResponse()) {
+                //暂停响应，由调用方设置好处理函数之后再恢复
+                response.pause();
+                duration.setBodyHandledOn(duration.getRepliedOn());
+                RpcResponse rpcResponse = RpcResponse.stream(request.id(),
+                        response.statusCode(),
+                        new PooledReadStream(vertx, request.id(), response, release,
+                                             httpClientRequest::reset, request.timeout()),
+                        duration.duration());
+                logClientReceivedStream(rpcResponse);
+                future.tryComplete(rpcResponse);
+                return;
+            }
             response.bodyHandler(body -> {
                 duration.setBodyHandledOn(System.currentTimeMillis());
-                RpcResponse rpcResponse =
-                        RpcResponse.create(request.id(),
-                                response.statusCode(),
-                                body,
-                                duration.duration());
+                RpcResponse rpcResponse;
+                if (request.parseBody()) {
+                    rpcResponse = RpcResponse.create(request.id(),
+                            response.statusCode(),
+                            body,
+                            duration.duration());
+                } else {
+                    rpcResponse = RpcResponse.passthrough(request.id(),
+                            response.statusCode(),
+                            body,
+                            duration.duration());
+                }
                 logClientReceived(rpcResponse, body, duration);
-                future.complete(rpcResponse);
+                future.tryComplete(rpcResponse);
             }).exceptionHandler(throwable -> {
                 if (!future.isComplete()) {
                     logRequestError(rpcRequest, duration, throwable);
@@ -82,15 +134,30 @@ public class SimpleHttpHandler implements RpcHandler {
             });
         }).connectionHandler(conn -> {
             duration.setConnectedOn(System.currentTimeMillis());
+            pool.connectionOpened(conn);
         }).endHandler(v -> {
             duration.setEndedOn(System.currentTimeMillis());
         });
+        //对冲请求中落后的请求会被取消
+        if (request.listener() != null) {
+            request.listener().sent(() -> {
+                if (!future.isComplete()) {
+                    httpClientRequest.reset();
+                    future.tryFail(SystemException.create(DefaultErrorCode.UNKOWN)
+                                           .set("details", "request cancelled"));
+                }
+            });
+        }
         header(request, httpClientRequest);
         exceptionHandler(future, httpClientRequest);
         timeout(request, httpClientRequest);
 
-        endRequest(request, httpClientRequest);
-        return future;
+        if (request.bodyStream() != null) {
+            streamRequest(request, httpClientRequest, future, pool.http2());
+        } else {
+            endRequest(request, httpClientRequest, pool.http2());
+        }
+        return result;
     }
 
     @Override
@@ -98,6 +165,31 @@ public class SimpleHttpHandler implements RpcHandler {
         return SimpleHttpEndpoint.TYPE;
     }
 
+    /**
+     * 预热连接：并发发送connections个HEAD请求，建立的连接在请求结束之后留在连接池中，
+     * 新实例上线之后的第一批请求不需要再等待建立连接.
+     * 预热请求的响应会被忽略.
+     *
+     * @param host        主机
+     * @param port        端口
+     * @param path        预热请求的路径
+     * @param connections 预热的连接数
+     */
+    void warm(String host, int port, String path, int connections) {
+        HttpClientPool pool = pools.pool(host, port, pools.http2());
+        for (int i = 0; i < connections; i++) {
+            pool.httpClient().request(HttpMethod.HEAD, port, host, path)
+                    .handler(response -> response.bodyHandler(body -> {
+                    }))
+                    .connectionHandler(pool::connectionOpened)
+                    .exceptionHandler(throwable -> LOGGER.debug("[warm] [{}:{}] [{}]", host, port,
+                                                                throwable.getMessage()))
+                    .setTimeout(5000)
+                    .end();
+        }
+        LOGGER.info("[warm] [{}:{}] [{}]", host, port, connections);
+    }
+
     private String urlEncode(String path) {
         try {
             return URLEncoder.encode(path, "UTF-8");
@@ -109,7 +201,8 @@ public class SimpleHttpHandler implements RpcHandler {
     private boolean checkBody(HttpRpcRequest request) {
         return (request.method() == HttpMethod.POST
                 || request.method() == HttpMethod.PUT)
-                && request.body() == null;
+                && request.body() == null
+                && request.bodyStream() == null;
     }
 
     private void header(HttpRpcRequest rpcRequest, HttpClientRequest request) {
@@ -132,11 +225,15 @@ public class SimpleHttpHandler implements RpcHandler {
         }
     }
 
-    private void endRequest(HttpRpcRequest rpcRequest, HttpClientRequest request) {
+    private void endRequest(HttpRpcRequest rpcRequest, HttpClientRequest request,
+                            boolean http2) {
         if (rpcRequest.method() == HttpMethod.GET) {
             request.end();
         } else if (rpcRequest.method() == HttpMethod.DELETE) {
             request.end();
+        } else if (http2) {
+            //HTTP/2使用DATA帧传输请求体，不需要chunked，由end方法设置content-length
+            request.end(rpcRequest.body().encode());
         } else if (rpcRequest.method() == HttpMethod.POST) {
             request.setChunked(true)
                     .end(rpcRequest.body().encode());
@@ -146,6 +243,21 @@ public class SimpleHttpHandler implements RpcHandler {
         }
     }
 
+    private void streamRequest(HttpRpcRequest rpcRequest, HttpClientRequest request,
+                               Future<RpcResponse> future, boolean http2) {
+        if (!http2 && !request.headers().contains("content-length")) {
+            request.setChunked(true);
+        }
+        StreamUtils.pump(rpcRequest.bodyStream(), request, ar -> {
+            if (ar.succeeded()) {
+                request.end();
+            } else {
+                request.reset();
+                future.tryFail(ar.cause());
+            }
+        });
+    }
+
     private boolean checkMethod(HttpRpcRequest rpcRequest) {
         return rpcRequest.method() != HttpMethod.GET
                 && rpcRequest.method() != HttpMethod.DELETE
@@ -185,7 +297,13 @@ public class SimpleHttpHandler implements RpcHandler {
     private void logClientReceived(RpcResponse rpcResponse, Buffer body, Duration duration) {
         LOGGER.info("[{}] [CR] [HTTP] [{}] [{}bytes] [{}ms]", rpcResponse.id(),
                 rpcResponse.statusCode(),
-                body.getBytes().length,
+                body.length(),
+                rpcResponse.elapsedTime());
+    }
+
+    private void logClientReceivedStream(RpcResponse rpcResponse) {
+        LOGGER.info("[{}] [CR] [HTTP] [{}] [stream] [{}ms]", rpcResponse.id(),
+                rpcResponse.statusCode(),
                 rpcResponse.elapsedTime());
     }
 
@@ -195,7 +313,8 @@ public class SimpleHttpHandler implements RpcHandler {
                 httpRpcRequest.method().name(), httpRpcRequest.path(),
                 MultimapUtils.convertToString(httpRpcRequest.headers(), "no header"),
                 MultimapUtils.convertToString(httpRpcRequest.params(), "no param"),
-                httpRpcRequest.body() == null ? "no body" : httpRpcRequest.body().encode());
+                httpRpcRequest.bodyStream() != null ? "stream"
+                        : httpRpcRequest.body() == null ? "no body" : httpRpcRequest.body().encode());
     }
 
     /**
@@ -23,6 +23,11 @@ public class SimpleHttpRequest extends HttpRpcRequest {
      */
     private String host = "localhost";
 
+    /**
+     * 是否使用HTTP/2(h2c)
+     */
+    private boolean http2;
+
     SimpleHttpRequest(String id, String name) {
         super(id, name);
     }
@@ -49,8 +54,12 @@ public class SimpleHttpRequest extends HttpRpcRequest {
         copyReq.setPath(path());
         copyReq.setPort(port);
         copyReq.setHost(host);
+        copyReq.setHttp2(http2);
         copyReq.setHttpMethod(method());
         copyReq.setTimeout(timeout());
+        copyReq.setParseBody(parseBody());
+        copyReq.setBodyStream(shareBodyStream());
+        copyReq.setStreamResponse(streamResponse());
         copyReq.setBody(body());
         copyReq.addParams(ArrayListMultimap.create(params()));
         copyReq.addHeaders(ArrayListMultimap.create(headers()));
@@ -81,6 +90,15 @@ public class SimpleHttpRequest extends HttpRpcRequest {
         return this;
     }
 
+    public boolean http2() {
+        return http2;
+    }
+
+    public SimpleHttpRequest setHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(SimpleHttpRequest.class.getSimpleName())
@@ -88,6 +106,7 @@ public class SimpleHttpRequest extends HttpRpcRequest {
                 .add("name", name())
                 .add("host", host)
                 .add("port", port)
+                .add("http2", http2)
                 .add("method", method())
                 .add("path", path())
                 .add("timeout", timeout())
@@ -3,11 +3,18 @@ package com.github.edgar615.gateway.core.rpc.http;
 import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
 import com.github.edgar615.gateway.core.rpc.RpcHandler;
 import com.github.edgar615.gateway.core.rpc.RpcHandlerFactory;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerRpcHandler;
+import com.github.edgar615.gateway.core.rpc.limit.ConcurrencyLimitRpcHandler;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
 /**
  * Created by edgar on 16-12-31.
+ * <p>
+ * 配置了circuit.breaker时，返回使用断路器包装的SimpleHttpHandler，参考{@link CircuitBreakerRpcHandler}.
+ * 配置了rpc.coalescing时，相同的并发GET请求在断路器之前合并，参考{@link CoalescingRpcHandler}.
+ * 配置了rpc.hedging时，慢的GET请求会发送对冲请求，参考{@link HedgingRpcHandler}.
+ * 配置了concurrency.limit时，每个host:port的并发请求数受自适应并发限制，参考{@link ConcurrencyLimitRpcHandler}.
  */
 public class SimpleHttpRpcHandlerFactory implements RpcHandlerFactory {
     @Override
@@ -17,6 +24,21 @@ public class SimpleHttpRpcHandlerFactory implements RpcHandlerFactory {
 
     @Override
     public RpcHandler create(Vertx vertx, JsonObject config) {
-        return new SimpleHttpHandler(vertx, config);
+        return HedgingRpcHandler
+                .wrap(vertx, config, wrap(vertx, config, new SimpleHttpHandler(vertx, config)));
+    }
+
+    /**
+     * 按照配置包装SimpleHttpHandler：合并请求 -> 断路器 -> 并发限制 -> SimpleHttpHandler.
+     * 对冲请求在这个链之上，lb-http和service-http在负载均衡之上对冲，参考{@link HedgingRpcHandler}.
+     *
+     * @param vertx   Vertx
+     * @param config  配置
+     * @param handler SimpleHttpHandler
+     * @return RpcHandler
+     */
+    static RpcHandler wrap(Vertx vertx, JsonObject config, SimpleHttpHandler handler) {
+        return CoalescingRpcHandler.wrap(config, CircuitBreakerRpcHandler
+                .wrap(vertx, config, ConcurrencyLimitRpcHandler.wrap(vertx, config, handler)));
     }
 }
@@ -0,0 +1,219 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Objects;
+
+/**
+ * 自适应并发限制的配置.
+ * <pre>
+ * "concurrency.limit" : {
+ *   "initialLimit" : 20,    初始的并发限制，不设置时为20，并调整到[minLimit, maxLimit]之内
+ *   "minLimit" : 4,         最小的并发限制
+ *   "maxLimit" : 500,       最大的并发限制
+ *   "smoothing" : 0.2,      每个样本对限制的影响，0-1，越大调整越快
+ *   "tolerance" : 2.0,      延迟上升到长期平均延迟的多少倍之后开始减少限制
+ *   "backoff" : 0.9,        请求过载失败时限制乘以这个值
+ *   "window" : 600,         计算长期平均延迟的样本数
+ *   "warmupSamples" : 10    样本数达到这个值之后才开始调整限制
+ * }
+ * </pre>
+ * 每个setter只检查自己的取值范围，minLimit、maxLimit和initialLimit之间的关系在所有的值都设置之后由{@link #validate()}检查，
+ * 与设置的顺序无关.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ConcurrencyLimitOptions {
+
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    private static final int DEFAULT_MIN_LIMIT = 4;
+
+    private static final int DEFAULT_MAX_LIMIT = 500;
+
+    private static final double DEFAULT_SMOOTHING = 0.2;
+
+    private static final double DEFAULT_TOLERANCE = 2.0;
+
+    private static final double DEFAULT_BACKOFF = 0.9;
+
+    private static final int DEFAULT_WINDOW = 600;
+
+    private static final int DEFAULT_WARMUP_SAMPLES = 10;
+
+    /**
+     * 没有设置时为null
+     */
+    private Integer initialLimit;
+
+    private int minLimit = DEFAULT_MIN_LIMIT;
+
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+
+    private double smoothing = DEFAULT_SMOOTHING;
+
+    private double tolerance = DEFAULT_TOLERANCE;
+
+    private double backoff = DEFAULT_BACKOFF;
+
+    private int window = DEFAULT_WINDOW;
+
+    private int warmupSamples = DEFAULT_WARMUP_SAMPLES;
+
+    public ConcurrencyLimitOptions() {
+    }
+
+    public ConcurrencyLimitOptions(JsonObject json) {
+        setMinLimit(json.getInteger("minLimit", DEFAULT_MIN_LIMIT));
+        setMaxLimit(json.getInteger("maxLimit", DEFAULT_MAX_LIMIT));
+        if (json.containsKey("initialLimit")) {
+            setInitialLimit(json.getInteger("initialLimit"));
+        }
+        setSmoothing(json.getDouble("smoothing", DEFAULT_SMOOTHING));
+        setTolerance(json.getDouble("tolerance", DEFAULT_TOLERANCE));
+        setBackoff(json.getDouble("backoff", DEFAULT_BACKOFF));
+        setWindow(json.getInteger("window", DEFAULT_WINDOW));
+        setWarmupSamples(json.getInteger("warmupSamples", DEFAULT_WARMUP_SAMPLES));
+        validate();
+    }
+
+    /**
+     * 检查minLimit、maxLimit和initialLimit之间的关系.
+     *
+     * @return ConcurrencyLimitOptions
+     * @throws IllegalArgumentException minLimit大于maxLimit，或者设置的initialLimit不在[minLimit, maxLimit]之内
+     */
+    public ConcurrencyLimitOptions validate() {
+        Preconditions.checkArgument(maxLimit >= minLimit, "maxLimit must >= minLimit");
+        Preconditions.checkArgument(initialLimit == null
+                                    || (initialLimit >= minLimit && initialLimit <= maxLimit),
+                                    "initialLimit must between minLimit and maxLimit");
+        return this;
+    }
+
+    /**
+     * @return 初始的并发限制，没有设置时返回调整到[minLimit, maxLimit]之内的默认值
+     */
+    public int getInitialLimit() {
+        if (initialLimit != null) {
+            return initialLimit;
+        }
+        return Math.max(minLimit, Math.min(maxLimit, DEFAULT_INITIAL_LIMIT));
+    }
+
+    public ConcurrencyLimitOptions setInitialLimit(int initialLimit) {
+        Preconditions.checkArgument(initialLimit > 0, "initialLimit must > 0");
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public ConcurrencyLimitOptions setMinLimit(int minLimit) {
+        Preconditions.checkArgument(minLimit > 0, "minLimit must > 0");
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public ConcurrencyLimitOptions setMaxLimit(int maxLimit) {
+        Preconditions.checkArgument(maxLimit > 0, "maxLimit must > 0");
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public ConcurrencyLimitOptions setSmoothing(double smoothing) {
+        Preconditions.checkArgument(smoothing > 0 && smoothing <= 1, "smoothing must between 0 and 1");
+        this.smoothing = smoothing;
+        return this;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public ConcurrencyLimitOptions setTolerance(double tolerance) {
+        Preconditions.checkArgument(tolerance >= 1, "tolerance must >= 1");
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    public double getBackoff() {
+        return backoff;
+    }
+
+    public ConcurrencyLimitOptions setBackoff(double backoff) {
+        Preconditions.checkArgument(backoff > 0 && backoff < 1, "backoff must between 0 and 1");
+        this.backoff = backoff;
+        return this;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public ConcurrencyLimitOptions setWindow(int window) {
+        Preconditions.checkArgument(window > 0, "window must > 0");
+        this.window = window;
+        return this;
+    }
+
+    public int getWarmupSamples() {
+        return warmupSamples;
+    }
+
+    public ConcurrencyLimitOptions setWarmupSamples(int warmupSamples) {
+        Preconditions.checkArgument(warmupSamples >= 0, "warmupSamples must >= 0");
+        this.warmupSamples = warmupSamples;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConcurrencyLimitOptions that = (ConcurrencyLimitOptions) o;
+        return Objects.equals(initialLimit, that.initialLimit) &&
+               minLimit == that.minLimit &&
+               maxLimit == that.maxLimit &&
+               Double.compare(smoothing, that.smoothing) == 0 &&
+               Double.compare(tolerance, that.tolerance) == 0 &&
+               Double.compare(backoff, that.backoff) == 0 &&
+               window == that.window &&
+               warmupSamples == that.warmupSamples;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialLimit, minLimit, maxLimit, smoothing, tolerance, backoff, window, warmupSamples);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper("ConcurrencyLimitOptions")
+                .add("initialLimit", getInitialLimit())
+                .add("minLimit", minLimit)
+                .add("maxLimit", maxLimit)
+                .add("smoothing", smoothing)
+                .add("tolerance", tolerance)
+                .add("backoff", backoff)
+                .add("window", window)
+                .add("warmupSamples", warmupSamples)
+                .toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import com.github.edgar615.gateway.core.rpc.Fallbackable;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.http.ServiceHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 使用自适应并发限制包装的RpcHandler.
+ * <p>
+ * SimpleHttpRequest按照host:port限制，ServiceHttpRequest按照服务名限制，其他请求不限制.
+ * <pre>
+ * 超过限制：不再发送请求，如果请求设置了fallback({@link Fallbackable})，直接返回fallback的副本，否则返回1003(Service Unavailable)
+ * 调用成功：使用响应的elapsedTime(SimpleHttpHandler记录的请求耗时)调整限制
+ * 调用失败或者返回503：视为下游过载，减少限制
+ * </pre>
+ * SystemException一般是请求本身的参数错误，按照正常的样本处理.
+ * 配置了concurrency.limit时才会启用，配置项参考{@link ConcurrencyLimitOptions}，算法参考{@link ConcurrencyLimiter}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ConcurrencyLimitRpcHandler implements RpcHandler {
+
+    public static final String CONFIG_KEY = "concurrency.limit";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitRpcHandler.class);
+
+    private final RpcHandler delegate;
+
+    private final ConcurrencyLimiterRegistry registry;
+
+    public ConcurrencyLimitRpcHandler(RpcHandler delegate, ConcurrencyLimiterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    /**
+     * 如果配置了concurrency.limit，使用并发限制包装RpcHandler.
+     *
+     * @param vertx    Vertx
+     * @param config   配置
+     * @param delegate 被包装的RpcHandler
+     * @return RpcHandler
+     */
+    public static RpcHandler wrap(Vertx vertx, JsonObject config, RpcHandler delegate) {
+        JsonObject limitConfig = config.getJsonObject(CONFIG_KEY);
+        if (limitConfig == null) {
+            return delegate;
+        }
+        return new ConcurrencyLimitRpcHandler(delegate, ConcurrencyLimiterRegistry
+                .shared(vertx, new ConcurrencyLimitOptions(limitConfig)));
+    }
+
+    public RpcHandler delegate() {
+        return delegate;
+    }
+
+    /**
+     * @return 并发限制的统计信息
+     */
+    public JsonObject metrics() {
+        return registry.metrics();
+    }
+
+    @Override
+    public String type() {
+        return delegate.type();
+    }
+
+    @Override
+    public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+        String name = limiterName(rpcRequest);
+        if (name == null) {
+            return delegate.handle(rpcRequest);
+        }
+        ConcurrencyLimiter limiter = registry.limiter(name);
+        if (!limiter.tryAcquire()) {
+            return rejected(rpcRequest, limiter);
+        }
+        long started = System.currentTimeMillis();
+        Future<RpcResponse> result = Future.future();
+        try {
+            delegate.handle(rpcRequest).setHandler(ar -> {
+                if (ar.succeeded()) {
+                    limiter.release(ar.result().elapsedTime(), ar.result().statusCode() == 503);
+                } else {
+                    limiter.release(System.currentTimeMillis() - started,
+                                    !(ar.cause() instanceof SystemException));
+                }
+                result.handle(ar);
+            });
+        } catch (RuntimeException e) {
+            limiter.release(System.currentTimeMillis() - started, false);
+            throw e;
+        }
+        return result;
+    }
+
+    private String limiterName(RpcRequest rpcRequest) {
+        if (rpcRequest instanceof ServiceHttpRequest) {
+            return ((ServiceHttpRequest) rpcRequest).service();
+        }
+        if (rpcRequest instanceof SimpleHttpRequest) {
+            SimpleHttpRequest request = (SimpleHttpRequest) rpcRequest;
+            return request.host() + ":" + request.port();
+        }
+        return null;
+    }
+
+    private Future<RpcResponse> rejected(RpcRequest rpcRequest, ConcurrencyLimiter limiter) {
+        if (rpcRequest instanceof Fallbackable
+            && ((Fallbackable) rpcRequest).fallback() != null) {
+            LOGGER.info("[{}] [concurrencyLimit] [{}] [fallback]", rpcRequest.id(), limiter.name());
+            return Future.succeededFuture(((Fallbackable) rpcRequest).fallback().copy());
+        }
+        LOGGER.info("[{}] [concurrencyLimit] [{}] [rejected] [{}]", rpcRequest.id(), limiter.name(),
+                    limiter.limit());
+        return Future.failedFuture(SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)
+                                           .set("details", "concurrency limit exceeded: "
+                                                           + limiter.name()));
+    }
+}
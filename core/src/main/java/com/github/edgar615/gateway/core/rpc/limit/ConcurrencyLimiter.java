@@ -0,0 +1,161 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应的并发限制(gradient算法)，所有的event loop共享，不需要加锁.
+ * <p>
+ * 下游服务过载时最先表现为延迟上升，而不是错误.用长期的平均延迟(longRtt)作为没有排队时的基准，
+ * 和每个请求的延迟(rtt)比较：
+ * <pre>
+ * gradient = max(0.5, min(1, tolerance * longRtt / rtt))
+ * newLimit = limit * gradient + sqrt(limit)
+ * limit = limit * (1 - smoothing) + newLimit * smoothing
+ * </pre>
+ * 延迟没有上升时gradient为1，限制按照sqrt(limit)缓慢增加；延迟上升超过tolerance倍之后限制按比例减少.
+ * 请求失败(超时、连接错误)或者下游返回503时，限制直接乘以backoff.
+ * 正在处理的请求数不到限制的一半时，说明限制不是瓶颈，不再增加限制，避免空闲时限制无限增长.
+ * <p>
+ * 限制和平均延迟保存在一个不可变对象中，通过CAS替换.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+
+    private final ConcurrencyLimitOptions options;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicReference<State> state;
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    ConcurrencyLimiter(String name, ConcurrencyLimitOptions options) {
+        this.name = name;
+        this.options = options.validate();
+        this.state = new AtomicReference<>(new State(options.getInitialLimit(), 0, 0));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return 当前的并发限制
+     */
+    public int limit() {
+        return (int) state.get().limit;
+    }
+
+    /**
+     * @return 正在处理的请求数
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 尝试获取一个许可.
+     *
+     * @return 正在处理的请求数已经达到限制时返回false，返回true时必须在请求结束之后调用{@link #release(long, boolean)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可并根据请求的延迟调整限制.
+     *
+     * @param rtt       请求的延迟，毫秒
+     * @param isDropped 请求是否因为下游过载而失败(超时、连接错误、503)
+     */
+    public void release(long rtt, boolean isDropped) {
+        int current = inFlight.getAndDecrement();
+        if (isDropped) {
+            dropped.increment();
+        }
+        //毫秒精度下很快的请求的延迟可能是0
+        double sample = Math.max(1, rtt);
+        while (true) {
+            State prev = state.get();
+            State next = isDropped ? prev.backoff() : prev.sample(sample, current);
+            if (state.compareAndSet(prev, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return limit：当前的限制，inFlight：正在处理的请求数，longRtt：长期的平均延迟，
+     * accepted/rejected：获取许可成功/失败的次数，dropped：过载失败的次数
+     */
+    public JsonObject metrics() {
+        State current = state.get();
+        return new JsonObject()
+                .put("limit", (int) current.limit)
+                .put("inFlight", inFlight.get())
+                .put("longRtt", current.longRtt)
+                .put("accepted", accepted.sum())
+                .put("rejected", rejected.sum())
+                .put("dropped", dropped.sum());
+    }
+
+    private class State {
+
+        private final double limit;
+
+        private final double longRtt;
+
+        private final long samples;
+
+        private State(double limit, double longRtt, long samples) {
+            this.limit = limit;
+            this.longRtt = longRtt;
+            this.samples = samples;
+        }
+
+        private State backoff() {
+            return new State(clamp(limit * options.getBackoff()), longRtt, samples);
+        }
+
+        private State sample(double rtt, int inFlight) {
+            double window = Math.min(samples + 1, options.getWindow());
+            double newLongRtt = longRtt + (rtt - longRtt) / window;
+            //延迟明显下降(例如下游扩容)之后，基准不应该继续停留在旧的高位
+            if (newLongRtt > rtt * 2) {
+                newLongRtt = newLongRtt * 0.95;
+            }
+            if (samples + 1 < options.getWarmupSamples() || inFlight < limit / 2) {
+                return new State(limit, newLongRtt, samples + 1);
+            }
+            double gradient = Math.max(0.5, Math.min(1, options.getTolerance() * newLongRtt / rtt));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - options.getSmoothing()) + newLimit * options.getSmoothing();
+            return new State(clamp(newLimit), newLongRtt, samples + 1);
+        }
+
+        private double clamp(double value) {
+            return Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(), value));
+        }
+    }
+}
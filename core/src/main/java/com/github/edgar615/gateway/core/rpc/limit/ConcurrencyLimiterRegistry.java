@@ -0,0 +1,54 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import com.github.edgar615.gateway.core.utils.SharedInstances;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按下游服务保存的并发限制.
+ * <p>
+ * 同一个vertx中所有verticle的RpcHandler共享同一组限制(参考{@link SharedInstances})，
+ * 正在处理的请求数是整个进程发往这个下游服务的请求数.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private static final String SHARED_MAP = "__gateway.concurrencyLimiters";
+
+    private final ConcurrencyLimitOptions options;
+
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    ConcurrencyLimiterRegistry(ConcurrencyLimitOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 返回vertx中共享的注册表.
+     *
+     * @param vertx   Vertx
+     * @param options 并发限制的配置
+     * @return ConcurrencyLimiterRegistry
+     */
+    public static ConcurrencyLimiterRegistry shared(Vertx vertx, ConcurrencyLimitOptions options) {
+        return SharedInstances.getOrCreate(vertx, SHARED_MAP, options,
+                                           () -> new ConcurrencyLimiterRegistry(options));
+    }
+
+    public ConcurrencyLimiter limiter(String name) {
+        return limiters.computeIfAbsent(name, k -> new ConcurrencyLimiter(k, options));
+    }
+
+    /**
+     * @return key为下游服务，value为并发限制的统计信息
+     */
+    public JsonObject metrics() {
+        JsonObject metrics = new JsonObject();
+        limiters.forEach((name, limiter) -> metrics.put(name, limiter.metrics()));
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.github.edgar615.gateway.core.definition.LoadBalancedHttpEndpoint;
+import com.google.common.net.HostAndPort;
+
+import java.util.List;
+
+/**
+ * 负载均衡策略，从一组实例中选择一个.
+ * <p>
+ * 实现类本身没有状态，需要的统计信息都保存在{@link UpstreamStatsRegistry}中.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public interface LoadBalancer {
+
+    /**
+     * 创建负载均衡策略.
+     *
+     * @param strategy 策略名称 round-robin | p2c | peak-ewma
+     * @param registry 实例的统计信息
+     * @return LoadBalancer
+     */
+    static LoadBalancer create(String strategy, UpstreamStatsRegistry registry) {
+        if (LoadBalancedHttpEndpoint.ROUND_ROBIN.equalsIgnoreCase(strategy)) {
+            return new RoundRobinLoadBalancer(registry);
+        }
+        if (LoadBalancedHttpEndpoint.P2C.equalsIgnoreCase(strategy)) {
+            return new TwoChoicesLoadBalancer(registry, false);
+        }
+        if (LoadBalancedHttpEndpoint.PEAK_EWMA.equalsIgnoreCase(strategy)) {
+            return new TwoChoicesLoadBalancer(registry, true);
+        }
+        throw new IllegalArgumentException("unsupported strategy: " + strategy);
+    }
+
+    /**
+     * 选择一个实例.
+     *
+     * @param instances 实例，不能为空
+     * @return 选择的实例
+     */
+    HostAndPort select(List<HostAndPort> instances);
+}
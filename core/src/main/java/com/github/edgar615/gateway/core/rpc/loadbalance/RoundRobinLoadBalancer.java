@@ -0,0 +1,45 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.google.common.net.HostAndPort;
+
+import java.util.List;
+
+/**
+ * 轮询.
+ * <p>
+ * 每个实例记录最后一次被选中的序号，选择序号最小(最久没有被选中)的实例.
+ * 状态只按照实例保存，实例列表变化或者多个服务共用一个实例时不需要为每组实例单独计数.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class RoundRobinLoadBalancer implements LoadBalancer {
+
+    private final UpstreamStatsRegistry registry;
+
+    RoundRobinLoadBalancer(UpstreamStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public HostAndPort select(List<HostAndPort> instances) {
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+        while (true) {
+            UpstreamStats oldest = null;
+            long oldestSelected = Long.MAX_VALUE;
+            for (HostAndPort instance : instances) {
+                UpstreamStats stats = registry.stats(instance);
+                long selected = stats.selected();
+                if (selected < oldestSelected) {
+                    oldest = stats;
+                    oldestSelected = selected;
+                }
+            }
+            //其他线程同时选中了这个实例，重新选择
+            if (oldest.select(oldestSelected, registry.nextSequence())) {
+                return oldest.address();
+            }
+        }
+    }
+}
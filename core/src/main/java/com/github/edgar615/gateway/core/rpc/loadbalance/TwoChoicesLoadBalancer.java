@@ -0,0 +1,48 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.google.common.net.HostAndPort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机选择两个实例，选择负载较低的一个(power of two choices).
+ * <pre>
+ * p2c：      比较正在处理的请求数
+ * peak-ewma：比较延迟 * (正在处理的请求数 + 1)，参考{@link UpstreamStats#cost()}
+ * </pre>
+ * 只比较两个实例，不需要扫描所有实例，也避免了所有event loop同时选中同一个"最好"的实例.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+class TwoChoicesLoadBalancer implements LoadBalancer {
+
+    private final UpstreamStatsRegistry registry;
+
+    private final boolean latencyAware;
+
+    TwoChoicesLoadBalancer(UpstreamStatsRegistry registry, boolean latencyAware) {
+        this.registry = registry;
+        this.latencyAware = latencyAware;
+    }
+
+    @Override
+    public HostAndPort select(List<HostAndPort> instances) {
+        int size = instances.size();
+        if (size == 1) {
+            return instances.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        UpstreamStats a = registry.stats(instances.get(first));
+        UpstreamStats b = registry.stats(instances.get(second));
+        if (latencyAware) {
+            return a.cost() <= b.cost() ? a.address() : b.address();
+        }
+        return a.outstanding() <= b.outstanding() ? a.address() : b.address();
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 一个下游实例的统计信息，所有的event loop共享，不需要加锁.
+ * <p>
+ * 记录正在处理的请求数和峰值敏感的指数加权移动平均延迟(peak EWMA)：
+ * <pre>
+ * 新的延迟大于平均值：平均值直接变为新的延迟，变慢的实例会被立即发现
+ * 新的延迟小于平均值：按照距离上次更新的时间衰减，w = exp(-elapsed / decay)，ewma = ewma * w + rtt * (1 - w)
+ * </pre>
+ * 失败的请求按照至少FAILURE_PENALTY的延迟计算，快速失败的实例不会因为"延迟低"而吸引更多的请求.
+ * 平均值和更新时间保存在一个不可变对象中，通过CAS替换.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class UpstreamStats {
+
+    /**
+     * 失败请求的最小延迟，纳秒
+     */
+    static final long FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 没有延迟数据但是有正在处理的请求时的成本，避免所有请求都涌向一个新的实例
+     */
+    private static final double PENALTY = FAILURE_PENALTY;
+
+    private final HostAndPort address;
+
+    private final double decay;
+
+    private final LongSupplier clock;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicReference<Ewma> ewma;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * 轮询时最后一次被选中的序号
+     */
+    private final AtomicLong selected = new AtomicLong();
+
+    UpstreamStats(HostAndPort address, long decayNanos, LongSupplier clock) {
+        this.address = address;
+        this.decay = decayNanos;
+        this.clock = clock;
+        this.ewma = new AtomicReference<>(new Ewma(0, clock.getAsLong()));
+    }
+
+    public HostAndPort address() {
+        return address;
+    }
+
+    /**
+     * 开始一次请求.
+     *
+     * @return 开始时间，请求结束时传给{@link #end(long, boolean)}
+     */
+    public long start() {
+        outstanding.incrementAndGet();
+        requests.increment();
+        return clock.getAsLong();
+    }
+
+    /**
+     * 结束一次请求.
+     *
+     * @param started {@link #start()}返回的开始时间
+     * @param failed  请求是否失败
+     */
+    public void end(long started, boolean failed) {
+        outstanding.decrementAndGet();
+        long now = clock.getAsLong();
+        long rtt = Math.max(0, now - started);
+        if (failed) {
+            failures.increment();
+            rtt = Math.max(rtt, FAILURE_PENALTY);
+        }
+        while (true) {
+            Ewma current = ewma.get();
+            if (ewma.compareAndSet(current, current.observe(rtt, now, decay))) {
+                return;
+            }
+        }
+    }
+
+    long selected() {
+        return selected.get();
+    }
+
+    /**
+     * 轮询选中了这个实例.
+     *
+     * @param expected 选择时读到的序号
+     * @param sequence 新的序号
+     * @return 其他线程已经选中了这个实例时返回false
+     */
+    boolean select(long expected, long sequence) {
+        return selected.compareAndSet(expected, sequence);
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return 当前的平均延迟(衰减到现在)，纳秒
+     */
+    public double latency() {
+        return ewma.get().decayed(clock.getAsLong(), decay);
+    }
+
+    /**
+     * 负载的成本：平均延迟 * (正在处理的请求数 + 1).
+     *
+     * @return 成本
+     */
+    public double cost() {
+        int pending = outstanding.get();
+        double latency = latency();
+        if (latency == 0 && pending != 0) {
+            return PENALTY + pending;
+        }
+        return latency * (pending + 1);
+    }
+
+    public JsonObject metrics() {
+        return new JsonObject()
+                .put("outstanding", outstanding.get())
+                .put("latency", TimeUnit.NANOSECONDS.toMillis((long) latency()))
+                .put("requests", requests.sum())
+                .put("failures", failures.sum());
+    }
+
+    private static class Ewma {
+
+        private final double value;
+
+        private final long stamp;
+
+        private Ewma(double value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+
+        private Ewma observe(long rtt, long now, double decay) {
+            if (rtt > value) {
+                return new Ewma(rtt, now);
+            }
+            double w = Math.exp(-Math.max(0, now - stamp) / decay);
+            return new Ewma(value * w + rtt * (1 - w), now);
+        }
+
+        /**
+         * 没有新的请求时，平均值逐渐衰减，变慢过的实例恢复之后可以重新得到请求.
+         */
+        private double decayed(long now, double decay) {
+            return value * Math.exp(-Math.max(0, now - stamp) / decay);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.github.edgar615.gateway.core.utils.SharedInstances;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 按照host:port保存的下游实例统计信息.
+ * <p>
+ * 实例从服务发现下线时调用{@link #remove(HostAndPort)}删除统计信息，注册表的大小只和当前的实例数有关.
+ * <p>
+ * 同一个vertx中所有verticle的负载均衡器看到的是同一份统计信息，参考{@link SharedInstances}.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class UpstreamStatsRegistry {
+
+    private static final String SHARED_MAP = "__gateway.upstreams";
+
+    private static final long DEFAULT_DECAY = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<HostAndPort, UpstreamStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 轮询使用的序号
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final long decayNanos;
+
+    private final LongSupplier clock;
+
+    UpstreamStatsRegistry(long decayNanos, LongSupplier clock) {
+        this.decayNanos = decayNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * 返回vertx中共享的注册表.
+     *
+     * @param vertx Vertx
+     * @return UpstreamStatsRegistry
+     */
+    public static UpstreamStatsRegistry shared(Vertx vertx) {
+        return SharedInstances.getOrCreate(vertx, SHARED_MAP, null,
+                () -> new UpstreamStatsRegistry(DEFAULT_DECAY, System::nanoTime));
+    }
+
+    public UpstreamStats stats(HostAndPort address) {
+        return stats.computeIfAbsent(address, k -> new UpstreamStats(k, decayNanos, clock));
+    }
+
+    /**
+     * 删除实例的统计信息，正在处理的请求结束时只会更新已经删除的对象.
+     *
+     * @param address 实例
+     */
+    public void remove(HostAndPort address) {
+        stats.remove(address);
+    }
+
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * @return key为host:port，value为实例的统计信息
+     */
+    public JsonObject metrics() {
+        JsonObject metrics = new JsonObject();
+        stats.forEach((address, s) -> metrics.put(address.toString(), s.metrics()));
+        return metrics;
+    }
+}
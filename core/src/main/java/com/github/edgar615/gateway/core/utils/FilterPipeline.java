@@ -0,0 +1,218 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.util.vertx.task.Task;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 预编译的filter链.
+ * <p>
+ * Filters.doFilter每次请求都会为每个filter创建一对flatMap/andThen回调，还需要一个ConcurrentHashMap记录执行过的filter，
+ * 并把filter的开始时间写入上下文的变量中.
+ * FilterPipeline针对一组filter和一个ApiDefinition只编译一次：
+ * <pre>
+ * 1. 根据Filter.shouldFilterStatically(ApiDefinition)去掉一定不执行的filter，一定执行的filter在请求时不再调用shouldFilter(ApiContext)
+ * 2. 请求时使用一个按下标推进的状态机依次执行filter，整个filter链只占用Task中的一个flatMap
+ * 3. 同步完成的filter在循环中继续执行下一个，不会随着filter数量增加回调的嵌套深度
+ * </pre>
+ * 与Filters.doFilter一样，每个filter执行前都会调用apiContext.copy().
+ * <p>
+ * 编译依赖于ApiDefinition的插件，API定义发布之后不应该再修改插件，否则需要重新编译.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class FilterPipeline {
+
+    private final Step[] steps;
+
+    private final boolean needResponseBody;
+
+    private FilterPipeline(Step[] steps) {
+        this.steps = steps;
+        boolean needResponseBody = false;
+        for (Step step : steps) {
+            needResponseBody |= step.filter.needResponseBody();
+        }
+        this.needResponseBody = needResponseBody;
+    }
+
+    /**
+     * 编译filter链.
+     *
+     * @param filters       filter的列表，需要已经排好序
+     * @param apiDefinition api定义，为null时所有的filter都在请求时判断
+     * @return FilterPipeline
+     */
+    public static FilterPipeline compile(List<Filter> filters, ApiDefinition apiDefinition) {
+        List<Step> steps = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            Boolean shouldFilter = filter.shouldFilterStatically(apiDefinition);
+            if (Boolean.FALSE.equals(shouldFilter)) {
+                continue;
+            }
+            steps.add(new Step(filter, shouldFilter == null));
+        }
+        return new FilterPipeline(steps.toArray(new Step[0]));
+    }
+
+    /**
+     * @return 编译后需要执行(或在请求时判断)的filter数量
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    /**
+     * 编译后的filter中是否有filter需要读取响应体.
+     * 如果返回false，调用下游服务时可以不解析响应体(HttpRpcRequest.setParseBody(false))，直接透传原始数据.
+     *
+     * @return true 需要解析响应体
+     */
+    public boolean needResponseBody() {
+        return needResponseBody;
+    }
+
+    /**
+     * 按顺序执行filter.
+     *
+     * @param task ApiContext的异步任务
+     * @return Task ApiContext的异步任务
+     */
+    public Task<ApiContext> doFilter(Task<ApiContext> task) {
+        return doFilter(task, null);
+    }
+
+    /**
+     * 按顺序执行filter.
+     *
+     * @param task     ApiContext的异步任务
+     * @param consumer 在每个filter处理完之后的额外操作
+     * @return Task ApiContext的异步任务
+     */
+    public Task<ApiContext> doFilter(Task<ApiContext> task, Consumer<ApiContext> consumer) {
+        return task.flatMap("FilterPipeline", apiContext -> {
+            Future<ApiContext> completeFuture = Future.future();
+            new Execution(apiContext, consumer, completeFuture).run();
+            return completeFuture;
+        });
+    }
+
+    private static class Step {
+
+        private final Filter filter;
+
+        private final String name;
+
+        /**
+         * 是否需要在请求时调用shouldFilter(ApiContext)
+         */
+        private final boolean dynamic;
+
+        private Step(Filter filter, boolean dynamic) {
+            this.filter = filter;
+            this.name = filter.getClass().getSimpleName();
+            this.dynamic = dynamic;
+        }
+    }
+
+    /**
+     * 一次请求的执行状态.
+     */
+    private class Execution implements Handler<AsyncResult<ApiContext>> {
+
+        private final Consumer<ApiContext> consumer;
+
+        private final Future<ApiContext> completeFuture;
+
+        private ApiContext current;
+
+        private int index;
+
+        private long started;
+
+        /**
+         * 是否正在run()的循环中，用来判断filter是否同步完成
+         */
+        private boolean running;
+
+        private boolean completedInLoop;
+
+        private Execution(ApiContext apiContext, Consumer<ApiContext> consumer,
+                          Future<ApiContext> completeFuture) {
+            this.current = apiContext;
+            this.consumer = consumer;
+            this.completeFuture = completeFuture;
+        }
+
+        private void run() {
+            while (!completeFuture.isComplete()) {
+                if (index >= steps.length) {
+                    completeFuture.complete(current);
+                    return;
+                }
+                Step step = steps[index];
+                if (step.dynamic && !shouldFilter(step)) {
+                    index++;
+                    continue;
+                }
+                Filter.LOGGER.debug("[{}] [filterStart] [{}]", current.id(), step.name);
+                started = System.currentTimeMillis();
+                Future<ApiContext> future = Future.future();
+                future.setHandler(this);
+                running = true;
+                completedInLoop = false;
+                try {
+                    step.filter.doFilter(current.copy(), future);
+                } catch (Exception e) {
+                    future.tryFail(e);
+                }
+                running = false;
+                if (!completedInLoop) {
+                    //异步执行，在handle中继续
+                    return;
+                }
+            }
+        }
+
+        private boolean shouldFilter(Step step) {
+            try {
+                return step.filter.shouldFilter(current);
+            } catch (Exception e) {
+                completeFuture.fail(e);
+                return false;
+            }
+        }
+
+        @Override
+        public void handle(AsyncResult<ApiContext> ar) {
+            if (ar.failed()) {
+                completeFuture.tryFail(ar.cause());
+            } else {
+                current = ar.result();
+                if (consumer != null) {
+                    try {
+                        consumer.accept(current);
+                    } catch (Exception e) {
+                        //ignore
+                    }
+                }
+                Filter.LOGGER.debug("[{}] [filterEnd] [{}] [{}ms]", current.id(),
+                        steps[index].name, System.currentTimeMillis() - started);
+                index++;
+            }
+            if (running) {
+                completedInLoop = true;
+            } else {
+                run();
+            }
+        }
+    }
+}
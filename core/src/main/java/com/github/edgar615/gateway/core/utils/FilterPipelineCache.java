@@ -0,0 +1,65 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 缓存一组filter针对每个ApiDefinition编译的FilterPipeline.
+ * <p>
+ * ApiDefinition作为弱引用的key(按对象比较)，API重新发布之后旧的ApiDefinition被回收，对应的FilterPipeline也会被回收.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class FilterPipelineCache {
+
+    private final List<Filter> filters;
+
+    private final Cache<ApiDefinition, FilterPipeline> cache =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    private volatile FilterPipeline noDefinitionPipeline;
+
+    public FilterPipelineCache(List<Filter> filters) {
+        Preconditions.checkNotNull(filters);
+        this.filters = ImmutableList.copyOf(filters);
+    }
+
+    /**
+     * 获取API对应的FilterPipeline，如果不存在则编译一个.
+     *
+     * @param apiDefinition api定义，可以为null
+     * @return FilterPipeline
+     */
+    public FilterPipeline get(ApiDefinition apiDefinition) {
+        if (apiDefinition == null) {
+            if (noDefinitionPipeline == null) {
+                noDefinitionPipeline = FilterPipeline.compile(filters, null);
+            }
+            return noDefinitionPipeline;
+        }
+        try {
+            return cache.get(apiDefinition, () -> FilterPipeline.compile(filters, apiDefinition));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 清除所有编译的FilterPipeline，在filter的配置发生变化时调用.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        noDefinitionPipeline = null;
+    }
+
+    public List<Filter> filters() {
+        return filters;
+    }
+}
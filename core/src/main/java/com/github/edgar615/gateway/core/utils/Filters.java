@@ -48,7 +48,7 @@ public class Filters {
     }
 
     /**
-     * 按顺序执行filter.
+     * 按顺序执行filter.每次调用都会重新组装Task，对于同一组filter和API，建议使用预编译的{@link FilterPipeline}.
      *
      * @param task    ApiContext的异步任务
      * @param filters filter的列表
@@ -0,0 +1,81 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 编译后的IP黑白名单.
+ * <p>
+ * 白名单和黑名单编译到同一棵{@link IpPrefixTrie}中，一次查找就可以得到结果：
+ * <pre>
+ * 符合白名单：允许访问，不管是否符合黑名单
+ * 符合黑名单且不符合白名单：禁止访问
+ * 其他：允许访问
+ * </pre>
+ * 配置格式与ip.restriction保持一致：
+ * <pre>
+ * {
+ *   "whitelist" : ["192.168.0.1", "10.4.7.*", "10.0.0.0/8"],
+ *   "blacklist" : ["192.168.0.100", "172.16.0.1-172.16.0.100", "2001:db8::/32"]
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class IpAccessRules {
+
+    private static final int WHITELIST = 1;
+
+    private static final int BLACKLIST = 2;
+
+    private final IpPrefixTrie trie;
+
+    private IpAccessRules(IpPrefixTrie trie) {
+        this.trie = trie;
+    }
+
+    public static IpAccessRules compile(List<String> whitelist, List<String> blacklist) {
+        IpPrefixTrie trie = new IpPrefixTrie();
+        trie.addAll(whitelist, WHITELIST);
+        trie.addAll(blacklist, BLACKLIST);
+        return new IpAccessRules(trie);
+    }
+
+    public static IpAccessRules fromJson(JsonObject jsonObject) {
+        return compile(toList(jsonObject.getJsonArray("whitelist")),
+                       toList(jsonObject.getJsonArray("blacklist")));
+    }
+
+    /**
+     * 判断IP是否允许访问.
+     *
+     * @param address IP地址，无法获取客户端IP时为null，这时只有"*"规则生效
+     * @return 允许访问返回true
+     */
+    public boolean permits(IpAddress address) {
+        int mark = address == null ? trie.matchAll() : trie.match(address);
+        return (mark & WHITELIST) != 0 || (mark & BLACKLIST) == 0;
+    }
+
+    /**
+     * @return 规则的数量
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    private static List<String> toList(JsonArray jsonArray) {
+        if (jsonArray == null) {
+            return Collections.emptyList();
+        }
+        List<String> list = new ArrayList<>(jsonArray.size());
+        for (int i = 0; i < jsonArray.size(); i++) {
+            list.add(jsonArray.getValue(i).toString());
+        }
+        return list;
+    }
+}
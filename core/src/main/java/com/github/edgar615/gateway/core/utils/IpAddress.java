@@ -0,0 +1,136 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.google.common.base.Strings;
+import com.google.common.net.InetAddresses;
+
+import java.util.Arrays;
+
+/**
+ * 解析后的IP地址，支持IPv4和IPv6.
+ * <p>
+ * IPv4映射的IPv6地址(::ffff:a.b.c.d)按照IPv4处理.
+ * 客户端IP通过{@link #clientAddress(ApiContext)}获取，每个ApiContext只解析一次，解析结果保存在request_clientAddress变量中.
+ * 这个类是不可变的.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class IpAddress {
+
+    /**
+     * 保存解析结果的变量
+     */
+    public static final String CLIENT_ADDRESS_VARIABLE = "request_clientAddress";
+
+    private static final String CLIENT_IP_VARIABLE = "request_clientIp";
+
+    private final String text;
+
+    private final byte[] bytes;
+
+    private IpAddress(String text, byte[] bytes) {
+        this.text = text;
+        this.bytes = bytes;
+    }
+
+    /**
+     * 解析IP地址.
+     *
+     * @param ip IP地址的字符串
+     * @return IpAddress，如果不是合法的IP地址，返回null
+     */
+    public static IpAddress parse(String ip) {
+        if (Strings.isNullOrEmpty(ip)) {
+            return null;
+        }
+        String value = ip.trim();
+        if (value.startsWith("[") && value.endsWith("]")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        if (!InetAddresses.isInetAddress(value)) {
+            return null;
+        }
+        return new IpAddress(ip, InetAddresses.forString(value).getAddress());
+    }
+
+    /**
+     * 获取客户端的IP地址.
+     * <p>
+     * 解析结果缓存在上下文的变量中，如果request_clientIp变量被修改，会重新解析.
+     *
+     * @param context 上下文
+     * @return IpAddress，不存在或者不合法时返回null
+     */
+    public static IpAddress clientAddress(ApiContext context) {
+        Object clientIp = context.variables().get(CLIENT_IP_VARIABLE);
+        if (!(clientIp instanceof String)) {
+            return null;
+        }
+        Object cached = context.variables().get(CLIENT_ADDRESS_VARIABLE);
+        if (cached instanceof IpAddress && ((IpAddress) cached).text.equals(clientIp)) {
+            return (IpAddress) cached;
+        }
+        IpAddress address = parse((String) clientIp);
+        if (address != null) {
+            context.addVariable(CLIENT_ADDRESS_VARIABLE, address);
+        }
+        return address;
+    }
+
+    public boolean ipv4() {
+        return bytes.length == 4;
+    }
+
+    /**
+     * @return 地址的位数，IPv4为32，IPv6为128
+     */
+    public int bitLength() {
+        return bytes.length * 8;
+    }
+
+    /**
+     * 按照从高到低的顺序返回第index位.
+     *
+     * @param index 位的下标，从0开始
+     * @return 0或者1
+     */
+    public int bit(int index) {
+        return (bytes[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    /**
+     * @return IPv4地址转换后的数值，IPv6返回-1
+     */
+    public long toLong() {
+        if (!ipv4()) {
+            return -1;
+        }
+        return ((bytes[0] & 0xffL) << 24) | ((bytes[1] & 0xffL) << 16)
+               | ((bytes[2] & 0xffL) << 8) | (bytes[3] & 0xffL);
+    }
+
+    public byte[] bytes() {
+        return bytes.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(bytes, ((IpAddress) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
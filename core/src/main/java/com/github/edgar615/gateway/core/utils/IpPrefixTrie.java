@@ -0,0 +1,355 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.google.common.base.Splitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * IP地址的前缀树.
+ * <p>
+ * 原来的IP规则保存在列表中，每次请求都需要遍历所有的规则并重新拆分字符串，规则数量较多时(例如几万条的黑名单)性能很差.
+ * 前缀树将所有的规则编译为按位组织的二叉树，IPv4和IPv6各自一个根节点，查找时只需要沿着地址的每一位向下走一次，
+ * 时间复杂度为O(地址的位数)，与规则的数量无关.
+ * <p>
+ * 每条规则可以指定一个标记(mark)，查找时返回路径上所有标记的按位或，这样白名单和黑名单可以编译到同一棵树中.
+ * 支持的规则：
+ * <pre>
+ * *                         所有地址
+ * 192.168.1.3 / ::1         单个地址
+ * 10.0.0.0/8 / 2001:db8::/32 CIDR
+ * 10.4.7.* / 172.*          IPv4的通配符，末尾的*只需要一个前缀节点，中间的1个*会展开为256个分支
+ * 192.168.1 / 172.16        IPv4的部分地址，省略的部分按*处理，与原来的规则保持兼容
+ * 10.*.*.1 / *.*.*.1        中间超过1个*时展开的分支太多，改为保存为(值, 掩码)，查找IPv4地址时逐条比较
+ * 10.0.0.1-10.0.0.100       地址段，会拆分为若干个CIDR
+ * </pre>
+ * {@link #add(String, int)}遇到不合法的规则会抛出异常，{@link #addAll(Iterable, int)}只记录日志然后忽略这条规则，
+ * 避免一条错误的配置导致整个API定义无法加载.
+ * 节点使用数组保存，避免大量的小对象. 构建完成之后不再修改，可以在多个线程之间共享；构建过程不是线程安全的.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class IpPrefixTrie {
+
+    private static final int IPV4_ROOT = 0;
+
+    private static final int IPV6_ROOT = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IpPrefixTrie.class);
+
+    /**
+     * 最多展开的中间通配符，展开1个需要256 * 8个节点，展开2个就需要几十万个节点
+     */
+    private static final int MAX_EXPANDED_WILDCARD = 1;
+
+    /**
+     * 子节点的下标，0表示不存在(IPv4的根节点不会作为子节点)
+     */
+    private int[] zero = new int[64];
+
+    private int[] one = new int[64];
+
+    private int[] marks = new int[64];
+
+    private int nodes = 2;
+
+    /**
+     * 不能展开的通配符规则：地址 & masked[i] == maskedValues[i]时匹配
+     */
+    private int[] maskedValues = new int[0];
+
+    private int[] masks = new int[0];
+
+    private int[] maskedMarks = new int[0];
+
+    private int maskedCount;
+
+    private int size;
+
+    /**
+     * 增加一条规则.
+     *
+     * @param rule 规则
+     * @param mark 规则的标记，不能为0
+     * @return IpPrefixTrie
+     * @throws IllegalArgumentException 规则不合法
+     */
+    public IpPrefixTrie add(String rule, int mark) {
+        if (mark == 0) {
+            throw new IllegalArgumentException("mark cannot be 0");
+        }
+        String value = rule == null ? "" : rule.trim();
+        if ("*".equals(value)) {
+            marks[IPV4_ROOT] |= mark;
+            marks[IPV6_ROOT] |= mark;
+        } else if (value.indexOf('-') > 0) {
+            addRange(value, mark);
+        } else if (value.indexOf('/') > 0) {
+            addCidr(value, mark);
+        } else if (value.indexOf('*') >= 0 || partial(value)) {
+            addWildcard(value, mark);
+        } else {
+            IpAddress address = parse(value, rule);
+            insert(address.ipv4() ? IPV4_ROOT : IPV6_ROOT, address.bitLength(), address::bit, mark);
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * 增加多条规则，不合法的规则记录日志后忽略.
+     *
+     * @param rules 规则的集合
+     * @param mark  规则的标记，不能为0
+     * @return IpPrefixTrie
+     */
+    public IpPrefixTrie addAll(Iterable<String> rules, int mark) {
+        for (String rule : rules) {
+            try {
+                add(rule, mark);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("[IpPrefixTrie] [ignored] {rule:{}} {}", rule, e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 查找与IP地址匹配的规则.
+     *
+     * @param address IP地址
+     * @return 所有匹配规则的标记的按位或，没有匹配的规则返回0
+     */
+    public int match(IpAddress address) {
+        if (address == null) {
+            return 0;
+        }
+        int node = address.ipv4() ? IPV4_ROOT : IPV6_ROOT;
+        int result = marks[node];
+        int bits = address.bitLength();
+        for (int i = 0; i < bits; i++) {
+            node = address.bit(i) == 0 ? zero[node] : one[node];
+            if (node == 0) {
+                break;
+            }
+            result |= marks[node];
+        }
+        if (maskedCount > 0 && address.ipv4()) {
+            int ip = (int) address.toLong();
+            for (int i = 0; i < maskedCount; i++) {
+                if ((ip & masks[i]) == maskedValues[i]) {
+                    result |= maskedMarks[i];
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(IpAddress address) {
+        return match(address) != 0;
+    }
+
+    /**
+     * @return 不区分IP地址，所有地址都匹配的标记，即"*"规则的标记
+     */
+    public int matchAll() {
+        return marks[IPV4_ROOT] & marks[IPV6_ROOT];
+    }
+
+    /**
+     * @return 规则的数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 前缀树的节点数量
+     */
+    int nodes() {
+        return nodes;
+    }
+
+    private void addCidr(String value, int mark) {
+        int slash = value.indexOf('/');
+        IpAddress address = parse(value.substring(0, slash), value);
+        int prefix;
+        try {
+            prefix = Integer.parseInt(value.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid ip rule: " + value);
+        }
+        if (address.ipv4() && value.indexOf(':') >= 0) {
+            //::ffff:a.b.c.d/n
+            prefix -= 96;
+        }
+        if (prefix < 0 || prefix > address.bitLength()) {
+            throw new IllegalArgumentException("invalid ip rule: " + value);
+        }
+        insert(address.ipv4() ? IPV4_ROOT : IPV6_ROOT, prefix, address::bit, mark);
+    }
+
+    private void addRange(String value, int mark) {
+        int dash = value.indexOf('-');
+        IpAddress startAddress = parse(value.substring(0, dash).trim(), value);
+        IpAddress endAddress = parse(value.substring(dash + 1).trim(), value);
+        if (startAddress.ipv4() != endAddress.ipv4()) {
+            throw new IllegalArgumentException("invalid ip rule: " + value);
+        }
+        int bits = startAddress.bitLength();
+        int root = startAddress.ipv4() ? IPV4_ROOT : IPV6_ROOT;
+        BigInteger start = new BigInteger(1, startAddress.bytes());
+        BigInteger end = new BigInteger(1, endAddress.bytes());
+        if (start.compareTo(end) > 0) {
+            throw new IllegalArgumentException("invalid ip rule: " + value);
+        }
+        //每次取以start开头的、不超过end的最大的CIDR
+        while (start.compareTo(end) <= 0) {
+            int hostBits = start.signum() == 0 ? bits : start.getLowestSetBit();
+            while (hostBits > 0
+                   && start.add(BigInteger.ONE.shiftLeft(hostBits)).subtract(BigInteger.ONE)
+                              .compareTo(end) > 0) {
+                hostBits--;
+            }
+            BigInteger block = start;
+            insert(root, bits - hostBits, i -> block.testBit(bits - 1 - i) ? 1 : 0, mark);
+            start = start.add(BigInteger.ONE.shiftLeft(hostBits));
+        }
+    }
+
+    private void addWildcard(String value, int mark) {
+        List<String> parts = Splitter.on('.').trimResults().splitToList(value);
+        if (parts.size() > 4) {
+            throw new IllegalArgumentException("invalid ip rule: " + value);
+        }
+        int[] octets = new int[4];
+        Arrays.fill(octets, -1);
+        int last = -1;
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            if (!"*".equals(part)) {
+                octets[i] = octet(part, value);
+                last = i;
+            }
+        }
+        int expanded = 0;
+        for (int i = 0; i < last; i++) {
+            if (octets[i] < 0) {
+                expanded++;
+            }
+        }
+        if (expanded > MAX_EXPANDED_WILDCARD) {
+            addMasked(octets, mark);
+            return;
+        }
+        insertOctets(IPV4_ROOT, octets, 0, last + 1, mark);
+    }
+
+    private void addMasked(int[] octets, int mark) {
+        int value = 0;
+        int mask = 0;
+        for (int octet : octets) {
+            value <<= 8;
+            mask <<= 8;
+            if (octet >= 0) {
+                value |= octet;
+                mask |= 0xff;
+            }
+        }
+        if (maskedCount == masks.length) {
+            int capacity = Math.max(4, maskedCount << 1);
+            maskedValues = Arrays.copyOf(maskedValues, capacity);
+            masks = Arrays.copyOf(masks, capacity);
+            maskedMarks = Arrays.copyOf(maskedMarks, capacity);
+        }
+        maskedValues[maskedCount] = value;
+        masks[maskedCount] = mask;
+        maskedMarks[maskedCount] = mark;
+        maskedCount++;
+    }
+
+    private void insertOctets(int node, int[] octets, int index, int length, int mark) {
+        if (index == length) {
+            marks[node] |= mark;
+            return;
+        }
+        if (octets[index] >= 0) {
+            insertOctets(walk(node, octets[index]), octets, index + 1, length, mark);
+        } else {
+            for (int octet = 0; octet < 256; octet++) {
+                insertOctets(walk(node, octet), octets, index + 1, length, mark);
+            }
+        }
+    }
+
+    private int walk(int node, int octet) {
+        int current = node;
+        for (int i = 7; i >= 0; i--) {
+            current = child(current, (octet >>> i) & 1);
+        }
+        return current;
+    }
+
+    private void insert(int root, int prefix, IntUnaryOperator bit, int mark) {
+        int node = root;
+        for (int i = 0; i < prefix; i++) {
+            node = child(node, bit.applyAsInt(i));
+        }
+        marks[node] |= mark;
+    }
+
+    private int child(int node, int bit) {
+        int[] children = bit == 0 ? zero : one;
+        if (children[node] == 0) {
+            if (nodes == marks.length) {
+                int capacity = nodes << 1;
+                zero = Arrays.copyOf(zero, capacity);
+                one = Arrays.copyOf(one, capacity);
+                marks = Arrays.copyOf(marks, capacity);
+                children = bit == 0 ? zero : one;
+            }
+            children[node] = nodes++;
+        }
+        return children[node];
+    }
+
+    /**
+     * 不包含通配符、但是少于4段的IPv4规则，例如192.168.1
+     */
+    private static boolean partial(String value) {
+        if (value.isEmpty() || value.indexOf(':') >= 0) {
+            return false;
+        }
+        int dots = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '.') {
+                dots++;
+            }
+        }
+        return dots < 3;
+    }
+
+    private static IpAddress parse(String ip, String rule) {
+        IpAddress address = IpAddress.parse(ip);
+        if (address == null) {
+            throw new IllegalArgumentException("invalid ip rule: " + rule);
+        }
+        return address;
+    }
+
+    private static int octet(String part, String rule) {
+        try {
+            int octet = Integer.parseInt(part);
+            if (octet >= 0 && octet <= 255) {
+                return octet;
+            }
+        } catch (NumberFormatException e) {
+            //ignore
+        }
+        throw new IllegalArgumentException("invalid ip rule: " + rule);
+    }
+}
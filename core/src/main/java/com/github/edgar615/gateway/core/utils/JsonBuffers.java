@@ -0,0 +1,131 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 直接在Buffer上解析JSON的工具类.
+ * <p>
+ * 原来的做法是data.toString().trim()，再判断首尾字符，最后Buffer.buffer(str)重新转换为字节解析，
+ * 一个响应体需要额外复制两次.
+ * 这里直接在Buffer上跳过首尾的空白字符(与String.trim()一样，小于等于空格的字符都视为空白)，
+ * 根据第一个和最后一个字符判断JSON的类型，然后使用Jackson直接解析Buffer中[start, end)部分的字节.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class JsonBuffers {
+
+    /**
+     * JSON对象
+     */
+    public static final char OBJECT = '{';
+
+    /**
+     * JSON数组
+     */
+    public static final char ARRAY = '[';
+
+    /**
+     * 不是JSON对象也不是JSON数组
+     */
+    public static final char UNKNOWN = 0;
+
+    private JsonBuffers() {
+        throw new AssertionError("Not instantiable: " + JsonBuffers.class);
+    }
+
+    /**
+     * 根据去掉首尾空白之后的第一个和最后一个字符判断JSON的类型.
+     *
+     * @param data Buffer
+     * @return OBJECT、ARRAY或者UNKNOWN
+     */
+    public static char type(Buffer data) {
+        int start = start(data);
+        int end = end(data, start);
+        if (end - start < 2) {
+            return UNKNOWN;
+        }
+        byte first = data.getByte(start);
+        byte last = data.getByte(end - 1);
+        if (first == '{' && last == '}') {
+            return OBJECT;
+        }
+        if (first == '[' && last == ']') {
+            return ARRAY;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * 解析JSON对象.
+     *
+     * @param data Buffer
+     * @return JsonObject
+     * @throws DecodeException 不是合法的JSON对象
+     */
+    @SuppressWarnings("unchecked")
+    public static JsonObject decodeObject(Buffer data) {
+        return new JsonObject(decode(data, Map.class));
+    }
+
+    /**
+     * 解析JSON数组.
+     *
+     * @param data Buffer
+     * @return JsonArray
+     * @throws DecodeException 不是合法的JSON数组
+     */
+    public static JsonArray decodeArray(Buffer data) {
+        return new JsonArray(decode(data, List.class));
+    }
+
+    private static <T> T decode(Buffer data, Class<T> clazz) {
+        // start和end与Buffer.getByte一样是Buffer中的下标，不受readerIndex影响.
+        // getByteBuf返回的duplicate的下标不一定与Buffer一致：Buffer是slice时返回的是原ByteBuf的duplicate，
+        // 两者的结尾相同，用writerIndex的差值换算成ByteBuf中的下标
+        int start = start(data);
+        int end = end(data, start);
+        ByteBuf byteBuf = data.getByteBuf();
+        int offset = byteBuf.writerIndex() - data.length();
+        try {
+            if (byteBuf.hasArray()) {
+                return Json.mapper.readValue(byteBuf.array(),
+                        byteBuf.arrayOffset() + offset + start, end - start, clazz);
+            }
+            return Json.mapper.readValue(
+                    (InputStream) new ByteBufInputStream(
+                            byteBuf.slice(offset + start, end - start)),
+                    clazz);
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode:" + e.getMessage());
+        }
+    }
+
+    private static int start(Buffer data) {
+        int length = data.length();
+        int start = 0;
+        while (start < length && (data.getByte(start) & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int end(Buffer data, int start) {
+        int end = data.length();
+        while (end > start && (data.getByte(end - 1) & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.edgar615.gateway.core.utils;
+
+/**
+ * 请求路径的分词工具.
+ * <p>
+ * 按照"/"拆分路径，但是不创建子字符串和数组，只返回每一段在原字符串中的起止位置，连续的"/"视为一个分隔符.
+ * 使用示例：
+ * <pre>
+ * int start = PathTokenizer.nextSegment(path, 0, path.length());
+ * while (start &lt; path.length()) {
+ *   int end = PathTokenizer.segmentEnd(path, start, path.length());
+ *   //path的[start, end)为一段
+ *   start = PathTokenizer.nextSegment(path, end, path.length());
+ * }
+ * </pre>
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class PathTokenizer {
+
+    public static final char SEPARATOR = '/';
+
+    private PathTokenizer() {
+        throw new AssertionError("Not instantiable: " + PathTokenizer.class);
+    }
+
+    /**
+     * 从from开始跳过分隔符，返回下一段的起始位置.
+     *
+     * @param path 路径
+     * @param from 开始位置
+     * @param end  路径的结束位置(不包括)
+     * @return 下一段的起始位置，如果没有更多的段，返回end
+     */
+    public static int nextSegment(String path, int from, int end) {
+        int i = from;
+        while (i < end && path.charAt(i) == SEPARATOR) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 返回从start开始的段的结束位置.
+     *
+     * @param path  路径
+     * @param start 段的起始位置
+     * @param end   路径的结束位置(不包括)
+     * @return 段的结束位置(不包括)
+     */
+    public static int segmentEnd(String path, int start, int end) {
+        int i = start;
+        while (i < end && path.charAt(i) != SEPARATOR) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 计算路径的段数，空的段不计算在内.
+     *
+     * @param path 路径
+     * @return 段数
+     */
+    public static int segmentCount(String path) {
+        int count = 0;
+        int end = path.length();
+        int start = nextSegment(path, 0, end);
+        while (start < end) {
+            count++;
+            start = nextSegment(path, segmentEnd(path, start, end), end);
+        }
+        return count;
+    }
+}
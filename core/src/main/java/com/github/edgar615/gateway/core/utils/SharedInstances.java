@@ -0,0 +1,70 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 在同一个vertx的所有verticle之间共享的对象.
+ * <p>
+ * 对象存储在LocalMap中，每个verticle创建的filter、RpcHandler拿到的是同一个对象，
+ * 例如断路器、并发限制、限流器和缓存的状态对整个进程生效，一个event loop上的变化会立即对其他event loop生效.
+ * 对象只在第一次调用时创建，使用第一次传入的配置；之后传入的配置与第一次不同时记录一个警告，仍然返回已经创建的对象.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class SharedInstances {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedInstances.class);
+
+    private static final String SHARED_MAP = "__gateway.sharedInstances";
+
+    private SharedInstances() {
+        throw new AssertionError("Not instantiable: " + SharedInstances.class);
+    }
+
+    /**
+     * 返回vertx中共享的对象，不存在时使用supplier创建.
+     *
+     * @param vertx    Vertx
+     * @param key      对象的key
+     * @param config   创建对象使用的配置，使用equals与第一次的配置比较，可以为null
+     * @param supplier 创建对象的函数，多个verticle同时创建时只有一个对象会被保存
+     * @param <T>      对象的类型
+     * @return 共享的对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getOrCreate(Vertx vertx, String key, Object config, Supplier<T> supplier) {
+        LocalMap<String, Holder> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+        Holder holder = map.get(key);
+        if (holder == null) {
+            Holder newHolder = new Holder(supplier.get(), config);
+            holder = map.putIfAbsent(key, newHolder);
+            if (holder == null) {
+                return (T) newHolder.instance;
+            }
+        }
+        if (!Objects.equals(holder.config, config)) {
+            LOGGER.warn("[SharedInstances] [config ignored] {key:{}, used:{}, ignored:{}}", key,
+                        holder.config, config);
+        }
+        return (T) holder.instance;
+    }
+
+    private static class Holder implements Shareable {
+
+        private final Object instance;
+
+        private final Object config;
+
+        private Holder(Object instance, Object config) {
+            this.instance = instance;
+            this.config = config;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.Pump;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * 流的工具类.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class StreamUtils {
+
+    private StreamUtils() {
+        throw new AssertionError("Not instantiable: " + StreamUtils.class);
+    }
+
+    /**
+     * 使用Pump将ReadStream的数据写入WriteStream.
+     * <p>
+     * WriteStream的写队列满了之后会暂停ReadStream，写队列排空之后再恢复，内存中最多只保留写队列大小的数据.
+     * 这个方法不会调用WriteStream的end方法，也不会设置WriteStream的exceptionHandler，由调用方决定如何结束和处理写入的异常.
+     * 调用之前ReadStream可以处于暂停状态，这个方法会在设置好处理函数之后恢复ReadStream.
+     *
+     * @param readStream  ReadStream
+     * @param writeStream WriteStream
+     * @param handler     ReadStream结束之后回调成功，ReadStream出现异常之后回调失败
+     * @param <T>         数据类型
+     */
+    public static <T> void pump(ReadStream<T> readStream, WriteStream<T> writeStream,
+                                Handler<AsyncResult<Void>> handler) {
+        Future<Void> future = Future.future();
+        future.setHandler(handler);
+        Pump pump = Pump.pump(readStream, writeStream);
+        readStream.endHandler(v -> future.tryComplete());
+        readStream.exceptionHandler(throwable -> {
+            pump.stop();
+            future.tryFail(throwable);
+        });
+        pump.start();
+        readStream.resume();
+    }
+}
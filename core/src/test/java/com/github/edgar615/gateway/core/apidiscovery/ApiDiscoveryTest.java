@@ -4,6 +4,9 @@ import com.google.common.collect.Lists;
 
 import com.github.edgar615.gateway.core.definition.ApiDefinition;
 import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
@@ -15,7 +18,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by Edgar on 2016/4/11.
@@ -257,4 +265,284 @@ public class ApiDiscoveryTest {
         Awaitility.await().until(() -> check3.get());
     }
 
+
+    @Test
+    public void testFilterInOrder(TestContext testContext) {
+        SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                .http("get_device", HttpMethod.GET, "devices/",
+                      80, "localhost");
+        ApiDefinition exact = ApiDefinition
+                .create("get_device_exact", HttpMethod.GET, "devices/123",
+                        Lists.newArrayList(httpEndpoint));
+        ApiDefinition regex = ApiDefinition
+                .regexStyle("get_device_regex", HttpMethod.GET, "devices/([\\d+]+)",
+                            Lists.newArrayList(httpEndpoint));
+        ApiDefinition ant = ApiDefinition
+                .antStyle("get_device_ant", HttpMethod.GET, "devices/**",
+                          Lists.newArrayList(httpEndpoint));
+        ApiDefinition post = ApiDefinition
+                .antStyle("post_device_ant", HttpMethod.POST, "devices/**",
+                          Lists.newArrayList(httpEndpoint));
+        for (ApiDefinition definition : Lists.newArrayList(exact, regex, ant, post)) {
+            AtomicBoolean completed = new AtomicBoolean();
+            discovery.publish(definition, ar -> completed.set(true));
+            Awaitility.await().until(() -> completed.get());
+        }
+
+        AtomicBoolean check1 = new AtomicBoolean();
+        discovery.filter("get", "/devices/123/", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            testContext.assertEquals("get_device_exact", ar.result().get(0).name());
+            check1.set(true);
+        });
+        Awaitility.await().until(() -> check1.get());
+
+        AtomicBoolean check2 = new AtomicBoolean();
+        discovery.filter("GET", "/devices/456", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            testContext.assertEquals("get_device_regex", ar.result().get(0).name());
+            check2.set(true);
+        });
+        Awaitility.await().until(() -> check2.get());
+
+        AtomicBoolean check3 = new AtomicBoolean();
+        discovery.filter("get", "/devices/abc/def", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            testContext.assertEquals("get_device_ant", ar.result().get(0).name());
+            check3.set(true);
+        });
+        Awaitility.await().until(() -> check3.get());
+
+        AtomicBoolean check4 = new AtomicBoolean();
+        discovery.filter("delete", "/devices/abc/def", ar -> {
+            testContext.assertEquals(0, ar.result().size());
+            check4.set(true);
+        });
+        Awaitility.await().until(() -> check4.get());
+
+        AtomicBoolean check5 = new AtomicBoolean();
+        discovery.filter("*", "/devices/abc", ar -> {
+            testContext.assertEquals(2, ar.result().size());
+            check5.set(true);
+        });
+        Awaitility.await().until(() -> check5.get());
+
+        AtomicBoolean removed = new AtomicBoolean();
+        discovery.unpublish("get_device_exact", ar -> removed.set(true));
+        Awaitility.await().until(() -> removed.get());
+
+        AtomicBoolean check6 = new AtomicBoolean();
+        discovery.filter("get", "/devices/123", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            testContext.assertEquals("get_device_regex", ar.result().get(0).name());
+            check6.set(true);
+        });
+        Awaitility.await().until(() -> check6.get());
+    }
+
+    @Test
+    public void testFilterShareIndex(TestContext testContext) {
+        SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                .http("get_device", HttpMethod.GET, "devices/",
+                      80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .antStyle("get_device", HttpMethod.GET, "devices/*",
+                          Lists.newArrayList(httpEndpoint));
+        AtomicBoolean completed = new AtomicBoolean();
+        discovery.publish(apiDefinition, ar -> completed.set(true));
+        Awaitility.await().until(() -> completed.get());
+
+        ApiDiscovery other = ApiDiscovery.create(vertx, new ApiDiscoveryOptions());
+        AtomicBoolean check1 = new AtomicBoolean();
+        other.filter("get", "/devices/1", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            check1.set(true);
+        });
+        Awaitility.await().until(() -> check1.get());
+
+        ApiDefinition updated = ApiDefinition
+                .antStyle("get_device", HttpMethod.PUT, "devices/*",
+                          Lists.newArrayList(httpEndpoint));
+        AtomicBoolean updateCompleted = new AtomicBoolean();
+        other.publish(updated, ar -> updateCompleted.set(true));
+        Awaitility.await().until(() -> updateCompleted.get());
+
+        AtomicBoolean check2 = new AtomicBoolean();
+        discovery.filter("get", "/devices/1", ar -> {
+            testContext.assertEquals(0, ar.result().size());
+            check2.set(true);
+        });
+        Awaitility.await().until(() -> check2.get());
+
+        AtomicBoolean check3 = new AtomicBoolean();
+        discovery.filter("put", "/devices/1", ar -> {
+            testContext.assertEquals(1, ar.result().size());
+            check3.set(true);
+        });
+        Awaitility.await().until(() -> check3.get());
+    }
+
+    @Test
+    public void testReplicate(TestContext testContext) {
+        //不同存储的ApiDiscovery使用不同的注册表，模拟两个网关节点
+        ApiDiscovery node1 = new ApiDiscoveryImpl(vertx, new ApiDiscoveryOptions(), "node1");
+        SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                .http("get_device", HttpMethod.GET, "devices/",
+                      80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "devices", Lists.newArrayList(httpEndpoint));
+        AtomicBoolean completed = new AtomicBoolean();
+        node1.publish(apiDefinition, ar -> completed.set(true));
+        Awaitility.await().until(() -> completed.get());
+
+        //后加入的节点通过快照同步
+        ApiDiscovery node2 = new ApiDiscoveryImpl(vertx, new ApiDiscoveryOptions(), "node2");
+        Awaitility.await().until(() -> size(node2, "/devices") == 1);
+
+        ApiDefinition userDefinition = ApiDefinition
+                .create("get_user", HttpMethod.GET, "users", Lists.newArrayList(httpEndpoint));
+        node1.publish(userDefinition, ar -> {
+        });
+        Awaitility.await().until(() -> size(node2, "/users") == 1);
+
+        node1.unpublish("get_device", ar -> {
+        });
+        Awaitility.await().until(() -> size(node2, "/devices") == 0);
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    public void testExpire(TestContext testContext) {
+        ApiDiscoveryOptions options = new ApiDiscoveryOptions().setHeartbeatInterval(100);
+        ApiDiscovery node1 = new ApiDiscoveryImpl(vertx, options, "node1");
+        ApiDiscovery node2 = new ApiDiscoveryImpl(vertx, options, "node2");
+        SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                .http("get_device", HttpMethod.GET, "devices/",
+                      80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "devices", Lists.newArrayList(httpEndpoint));
+        node1.publish(apiDefinition, ar -> {
+        });
+        Awaitility.await().until(() -> size(node2, "/devices") == 1);
+        //有心跳的节点不会过期
+        try {
+            TimeUnit.MILLISECONDS.sleep(500);
+        } catch (InterruptedException e) {
+            testContext.fail(e);
+        }
+        testContext.assertEquals(1, size(node2, "/devices"));
+
+        //节点下线之后，超过3个心跳间隔删除从这个节点同步的API
+        node1.close();
+        Awaitility.await().until(() -> size(node2, "/devices") == 0);
+        node2.close();
+    }
+
+    @Test
+    public void testDefaultPublishAll(TestContext testContext) {
+        //只实现了publish和unpublish的ApiPublisher
+        List<String> names = new ArrayList<>();
+        ApiPublisher publisher = new ApiPublisher() {
+            @Override
+            public void publish(ApiDefinition definition,
+                                Handler<AsyncResult<ApiDefinition>> resultHandler) {
+                names.add(definition.name());
+                resultHandler.handle(Future.succeededFuture(definition));
+            }
+
+            @Override
+            public void unpublish(String name, Handler<AsyncResult<Void>> resultHandler) {
+                names.remove(name);
+                resultHandler.handle(Future.succeededFuture());
+            }
+        };
+        List<ApiDefinition> definitions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                    .http("get_device_" + i, HttpMethod.GET, "devices/" + i, 80, "localhost");
+            definitions.add(ApiDefinition.create("get_device_" + i, HttpMethod.GET, "devices/" + i,
+                                                 Lists.newArrayList(httpEndpoint)));
+        }
+        publisher.publishAll(definitions, ar -> {
+            testContext.assertTrue(ar.succeeded());
+            testContext.assertEquals(3, ar.result().size());
+        });
+        testContext.assertEquals(3, names.size());
+        publisher.unpublishAll(Lists.newArrayList("get_device_0", "get_device_1"),
+                               ar -> testContext.assertTrue(ar.succeeded()));
+        testContext.assertEquals(Lists.newArrayList("get_device_2"), names);
+    }
+
+    @Test
+    public void testPublishAll(TestContext testContext) {
+        ApiDiscovery node2 = new ApiDiscoveryImpl(vertx, new ApiDiscoveryOptions(), "node2");
+        List<ApiDefinition> definitions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                    .http("get_device_" + i, HttpMethod.GET, "devices/" + i,
+                          80, "localhost");
+            definitions.add(ApiDefinition
+                                    .create("get_device_" + i, HttpMethod.GET, "devices/" + i,
+                                            Lists.newArrayList(httpEndpoint)));
+        }
+        SimpleHttpEndpoint httpEndpoint = SimpleHttpEndpoint
+                .http("add_device", HttpMethod.POST, "devices",
+                      80, "localhost");
+        definitions.add(ApiDefinition.create("add_device", HttpMethod.POST, "devices",
+                                             Lists.newArrayList(httpEndpoint)));
+        //在publishedAddress/unpublishedAddress上只广播一个批量事件
+        List<Integer> published = new CopyOnWriteArrayList<>();
+        List<Integer> unpublished = new CopyOnWriteArrayList<>();
+        vertx.eventBus().<JsonObject>consumer(ApiDiscoveryOptions.DEFAULT_PUBLISHED_ADDRESS,
+                                  msg -> published.add(msg.body().getJsonArray("definitions").size()));
+        vertx.eventBus().<JsonObject>consumer(ApiDiscoveryOptions.DEFAULT_UNPUBLISHED_ADDRESS,
+                                  msg -> unpublished.add(msg.body().getJsonArray("definitions").size()));
+        AtomicBoolean completed = new AtomicBoolean();
+        discovery.publishAll(definitions, ar -> {
+            testContext.assertEquals(101, ar.result().size());
+            completed.set(true);
+        });
+        Awaitility.await().until(() -> completed.get());
+        testContext.assertEquals(1, size(discovery, "/devices/99"));
+        Awaitility.await().until(() -> published.size() == 1);
+        testContext.assertEquals(101, published.get(0));
+
+        //其他节点只收到一个事件
+        VersionedApiRegistry origin = VersionedApiRegistry.shared(vertx, "api-definition");
+        VersionedApiRegistry replica = VersionedApiRegistry.shared(vertx, "node2");
+        Awaitility.await().until(() -> size(node2, "/devices/99") == 1);
+        testContext.assertEquals(1L, origin.version());
+        testContext.assertEquals(1L, replica.version(origin.nodeId()));
+
+        //通配符删除
+        AtomicBoolean removed = new AtomicBoolean();
+        discovery.unpublish("get_device_*", ar -> removed.set(ar.succeeded()));
+        Awaitility.await().until(() -> removed.get());
+        testContext.assertEquals(0, size(discovery, "/devices/99"));
+        AtomicInteger remain = new AtomicInteger();
+        discovery.getDefinitions(new JsonObject(), ar -> remain.set(ar.result().size()));
+        testContext.assertEquals(1, remain.get());
+        Awaitility.await().until(() -> size(node2, "/devices/1") == 0);
+        testContext.assertEquals(2L, replica.version(origin.nodeId()));
+        Awaitility.await().until(() -> unpublished.size() == 1);
+        testContext.assertEquals(100, unpublished.get(0));
+
+        AtomicBoolean removedAll = new AtomicBoolean();
+        discovery.unpublishAll(Lists.newArrayList("add_device", "unknown"),
+                               ar -> removedAll.set(ar.succeeded()));
+        Awaitility.await().until(() -> removedAll.get());
+        discovery.getDefinitions(new JsonObject(), ar -> remain.set(ar.result().size()));
+        testContext.assertEquals(0, remain.get());
+        Awaitility.await().until(() -> unpublished.size() == 2);
+        testContext.assertEquals(1, unpublished.get(1));
+        node2.close();
+    }
+
+    private int size(ApiDiscovery discovery, String path) {
+        AtomicInteger size = new AtomicInteger(-1);
+        discovery.filter("get", path, ar -> size.set(ar.result().size()));
+        return size.get();
+    }
+
 }
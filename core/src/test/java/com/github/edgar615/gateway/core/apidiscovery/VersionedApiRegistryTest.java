@@ -0,0 +1,203 @@
+package com.github.edgar615.gateway.core.apidiscovery;
+
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class VersionedApiRegistryTest {
+
+    private Vertx vertx;
+
+    private VersionedApiRegistry origin;
+
+    private VersionedApiRegistry replica;
+
+    private ApiDefinitionBackend backend;
+
+    private List<JsonObject> deltas;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        origin = VersionedApiRegistry.shared(vertx, "origin");
+        replica = VersionedApiRegistry.shared(vertx, "replica");
+        backend = new DefaultApiDefinitionBackend(vertx, "replica");
+        deltas = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testApplyDelta() {
+        origin.published(api("get_device", "/devices"), deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        origin.unpublished("get_device", deltas::add);
+        Assert.assertEquals(3, origin.version());
+        for (JsonObject delta : deltas) {
+            Assert.assertFalse(replica.applyDelta(delta, backend));
+        }
+        //重复的事件
+        Assert.assertFalse(replica.applyDelta(deltas.get(1), backend));
+        Assert.assertEquals(3, replica.version(origin.nodeId()));
+        Assert.assertEquals(Lists.newArrayList("get_user"), names());
+        List<ApiDefinition> matched = new ArrayList<>();
+        backend.filter(HttpMethod.GET, "/users", ar -> matched.addAll(ar.result()));
+        Assert.assertEquals(1, matched.size());
+    }
+
+    @Test
+    public void testResyncOnGap() {
+        origin.published(api("get_device", "/devices"), deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        origin.published(api("get_order", "/orders"), deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(0), backend));
+        //丢失了第2个事件
+        Assert.assertTrue(replica.applyDelta(deltas.get(2), backend));
+        Assert.assertEquals(1, replica.version(origin.nodeId()));
+        //等待快照期间收到的事件先缓存
+        JsonObject snapshot = origin.snapshot();
+        origin.unpublished("get_device", deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(3), backend));
+
+        replica.applySnapshot(snapshot, backend);
+        Assert.assertEquals(4, replica.version(origin.nodeId()));
+        Assert.assertEquals(Lists.newArrayList("get_order", "get_user"), names());
+    }
+
+    @Test
+    public void testSnapshotRemoveStale() {
+        origin.published(api("get_device", "/devices"), deltas::add);
+        replica.applySnapshot(origin.snapshot(), backend);
+        Assert.assertEquals(Lists.newArrayList("get_device"), names());
+
+        //删除的事件丢失，新节点通过快照删除
+        origin.unpublished("get_device", deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        replica.applySnapshot(origin.snapshot(), backend);
+        Assert.assertEquals(Lists.newArrayList("get_user"), names());
+        Assert.assertEquals(3, replica.version(origin.nodeId()));
+
+        //旧的快照
+        replica.applySnapshot(new JsonObject().put("origin", origin.nodeId())
+                                      .put("version", 1)
+                                      .put("apis", new JsonArray()), backend);
+        Assert.assertEquals(Lists.newArrayList("get_user"), names());
+    }
+
+    @Test
+    public void testResyncFailed() {
+        origin.published(api("get_device", "/devices"), deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        origin.published(api("get_order", "/orders"), deltas::add);
+        Assert.assertTrue(replica.applyDelta(deltas.get(1), backend));
+        //同步期间不再请求快照
+        Assert.assertFalse(replica.applyDelta(deltas.get(2), backend));
+
+        //请求快照失败之后，之后的事件重新触发同步
+        replica.resyncFailed(origin.nodeId());
+        Assert.assertEquals(0, replica.version(origin.nodeId()));
+        Assert.assertTrue(replica.applyDelta(deltas.get(2), backend));
+        replica.applySnapshot(origin.snapshot(), backend);
+        Assert.assertEquals(3, replica.version(origin.nodeId()));
+        Assert.assertEquals(Lists.newArrayList("get_device", "get_order", "get_user"), names());
+    }
+
+    @Test
+    public void testHeartbeat() {
+        origin.published(api("get_device", "/devices"), deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(0), backend));
+        //最后一个事件丢失，通过心跳发现
+        origin.heartbeat(deltas::add);
+        Assert.assertEquals(2, origin.version());
+        Assert.assertTrue(replica.applyDelta(deltas.get(2), backend));
+        replica.applySnapshot(origin.snapshot(), backend);
+        Assert.assertEquals(2, replica.version(origin.nodeId()));
+        Assert.assertFalse(replica.applyDelta(deltas.get(2), backend));
+        Assert.assertEquals(Lists.newArrayList("get_device", "get_user"), names());
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        VersionedApiRegistry other = VersionedApiRegistry.shared(vertx, "other");
+        origin.published(api("get_device", "/devices"), deltas::add);
+        other.published(api("get_user", "/users"), deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(0), backend));
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertFalse(replica.applyDelta(deltas.get(1), backend));
+        replica.expire(50, backend);
+        Assert.assertEquals(0, replica.version(origin.nodeId()));
+        Assert.assertEquals(1, replica.version(other.nodeId()));
+        Assert.assertEquals(Lists.newArrayList("get_user"), names());
+    }
+
+    @Test
+    public void testKeepOwned() {
+        //本节点发布的API
+        ApiDefinition local = api("get_device", "/devices");
+        backend.store(local, ar -> {
+        });
+        replica.published(local, deltas::add);
+        deltas.clear();
+
+        origin.published(api("get_device", "/v2/devices"), deltas::add);
+        origin.published(api("get_user", "/users"), deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(0), backend));
+        Assert.assertFalse(replica.applyDelta(deltas.get(1), backend));
+        List<ApiDefinition> matched = new ArrayList<>();
+        backend.filter(HttpMethod.GET, "/devices", ar -> matched.addAll(ar.result()));
+        Assert.assertEquals(1, matched.size());
+
+        //其他节点删除同名的API
+        origin.unpublished("get_device", deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(2), backend));
+        Assert.assertEquals(Lists.newArrayList("get_device", "get_user"), names());
+
+        //其他节点过期
+        replica.expire(-1, backend);
+        Assert.assertEquals(Lists.newArrayList("get_device"), names());
+        Assert.assertEquals(1, replica.snapshot().getJsonArray("apis").size());
+    }
+
+    @Test
+    public void testIgnoreSelf() {
+        replica.published(api("get_device", "/devices"), deltas::add);
+        Assert.assertFalse(replica.applyDelta(deltas.get(0), backend));
+        Assert.assertEquals(0, replica.version(replica.nodeId()));
+        Assert.assertTrue(names().isEmpty());
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>();
+        backend.getDefinitions(ar -> ar.result().forEach(d -> names.add(d.name())));
+        names.sort(String::compareTo);
+        return names;
+    }
+
+    private ApiDefinition api(String name, String path) {
+        SimpleHttpEndpoint endpoint = SimpleHttpEndpoint.http(name, HttpMethod.GET, path,
+                                                              80, "localhost");
+        return ApiDefinition.create(name, HttpMethod.GET, path, Lists.newArrayList(endpoint));
+    }
+}
@@ -52,4 +52,35 @@ public class AntApiDefinitionTest {
         Assert.assertFalse(apiDefinition.match(new JsonObject().put("path", "/devices/abc/123")));
 
     }
+
+    @Test
+    public void testBraceIsLiteral() {
+        //与原来的AntPathMatcher一致，{id}按照字面量匹配
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .antStyle("get_device", HttpMethod.GET, "devices/{id}/status",
+                          Lists.newArrayList(httpEndpoint));
+
+        Assert.assertTrue(apiDefinition.match(new JsonObject().put("path", "/devices/{id}/status")));
+        Assert.assertFalse(apiDefinition.match(new JsonObject().put("path", "/devices/123/status")));
+    }
+
+    @Test
+    public void testModifyIgnoredPatterns() {
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        AntPathApiDefinition apiDefinition = (AntPathApiDefinition) ApiDefinition
+                .antStyle("get_device", HttpMethod.GET, "devices/**",
+                          Lists.newArrayList(httpEndpoint));
+        Assert.assertTrue(apiDefinition.match(new JsonObject().put("path", "/devices/admin")));
+
+        //直接修改ignoredPatterns返回的列表
+        apiDefinition.ignoredPatterns().add("/devices/admin");
+        Assert.assertFalse(apiDefinition.match(new JsonObject().put("path", "/devices/admin")));
+        apiDefinition.ignoredPatterns().clear();
+        Assert.assertTrue(apiDefinition.match(new JsonObject().put("path", "/devices/admin")));
+    }
 }
@@ -0,0 +1,70 @@
+package com.github.edgar615.gateway.core.definition;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class AntPathPatternTest {
+
+    @Test
+    public void testLiteral() {
+        AntPathPattern pattern = AntPathPattern.compile("/devices/abc");
+        Assert.assertTrue(pattern.matches("/devices/abc"));
+        Assert.assertTrue(pattern.matches("/devices//abc/"));
+        Assert.assertFalse(pattern.matches("/devices/ab"));
+        Assert.assertFalse(pattern.matches("/devices/abcd"));
+        Assert.assertFalse(pattern.matches("/devices"));
+        Assert.assertFalse(pattern.matches("/devices/abc/1"));
+    }
+
+    @Test
+    public void testWildcard() {
+        AntPathPattern pattern = AntPathPattern.compile("/devices/*/a?c*");
+        Assert.assertTrue(pattern.matches("/devices/1/abc"));
+        Assert.assertTrue(pattern.matches("/devices/1/axc123"));
+        Assert.assertFalse(pattern.matches("/devices/1/ac"));
+        Assert.assertFalse(pattern.matches("/devices/abc"));
+        Assert.assertFalse(pattern.matches("/devices/1/abc/2"));
+
+        pattern = AntPathPattern.compile("/files/*.json");
+        Assert.assertTrue(pattern.matches("/files/a.b.json"));
+        Assert.assertFalse(pattern.matches("/files/a.jsonp"));
+    }
+
+    @Test
+    public void testDoubleWildcard() {
+        AntPathPattern pattern = AntPathPattern.compile("/devices/**");
+        Assert.assertTrue(pattern.matches("/devices"));
+        Assert.assertTrue(pattern.matches("/devices/1"));
+        Assert.assertTrue(pattern.matches("/devices/1/2/3"));
+        Assert.assertFalse(pattern.matches("/device/1"));
+
+        pattern = AntPathPattern.compile("/**/admin/**");
+        Assert.assertTrue(pattern.matches("/admin"));
+        Assert.assertTrue(pattern.matches("/a/b/admin/c"));
+        Assert.assertFalse(pattern.matches("/a/b/c"));
+
+        pattern = AntPathPattern.compile("/devices/**/**/status");
+        Assert.assertTrue(pattern.matches("/devices/status"));
+        Assert.assertTrue(pattern.matches("/devices/1/2/status"));
+        Assert.assertFalse(pattern.matches("/devices/1/2/status/1"));
+    }
+
+    @Test
+    public void testBraceIsLiteral() {
+        AntPathPattern pattern = AntPathPattern.compile("/devices/{id}/v*");
+        Assert.assertTrue(pattern.matches("/devices/{id}/v1"));
+        Assert.assertFalse(pattern.matches("/devices/123/v1"));
+    }
+
+    @Test
+    public void testEnd() {
+        AntPathPattern pattern = AntPathPattern.compile("/devices/*");
+        Assert.assertTrue(pattern.matches("/devices/1/2", "/devices/1".length()));
+        Assert.assertFalse(pattern.matches("/devices/1/2", "/devices".length()));
+    }
+}
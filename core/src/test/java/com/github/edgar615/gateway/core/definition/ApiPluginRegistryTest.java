@@ -0,0 +1,88 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.plugin.predicate.PredicatePlugin;
+import com.github.edgar615.gateway.core.plugin.scope.ScopePlugin;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ApiPluginRegistryTest {
+
+    @Test
+    public void testSlot() {
+        ApiPluginRegistry registry = ApiPluginRegistry.instance();
+        Assert.assertEquals(ApiPlugin.factories.size(), registry.size());
+        int slot = registry.slot(MockPlugin.class.getSimpleName());
+        Assert.assertTrue(slot >= 0);
+        Assert.assertEquals(slot, registry.slot(MockPlugin.class.getSimpleName().toUpperCase()));
+        Assert.assertEquals(slot, registry.slot(MockPlugin.class));
+        Assert.assertEquals(MockPlugin.class.getSimpleName(), registry.factory(slot).name());
+        Assert.assertEquals(-1, registry.slot("undefined"));
+
+        int predicateSlot = registry.slot(PredicatePlugin.class);
+        Assert.assertTrue(predicateSlot >= 0);
+        Assert.assertNotEquals(slot, predicateSlot);
+        Assert.assertTrue(registry.slot(ScopePlugin.class) >= 0);
+    }
+
+    @Test
+    public void testAmbiguousType() {
+        ApiPluginRegistry registry = new ApiPluginRegistry(
+                Lists.newArrayList(new MockPluginFactory(), new MockPluginFactory() {
+                    @Override
+                    public String name() {
+                        return "AnotherMockPlugin";
+                    }
+                }));
+        Assert.assertEquals(2, registry.size());
+        Assert.assertEquals(1, registry.slot("AnotherMockPlugin"));
+        Assert.assertEquals(-1, registry.slot(MockPlugin.class));
+    }
+
+    @Test
+    public void testTypedPlugin() {
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "device/", Lists.newArrayList(httpEndpoint));
+        int slot = ApiPluginRegistry.instance().slot(MockPlugin.class);
+        Assert.assertNull(apiDefinition.plugin(MockPlugin.class));
+        Assert.assertNull(apiDefinition.plugin(slot));
+
+        MockPlugin plugin = new MockPlugin();
+        apiDefinition.addPlugin(plugin);
+        Assert.assertSame(plugin, apiDefinition.plugin(MockPlugin.class));
+        Assert.assertSame(plugin, apiDefinition.plugin(slot));
+        Assert.assertSame(plugin, apiDefinition.plugin("mockplugin"));
+        Assert.assertNull(apiDefinition.plugin(PredicatePlugin.class));
+        Assert.assertSame(apiDefinition.plugins(), apiDefinition.plugins());
+
+        apiDefinition.removePlugin(MockPlugin.class.getSimpleName());
+        Assert.assertNull(apiDefinition.plugin(MockPlugin.class));
+        Assert.assertNull(apiDefinition.plugin(slot));
+        Assert.assertTrue(apiDefinition.plugins().isEmpty());
+    }
+
+    @Test
+    public void testUnregisteredPlugin() {
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "device/", Lists.newArrayList(httpEndpoint));
+        ApiPlugin plugin = () -> "UnregisteredPlugin";
+        apiDefinition.addPlugin(plugin);
+        Assert.assertSame(plugin, apiDefinition.plugin("unregisteredPlugin"));
+        Assert.assertEquals(1, apiDefinition.plugins().size());
+        apiDefinition.removePlugin("UnregisteredPlugin");
+        Assert.assertNull(apiDefinition.plugin("UnregisteredPlugin"));
+    }
+}
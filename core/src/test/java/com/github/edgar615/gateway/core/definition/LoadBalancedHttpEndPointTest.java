@@ -0,0 +1,73 @@
+package com.github.edgar615.gateway.core.definition;
+
+import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancedHttpEndPointTest {
+
+    @Test
+    public void testToJson() {
+        LoadBalancedHttpEndpoint endpoint =
+                LoadBalancedHttpEndpoint.http("get_device", HttpMethod.GET, "devices",
+                                              Lists.newArrayList(HostAndPort.fromParts("10.0.0.1", 8080),
+                                                                 HostAndPort.fromParts("10.0.0.2", 8080)),
+                                              LoadBalancedHttpEndpoint.PEAK_EWMA);
+        Assert.assertEquals("/devices", endpoint.path());
+
+        JsonObject jsonObject = Endpoints.toJson(endpoint);
+        Assert.assertEquals("lb-http", jsonObject.getString("type"));
+        Assert.assertEquals("peak-ewma", jsonObject.getString("strategy"));
+        Assert.assertEquals(new JsonArray().add("10.0.0.1:8080").add("10.0.0.2:8080"),
+                            jsonObject.getJsonArray("instances"));
+        Assert.assertFalse(jsonObject.containsKey("http2"));
+    }
+
+    @Test
+    public void testFromJson() {
+        JsonObject jsonObject = new JsonObject()
+                .put("type", "lb-http")
+                .put("name", "device.get")
+                .put("path", "/devices")
+                .put("instances", new JsonArray().add("10.0.0.1:8080").add("[::1]:8081"))
+                .put("http2", true);
+        LoadBalancedHttpEndpoint endpoint = (LoadBalancedHttpEndpoint) Endpoints.fromJson(jsonObject);
+        Assert.assertEquals(HttpMethod.GET, endpoint.method());
+        Assert.assertEquals(LoadBalancedHttpEndpoint.ROUND_ROBIN, endpoint.strategy());
+        Assert.assertEquals(2, endpoint.instances().size());
+        Assert.assertEquals("::1", endpoint.instances().get(1).getHost());
+        Assert.assertEquals(8081, endpoint.instances().get(1).getPort());
+        Assert.assertTrue(endpoint.http2());
+    }
+
+    @Test
+    public void testInvalid() {
+        JsonObject jsonObject = new JsonObject()
+                .put("type", "lb-http")
+                .put("path", "/devices")
+                .put("instances", new JsonArray().add("10.0.0.1:8080"))
+                .put("strategy", "random");
+        try {
+            Endpoints.fromJson(jsonObject);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            //ok
+        }
+        jsonObject.put("strategy", "p2c").put("instances", new JsonArray().add("10.0.0.1"));
+        try {
+            Endpoints.fromJson(jsonObject);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            //ok
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.edgar615.gateway.core.definition;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceHttpEndPointTest {
+
+    @Test
+    public void testToJson() {
+        ServiceHttpEndpoint endpoint =
+                ServiceHttpEndpoint.http("get_device", HttpMethod.GET, "/devices", "device");
+        JsonObject jsonObject = Endpoints.toJson(endpoint);
+        Assert.assertEquals("http", jsonObject.getString("type"));
+        Assert.assertEquals("device", jsonObject.getString("service"));
+        Assert.assertEquals("/devices", jsonObject.getString("path"));
+        Assert.assertFalse(jsonObject.containsKey("strategy"));
+    }
+
+    @Test
+    public void testFromJson() {
+        JsonObject jsonObject = new JsonObject()
+                .put("name", "devices")
+                .put("type", "http")
+                .put("path", "/health-check")
+                .put("service", "device")
+                .put("strategy", "P2C");
+        ServiceHttpEndpoint endpoint = (ServiceHttpEndpoint) Endpoints.fromJson(jsonObject);
+        Assert.assertEquals("device", endpoint.service());
+        Assert.assertEquals(LoadBalancedHttpEndpoint.P2C, endpoint.strategy());
+        Assert.assertEquals(HttpMethod.GET, endpoint.method());
+        Assert.assertEquals("p2c", Endpoints.toJson(endpoint).getString("strategy"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testMissingService() {
+        Endpoints.fromJson(new JsonObject().put("type", "http").put("path", "/devices"));
+    }
+}
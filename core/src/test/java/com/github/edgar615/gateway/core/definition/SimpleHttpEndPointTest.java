@@ -58,4 +58,24 @@ public class SimpleHttpEndPointTest {
         Assert.assertEquals(HttpMethod.DELETE, endpoint.method());
     }
 
+    @Test
+    public void testHttp2() {
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        Assert.assertFalse(httpEndpoint.http2());
+        Assert.assertFalse(Endpoints.toJson(httpEndpoint).containsKey("http2"));
+
+        JsonObject jsonObject = new JsonObject()
+                .put("type", "simple-http")
+                .put("name", "device.get")
+                .put("host", "localhost")
+                .put("port", 80)
+                .put("path", "/devices")
+                .put("http2", true);
+        SimpleHttpEndpoint endpoint = (SimpleHttpEndpoint) Endpoints.fromJson(jsonObject);
+        Assert.assertTrue(endpoint.http2());
+        Assert.assertTrue(Endpoints.toJson(endpoint).getBoolean("http2"));
+    }
+
 }
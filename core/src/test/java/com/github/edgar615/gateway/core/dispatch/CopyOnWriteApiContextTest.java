@@ -0,0 +1,130 @@
+package com.github.edgar615.gateway.core.dispatch;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CopyOnWriteApiContextTest {
+
+    private ApiContext create() {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("x-request-id", "1");
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("limit", "10");
+        JsonObject body = new JsonObject().put("b", 1).put("a", 2);
+        return ApiContext.copyOnWrite(HttpMethod.POST, "/devices", headers, params, body);
+    }
+
+    @Test
+    public void testShareRequest() {
+        ApiContext apiContext = create();
+        ApiContext copy = apiContext.copy();
+        Assert.assertSame(apiContext.headers(), copy.headers());
+        Assert.assertSame(apiContext.params(), copy.params());
+        Assert.assertEquals(apiContext.body(), copy.body());
+        Assert.assertEquals(new ArrayList<>(apiContext.body().fieldNames()),
+                            new ArrayList<>(copy.body().fieldNames()));
+        Assert.assertEquals("b", apiContext.body().fieldNames().iterator().next());
+    }
+
+    @Test
+    public void testBodyCopy() {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        JsonObject body = new JsonObject().put("b", 1)
+                .put("device", new JsonObject().put("name", "foo"))
+                .put("tags", new JsonArray().add("a"));
+        ApiContext apiContext = ApiContext.copyOnWrite(HttpMethod.POST, "/devices", headers,
+                                                       ArrayListMultimap.create(), body);
+        ApiContext copy = apiContext.copy();
+        //与ApiContextImpl一样，修改body()返回的对象不影响上下文，嵌套的对象也不会共享
+        JsonObject modified = copy.body();
+        modified.put("c", 3);
+        modified.getJsonObject("device").put("name", "bar");
+        modified.getJsonArray("tags").add("b");
+        Assert.assertEquals(4, modified.size());
+        Assert.assertEquals(3, copy.body().size());
+        Assert.assertEquals("foo", copy.body().getJsonObject("device").getString("name"));
+        Assert.assertEquals(1, apiContext.body().getJsonArray("tags").size());
+        Assert.assertEquals(3, apiContext.body().size());
+        try {
+            apiContext.headers().put("foo", "bar");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //ignore
+        }
+    }
+
+    @Test
+    public void testCopyVariablesOnWrite() {
+        ApiContext apiContext = create();
+        apiContext.addVariable("foo", "bar");
+        ApiContext copy = apiContext.copy();
+        Assert.assertEquals("bar", copy.variables().get("foo"));
+
+        copy.addVariable("foo", "baz");
+        copy.variables().put("new", 1);
+        Assert.assertEquals("baz", copy.variables().get("foo"));
+        Assert.assertEquals("bar", apiContext.variables().get("foo"));
+        Assert.assertFalse(apiContext.variables().containsKey("new"));
+
+        apiContext.addVariable("source", true);
+        Assert.assertFalse(copy.variables().containsKey("source"));
+
+        try {
+            copy.variables().keySet().remove("foo");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            //ignore
+        }
+    }
+
+    @Test
+    public void testCopyRequestsOnAccess() {
+        ApiContext apiContext = create();
+        SimpleHttpRequest request = SimpleHttpRequest.create("1", "test");
+        request.setHost("localhost").setPort(8080);
+        apiContext.addRequest(request);
+        apiContext.addResponse(RpcResponse.createJsonObject("1", 200, new JsonObject(), 0));
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject().put("foo", "bar"),
+                                                     null));
+
+        ApiContext copy = apiContext.copy();
+        SimpleHttpRequest copyRequest = (SimpleHttpRequest) copy.requests().get(0);
+        Assert.assertNotSame(request, copyRequest);
+        copyRequest.addHeader("foo", "bar");
+        Assert.assertTrue(request.headers().isEmpty());
+
+        copy.addRequest(SimpleHttpRequest.create("2", "test2"));
+        Assert.assertEquals(2, copy.requests().size());
+        Assert.assertEquals(1, apiContext.requests().size());
+
+        Assert.assertEquals(1, copy.responses().size());
+        Assert.assertNotSame(apiContext.responses().get(0), copy.responses().get(0));
+
+        Assert.assertNotSame(apiContext.result(), copy.result());
+        Assert.assertEquals("bar", copy.result().responseObject().getString("foo"));
+    }
+
+    @Test
+    public void testNextRpcId() {
+        ApiContext apiContext = create();
+        Assert.assertEquals(apiContext.id() + ".1", apiContext.nextRpcId());
+        ApiContext copy = apiContext.copy();
+        Assert.assertEquals(apiContext.id() + ".2", copy.nextRpcId());
+        Assert.assertEquals(apiContext.id() + ".2", apiContext.nextRpcId());
+    }
+}
@@ -101,4 +101,20 @@ public class ResultTest {
             Assert.assertEquals(1024, ex.getErrorCode().getNumber());
         }
     }
+
+    @Test
+    public void testPassthrough() {
+        Buffer buffer = Buffer.buffer("{\"foo\":\"bar\"}");
+        Result result = Result.passthrough(200, buffer, null);
+        result.addHeader("x-foo", "bar");
+        Assert.assertSame(buffer, result.rawBody());
+        Assert.assertEquals(buffer.length(), result.byteSize());
+        Result copy = result.copy();
+        Assert.assertSame(buffer, copy.rawBody());
+        Assert.assertEquals("bar", copy.headers().get("x-foo").iterator().next());
+        Assert.assertFalse(result.isArray());
+        Assert.assertEquals("bar", result.responseObject().getString("foo"));
+        Assert.assertEquals("bar", result.copy().responseObject().getString("foo"));
+        Assert.assertEquals("bar", result.copy().headers().get("x-foo").iterator().next());
+    }
 }
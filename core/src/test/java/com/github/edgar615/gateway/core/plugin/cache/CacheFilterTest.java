@@ -0,0 +1,201 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.Result;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CacheFilterTest {
+
+    private Vertx vertx;
+
+    private Filter cacheFilter;
+
+    private Filter cacheUpdateFilter;
+
+    private ApiDefinition apiDefinition;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        cacheFilter = Filter.create(CacheFilter.class.getSimpleName(), vertx, new JsonObject());
+        cacheUpdateFilter =
+                Filter.create(CacheUpdateFilter.class.getSimpleName(), vertx, new JsonObject());
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "devices", Lists.newArrayList(httpEndpoint));
+        apiDefinition.addPlugin(CachePlugin.create(60, Lists.newArrayList("type"),
+                                                   Lists.newArrayList("Accept-Language")));
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testShouldFilter() {
+        Assert.assertTrue(cacheFilter.shouldFilterStatically(apiDefinition));
+        Assert.assertNull(cacheUpdateFilter.shouldFilterStatically(apiDefinition));
+        Assert.assertFalse(cacheUpdateFilter.needResponseBody());
+        ApiDefinition noCache = ApiDefinition.create("get_device", HttpMethod.GET, "devices",
+                                                     apiDefinition.endpoints());
+        Assert.assertFalse(cacheFilter.shouldFilterStatically(noCache));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilterStatically(noCache));
+    }
+
+    @Test
+    public void testCacheKey() {
+        CachePlugin plugin = apiDefinition.plugin(CachePlugin.class);
+        ApiContext apiContext = apiContext("1", "zh");
+        Assert.assertEquals("get_device GET %2Fdevices?type=1|accept-language=zh,",
+                            CacheFilter.cacheKey(apiContext, plugin));
+        Assert.assertNotEquals(CacheFilter.cacheKey(apiContext, plugin),
+                               CacheFilter.cacheKey(apiContext("2", "zh"), plugin));
+        Assert.assertNotEquals(CacheFilter.cacheKey(apiContext, plugin),
+                               CacheFilter.cacheKey(apiContext("1", "en"), plugin));
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("b", "2");
+        params.put("a", "1");
+        ApiContext allParams = ApiContext.create(HttpMethod.GET, "/devices",
+                                                 ArrayListMultimap.create(), params, null);
+        allParams.setApiDefinition(apiDefinition);
+        Assert.assertEquals("get_device GET %2Fdevices?a=1&b=2",
+                            CacheFilter.cacheKey(allParams, CachePlugin.create(60, null, null)));
+    }
+
+    @Test
+    public void testPrincipalInKey() {
+        CachePlugin plugin = apiDefinition.plugin(CachePlugin.class);
+        ApiContext user1 = apiContext("1", "zh");
+        user1.setPrincipal(new JsonObject().put("userId", 1).put("tenant", "a"));
+        ApiContext sameUser = apiContext("1", "zh");
+        sameUser.setPrincipal(new JsonObject().put("tenant", "a").put("userId", 1));
+        ApiContext user2 = apiContext("1", "zh");
+        user2.setPrincipal(new JsonObject().put("userId", 2).put("tenant", "a"));
+        Assert.assertEquals(CacheFilter.cacheKey(user1, plugin),
+                            CacheFilter.cacheKey(sameUser, plugin));
+        Assert.assertNotEquals(CacheFilter.cacheKey(user1, plugin),
+                               CacheFilter.cacheKey(user2, plugin));
+        Assert.assertNotEquals(CacheFilter.cacheKey(user1, plugin),
+                               CacheFilter.cacheKey(apiContext("1", "zh"), plugin));
+
+        CachePlugin shared = CachePlugin.create(60, Lists.newArrayList("type"),
+                                                Lists.newArrayList("Accept-Language"), true);
+        Assert.assertEquals(CacheFilter.cacheKey(user1, shared),
+                            CacheFilter.cacheKey(user2, shared));
+    }
+
+    @Test
+    public void testCacheKeyEscape() {
+        CachePlugin plugin = CachePlugin.create(60, null, Lists.newArrayList("Accept-Language"));
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("a", "1&b=2");
+        Multimap<String, String> params2 = ArrayListMultimap.create();
+        params2.put("a", "1");
+        params2.put("b", "2");
+        Assert.assertNotEquals(CacheFilter.cacheKey(apiContext(params, "zh"), plugin),
+                               CacheFilter.cacheKey(apiContext(params2, "zh"), plugin));
+        Multimap<String, String> params3 = ArrayListMultimap.create();
+        params3.put("a", "1|accept-language=zh,");
+        Assert.assertNotEquals(CacheFilter.cacheKey(apiContext(params2, "zh"), plugin),
+                               CacheFilter.cacheKey(apiContext(params3, ""), plugin));
+    }
+
+    @Test
+    public void testHit() {
+        ApiContext apiContext = doFilter(cacheFilter, apiContext("1", "zh"));
+        Assert.assertNull(apiContext.result());
+        Assert.assertNotNull(apiContext.variables().get(CacheFilter.CACHE_KEY));
+
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject().put("id", 1),
+                                                     ArrayListMultimap.create()));
+        Assert.assertTrue(cacheUpdateFilter.shouldFilter(apiContext));
+        doFilter(cacheUpdateFilter, apiContext);
+
+        ApiContext hitContext = doFilter(cacheFilter, apiContext("1", "zh"));
+        Assert.assertEquals(true, hitContext.variables().get(CacheFilter.CACHE_HIT));
+        Assert.assertFalse(hitContext.variables().containsKey(CacheFilter.CACHE_KEY));
+        Assert.assertEquals(Buffer.buffer("{\"id\":1}"), hitContext.result().rawBody());
+        Assert.assertEquals(1, (int) hitContext.result().responseObject().getInteger("id"));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilter(hitContext));
+
+        ApiContext missContext = doFilter(cacheFilter, apiContext("2", "zh"));
+        Assert.assertNull(missContext.result());
+    }
+
+    @Test
+    public void testPrivateNotCached() {
+        ApiContext apiContext = doFilter(cacheFilter, apiContext("1", "zh"));
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("set-cookie", "session=1");
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject(), headers));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilter(apiContext));
+
+        headers = ArrayListMultimap.create();
+        headers.put("Cache-Control", "private, max-age=60");
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject(), headers));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilter(apiContext));
+
+        headers = ArrayListMultimap.create();
+        headers.put("Cache-Control", "no-store");
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject(), headers));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilter(apiContext));
+
+        headers = ArrayListMultimap.create();
+        headers.put("Cache-Control", "max-age=60");
+        apiContext.setResult(Result.createJsonObject(200, new JsonObject(), headers));
+        Assert.assertTrue(cacheUpdateFilter.shouldFilter(apiContext));
+    }
+
+    @Test
+    public void testErrorNotCached() {
+        ApiContext apiContext = doFilter(cacheFilter, apiContext("1", "zh"));
+        apiContext.setResult(Result.createJsonObject(500, new JsonObject(),
+                                                     ArrayListMultimap.create()));
+        Assert.assertFalse(cacheUpdateFilter.shouldFilter(apiContext));
+    }
+
+    private ApiContext apiContext(String type, String language) {
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("type", type);
+        return apiContext(params, language);
+    }
+
+    private ApiContext apiContext(Multimap<String, String> params, String language) {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("accept-language", language);
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", headers, params,
+                                                  null);
+        apiContext.setApiDefinition(apiDefinition);
+        return apiContext;
+    }
+
+    private ApiContext doFilter(Filter filter, ApiContext apiContext) {
+        Future<ApiContext> future = Future.future();
+        filter.doFilter(apiContext, future);
+        Assert.assertTrue(future.succeeded());
+        return future.result();
+    }
+}
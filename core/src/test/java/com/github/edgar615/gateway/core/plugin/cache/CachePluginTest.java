@@ -0,0 +1,53 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.definition.ApiPluginFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CachePluginTest {
+
+    @Test
+    public void testDecodeBoolean() {
+        ApiPluginFactory factory = new CachePluginFactory();
+        CachePlugin plugin = (CachePlugin) factory.decode(new JsonObject().put("cache", true));
+        Assert.assertEquals(CachePlugin.DEFAULT_EXPIRES, plugin.expires());
+        Assert.assertNull(plugin.params());
+        Assert.assertTrue(plugin.headers().isEmpty());
+        Assert.assertNull(factory.decode(new JsonObject().put("cache", false)));
+        Assert.assertNull(factory.decode(new JsonObject()));
+    }
+
+    @Test
+    public void testDecodeObject() {
+        ApiPluginFactory factory = new CachePluginFactory();
+        CachePlugin plugin = (CachePlugin) factory.decode(new JsonObject().put("cache",
+                new JsonObject().put("expires", 30)
+                        .put("params", new JsonArray().add("type"))
+                        .put("headers", new JsonArray().add("Accept-Language"))));
+        Assert.assertEquals(30, plugin.expires());
+        Assert.assertEquals("type", plugin.params().get(0));
+        Assert.assertEquals("Accept-Language", plugin.headers().get(0));
+        Assert.assertFalse(plugin.shared());
+        CachePlugin shared = (CachePlugin) factory.decode(new JsonObject().put("cache",
+                new JsonObject().put("shared", true)));
+        Assert.assertTrue(shared.shared());
+        Assert.assertTrue(factory.encode(shared).getJsonObject("cache").getBoolean("shared"));
+    }
+
+    @Test
+    public void testEncode() {
+        ApiPlugin plugin = ApiPlugin.create(CachePlugin.class.getSimpleName());
+        JsonObject jsonObject = plugin.encode();
+        Assert.assertEquals(60L, (long) jsonObject.getJsonObject("cache").getLong("expires"));
+        Assert.assertFalse(jsonObject.getJsonObject("cache").containsKey("params"));
+        Assert.assertTrue(new CachePluginFactory().encode(null).isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.edgar615.gateway.core.plugin.cache;
+
+import com.google.common.collect.ArrayListMultimap;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ResponseCacheTest {
+
+    private final CachePlugin plugin = CachePlugin.create(60, null, null);
+
+    @Test
+    public void testGetAndPut() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, 4, 0.8);
+        Assert.assertNull(cache.get("a", plugin));
+        Assert.assertTrue(put(cache, "a", 10));
+        ResponseCache.Entry entry = cache.get("a", plugin);
+        Assert.assertEquals(200, entry.statusCode());
+        Assert.assertEquals(10, entry.body().length());
+        Assert.assertEquals(1L, (long) cache.metrics().getLong("hits"));
+        Assert.assertEquals(1L, (long) cache.metrics().getLong("misses"));
+    }
+
+    @Test
+    public void testRepublish() {
+        ResponseCache cache = new ResponseCache(1024 * 1024, 4, 0.8);
+        put(cache, "a", 10);
+        //API重新发布之后插件对象变化
+        Assert.assertNull(cache.get("a", CachePlugin.create(60, null, null)));
+        Assert.assertNull(cache.get("a", plugin));
+
+        put(cache, "a", 10);
+        put(cache, "b", 10);
+        Assert.assertEquals(2, cache.invalidate("test"));
+        Assert.assertNull(cache.get("b", plugin));
+    }
+
+    @Test
+    public void testTooLarge() {
+        ResponseCache cache = new ResponseCache(4096, 1, 0.8);
+        Assert.assertFalse(put(cache, "a", 2048));
+        Assert.assertNull(cache.get("a", plugin));
+    }
+
+    @Test
+    public void testSegmentedLru() {
+        //每个缓存项大约240字节，容量可以放下7个左右
+        ResponseCache cache = new ResponseCache(228 * 8, 1, 0.5);
+        put(cache, "hot", 100);
+        //第二次访问晋升到protected
+        Assert.assertNotNull(cache.get("hot", plugin));
+        for (int i = 0; i < 20; i++) {
+            put(cache, "cold" + i, 100);
+        }
+        Assert.assertNotNull(cache.get("hot", plugin));
+        Assert.assertNull(cache.get("cold0", plugin));
+        Assert.assertNotNull(cache.get("cold19", plugin));
+        Assert.assertTrue(cache.metrics().getLong("evictions") > 0);
+        Assert.assertTrue(cache.metrics().getLong("bytes") <= 228 * 8);
+    }
+
+    private boolean put(ResponseCache cache, String key, int size) {
+        return cache.put(key, "test", plugin, 200, Buffer.buffer(new byte[size]),
+                         ArrayListMultimap.create());
+    }
+}
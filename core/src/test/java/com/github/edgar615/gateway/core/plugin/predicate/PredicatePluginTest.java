@@ -4,11 +4,19 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 public class PredicatePluginTest {
 
     @Test
@@ -101,4 +109,81 @@ public class PredicatePluginTest {
         Assert.assertTrue(remoteAddr.getValue("hash") instanceof JsonObject);
         Assert.assertTrue(remoteAddr.getValue("range") instanceof JsonObject);
     }
+
+    @Test
+    public void testDecodeAfter() {
+        JsonObject predicate = new JsonObject().put("after", "2018-08-06T17:05:02.717+08:00");
+        PredicatePlugin plugin = (PredicatePlugin) new PredicatePluginFactory()
+                .decode(new JsonObject().put("predicate", predicate));
+        Assert.assertTrue(plugin.predicates().get(0) instanceof AfterPredicate);
+    }
+
+    @Test
+    public void testCompiledTest() {
+        JsonObject predicate = new JsonObject()
+                .put("between", new JsonArray().add("2018-08-05T17:05:02.717+08:00")
+                        .add("2018-08-06T17:05:02.717+08:00"))
+                .put("header", new JsonObject()
+                        .put("contains", new JsonArray().add("X-Api-Version"))
+                        .put("regex", new JsonObject().put("X-Api-Version", "\\d+\\.\\d+")))
+                .put("query", new JsonObject()
+                        .put("equals", new JsonObject().put("Type", "canary")));
+        PredicatePlugin plugin = (PredicatePlugin) new PredicatePluginFactory()
+                .decode(new JsonObject().put("predicate", predicate));
+
+        Multimap<String, String> header = ArrayListMultimap.create();
+        header.put("x-api-version", "1.2");
+        Multimap<String, String> params = ArrayListMultimap.create();
+        params.put("type", "canary");
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/", header, params, null);
+        long receivedOn = ZonedDateTime.parse("2018-08-06T10:00:00.000+08:00")
+                .toInstant().toEpochMilli();
+        apiContext.addVariable("requestReceivedOn", receivedOn);
+        Assert.assertTrue(plugin.test(apiContext));
+
+        apiContext.addVariable("requestReceivedOn", receivedOn + 86400000L);
+        Assert.assertFalse(plugin.test(apiContext));
+    }
+
+    @Test
+    public void testCostOrder() {
+        List<String> tested = new ArrayList<>();
+        PredicatePlugin plugin = new PredicatePlugin()
+                .add(new RecordPredicate("regex", ApiPredicate.COST_REGEX, true, tested))
+                .add(new RecordPredicate("lookup", ApiPredicate.COST_LOOKUP, false, tested))
+                .add(new RecordPredicate("constant", ApiPredicate.COST_CONSTANT, true, tested));
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/", null, null, null);
+        Assert.assertFalse(plugin.test(apiContext));
+        //开销小的先执行，不满足之后不再执行后面的断言
+        Assert.assertEquals(Lists.newArrayList("constant", "lookup"), tested);
+    }
+
+    private static class RecordPredicate implements ApiPredicate {
+
+        private final String name;
+
+        private final int cost;
+
+        private final boolean result;
+
+        private final List<String> tested;
+
+        private RecordPredicate(String name, int cost, boolean result, List<String> tested) {
+            this.name = name;
+            this.cost = cost;
+            this.result = result;
+            this.tested = tested;
+        }
+
+        @Override
+        public boolean test(ApiContext context) {
+            tested.add(name);
+            return result;
+        }
+
+        @Override
+        public int cost() {
+            return cost;
+        }
+    }
 }
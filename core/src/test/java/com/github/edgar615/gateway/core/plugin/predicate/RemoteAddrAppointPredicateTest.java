@@ -37,4 +37,46 @@ public class RemoteAddrAppointPredicateTest {
         apiContext.addVariable("request_clientIp", "192.168.1.4");
         Assert.assertFalse(predicate.test(apiContext));
     }
+
+    @Test
+    public void testPartialAndInvalid() {
+        List<String> appoint = new ArrayList<>();
+        appoint.add("192.168.1");
+        appoint.add("abc");
+        RemoteAddrAppointPredicate predicate = new RemoteAddrAppointPredicate(appoint);
+        ApiContext apiContext = ApiContext
+                .create(HttpMethod.GET, "/", ArrayListMultimap.create(), ArrayListMultimap.create(),
+                        null);
+        apiContext.addVariable("request_clientIp", "192.168.1.100");
+        Assert.assertTrue(predicate.test(apiContext));
+
+        apiContext.addVariable("request_clientIp", "192.168.2.100");
+        Assert.assertFalse(predicate.test(apiContext));
+    }
+
+    @Test
+    public void testCidr() {
+        List<String> appoint = new ArrayList<>();
+        appoint.add("10.0.0.0/8");
+        appoint.add("172.16.0.1-172.16.0.10");
+        appoint.add("2001:db8::/32");
+        RemoteAddrAppointPredicate predicate = new RemoteAddrAppointPredicate(appoint);
+        ApiContext apiContext = ApiContext
+                .create(HttpMethod.GET, "/", ArrayListMultimap.create(), ArrayListMultimap.create(),
+                        null);
+        apiContext.addVariable("request_clientIp", "10.1.2.3");
+        Assert.assertTrue(predicate.test(apiContext));
+
+        apiContext.addVariable("request_clientIp", "172.16.0.10");
+        Assert.assertTrue(predicate.test(apiContext));
+
+        apiContext.addVariable("request_clientIp", "172.16.0.11");
+        Assert.assertFalse(predicate.test(apiContext));
+
+        apiContext.addVariable("request_clientIp", "2001:db8::1");
+        Assert.assertTrue(predicate.test(apiContext));
+
+        apiContext.addVariable("request_clientIp", "2001:db9::1");
+        Assert.assertFalse(predicate.test(apiContext));
+    }
 }
@@ -0,0 +1,191 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class ClusterRateLimiterTest {
+
+    private final RateLimit limit = RateLimit.create(10, 60, 10);
+
+    private Vertx vertx;
+
+    private RateLimitCoordinator coordinator;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        coordinator = new RateLimitCoordinator(vertx, new JsonObject());
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        coordinator.close();
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testSharedByNodes(TestContext context) {
+        //两个节点共享同一个协调者
+        ClusterRateLimiter node1 = node(new JsonObject().put("batchRatio", 0.3), System::nanoTime);
+        ClusterRateLimiter node2 = node(new JsonObject().put("batchRatio", 0.3), System::nanoTime);
+        AtomicInteger allowed = new AtomicInteger();
+        Async async = context.async();
+        Runnable done = () -> {
+            context.assertEquals(10, allowed.get());
+            long renewals = node1.metrics().getLong("renewals")
+                            + node2.metrics().getLong("renewals");
+            context.assertTrue(renewals < 30);
+            context.assertEquals(10L, coordinator.metrics().getLong("granted"));
+            async.complete();
+        };
+        vertx.runOnContext(v -> acquire(new ClusterRateLimiter[] {node1, node2}, 0, 30, allowed,
+                                        done));
+    }
+
+    @Test
+    public void testReturnExpired(TestContext context) {
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        ClusterRateLimiter node = node(new JsonObject().put("batchRatio", 0.5), clock::get);
+        Async async = context.async();
+        vertx.runOnContext(v -> node.acquire("a", limit, wait1 -> {
+            context.assertEquals(0L, wait1);
+            //租约过期，剩下的4个令牌随下一次续租归还
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            node.acquire("a", limit, wait2 -> {
+                context.assertEquals(0L, wait2);
+                context.assertEquals(4L, coordinator.metrics().getLong("returned"));
+                async.complete();
+            });
+        }));
+    }
+
+    @Test
+    public void testReturnAfterFailure(TestContext context) {
+        //第2次续租失败，其他的请求转发给协调者
+        AtomicInteger requests = new AtomicInteger();
+        vertx.eventBus().<JsonObject>consumer("flaky-coordinator", msg -> {
+            if (requests.incrementAndGet() == 2) {
+                msg.fail(500, "busy");
+                return;
+            }
+            vertx.eventBus().<JsonObject>send(RateLimitCoordinator.DEFAULT_ADDRESS, msg.body(),
+                                              ar -> msg.reply(ar.result().body()));
+        });
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        ClusterRateLimiter node = node(new JsonObject().put("batchRatio", 0.5)
+                                               .put("address", "flaky-coordinator"), clock::get);
+        Async async = context.async();
+        vertx.runOnContext(v -> node.acquire("a", limit, wait1 -> {
+            context.assertEquals(0L, wait1);
+            //租约过期，归还4个令牌的续租失败
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            node.acquire("a", limit, wait2 -> {
+                context.assertEquals(1L, node.metrics().getLong("fallbacks"));
+                context.assertEquals(0L, coordinator.metrics().getLong("returned"));
+                //协调者恢复之后，令牌随下一次续租归还
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+                node.acquire("a", limit, wait3 -> {
+                    context.assertEquals(0L, wait3);
+                    context.assertEquals(4L, coordinator.metrics().getLong("returned"));
+                    async.complete();
+                });
+            });
+        }));
+    }
+
+    @Test
+    public void testFallback(TestContext context) {
+        ClusterRateLimiter node = node(new JsonObject().put("address", "no-coordinator")
+                                               .put("timeout", 100), System::nanoTime);
+        Async async = context.async();
+        vertx.runOnContext(v -> node.acquire("a", limit, wait -> {
+            context.assertEquals(0L, wait);
+            context.assertEquals(1L, node.metrics().getLong("fallbacks"));
+            //协调者不可用期间直接使用本地的限流器
+            node.acquire("a", limit, wait2 -> {
+                context.assertEquals(0L, wait2);
+                context.assertEquals(1L, node.metrics().getLong("renewals"));
+                async.complete();
+            });
+        }));
+    }
+
+    @Test
+    public void testFilter(TestContext context) {
+        Filter filter = Filter.create(RateLimitFilter.class.getSimpleName(), vertx,
+                                      new JsonObject().put("rate.limit.cluster", new JsonObject()));
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        ApiDefinition apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "devices", Lists.newArrayList(httpEndpoint));
+        apiDefinition.addPlugin(RateLimitPlugin.create(RateLimit.create(1, 60, 1), null, null));
+        Async async = context.async();
+        vertx.runOnContext(v -> doFilter(filter, apiDefinition).setHandler(ar1 -> {
+            context.assertNull(ar1.result().result());
+            doFilter(filter, apiDefinition).setHandler(ar2 -> {
+                context.assertEquals(429, ar2.result().result().statusCode());
+                async.complete();
+            });
+        }));
+    }
+
+    private ClusterRateLimiter node(JsonObject options, LongSupplier clock) {
+        return new ClusterRateLimiter(vertx, options,
+                                      new RateLimiter(100, 1, 10000, System::nanoTime), clock);
+    }
+
+    /**
+     * 按顺序轮流在各个节点上获取令牌.
+     */
+    private void acquire(ClusterRateLimiter[] nodes, int index, int total, AtomicInteger allowed,
+                         Runnable done) {
+        if (index == total) {
+            done.run();
+            return;
+        }
+        nodes[index % nodes.length].acquire("a", limit, wait -> {
+            if (wait == 0) {
+                allowed.incrementAndGet();
+            }
+            acquire(nodes, index + 1, total, allowed, done);
+        });
+    }
+
+    private Future<ApiContext> doFilter(Filter filter, ApiDefinition apiDefinition) {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices",
+                                                  ArrayListMultimap.create(),
+                                                  ArrayListMultimap.create(), null);
+        apiContext.setApiDefinition(apiDefinition);
+        Future<ApiContext> future = Future.future();
+        filter.doFilter(apiContext, future);
+        return future;
+    }
+}
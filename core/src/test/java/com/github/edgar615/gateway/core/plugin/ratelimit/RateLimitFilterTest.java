@@ -0,0 +1,87 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitFilterTest {
+
+    private Vertx vertx;
+
+    private Filter filter;
+
+    private ApiDefinition apiDefinition;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        filter = Filter.create(RateLimitFilter.class.getSimpleName(), vertx, new JsonObject());
+        SimpleHttpEndpoint httpEndpoint =
+                SimpleHttpEndpoint.http("get_device", HttpMethod.GET, "/devices",
+                                        80, "localhost");
+        apiDefinition = ApiDefinition
+                .create("get_device", HttpMethod.GET, "devices", Lists.newArrayList(httpEndpoint));
+        apiDefinition.addPlugin(RateLimitPlugin.create(RateLimit.create(3, 60, 3), null,
+                                                       RateLimit.create(2, 60, 2)));
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testShouldFilter() {
+        Assert.assertTrue(filter.shouldFilterStatically(apiDefinition));
+        Assert.assertEquals(8500, filter.order());
+        ApiDefinition noLimit = ApiDefinition.create("get_device", HttpMethod.GET, "devices",
+                                                     apiDefinition.endpoints());
+        Assert.assertFalse(filter.shouldFilterStatically(noLimit));
+    }
+
+    @Test
+    public void testLimit() {
+        Assert.assertNull(doFilter("10.0.0.1").result());
+        Assert.assertNull(doFilter("10.0.0.1").result());
+        //IP的限制
+        ApiContext rejected = doFilter("10.0.0.1");
+        Assert.assertEquals(429, rejected.result().statusCode());
+        Assert.assertEquals(true, rejected.variables().get(RateLimitFilter.RATE_LIMITED));
+        Assert.assertTrue(Long.parseLong(rejected.result().headers().get("Retry-After")
+                                                 .iterator().next()) > 0);
+        Assert.assertEquals(1010, (int) rejected.result().responseObject().getInteger("code"));
+        //被IP拒绝的请求不消耗API的令牌
+        Assert.assertNull(doFilter("10.0.0.2").result());
+        //API的限制
+        Assert.assertEquals(429, doFilter("10.0.0.3").result().statusCode());
+    }
+
+    private ApiContext doFilter(String ip) {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices",
+                                                  ArrayListMultimap.create(),
+                                                  ArrayListMultimap.create(), null);
+        apiContext.setApiDefinition(apiDefinition);
+        apiContext.addVariable("request_clientIp", ip);
+        Future<ApiContext> future = Future.future();
+        filter.doFilter(apiContext, future);
+        Assert.assertTrue(future.succeeded());
+        return future.result();
+    }
+}
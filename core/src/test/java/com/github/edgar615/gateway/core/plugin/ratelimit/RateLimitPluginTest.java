@@ -0,0 +1,45 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import com.github.edgar615.gateway.core.definition.ApiPlugin;
+import com.github.edgar615.gateway.core.definition.ApiPluginFactory;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimitPluginTest {
+
+    @Test
+    public void testDecode() {
+        ApiPluginFactory factory = new RateLimitPluginFactory();
+        RateLimitPlugin plugin = (RateLimitPlugin) factory.decode(new JsonObject().put("rateLimit",
+                new JsonObject()
+                        .put("api", new JsonObject().put("rate", 1000).put("burst", 2000))
+                        .put("ip", new JsonObject().put("rate", 10).put("period", 60))));
+        Assert.assertEquals(RateLimit.create(1000, 1, 2000), plugin.api());
+        Assert.assertNull(plugin.appKey());
+        Assert.assertEquals(10, plugin.ip().rate());
+        Assert.assertEquals(60, plugin.ip().period());
+        Assert.assertEquals(10, plugin.ip().burst());
+        Assert.assertNull(factory.decode(new JsonObject()));
+    }
+
+    @Test
+    public void testEncode() {
+        ApiPlugin plugin = ApiPlugin.create(RateLimitPlugin.class.getSimpleName());
+        JsonObject jsonObject = plugin.encode();
+        Assert.assertEquals(1000L, (long) jsonObject.getJsonObject("rateLimit")
+                .getJsonObject("api").getLong("rate"));
+        Assert.assertFalse(jsonObject.getJsonObject("rateLimit").containsKey("ip"));
+        Assert.assertTrue(new RateLimitPluginFactory().encode(null).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        RateLimitPlugin.create(null, null, null);
+    }
+}
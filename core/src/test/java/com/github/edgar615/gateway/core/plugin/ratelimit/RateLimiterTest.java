@@ -0,0 +1,94 @@
+package com.github.edgar615.gateway.core.plugin.ratelimit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    public void testBurstAndRefill() {
+        RateLimiter limiter = new RateLimiter(100, 1, 10000, clock::get);
+        RateLimit limit = RateLimit.create(10, 1, 5);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(0, limiter.tryAcquire("a", limit));
+        }
+        long wait = limiter.tryAcquire("a", limit);
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        //其他key不受影响
+        Assert.assertEquals(0, limiter.tryAcquire("b", limit));
+        clock.addAndGet(wait);
+        Assert.assertEquals(0, limiter.tryAcquire("a", limit));
+        Assert.assertTrue(limiter.tryAcquire("a", limit) > 0);
+        Assert.assertEquals(2L, (long) limiter.metrics().getLong("rejected"));
+    }
+
+    @Test
+    public void testLimitChanged() {
+        RateLimiter limiter = new RateLimiter(100, 1, 10000, clock::get);
+        Assert.assertEquals(0, limiter.tryAcquire("a", RateLimit.create(1, 1, 1)));
+        Assert.assertTrue(limiter.tryAcquire("a", RateLimit.create(1, 1, 1)) > 0);
+        //API的限制修改之后使用新的令牌桶
+        Assert.assertEquals(0, limiter.tryAcquire("a", RateLimit.create(2, 1, 2)));
+    }
+
+    @Test
+    public void testSweepIdle() {
+        RateLimiter limiter = new RateLimiter(100, 1, 1000, clock::get);
+        RateLimit limit = RateLimit.create(10, 1, 10);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("key" + i, limit);
+        }
+        Assert.assertEquals(50, limiter.size());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("new", limit);
+        Assert.assertEquals(1, limiter.size());
+        Assert.assertEquals(0L, (long) limiter.metrics().getLong("evicted"));
+    }
+
+    @Test
+    public void testBounded() {
+        RateLimiter limiter = new RateLimiter(100, 4, 10000, clock::get);
+        RateLimit limit = RateLimit.create(10, 1, 10);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("ip:device:" + i, limit);
+        }
+        Assert.assertTrue(limiter.size() <= 100);
+        Assert.assertTrue(limiter.metrics().getLong("evicted") > 0);
+    }
+
+    @Test
+    public void testNotEvictApi() {
+        RateLimiter limiter = new RateLimiter(10, 1, 10000, clock::get);
+        RateLimit limit = RateLimit.create(1, 1, 1);
+        Assert.assertEquals(0, limiter.tryAcquire("api:device:", limit));
+        Assert.assertEquals(0, limiter.tryAcquire("appKey:device:app", limit));
+        Assert.assertEquals(0, limiter.tryAcquire("ip:device:busy", limit));
+        //大量的IP只会淘汰客户端的令牌桶
+        for (int i = 0; i < 100; i++) {
+            clock.incrementAndGet();
+            limiter.tryAcquire("ip:device:" + i, RateLimit.create(1000, 1, 1000));
+        }
+        Assert.assertTrue(limiter.metrics().getLong("evicted") > 0);
+        Assert.assertTrue(limiter.tryAcquire("api:device:", limit) > 0);
+        Assert.assertTrue(limiter.tryAcquire("appKey:device:app", limit) > 0);
+        //最久没有使用的令牌桶先被淘汰，仍然在限流中的令牌桶保留
+        Assert.assertTrue(limiter.tryAcquire("ip:device:busy", limit) > 0);
+    }
+
+    @Test
+    public void testRetryAfter() {
+        Assert.assertEquals(1, RateLimitFilter.retryAfter(1));
+        Assert.assertEquals(1, RateLimitFilter.retryAfter(TimeUnit.SECONDS.toNanos(1)));
+        Assert.assertEquals(2, RateLimitFilter.retryAfter(TimeUnit.SECONDS.toNanos(1) + 1));
+    }
+}
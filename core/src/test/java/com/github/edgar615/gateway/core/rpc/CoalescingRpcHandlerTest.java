@@ -0,0 +1,149 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.http.CoalescingRpcHandler;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRpcHandlerFactory;
+import com.google.common.collect.Lists;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CoalescingRpcHandlerTest {
+
+    private List<Future<RpcResponse>> calls;
+
+    private RpcHandler delegate;
+
+    @Before
+    public void setUp() {
+        calls = new ArrayList<>();
+        delegate = new RpcHandler() {
+            @Override
+            public String type() {
+                return "simple-http";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                Future<RpcResponse> future = Future.future();
+                calls.add(future);
+                return future;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        calls.clear();
+    }
+
+    @Test
+    public void testCoalesce() {
+        CoalescingRpcHandler handler =
+                new CoalescingRpcHandler(delegate, Lists.newArrayList("Authorization"));
+        SimpleHttpRequest request1 = request();
+        SimpleHttpRequest request2 = request();
+        Future<RpcResponse> future1 = handler.handle(request1);
+        Future<RpcResponse> future2 = handler.handle(request2);
+        Assert.assertEquals(1, calls.size());
+        Assert.assertEquals(1, handler.metrics().getLong("inFlight"), 0);
+
+        calls.get(0).complete(RpcResponse.createJsonObject(request1.id(), 200,
+                                                           new JsonObject().put("foo", "bar"), 5));
+        Assert.assertTrue(future1.succeeded());
+        Assert.assertTrue(future2.succeeded());
+        Assert.assertEquals(request1.id(), future1.result().id());
+        Assert.assertEquals(request2.id(), future2.result().id());
+        Assert.assertEquals("bar", future2.result().responseObject().getString("foo"));
+        //每个请求都有自己的副本
+        future2.result().responseObject().put("foo", "baz");
+        Assert.assertEquals("bar", future1.result().responseObject().getString("foo"));
+
+        JsonObject metrics = handler.metrics();
+        Assert.assertEquals(1, metrics.getLong("leaders"), 0);
+        Assert.assertEquals(1, metrics.getLong("joined"), 0);
+        Assert.assertEquals(0, metrics.getLong("inFlight"), 0);
+
+        //完成之后的请求重新发起
+        handler.handle(request());
+        Assert.assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void testDifferentKey() {
+        CoalescingRpcHandler handler =
+                new CoalescingRpcHandler(delegate, Lists.newArrayList("Authorization"));
+        handler.handle(request());
+        handler.handle(request().addParam("q", "1"));
+        handler.handle(request().addHeader("Authorization", "token"));
+        //不参与比较的请求头
+        handler.handle(request().addHeader("x-request-id", "1"));
+        handler.handle(request().setHttpMethod(HttpMethod.POST));
+        SimpleHttpRequest stream = request();
+        stream.setStreamResponse(true);
+        handler.handle(stream);
+        Assert.assertEquals(5, calls.size());
+    }
+
+    @Test
+    public void testEscapeKey() {
+        CoalescingRpcHandler handler =
+                new CoalescingRpcHandler(delegate, Lists.newArrayList("Authorization"));
+        handler.handle(request().addParam("a", "1").addParam("b", "2"));
+        //值中包含分隔符
+        handler.handle(request().addParam("a", "1&b=2"));
+        handler.handle(request().addParam("a", "1|authorization=token,"));
+        handler.handle(request().addParam("a", "1").addHeader("Authorization", "token"));
+        Assert.assertEquals(4, calls.size());
+    }
+
+    @Test
+    public void testFailed() {
+        CoalescingRpcHandler handler = new CoalescingRpcHandler(delegate, null);
+        Future<RpcResponse> future1 = handler.handle(request().addParam("q", "1"));
+        Future<RpcResponse> future2 = handler.handle(request().addParam("q", "1"));
+        Assert.assertEquals(1, calls.size());
+        calls.get(0).fail(new RuntimeException("failed"));
+        Assert.assertTrue(future1.failed());
+        Assert.assertTrue(future2.failed());
+        Assert.assertEquals("failed", future2.cause().getMessage());
+    }
+
+    @Test
+    public void testWrap() {
+        Vertx vertx = Vertx.vertx();
+        try {
+            Assert.assertFalse(new SimpleHttpRpcHandlerFactory().create(vertx, new JsonObject())
+                                       instanceof CoalescingRpcHandler);
+            Assert.assertTrue(new SimpleHttpRpcHandlerFactory()
+                                      .create(vertx, new JsonObject()
+                                              .put("rpc.coalescing", new JsonObject()))
+                                      instanceof CoalescingRpcHandler);
+        } finally {
+            vertx.close();
+        }
+    }
+
+    private SimpleHttpRequest request() {
+        SimpleHttpRequest request = SimpleHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setPort(8080)
+                .setHost("localhost")
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class FanOutExecutorTest {
+
+    private Vertx vertx;
+
+    private FanOutExecutor executor;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        //请求的路径作为延迟的毫秒数，路径以fail开头的请求失败
+        RpcHandler handler = new RpcHandler() {
+            @Override
+            public String type() {
+                return "simple-http";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                SimpleHttpRequest request = (SimpleHttpRequest) rpcRequest;
+                Future<RpcResponse> future = Future.future();
+                boolean fail = request.path().startsWith("fail");
+                long delay = Long.parseLong(request.path().replace("fail", ""));
+                vertx.setTimer(delay, l -> {
+                    if (fail) {
+                        future.fail(new RuntimeException(request.name()));
+                    } else {
+                        future.complete(RpcResponse.createJsonObject(
+                                request.id(), 200, new JsonObject().put("name", request.name()), delay));
+                    }
+                });
+                return future;
+            }
+        };
+        executor = new FanOutExecutor(vertx, ImmutableMap.of("simple-http", handler),
+                                      new JsonObject().put("deadline", 500));
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testAllConcurrently(TestContext context) {
+        List<RpcRequest> requests = Lists.newArrayList(request("a", "200"), request("b", "100"),
+                                                       request("c", "200"));
+        long started = System.currentTimeMillis();
+        Async async = context.async();
+        executor.execute(requests, FanOutExecutor.Policy.ALL).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            //耗时取决于最慢的请求
+            context.assertTrue(System.currentTimeMillis() - started < 400);
+            context.assertEquals(3, ar.result().size());
+            context.assertEquals("a", ar.result().get(0).responseObject().getString("name"));
+            context.assertEquals("b", ar.result().get(1).responseObject().getString("name"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testAllFailFast(TestContext context) {
+        List<RpcRequest> requests = Lists.newArrayList(request("a", "300"), request("b", "fail10"));
+        long started = System.currentTimeMillis();
+        Async async = context.async();
+        executor.execute(requests, FanOutExecutor.Policy.ALL).setHandler(ar -> {
+            context.assertTrue(ar.failed());
+            context.assertEquals("b", ar.cause().getMessage());
+            context.assertTrue(System.currentTimeMillis() - started < 300);
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testFirst(TestContext context) {
+        List<RpcRequest> requests = Lists.newArrayList(request("a", "300"), request("b", "fail10"),
+                                                       request("c", "50"));
+        Async async = context.async();
+        executor.execute(requests, FanOutExecutor.Policy.FIRST).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(1, ar.result().size());
+            context.assertEquals("c", ar.result().get(0).responseObject().getString("name"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testPartialWithFallback(TestContext context) {
+        SimpleHttpRequest failed = request("b", "fail10");
+        failed.setFallback(RpcResponse.createJsonObject(failed.id(), 200,
+                                                        new JsonObject().put("name", "fallback"), 0));
+        //超过endpoint的超时
+        SimpleHttpRequest slow = request("c", "1000");
+        slow.setTimeout(100);
+        List<RpcRequest> requests = Lists.newArrayList(request("a", "10"), failed, slow);
+        Async async = context.async();
+        executor.execute(requests, FanOutExecutor.Policy.PARTIAL).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(3, ar.result().size());
+            context.assertEquals("a", ar.result().get(0).responseObject().getString("name"));
+            context.assertEquals("fallback", ar.result().get(1).responseObject().getString("name"));
+            //超时且没有fallback的请求保留位置
+            context.assertNull(ar.result().get(2));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testDeadline(TestContext context) {
+        List<RpcRequest> requests = Lists.newArrayList(request("a", "10"), request("b", "2000"));
+        Async async = context.async();
+        executor.execute(requests, FanOutExecutor.Policy.ALL).setHandler(ar -> {
+            context.assertTrue(ar.failed());
+            context.assertTrue(ar.cause() instanceof SystemException);
+            context.assertEquals(DefaultErrorCode.TIME_OUT,
+                                 ((SystemException) ar.cause()).getErrorCode());
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testApiContext(TestContext context) {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices",
+                                                  ArrayListMultimap.create(),
+                                                  ArrayListMultimap.create(), null);
+        apiContext.addRequest(request("a", "20"));
+        apiContext.addRequest(request("b", "10"));
+        Async async = context.async();
+        executor.execute(apiContext).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(2, ar.result().responses().size());
+            context.assertEquals("b", ar.result().responses().get(1).responseObject()
+                    .getString("name"));
+            async.complete();
+        });
+    }
+
+    private SimpleHttpRequest request(String name, String path) {
+        SimpleHttpRequest request = SimpleHttpRequest.create(UUID.randomUUID().toString(), name);
+        request.setPort(8080)
+                .setHost("localhost")
+                .setPath(path)
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
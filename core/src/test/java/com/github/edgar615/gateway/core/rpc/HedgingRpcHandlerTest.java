@@ -0,0 +1,183 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.http.HedgingRpcHandler;
+import com.github.edgar615.gateway.core.rpc.http.LoadBalancedHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.LoadBalancedHttpRpcHandlerFactory;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRpcHandlerFactory;
+import com.github.edgar615.util.base.Randoms;
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class HedgingRpcHandlerTest {
+
+    private static Vertx vertx;
+
+    private static int port;
+
+    private static int fastPort;
+
+    private static AtomicInteger counter = new AtomicInteger();
+
+    private static AtomicInteger fastCounter = new AtomicInteger();
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        //奇数次的请求很慢
+        vertx.createHttpServer().requestHandler(req -> {
+            long delay = counter.incrementAndGet() % 2 == 1 ? 1000 : 1;
+            vertx.setTimer(delay, l -> {
+                if (!req.response().closed()) {
+                    req.response().putHeader("Content-Type", "application/json")
+                            .end(new JsonObject().put("delay", delay).encode());
+                }
+            });
+        }).listen(port, context.asyncAssertSuccess(s -> {}));
+        //另一个实例总是很快
+        fastPort = port + 1;
+        vertx.createHttpServer().requestHandler(req -> {
+            fastCounter.incrementAndGet();
+            req.response().putHeader("Content-Type", "application/json")
+                    .end(new JsonObject().put("port", fastPort).encode());
+        }).listen(fastPort, context.asyncAssertSuccess(s -> {}));
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testWrap(TestContext context) {
+        context.assertTrue(new SimpleHttpRpcHandlerFactory().create(vertx, new JsonObject())
+                                   instanceof SimpleHttpHandler);
+        context.assertTrue(new SimpleHttpRpcHandlerFactory()
+                                   .create(vertx, new JsonObject()
+                                           .put("rpc.hedging", new JsonObject()))
+                                   instanceof HedgingRpcHandler);
+    }
+
+    @Test
+    public void testHedge(TestContext context) {
+        counter.set(0);
+        HedgingRpcHandler handler = new HedgingRpcHandler(
+                vertx, new SimpleHttpHandler(vertx, new JsonObject()),
+                new JsonObject().put("minSamples", 0).put("minDelay", 50).put("maxHedgeRate", 100));
+        long started = System.currentTimeMillis();
+        Async async = context.async();
+        handler.handle(request()).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(1L, ar.result().responseObject().getLong("delay"));
+            context.assertTrue(System.currentTimeMillis() - started < 1000);
+            JsonObject metrics = handler.metrics();
+            context.assertEquals(1L, metrics.getLong("hedges"));
+            context.assertEquals(1L, metrics.getLong("hedgeWins"));
+            //记录的是从第一次发送开始的延迟，而不是对冲请求自己的1毫秒
+            context.assertTrue(metrics.getJsonObject("delays").getLong("localhost:" + port) > 50);
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testThrottled(TestContext context) {
+        counter.set(0);
+        HedgingRpcHandler handler = new HedgingRpcHandler(
+                vertx, new SimpleHttpHandler(vertx, new JsonObject()),
+                new JsonObject().put("minSamples", 0).put("minDelay", 50).put("maxHedgeRate", 0));
+        Async async = context.async();
+        handler.handle(request()).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(1000L, ar.result().responseObject().getLong("delay"));
+            JsonObject metrics = handler.metrics();
+            context.assertEquals(0L, metrics.getLong("hedges"));
+            context.assertEquals(1L, metrics.getLong("throttled"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testHedgeAnotherInstance(TestContext context) {
+        counter.set(0);
+        fastCounter.set(0);
+        HedgingRpcHandler handler = (HedgingRpcHandler) new LoadBalancedHttpRpcHandlerFactory()
+                .create(vertx, new JsonObject().put("rpc.hedging", new JsonObject()
+                        .put("minSamples", 0).put("minDelay", 50).put("maxHedgeRate", 100)));
+        //轮询先选中第一个实例
+        LoadBalancedHttpRequest request = loadBalancedRequest(
+                ImmutableList.of(HostAndPort.fromParts("localhost", port),
+                                 HostAndPort.fromParts("localhost", fastPort)));
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(fastPort, ar.result().responseObject().getInteger("port"));
+            context.assertEquals(1, counter.get());
+            context.assertEquals(1, fastCounter.get());
+            JsonObject metrics = handler.metrics();
+            context.assertEquals(1L, metrics.getLong("hedges"));
+            context.assertEquals(1L, metrics.getLong("hedgeWins"));
+            context.assertTrue(metrics.getJsonObject("delays").containsKey("localhost:" + port));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testHedgeSingleInstance(TestContext context) {
+        counter.set(0);
+        fastCounter.set(0);
+        HedgingRpcHandler handler = (HedgingRpcHandler) new LoadBalancedHttpRpcHandlerFactory()
+                .create(vertx, new JsonObject().put("rpc.hedging", new JsonObject()
+                        .put("minSamples", 0).put("minDelay", 50).put("maxHedgeRate", 100)));
+        LoadBalancedHttpRequest request = loadBalancedRequest(
+                ImmutableList.of(HostAndPort.fromParts("localhost", port)));
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(1L, ar.result().responseObject().getLong("delay"));
+            context.assertEquals(2, counter.get());
+            context.assertEquals(0, fastCounter.get());
+            context.assertEquals(1L, handler.metrics().getLong("hedgeWins"));
+            async.complete();
+        });
+    }
+
+    private LoadBalancedHttpRequest loadBalancedRequest(List<HostAndPort> instances) {
+        LoadBalancedHttpRequest request =
+                LoadBalancedHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setInstances(instances)
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+
+    private SimpleHttpRequest request() {
+        SimpleHttpRequest request = SimpleHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setPort(port)
+                .setHost("localhost")
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
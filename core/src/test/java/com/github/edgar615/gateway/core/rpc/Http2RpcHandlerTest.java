@@ -0,0 +1,114 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.util.base.Randoms;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class Http2RpcHandlerTest {
+
+    static Vertx vertx;
+
+    static int port;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        //vert.x的HttpServer默认支持h2c，返回请求使用的协议版本
+        vertx.createHttpServer()
+                .requestHandler(req -> req.bodyHandler(body -> {
+                    JsonObject result = new JsonObject()
+                            .put("version", req.version().name())
+                            .put("method", req.method().name());
+                    if (body.length() > 0) {
+                        result.put("body", new JsonObject(body.toString()));
+                    }
+                    req.response().putHeader("Content-Type", "application/json")
+                            .end(result.encode());
+                })).listen(port, context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testHttp1ByDefault(TestContext context) {
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        Async async = context.async();
+        handler.handle(request(HttpMethod.GET)).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals("HTTP_1_1", ar.result().responseObject().getString("version"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testHttp2ByRequest(TestContext context) {
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        Async async = context.async();
+        SimpleHttpRequest request = request(HttpMethod.POST).setHttp2(true);
+        request.setBody(new JsonObject().put("foo", "bar"));
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            JsonObject result = ar.result().responseObject();
+            context.assertEquals("HTTP_2", result.getString("version"));
+            context.assertEquals("bar", result.getJsonObject("body").getString("foo"));
+            JsonObject pool = handler.metrics().getJsonObject("h2c");
+            context.assertEquals("HTTP_2", pool.getString("protocol"));
+            context.assertEquals(1, pool.getInteger("connections"));
+            context.assertEquals(0, handler.metrics().getJsonObject("default")
+                    .getInteger("connections"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testHttp2Multiplexing(TestContext context) {
+        JsonObject config = new JsonObject()
+                .put("http.client.http2", true)
+                .put("http.client.perUpstream", true);
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, config);
+        int count = 20;
+        Async async = context.async(count);
+        for (int i = 0; i < count; i++) {
+            Future<RpcResponse> future = handler.handle(request(HttpMethod.GET));
+            future.setHandler(ar -> {
+                context.assertTrue(ar.succeeded());
+                context.assertEquals("HTTP_2", ar.result().responseObject().getString("version"));
+                async.countDown();
+            });
+        }
+        async.await();
+        //所有的请求复用一个连接
+        JsonObject pool = handler.metrics().getJsonObject("h2c:localhost:" + port);
+        context.assertEquals(1, pool.getInteger("connections"));
+        context.assertEquals(0, pool.getInteger("inFlight"));
+    }
+
+    private SimpleHttpRequest request(HttpMethod method) {
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setPath("devices").setHttpMethod(method);
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.util.base.Randoms;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class HttpClientPoolTest {
+
+    static Vertx vertx;
+
+    static int port;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions().setConfig(new JsonObject().put("port", port)),
+                             context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testDefaultPool(TestContext context) {
+        JsonObject config = new JsonObject()
+                .put("http.client", new JsonObject().put("maxPoolSize", 3));
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, config);
+        Async async = context.async();
+        get(handler).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            JsonObject metrics = handler.metrics();
+            context.assertEquals(1, metrics.size());
+            JsonObject pool = metrics.getJsonObject("default");
+            context.assertEquals(3, pool.getInteger("maxPoolSize"));
+            context.assertEquals(1, pool.getInteger("connections"));
+            context.assertEquals(0, pool.getInteger("inFlight"));
+            context.assertEquals(0, pool.getInteger("inUse"));
+            context.assertEquals(1, pool.getInteger("idle"));
+            context.assertEquals(0, pool.getInteger("waiting"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testPerUpstreamPool(TestContext context) {
+        String upstream = "localhost:" + port;
+        JsonObject config = new JsonObject()
+                .put("http.client", new JsonObject().put("maxPoolSize", 3))
+                .put("http.client.perUpstream", true)
+                .put("http.client.upstreams", new JsonObject()
+                        .put(upstream, new JsonObject().put("maxPoolSize", 1)));
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, config);
+        Async async = context.async();
+        get(handler).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            JsonObject metrics = handler.metrics();
+            context.assertEquals(0, metrics.getJsonObject("default").getInteger("connections"));
+            JsonObject pool = metrics.getJsonObject(upstream);
+            context.assertEquals(1, pool.getInteger("maxPoolSize"));
+            context.assertEquals(1, pool.getInteger("connections"));
+            context.assertEquals(1, pool.getInteger("idle"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testMaxPoolSize(TestContext context) {
+        JsonObject config = new JsonObject()
+                .put("http.client", new JsonObject().put("maxPoolSize", 1));
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, config);
+        Async async = context.async(3);
+        for (int i = 0; i < 3; i++) {
+            get(handler).setHandler(ar -> {
+                context.assertTrue(ar.succeeded());
+                async.countDown();
+            });
+        }
+        async.await();
+        //连接池只有一个连接，3个请求排队使用同一个连接
+        JsonObject pool = handler.metrics().getJsonObject("default");
+        context.assertEquals(0, pool.getInteger("inFlight"));
+        context.assertEquals(1, pool.getInteger("connections"));
+    }
+
+    private Future<RpcResponse> get(SimpleHttpHandler handler) {
+        return handler.handle(SimpleHttpRequest.create("abc", "device")
+                                      .setPort(port)
+                                      .setHost("localhost")
+                                      .setPath("devices/1")
+                                      .setHttpMethod(HttpMethod.GET));
+    }
+}
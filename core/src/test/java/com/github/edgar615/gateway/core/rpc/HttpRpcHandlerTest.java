@@ -153,6 +153,29 @@ public class HttpRpcHandlerTest {
         });
     }
 
+    @Test
+    public void testPassthrough(TestContext context) {
+        HttpRpcRequest rpcRequest = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost")
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET)
+                .setParseBody(false);
+
+        Future<RpcResponse> future = rpcHandler.handle(rpcRequest);
+        Async async = context.async();
+        future.setHandler(ar -> {
+            if (ar.succeeded()) {
+                RpcResponse rpcResponse = ar.result();
+                context.assertEquals("[{\"id\":1},{\"id\":2}]", rpcResponse.rawBody().toString());
+                context.assertTrue(rpcResponse.isArray());
+                async.complete();
+            } else {
+                context.fail();
+            }
+        });
+    }
+
     @Test
     public void testGetArray(TestContext context) {
         HttpRpcRequest rpcRequest = SimpleHttpRequest.create("abc", "device")
@@ -0,0 +1,162 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreaker;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerOptions;
+import com.github.edgar615.gateway.core.rpc.circuitbreaker.CircuitBreakerRegistry;
+import com.github.edgar615.gateway.core.rpc.http.LoadBalancedHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.LoadBalancedHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.LoadBalancedHttpRpcHandlerFactory;
+import com.github.edgar615.gateway.core.rpc.loadbalance.UpstreamStatsRegistry;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import com.github.edgar615.util.base.Randoms;
+import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class LoadBalancedHttpHandlerTest {
+
+    private static Vertx vertx;
+
+    private static int port;
+
+    private static RpcHandler rpcHandler;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        rpcHandler = new LoadBalancedHttpRpcHandlerFactory().create(vertx, new JsonObject());
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions().setConfig(new JsonObject().put("port", port)),
+                             context.asyncAssertSuccess());
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions()
+                                     .setConfig(new JsonObject().put("port", port + 1)),
+                             context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testRoundRobin(TestContext context) {
+        Async async = context.async();
+        rpcHandler.handle(request("round-robin")).setHandler(ar1 -> {
+            context.assertTrue(ar1.succeeded());
+            context.assertEquals(2, ar1.result().responseArray().size());
+            rpcHandler.handle(request("round-robin")).setHandler(ar2 -> {
+                context.assertTrue(ar2.succeeded());
+                JsonObject metrics = ((LoadBalancedHttpHandler) rpcHandler).metrics();
+                context.assertEquals(1L, metrics.getJsonObject("localhost:" + port)
+                        .getLong("requests"));
+                context.assertEquals(1L, metrics.getJsonObject("localhost:" + (port + 1))
+                        .getLong("requests"));
+                async.complete();
+            });
+        });
+    }
+
+    @Test
+    public void testSkipOpenCircuitBreaker(TestContext context) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.shared(
+                vertx, new CircuitBreakerOptions(new JsonObject().put("minimumCalls", 1)));
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker("127.0.0.3:" + port);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 1);
+        context.assertFalse(circuitBreaker.isCallPermitted());
+        List<String> hosts = new ArrayList<>();
+        RpcHandler delegate = new RpcHandler() {
+            @Override
+            public String type() {
+                return "simple-http";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                hosts.add(((SimpleHttpRequest) rpcRequest).circuitBreakerName());
+                return Future.succeededFuture(
+                        RpcResponse.createJsonObject(rpcRequest.id(), 200, new JsonObject(), 1));
+            }
+        };
+        LoadBalancedHttpHandler handler = new LoadBalancedHttpHandler(
+                delegate, UpstreamStatsRegistry.shared(vertx), circuitBreakers);
+        for (int i = 0; i < 10; i++) {
+            LoadBalancedHttpRequest request = request("round-robin");
+            request.setInstances(Lists.newArrayList(HostAndPort.fromParts("127.0.0.3", port),
+                                                    HostAndPort.fromParts("127.0.0.3", port + 1)));
+            handler.handle(request);
+        }
+        context.assertEquals(10, hosts.size());
+        context.assertFalse(hosts.contains("127.0.0.3:" + port));
+    }
+
+    @Test
+    public void testRejectedIsFailure(TestContext context) {
+        RpcHandler delegate = new RpcHandler() {
+            @Override
+            public String type() {
+                return "simple-http";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                //发往实例的请求不带fallback
+                context.assertNull(((SimpleHttpRequest) rpcRequest).fallback());
+                return Future.failedFuture(
+                        SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE));
+            }
+        };
+        LoadBalancedHttpRequest request = request("round-robin");
+        request.setInstances(Lists.newArrayList(HostAndPort.fromParts("127.0.0.2", port)));
+        request.setFallback(RpcResponse.createJsonObject(request.id(), 200,
+                                                         new JsonObject().put("foo", "bar"), 0));
+        LoadBalancedHttpHandler handler =
+                new LoadBalancedHttpHandler(delegate, UpstreamStatsRegistry.shared(vertx));
+        Future<RpcResponse> future = handler.handle(request);
+        context.assertTrue(future.succeeded());
+        context.assertEquals("bar", future.result().responseObject().getString("foo"));
+        context.assertEquals(1L, handler.metrics().getJsonObject("127.0.0.2:" + port)
+                .getLong("failures"));
+    }
+
+    @Test
+    public void testUnknownStrategy(TestContext context) {
+        Future<RpcResponse> future = rpcHandler.handle(request("random"));
+        context.assertTrue(future.failed());
+    }
+
+    private LoadBalancedHttpRequest request(String strategy) {
+        LoadBalancedHttpRequest request =
+                LoadBalancedHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setInstances(Lists.newArrayList(HostAndPort.fromParts("localhost", port),
+                                                HostAndPort.fromParts("localhost", port + 1)))
+                .setStrategy(strategy)
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
@@ -101,4 +101,18 @@ public class RpcResponseTest {
             Assert.assertEquals(1024, ex.getErrorCode().getNumber());
         }
     }
+
+    @Test
+    public void testPassthrough() {
+        Buffer buffer = Buffer.buffer(" [{\"foo\":\"bar\"}] ");
+        RpcResponse rpcResponse = RpcResponse.passthrough("test", 200, buffer, 0);
+        Assert.assertSame(buffer, rpcResponse.rawBody());
+        Assert.assertSame(buffer, rpcResponse.copy().rawBody());
+        //读取JSON内容时才解析
+        Assert.assertTrue(rpcResponse.isArray());
+        Assert.assertEquals("bar", rpcResponse.responseArray().getJsonObject(0).getString("foo"));
+        Assert.assertSame(rpcResponse.responseArray(), rpcResponse.responseArray());
+        Assert.assertNull(rpcResponse.copy().rawBody());
+        Assert.assertNull(RpcResponse.create("test", 200, buffer, 0).rawBody());
+    }
 }
@@ -0,0 +1,90 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.discovery.JsonServiceDiscovery;
+import com.github.edgar615.gateway.core.rpc.http.ServiceHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.ServiceHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.ServiceHttpRpcHandlerFactory;
+import com.github.edgar615.util.base.Randoms;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.awaitility.Awaitility;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class ServiceHttpHandlerTest {
+
+    private static Vertx vertx;
+
+    private static int port;
+
+    private static RpcHandler rpcHandler;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        JsonObject config = new JsonObject()
+                .put("service.warmup", new JsonObject().put("enabled", false))
+                .put("services", new JsonObject()
+                        .put("device", new JsonArray()
+                                .add(new JsonObject().put("host", "localhost").put("port", port))));
+        rpcHandler = new ServiceHttpRpcHandlerFactory().create(vertx, config);
+        new JsonServiceDiscovery(vertx, config);
+        Awaitility.await().until(() -> !((ServiceHttpHandler) rpcHandler).cache()
+                .instances("device").isEmpty());
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions().setConfig(new JsonObject().put("port", port)),
+                             context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testService(TestContext context) {
+        Async async = context.async();
+        rpcHandler.handle(request("device")).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(200, ar.result().statusCode());
+            context.assertEquals(2, ar.result().responseArray().size());
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testNoInstance(TestContext context) {
+        Future<RpcResponse> future = rpcHandler.handle(request("user"));
+        context.assertTrue(future.failed());
+        context.assertEquals(DefaultErrorCode.SERVICE_UNAVAILABLE,
+                             ((SystemException) future.cause()).getErrorCode());
+    }
+
+    private ServiceHttpRequest request(String service) {
+        ServiceHttpRequest request = ServiceHttpRequest.create(UUID.randomUUID().toString(), service);
+        request.setService(service)
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
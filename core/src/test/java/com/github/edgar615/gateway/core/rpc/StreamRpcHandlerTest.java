@@ -0,0 +1,224 @@
+package com.github.edgar615.gateway.core.rpc;
+
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpHandler;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.utils.StreamUtils;
+import com.github.edgar615.util.base.Randoms;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class StreamRpcHandlerTest {
+
+    static Vertx vertx;
+
+    static int port;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions().setConfig(new JsonObject().put("port", port)),
+                             context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testStreamResponse(TestContext context) {
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setPath("devices").setHttpMethod(HttpMethod.GET).setStreamResponse(true);
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            RpcResponse rpcResponse = ar.result();
+            context.assertEquals(200, rpcResponse.statusCode());
+            context.assertNotNull(rpcResponse.bodyStream());
+            //响应体读完之前连接还在使用
+            context.assertEquals(1, handler.metrics().getJsonObject("default")
+                    .getInteger("inFlight"));
+            Buffer body = Buffer.buffer();
+            rpcResponse.bodyStream().handler(body::appendBuffer);
+            rpcResponse.bodyStream().endHandler(v -> {
+                context.assertEquals("[{\"id\":1},{\"id\":2}]", body.toString());
+                context.assertEquals(0, handler.metrics().getJsonObject("default")
+                        .getInteger("inFlight"));
+                async.complete();
+            });
+            rpcResponse.bodyStream().resume();
+        });
+    }
+
+    @Test
+    public void testCopySharesStream(TestContext context) {
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setPath("devices").setHttpMethod(HttpMethod.GET).setStreamResponse(true);
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            RpcResponse rpcResponse = ar.result();
+            //可以多次复制，复制的响应和原来的响应都可以取得流
+            RpcResponse copy = rpcResponse.copy();
+            RpcResponse copyOfCopy = copy.copy();
+            context.assertNotNull(rpcResponse.bodyStream());
+            Buffer body = Buffer.buffer();
+            copyOfCopy.bodyStream().handler(body::appendBuffer);
+            copyOfCopy.bodyStream().endHandler(v -> {
+                context.assertEquals("[{\"id\":1},{\"id\":2}]", body.toString());
+                async.complete();
+            });
+            copyOfCopy.bodyStream().resume();
+            //只有第一个读取的响应可以读取
+            try {
+                rpcResponse.bodyStream().handler(body::appendBuffer);
+                context.fail();
+            } catch (IllegalStateException e) {
+                //ignore
+            }
+        });
+    }
+
+    @Test
+    public void testCopyRequestSharesStream(TestContext context) throws IOException {
+        File source = File.createTempFile("stream", ".json");
+        source.deleteOnExit();
+        AsyncFile sourceFile = vertx.fileSystem().openBlocking(source.getAbsolutePath(),
+                                                               new OpenOptions().setRead(true));
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setBodyStream(sourceFile.pause());
+        SimpleHttpRequest copy = (SimpleHttpRequest) request.copy();
+        SimpleHttpRequest copyOfCopy = (SimpleHttpRequest) copy.copy();
+        context.assertNotNull(request.bodyStream());
+        context.assertNotNull(copy.bodyStream());
+        copy.bodyStream().handler(buffer -> {
+        });
+        try {
+            copyOfCopy.bodyStream().handler(buffer -> {
+            });
+            context.fail();
+        } catch (IllegalStateException e) {
+            //ignore
+        }
+        sourceFile.close();
+    }
+
+    @Test
+    public void testTimeoutNotConsumed(TestContext context) {
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setPath("devices").setHttpMethod(HttpMethod.GET).setStreamResponse(true)
+                .setTimeout(200);
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(1, handler.metrics().getJsonObject("default")
+                    .getInteger("inFlight"));
+            //没有读取响应体，超时之后重置请求并归还连接，之后读取时收到超时的异常
+            vertx.setTimer(1000, l -> {
+                context.assertEquals(0, handler.metrics().getJsonObject("default")
+                        .getInteger("inFlight"));
+                ReadStream<Buffer> stream = ar.result().bodyStream();
+                stream.exceptionHandler(throwable -> {
+                    context.assertTrue(throwable instanceof SystemException);
+                    context.assertEquals(DefaultErrorCode.TIME_OUT,
+                                         ((SystemException) throwable).getErrorCode());
+                    async.complete();
+                });
+                stream.endHandler(v -> context.fail());
+                stream.handler(buffer -> context.fail());
+                stream.resume();
+            });
+        });
+    }
+
+    @Test
+    public void testStreamRequestAndResponse(TestContext context) throws IOException {
+        //1MB的请求体，从文件中流式读取，再把下游服务返回的响应体流式写入另一个文件
+        StringBuilder content = new StringBuilder("{\"data\":\"");
+        for (int i = 0; i < 1024 * 1024; i++) {
+            content.append((char) ('a' + i % 26));
+        }
+        content.append("\"}");
+        File source = File.createTempFile("stream", ".json");
+        File target = File.createTempFile("stream", ".json");
+        source.deleteOnExit();
+        target.deleteOnExit();
+        Files.write(source.toPath(), content.toString().getBytes());
+
+        AsyncFile sourceFile = vertx.fileSystem().openBlocking(source.getAbsolutePath(),
+                                                               new OpenOptions().setRead(true));
+        AsyncFile targetFile = vertx.fileSystem().openBlocking(target.getAbsolutePath(),
+                                                               new OpenOptions().setWrite(true));
+        SimpleHttpHandler handler = new SimpleHttpHandler(vertx, new JsonObject());
+        SimpleHttpRequest request = SimpleHttpRequest.create("abc", "device")
+                .setPort(port)
+                .setHost("localhost");
+        request.setPath("devices").setHttpMethod(HttpMethod.POST)
+                .setBodyStream(sourceFile.pause())
+                .setStreamResponse(true);
+        Async async = context.async();
+        handler.handle(request).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            StreamUtils.pump(ar.result().bodyStream(), targetFile, pumped -> {
+                context.assertTrue(pumped.succeeded());
+                targetFile.close(closed -> {
+                    try {
+                        context.assertEquals(content.toString(),
+                                             new String(Files.readAllBytes(target.toPath())));
+                    } catch (IOException e) {
+                        context.fail(e);
+                    }
+                    async.complete();
+                });
+            });
+        });
+    }
+
+    @Test
+    public void testStreamResponseCannotReadJson(TestContext context) {
+        RpcResponse rpcResponse = RpcResponse.stream("abc", 200, null, 0);
+        try {
+            rpcResponse.responseObject();
+            context.fail();
+        } catch (IllegalStateException e) {
+            context.assertNotNull(rpcResponse.copy());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import com.github.edgar615.gateway.core.rpc.DeviceHttpVerticle;
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRpcHandlerFactory;
+import com.github.edgar615.util.base.Randoms;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class CircuitBreakerRpcHandlerTest {
+
+    private static Vertx vertx;
+
+    private static int port;
+
+    private static RpcHandler rpcHandler;
+
+    @BeforeClass
+    public static void startServer(TestContext context) {
+        port = Integer.parseInt(Randoms.randomNumber(4));
+        vertx = Vertx.vertx();
+        JsonObject config = new JsonObject()
+                .put("circuit.breaker", new JsonObject()
+                        .put("minimumCalls", 2)
+                        .put("openDuration", 60000));
+        rpcHandler = new SimpleHttpRpcHandlerFactory().create(vertx, config);
+        vertx.deployVerticle(DeviceHttpVerticle.class.getName(),
+                             new DeploymentOptions().setConfig(new JsonObject().put("port", port)),
+                             context.asyncAssertSuccess());
+    }
+
+    @AfterClass
+    public static void stopServer(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testWrap(TestContext context) {
+        context.assertTrue(rpcHandler instanceof CircuitBreakerRpcHandler);
+        context.assertFalse(new SimpleHttpRpcHandlerFactory().create(vertx, new JsonObject())
+                                    instanceof CircuitBreakerRpcHandler);
+    }
+
+    @Test
+    public void testSuccess(TestContext context) {
+        Async async = context.async();
+        rpcHandler.handle(request(port)).setHandler(ar -> {
+            context.assertTrue(ar.succeeded());
+            context.assertEquals(200, ar.result().statusCode());
+            JsonObject metrics = ((CircuitBreakerRpcHandler) rpcHandler).metrics()
+                    .getJsonObject("localhost:" + port);
+            context.assertEquals("CLOSED", metrics.getString("state"));
+            async.complete();
+        });
+    }
+
+    @Test
+    public void testOpen(TestContext context) {
+        //没有服务监听的端口
+        int downPort = port + 1;
+        Async async = context.async();
+        rpcHandler.handle(request(downPort)).setHandler(ar1 -> {
+            context.assertTrue(ar1.failed());
+            rpcHandler.handle(request(downPort)).setHandler(ar2 -> {
+                context.assertTrue(ar2.failed());
+                Future<RpcResponse> future = rpcHandler.handle(request(downPort));
+                //断路器打开之后直接返回
+                context.assertTrue(future.isComplete());
+                context.assertTrue(future.failed());
+                context.assertTrue(future.cause() instanceof SystemException);
+                context.assertEquals(DefaultErrorCode.SERVICE_UNAVAILABLE,
+                                     ((SystemException) future.cause()).getErrorCode());
+
+                SimpleHttpRequest fallbackRequest = request(downPort);
+                fallbackRequest.setFallback(RpcResponse.createJsonObject(
+                        fallbackRequest.id(), 200, new JsonObject().put("fallback", true), 0));
+                Future<RpcResponse> fallback = rpcHandler.handle(fallbackRequest);
+                context.assertTrue(fallback.succeeded());
+                context.assertTrue(fallback.result().responseObject().getBoolean("fallback"));
+                async.complete();
+            });
+        });
+    }
+
+    @Test
+    public void testDelegateThrow(TestContext context) {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerOptions(
+                new JsonObject().put("minimumCalls", 1).put("openDuration", 60000)));
+        RpcHandler throwing = new RpcHandler() {
+            @Override
+            public String type() {
+                return "test";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                throw new IllegalStateException("closed");
+            }
+        };
+        RpcHandler handler = new CircuitBreakerRpcHandler(throwing, registry);
+        try {
+            handler.handle(request(port));
+            context.fail();
+        } catch (IllegalStateException e) {
+            //ignore
+        }
+        //异常记为失败
+        context.assertEquals(CircuitBreaker.State.OPEN,
+                             registry.find("localhost:" + port).state());
+    }
+
+    @Test
+    public void testInnerRejected(TestContext context) throws InterruptedException {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerOptions(
+                new JsonObject().put("minimumCalls", 1).put("openDuration", 10)
+                        .put("halfOpenCalls", 1)));
+        AtomicReference<Future<RpcResponse>> response = new AtomicReference<>();
+        RpcHandler inner = new RpcHandler() {
+            @Override
+            public String type() {
+                return "test";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                //内层收到的请求不带fallback
+                context.assertNull(((SimpleHttpRequest) rpcRequest).fallback());
+                return response.get();
+            }
+        };
+        RpcHandler handler = new CircuitBreakerRpcHandler(inner, registry);
+        response.set(Future.failedFuture(new RuntimeException("down")));
+        handler.handle(request(port));
+        CircuitBreaker circuitBreaker = registry.find("localhost:" + port);
+        context.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+
+        TimeUnit.MILLISECONDS.sleep(20);
+        //并发限制拒绝的探测请求不会关闭断路器，也不会占用探测许可
+        response.set(Future.failedFuture(SystemException.create(DefaultErrorCode.SERVICE_UNAVAILABLE)));
+        for (int i = 0; i < 3; i++) {
+            SimpleHttpRequest request = request(port);
+            RpcResponse fallback = RpcResponse.createJsonObject(
+                    request.id(), 200, new JsonObject().put("fallback", true), 0);
+            request.setFallback(fallback);
+            Future<RpcResponse> future = handler.handle(request);
+            context.assertTrue(future.succeeded());
+            context.assertTrue(future.result().responseObject().getBoolean("fallback"));
+            context.assertEquals(fallback, request.fallback());
+            context.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        }
+
+        response.set(Future.failedFuture(new RuntimeException("down")));
+        handler.handle(request(port));
+        context.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    private SimpleHttpRequest request(int port) {
+        SimpleHttpRequest request = SimpleHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setPort(port)
+                .setHost("localhost")
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.edgar615.gateway.core.rpc.circuitbreaker;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(100000);
+
+    private final CircuitBreakerOptions options = new CircuitBreakerOptions(new JsonObject()
+            .put("window", 1000)
+            .put("buckets", 10)
+            .put("minimumCalls", 4)
+            .put("failureRateThreshold", 50)
+            .put("openDuration", 500)
+            .put("halfOpenCalls", 2));
+
+    @Test
+    public void testOpen() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", options, clock::get);
+        long permit = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess(permit, 10);
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), 10);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        Assert.assertEquals(-1, circuitBreaker.tryAcquire());
+        Assert.assertEquals(1L, (long) circuitBreaker.metrics().getLong("rejected"));
+    }
+
+    @Test
+    public void testWindowExpired() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", options, clock::get);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        clock.addAndGet(1000);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        Assert.assertEquals(1L, (long) circuitBreaker.metrics().getLong("calls"));
+    }
+
+    @Test
+    public void testSlowCall() {
+        options.setSlowCallDuration(100).setSlowCallRateThreshold(50);
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", options, clock::get);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), 200);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    public void testHalfOpen() {
+        CircuitBreaker circuitBreaker = open();
+        clock.addAndGet(500);
+        long permit1 = circuitBreaker.tryAcquire();
+        long permit2 = circuitBreaker.tryAcquire();
+        Assert.assertTrue(permit1 >= 0);
+        Assert.assertTrue(permit2 >= 0);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        Assert.assertEquals(-1, circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess(permit1, 10);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        circuitBreaker.onSuccess(permit2, 10);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        Assert.assertEquals(0L, (long) circuitBreaker.metrics().getLong("calls"));
+    }
+
+    @Test
+    public void testHalfOpenTimeout() {
+        CircuitBreaker circuitBreaker = open();
+        clock.addAndGet(500);
+        //探测请求一直没有返回
+        long permit1 = circuitBreaker.tryAcquire();
+        long permit2 = circuitBreaker.tryAcquire();
+        Assert.assertEquals(-1, circuitBreaker.tryAcquire());
+        Assert.assertFalse(circuitBreaker.isCallPermitted());
+
+        //超过openDuration之后开始新一轮的探测
+        clock.addAndGet(500);
+        Assert.assertTrue(circuitBreaker.isCallPermitted());
+        long permit3 = circuitBreaker.tryAcquire();
+        Assert.assertTrue(permit3 > permit2);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        //上一轮的结果被忽略
+        circuitBreaker.onSuccess(permit1, 10);
+        circuitBreaker.onSuccess(permit2, 10);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        circuitBreaker.onSuccess(permit3, 10);
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), 10);
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    public void testHalfOpenFailed() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", options, clock::get);
+        //打开之前发出的请求，结果会被忽略
+        long stale = circuitBreaker.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        }
+        clock.addAndGet(500);
+        long permit = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess(stale, 10);
+        circuitBreaker.onFailure(permit, 10);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        Assert.assertEquals(-1, circuitBreaker.tryAcquire());
+    }
+
+    private CircuitBreaker open() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", options, clock::get);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure(circuitBreaker.tryAcquire(), 10);
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        return circuitBreaker;
+    }
+}
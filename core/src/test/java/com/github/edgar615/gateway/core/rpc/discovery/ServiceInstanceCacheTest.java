@@ -0,0 +1,104 @@
+package com.github.edgar615.gateway.core.rpc.discovery;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ServiceInstanceCacheTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testApply() {
+        ServiceInstanceCache cache = new ServiceInstanceCache();
+        List<HostAndPort> added = new ArrayList<>();
+        cache.addListener((service, instance) -> added.add(instance));
+        cache.apply(record("device", "1", "10.0.0.1", 8080, "UP"));
+        cache.apply(record("device", "2", "10.0.0.2", 8080, "UP"));
+        //重复的事件
+        cache.apply(record("device", "2", "10.0.0.2", 8080, "UP"));
+        Assert.assertEquals(2, cache.instances("device").size());
+        Assert.assertEquals(2, added.size());
+
+        cache.apply(record("device", "1", "10.0.0.1", 8080, "DOWN"));
+        Assert.assertEquals(1, cache.instances("device").size());
+        Assert.assertEquals(HostAndPort.fromParts("10.0.0.2", 8080),
+                            cache.instances("device").get(0));
+        cache.apply(record("device", "2", "10.0.0.2", 8080, "OUT_OF_SERVICE"));
+        Assert.assertTrue(cache.instances("device").isEmpty());
+        Assert.assertTrue(cache.instances("user").isEmpty());
+    }
+
+    @Test
+    public void testRemoveListener() {
+        ServiceInstanceCache cache = new ServiceInstanceCache();
+        List<HostAndPort> removed = new ArrayList<>();
+        cache.addRemoveListener((service, instance) -> removed.add(instance));
+        cache.apply(record("device", "1", "10.0.0.1", 8080, "UP"));
+        cache.apply(record("device", "2", "10.0.0.1", 8080, "UP"));
+        //另一个注册ID仍然使用这个地址
+        cache.apply(record("device", "1", "10.0.0.1", 8080, "DOWN"));
+        Assert.assertTrue(removed.isEmpty());
+        //地址变化
+        cache.apply(record("device", "2", "10.0.0.2", 8080, "UP"));
+        Assert.assertEquals(1, removed.size());
+        Assert.assertEquals(HostAndPort.fromParts("10.0.0.1", 8080), removed.get(0));
+        cache.apply(record("device", "2", "10.0.0.2", 8080, "DOWN"));
+        Assert.assertEquals(2, removed.size());
+        Assert.assertEquals(HostAndPort.fromParts("10.0.0.2", 8080), removed.get(1));
+    }
+
+    @Test
+    public void testDiscovery() {
+        JsonObject config = new JsonObject()
+                .put("services", new JsonObject()
+                        .put("device", new JsonArray()
+                                .add(new JsonObject().put("host", "10.0.0.1").put("port", 8080))));
+        JsonServiceDiscovery discovery = new JsonServiceDiscovery(vertx, config);
+        //新创建的缓存读取已经注册的实例
+        ServiceInstanceCache cache = ServiceInstanceCache.create(vertx, config);
+        Awaitility.await().until(() -> cache.instances("device").size() == 1);
+
+        String registration = discovery.register("device", "10.0.0.2", 8080);
+        Awaitility.await().until(() -> cache.instances("device").size() == 2);
+        discovery.unregister(registration);
+        Awaitility.await().until(() -> cache.instances("device").size() == 1);
+        Assert.assertEquals(new JsonArray().add("10.0.0.1:8080"),
+                            cache.metrics().getJsonArray("device"));
+        cache.close();
+        discovery.close();
+    }
+
+    private JsonObject record(String name, String registration, String host, int port,
+                              String status) {
+        return new JsonObject()
+                .put("name", name)
+                .put("registration", registration)
+                .put("status", status)
+                .put("location", new JsonObject().put("host", host).put("port", port));
+    }
+}
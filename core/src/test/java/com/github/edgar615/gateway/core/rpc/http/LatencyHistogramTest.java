@@ -0,0 +1,52 @@
+package com.github.edgar615.gateway.core.rpc.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucket() {
+        for (long latency = 0; latency < 100000; latency++) {
+            int bucket = LatencyHistogram.bucket(latency);
+            Assert.assertTrue(latency <= LatencyHistogram.upperBound(bucket));
+            if (bucket > 0) {
+                Assert.assertTrue(latency > LatencyHistogram.upperBound(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram(100000);
+        Assert.assertEquals(-1, histogram.percentile(95));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(100, histogram.count());
+        long p95 = histogram.percentile(95);
+        Assert.assertTrue(p95 >= 95 && p95 < 120);
+        long p50 = histogram.percentile(50);
+        Assert.assertTrue(p50 >= 50 && p50 < 63);
+    }
+
+    @Test
+    public void testDecay() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(1000);
+        Assert.assertEquals(50, histogram.count());
+        //新的样本逐渐占据主导
+        for (int i = 0; i < 200; i++) {
+            histogram.record(10);
+        }
+        Assert.assertTrue(histogram.percentile(50) < 20);
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import com.github.edgar615.gateway.core.rpc.RpcHandler;
+import com.github.edgar615.gateway.core.rpc.RpcRequest;
+import com.github.edgar615.gateway.core.rpc.RpcResponse;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRequest;
+import com.github.edgar615.gateway.core.rpc.http.SimpleHttpRpcHandlerFactory;
+import com.github.edgar615.util.exception.DefaultErrorCode;
+import com.github.edgar615.util.exception.SystemException;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class ConcurrencyLimitRpcHandlerTest {
+
+    private Vertx vertx;
+
+    private List<Future<RpcResponse>> pending;
+
+    private ConcurrencyLimitRpcHandler handler;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        pending = new ArrayList<>();
+        //请求一直挂起，直到测试手动完成
+        RpcHandler delegate = new RpcHandler() {
+            @Override
+            public String type() {
+                return "simple-http";
+            }
+
+            @Override
+            public Future<RpcResponse> handle(RpcRequest rpcRequest) {
+                Future<RpcResponse> future = Future.future();
+                pending.add(future);
+                return future;
+            }
+        };
+        handler = new ConcurrencyLimitRpcHandler(delegate, new ConcurrencyLimiterRegistry(
+                new ConcurrencyLimitOptions(new JsonObject()
+                                                    .put("initialLimit", 2)
+                                                    .put("minLimit", 1))));
+    }
+
+    @After
+    public void tearDown(TestContext context) {
+        vertx.close(context.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testWrap(TestContext context) {
+        context.assertTrue(new SimpleHttpRpcHandlerFactory()
+                                   .create(vertx, new JsonObject()
+                                           .put("concurrency.limit", new JsonObject()))
+                                   instanceof ConcurrencyLimitRpcHandler);
+        context.assertFalse(new SimpleHttpRpcHandlerFactory().create(vertx, new JsonObject())
+                                    instanceof ConcurrencyLimitRpcHandler);
+    }
+
+    @Test
+    public void testRejected(TestContext context) {
+        handler.handle(request(8080));
+        handler.handle(request(8080));
+        Future<RpcResponse> rejected = handler.handle(request(8080));
+        context.assertTrue(rejected.failed());
+        context.assertTrue(rejected.cause() instanceof SystemException);
+        context.assertEquals(DefaultErrorCode.SERVICE_UNAVAILABLE,
+                             ((SystemException) rejected.cause()).getErrorCode());
+        //其他下游服务不受影响
+        context.assertFalse(handler.handle(request(8081)).isComplete());
+
+        SimpleHttpRequest fallbackRequest = request(8080);
+        fallbackRequest.setFallback(RpcResponse.createJsonObject(
+                fallbackRequest.id(), 200, new JsonObject().put("fallback", true), 0));
+        Future<RpcResponse> fallback = handler.handle(fallbackRequest);
+        context.assertTrue(fallback.succeeded());
+        context.assertTrue(fallback.result().responseObject().getBoolean("fallback"));
+
+        pending.get(0).complete(RpcResponse.createJsonObject("1", 200, new JsonObject(), 10));
+        context.assertFalse(handler.handle(request(8080)).isComplete());
+        JsonObject metrics = handler.metrics().getJsonObject("localhost:8080");
+        context.assertEquals(2, metrics.getInteger("inFlight"));
+        context.assertEquals(2L, metrics.getLong("rejected"));
+    }
+
+    @Test
+    public void testDropped(TestContext context) {
+        handler.handle(request(8080));
+        handler.handle(request(8080));
+        pending.get(0).fail(new RuntimeException("connection refused"));
+        pending.get(1).complete(RpcResponse.createJsonObject("1", 503, new JsonObject(), 10));
+        JsonObject metrics = handler.metrics().getJsonObject("localhost:8080");
+        context.assertEquals(0, metrics.getInteger("inFlight"));
+        context.assertEquals(2L, metrics.getLong("dropped"));
+        context.assertEquals(1, metrics.getInteger("limit"));
+    }
+
+    private SimpleHttpRequest request(int port) {
+        SimpleHttpRequest request = SimpleHttpRequest.create(UUID.randomUUID().toString(), "device");
+        request.setPort(port)
+                .setHost("localhost")
+                .setPath("devices")
+                .setHttpMethod(HttpMethod.GET);
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.edgar615.gateway.core.rpc.limit;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimitOptions options = new ConcurrencyLimitOptions(new JsonObject()
+            .put("initialLimit", 10)
+            .put("minLimit", 2)
+            .put("maxLimit", 100)
+            .put("smoothing", 1.0)
+            .put("warmupSamples", 0));
+
+    @Test
+    public void testDefaultInitialLimit() {
+        Assert.assertEquals(20, new ConcurrencyLimitOptions(new JsonObject()).getInitialLimit());
+        Assert.assertEquals(50, new ConcurrencyLimitOptions(new JsonObject().put("minLimit", 50))
+                .getInitialLimit());
+        Assert.assertEquals(10, new ConcurrencyLimitOptions(new JsonObject().put("maxLimit", 10))
+                .getInitialLimit());
+        //与设置的顺序无关
+        ConcurrencyLimitOptions options = new ConcurrencyLimitOptions()
+                .setMinLimit(600).setMaxLimit(1000).setInitialLimit(800);
+        Assert.assertEquals(800, new ConcurrencyLimiter("test", options).limit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinLimitGreaterThanMaxLimit() {
+        new ConcurrencyLimitOptions(new JsonObject().put("minLimit", 50).put("maxLimit", 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitialLimitOutOfRange() {
+        new ConcurrencyLimitOptions(new JsonObject().put("initialLimit", 5).put("minLimit", 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateWhenCreated() {
+        new ConcurrencyLimiter("test", new ConcurrencyLimitOptions().setMinLimit(50).setMaxLimit(10));
+    }
+
+    @Test
+    public void testReject() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", options);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertFalse(limiter.tryAcquire());
+        Assert.assertEquals(10, limiter.inFlight());
+        Assert.assertEquals(1L, (long) limiter.metrics().getLong("rejected"));
+        limiter.release(10, false);
+        Assert.assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testIncreaseWhenLatencyIsStable() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", options);
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, 10);
+        }
+        Assert.assertTrue(limiter.limit() > 10);
+    }
+
+    @Test
+    public void testNotIncreaseWhenIdle() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", options);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(10, false);
+        }
+        Assert.assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    public void testDecreaseWhenLatencyRises() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", options);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(10, false);
+        }
+        int before = limiter.limit();
+        saturate(limiter, 100);
+        Assert.assertTrue(limiter.limit() < before);
+    }
+
+    @Test
+    public void testBackoff() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", options);
+        limiter.tryAcquire();
+        limiter.release(10, true);
+        Assert.assertEquals(9, limiter.limit());
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(10, true);
+        }
+        Assert.assertEquals(2, limiter.limit());
+        Assert.assertEquals(101L, (long) limiter.metrics().getLong("dropped"));
+    }
+
+    /**
+     * 占满所有的许可之后再全部释放.
+     */
+    private void saturate(ConcurrencyLimiter limiter, long rtt) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rtt, false);
+        }
+    }
+}
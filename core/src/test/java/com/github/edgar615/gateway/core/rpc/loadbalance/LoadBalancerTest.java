@@ -0,0 +1,140 @@
+package com.github.edgar615.gateway.core.rpc.loadbalance;
+
+import com.google.common.collect.Lists;
+import com.google.common.net.HostAndPort;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class LoadBalancerTest {
+
+    private final HostAndPort a = HostAndPort.fromParts("10.0.0.1", 8080);
+
+    private final HostAndPort b = HostAndPort.fromParts("10.0.0.2", 8080);
+
+    private final HostAndPort c = HostAndPort.fromParts("10.0.0.3", 8080);
+
+    private AtomicLong clock;
+
+    private UpstreamStatsRegistry registry;
+
+    @Before
+    public void setUp() {
+        clock = new AtomicLong(1000);
+        registry = new UpstreamStatsRegistry(TimeUnit.SECONDS.toNanos(10), clock::get);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        LoadBalancer loadBalancer = LoadBalancer.create("round-robin", registry);
+        List<HostAndPort> instances = Lists.newArrayList(a, b, c);
+        Map<HostAndPort, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            counts.merge(loadBalancer.select(instances), 1, Integer::sum);
+        }
+        Assert.assertEquals(10, counts.get(a), 0);
+        Assert.assertEquals(10, counts.get(b), 0);
+        Assert.assertEquals(10, counts.get(c), 0);
+    }
+
+    @Test
+    public void testRoundRobinSharedInstance() {
+        LoadBalancer loadBalancer = LoadBalancer.create("round-robin", registry);
+        //两组实例共用a，交替请求时每个实例仍然平均
+        List<HostAndPort> first = Lists.newArrayList(a, b);
+        List<HostAndPort> second = Lists.newArrayList(c, a);
+        Map<HostAndPort, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            counts.merge(loadBalancer.select(i % 2 == 0 ? first : second), 1, Integer::sum);
+        }
+        Assert.assertEquals(3, counts.size());
+        Assert.assertTrue(counts.get(b) >= 10);
+        Assert.assertTrue(counts.get(c) >= 10);
+    }
+
+    @Test
+    public void testRemove() {
+        record(a, TimeUnit.MILLISECONDS.toNanos(100));
+        Assert.assertTrue(registry.metrics().containsKey(a.toString()));
+        registry.remove(a);
+        Assert.assertFalse(registry.metrics().containsKey(a.toString()));
+        Assert.assertEquals(0, registry.stats(a).latency(), 0);
+    }
+
+    @Test
+    public void testP2c() {
+        LoadBalancer loadBalancer = LoadBalancer.create("p2c", registry);
+        List<HostAndPort> instances = Lists.newArrayList(a, b);
+        registry.stats(a).start();
+        registry.stats(a).start();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(b, loadBalancer.select(instances));
+        }
+    }
+
+    @Test
+    public void testPeakEwma() {
+        LoadBalancer loadBalancer = LoadBalancer.create("peak-ewma", registry);
+        List<HostAndPort> instances = Lists.newArrayList(a, b);
+        record(a, TimeUnit.MILLISECONDS.toNanos(200));
+        record(b, TimeUnit.MILLISECONDS.toNanos(10));
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(b, loadBalancer.select(instances));
+        }
+        //正在处理的请求也会增加成本
+        for (int i = 0; i < 30; i++) {
+            registry.stats(b).start();
+        }
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(a, loadBalancer.select(instances));
+        }
+    }
+
+    @Test
+    public void testEwma() {
+        UpstreamStats stats = registry.stats(a);
+        Assert.assertEquals(0, stats.cost(), 0);
+        long started = stats.start();
+        //没有延迟数据时，正在处理请求的实例成本很高
+        Assert.assertTrue(stats.cost() > TimeUnit.MILLISECONDS.toNanos(100));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        stats.end(started, false);
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(10), stats.latency(), 1);
+
+        //峰值直接生效
+        record(a, TimeUnit.MILLISECONDS.toNanos(100));
+        Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), stats.latency(), 1);
+        //衰减
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        Assert.assertTrue(stats.latency() < TimeUnit.MILLISECONDS.toNanos(40));
+
+        //失败
+        started = stats.start();
+        stats.end(started, true);
+        Assert.assertEquals(UpstreamStats.FAILURE_PENALTY, stats.latency(), 1);
+        Assert.assertEquals(1, stats.metrics().getLong("failures"), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStrategy() {
+        LoadBalancer.create("random", registry);
+    }
+
+    private void record(HostAndPort address, long rtt) {
+        UpstreamStats stats = registry.stats(address);
+        long started = stats.start();
+        clock.addAndGet(rtt);
+        stats.end(started, false);
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.definition.ApiDefinition;
+import com.github.edgar615.gateway.core.definition.SimpleHttpEndpoint;
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import com.github.edgar615.gateway.core.dispatch.Filter;
+import com.github.edgar615.gateway.core.dispatch.MockFilter1;
+import com.github.edgar615.gateway.core.dispatch.MockFilter2;
+import com.github.edgar615.gateway.core.dispatch.MockFilter3;
+import com.github.edgar615.gateway.core.dispatch.MockFilter4;
+import com.github.edgar615.gateway.core.plugin.order.OrderPlugin;
+import com.github.edgar615.util.vertx.task.Task;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+@RunWith(VertxUnitRunner.class)
+public class FilterPipelineTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown(TestContext testContext) {
+        vertx.close(testContext.asyncAssertSuccess());
+    }
+
+    private List<Filter> mockFilters() {
+        List<Filter> filters = Lists.newArrayList(new MockFilter1(), new MockFilter2(),
+                                                  new MockFilter3(), new MockFilter4());
+        Filters.sort(filters);
+        return filters;
+    }
+
+    @Test
+    public void testDoFilterSucceed(TestContext testContext) {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null, null);
+        apiContext.addVariable("mock1", true);
+        apiContext.addVariable("mock2", true);
+        apiContext.addVariable("mock3", true);
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+
+        AtomicInteger consumed = new AtomicInteger();
+        Async async = testContext.async();
+        FilterPipeline.compile(mockFilters(), null)
+                .doFilter(task, c -> consumed.incrementAndGet())
+                .andThen(context -> {
+                    //MockFilter4的shouldFilter返回false
+                    testContext.assertEquals(3, consumed.get());
+                    async.complete();
+                }).onFailure(e -> testContext.fail(e));
+    }
+
+    @Test
+    public void testDoFilterFailed(TestContext testContext) {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null, null);
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+
+        Async async = testContext.async();
+        FilterPipeline.compile(mockFilters(), null)
+                .doFilter(task)
+                .andThen(context -> testContext.fail())
+                .onFailure(e -> {
+                    testContext.assertTrue(e instanceof NullPointerException);
+                    async.complete();
+                });
+    }
+
+    @Test
+    public void testStaticFilter(TestContext testContext) {
+        SimpleHttpEndpoint endpoint = SimpleHttpEndpoint
+                .http("get_device", HttpMethod.GET, "/devices", 80, "localhost");
+        ApiDefinition withPlugin = ApiDefinition
+                .create("get_device", HttpMethod.GET, "/devices", Lists.newArrayList(endpoint));
+        withPlugin.addPlugin(new OrderPlugin(1));
+        ApiDefinition withoutPlugin = ApiDefinition
+                .create("get_device2", HttpMethod.GET, "/devices", Lists.newArrayList(endpoint));
+
+        List<Filter> filters = Lists.newArrayList(new PluginFilter(), new PluginFilter());
+        FilterPipelineCache cache = new FilterPipelineCache(filters);
+        Assert.assertEquals(2, cache.get(withPlugin).size());
+        Assert.assertEquals(0, cache.get(withoutPlugin).size());
+        Assert.assertSame(cache.get(withPlugin), cache.get(withPlugin));
+
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null, null);
+        apiContext.setApiDefinition(withPlugin);
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+        Async async = testContext.async();
+        cache.get(withPlugin).doFilter(task)
+                .andThen(context -> {
+                    testContext.assertEquals(2, context.variables().get("plugin"));
+                    async.complete();
+                }).onFailure(e -> testContext.fail(e));
+    }
+
+    @Test
+    public void testAsyncFilter(TestContext testContext) {
+        List<Filter> filters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            filters.add(new CountFilter(vertx));
+        }
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null, null);
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+        Async async = testContext.async();
+        FilterPipeline.compile(filters, null).doFilter(task)
+                .andThen(context -> {
+                    testContext.assertEquals(10, context.variables().get("count"));
+                    async.complete();
+                }).onFailure(e -> testContext.fail(e));
+    }
+
+    @Test
+    public void testManySyncFilters(TestContext testContext) {
+        List<Filter> filters = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            filters.add(new CountFilter(null));
+        }
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/devices", null, null, null);
+        Task<ApiContext> task = Task.create();
+        task.complete(apiContext);
+        Async async = testContext.async();
+        FilterPipeline.compile(filters, null).doFilter(task)
+                .andThen(context -> {
+                    testContext.assertEquals(10000, context.variables().get("count"));
+                    async.complete();
+                }).onFailure(e -> testContext.fail(e));
+    }
+
+    @Test
+    public void testNeedResponseBody() {
+        Assert.assertFalse(FilterPipeline.compile(mockFilters(), null).needResponseBody());
+        Filter postFilter = new CountFilter(null) {
+            @Override
+            public String type() {
+                return POST;
+            }
+        };
+        Assert.assertTrue(FilterPipeline.compile(Lists.newArrayList(postFilter), null)
+                                  .needResponseBody());
+        Filter headerFilter = new CountFilter(null) {
+            @Override
+            public String type() {
+                return POST;
+            }
+
+            @Override
+            public boolean needResponseBody() {
+                return false;
+            }
+        };
+        Assert.assertFalse(FilterPipeline.compile(Lists.newArrayList(headerFilter), null)
+                                   .needResponseBody());
+    }
+
+    private static class PluginFilter implements Filter {
+
+        @Override
+        public String type() {
+            return PRE;
+        }
+
+        @Override
+        public int order() {
+            return 0;
+        }
+
+        @Override
+        public Boolean shouldFilterStatically(ApiDefinition apiDefinition) {
+            return apiDefinition != null
+                   && apiDefinition.plugin(OrderPlugin.class.getSimpleName()) != null;
+        }
+
+        @Override
+        public boolean shouldFilter(ApiContext apiContext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+            int count = (int) apiContext.variables().getOrDefault("plugin", 0);
+            apiContext.addVariable("plugin", count + 1);
+            completeFuture.complete(apiContext);
+        }
+    }
+
+    private static class CountFilter implements Filter {
+
+        private final Vertx vertx;
+
+        private CountFilter(Vertx vertx) {
+            this.vertx = vertx;
+        }
+
+        @Override
+        public String type() {
+            return PRE;
+        }
+
+        @Override
+        public int order() {
+            return 0;
+        }
+
+        @Override
+        public boolean shouldFilter(ApiContext apiContext) {
+            return true;
+        }
+
+        @Override
+        public void doFilter(ApiContext apiContext, Future<ApiContext> completeFuture) {
+            int count = (int) apiContext.variables().getOrDefault("count", 0);
+            apiContext.addVariable("count", count + 1);
+            if (vertx == null) {
+                completeFuture.complete(apiContext);
+            } else {
+                vertx.setTimer(1, l -> completeFuture.complete(apiContext));
+            }
+        }
+    }
+}
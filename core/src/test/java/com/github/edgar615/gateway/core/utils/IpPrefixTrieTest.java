@@ -0,0 +1,183 @@
+package com.github.edgar615.gateway.core.utils;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
+
+import com.github.edgar615.gateway.core.dispatch.ApiContext;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class IpPrefixTrieTest {
+
+    @Test
+    public void testParse() {
+        Assert.assertEquals(3232235777L, IpAddress.parse("192.168.1.1").toLong());
+        Assert.assertTrue(IpAddress.parse("::ffff:192.168.1.1").ipv4());
+        Assert.assertFalse(IpAddress.parse("2001:db8::1").ipv4());
+        Assert.assertEquals(-1, IpAddress.parse("[2001:db8::1]").toLong());
+        Assert.assertNull(IpAddress.parse("192.168.1"));
+        Assert.assertNull(IpAddress.parse("abc"));
+        Assert.assertNull(IpAddress.parse(null));
+    }
+
+    @Test
+    public void testMatch() {
+        IpPrefixTrie trie = new IpPrefixTrie()
+                .add("192.168.1.3", 1)
+                .add("172.*", 1)
+                .add("10.4.7.*", 2)
+                .add("10.0.0.0/8", 4)
+                .add("2001:db8::/32", 8);
+        Assert.assertEquals(5, trie.size());
+        Assert.assertEquals(1, trie.match(IpAddress.parse("192.168.1.3")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("192.168.1.4")));
+        Assert.assertEquals(1, trie.match(IpAddress.parse("172.16.0.1")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("173.16.0.1")));
+        Assert.assertEquals(6, trie.match(IpAddress.parse("10.4.7.15")));
+        Assert.assertEquals(4, trie.match(IpAddress.parse("10.4.8.15")));
+        Assert.assertEquals(8, trie.match(IpAddress.parse("2001:db8:1::1")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("2001:db9::1")));
+        Assert.assertEquals(1, trie.match(IpAddress.parse("::ffff:192.168.1.3")));
+        Assert.assertEquals(0, trie.match(null));
+    }
+
+    @Test
+    public void testMatchAll() {
+        IpPrefixTrie trie = new IpPrefixTrie().add("*", 1);
+        Assert.assertEquals(1, trie.matchAll());
+        Assert.assertTrue(trie.contains(IpAddress.parse("8.8.8.8")));
+        Assert.assertTrue(trie.contains(IpAddress.parse("::1")));
+    }
+
+    @Test
+    public void testRange() {
+        IpPrefixTrie trie = new IpPrefixTrie().add("10.0.0.5-10.0.1.10", 1);
+        Assert.assertFalse(trie.contains(IpAddress.parse("10.0.0.4")));
+        Assert.assertTrue(trie.contains(IpAddress.parse("10.0.0.5")));
+        Assert.assertTrue(trie.contains(IpAddress.parse("10.0.0.255")));
+        Assert.assertTrue(trie.contains(IpAddress.parse("10.0.1.10")));
+        Assert.assertFalse(trie.contains(IpAddress.parse("10.0.1.11")));
+
+        trie = new IpPrefixTrie().add("0.0.0.0-255.255.255.255", 1);
+        Assert.assertTrue(trie.contains(IpAddress.parse("1.2.3.4")));
+        Assert.assertFalse(trie.contains(IpAddress.parse("::1")));
+
+        trie = new IpPrefixTrie().add("2001:db8::1-2001:db8::ff", 1);
+        Assert.assertTrue(trie.contains(IpAddress.parse("2001:db8::80")));
+        Assert.assertFalse(trie.contains(IpAddress.parse("2001:db8::100")));
+    }
+
+    @Test
+    public void testMiddleWildcard() {
+        IpPrefixTrie trie = new IpPrefixTrie().add("10.*.7.1", 1);
+        Assert.assertTrue(trie.contains(IpAddress.parse("10.200.7.1")));
+        Assert.assertFalse(trie.contains(IpAddress.parse("10.200.7.2")));
+    }
+
+    @Test
+    public void testDeepWildcard() {
+        //超过1个中间通配符的规则不展开，逐条比较
+        IpPrefixTrie trie = new IpPrefixTrie().add("*.*.*.1", 1).add("10.*.*.*", 2)
+                .add("*.168.*.5", 4);
+        Assert.assertEquals(1, trie.match(IpAddress.parse("8.8.8.1")));
+        Assert.assertEquals(3, trie.match(IpAddress.parse("10.0.0.1")));
+        Assert.assertEquals(4, trie.match(IpAddress.parse("192.168.3.5")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("192.167.3.5")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("::1")));
+    }
+
+    @Test
+    public void testTwoMiddleWildcards() {
+        IpPrefixTrie trie = new IpPrefixTrie();
+        for (int i = 1; i <= 5; i++) {
+            trie.add(i + ".*.*.1", 1 << i);
+        }
+        Assert.assertEquals(1 << 3, trie.match(IpAddress.parse("3.100.200.1")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("3.100.200.2")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("6.100.200.1")));
+        //没有展开，前缀树中只有两个根节点
+        Assert.assertEquals(2, trie.nodes());
+    }
+
+    @Test
+    public void testPartialRule() {
+        IpPrefixTrie trie = new IpPrefixTrie().add("192.168.1", 1).add("172.16", 2);
+        Assert.assertEquals(1, trie.match(IpAddress.parse("192.168.1.20")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("192.168.2.20")));
+        Assert.assertEquals(2, trie.match(IpAddress.parse("172.16.8.9")));
+        Assert.assertEquals(0, trie.match(IpAddress.parse("172.17.8.9")));
+    }
+
+    @Test
+    public void testAddAllIgnoreInvalid() {
+        IpPrefixTrie trie = new IpPrefixTrie()
+                .addAll(Lists.newArrayList("abc", "10.0.0.300", "192.168.1.3"), 1);
+        Assert.assertEquals(1, trie.size());
+        Assert.assertTrue(trie.contains(IpAddress.parse("192.168.1.3")));
+    }
+
+    @Test
+    public void testInvalidRule() {
+        for (String rule : Lists.newArrayList("abc", "10.0.0.0/33", "10.0.0.300",
+                                              "10.0.0.2-10.0.0.1", "*.*.*.a", "10.0.0.1-::1")) {
+            try {
+                new IpPrefixTrie().add(rule, 1);
+                Assert.fail(rule);
+            } catch (IllegalArgumentException e) {
+                //ignore
+            }
+        }
+    }
+
+    @Test
+    public void testLargeList() {
+        List<String> blacklist = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            blacklist.add("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+        }
+        IpPrefixTrie trie = new IpPrefixTrie().addAll(blacklist, 1);
+        Assert.assertEquals(50000, trie.size());
+        Assert.assertTrue(trie.contains(IpAddress.parse("10.0.195.79")));
+        Assert.assertFalse(trie.contains(IpAddress.parse("10.0.195.80")));
+    }
+
+    @Test
+    public void testAccessRules() {
+        IpAccessRules rules = IpAccessRules.compile(Lists.newArrayList("192.168.1.*"),
+                                                    Lists.newArrayList("192.168.0.0/16",
+                                                                       "10.4.7.15"));
+        Assert.assertTrue(rules.permits(IpAddress.parse("192.168.1.100")));
+        Assert.assertFalse(rules.permits(IpAddress.parse("192.168.2.100")));
+        Assert.assertFalse(rules.permits(IpAddress.parse("10.4.7.15")));
+        Assert.assertTrue(rules.permits(IpAddress.parse("10.4.7.16")));
+        Assert.assertTrue(rules.permits(null));
+
+        rules = IpAccessRules.compile(Lists.newArrayList("10.4.7.*"), Lists.newArrayList("*"));
+        Assert.assertTrue(rules.permits(IpAddress.parse("10.4.7.1")));
+        Assert.assertFalse(rules.permits(IpAddress.parse("10.4.8.1")));
+        Assert.assertFalse(rules.permits(IpAddress.parse("::1")));
+        Assert.assertFalse(rules.permits(null));
+    }
+
+    @Test
+    public void testClientAddress() {
+        ApiContext apiContext = ApiContext.create(HttpMethod.GET, "/", ArrayListMultimap.create(),
+                                                  ArrayListMultimap.create(), null);
+        Assert.assertNull(IpAddress.clientAddress(apiContext));
+        apiContext.addVariable("request_clientIp", "10.4.7.15");
+        IpAddress address = IpAddress.clientAddress(apiContext);
+        Assert.assertEquals(IpAddress.parse("10.4.7.15"), address);
+        Assert.assertSame(address, IpAddress.clientAddress(apiContext));
+        apiContext.addVariable("request_clientIp", "10.4.7.16");
+        Assert.assertEquals(IpAddress.parse("10.4.7.16"), IpAddress.clientAddress(apiContext));
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class JsonBuffersTest {
+
+    @Test
+    public void testType() {
+        Assert.assertEquals(JsonBuffers.OBJECT, JsonBuffers.type(Buffer.buffer("{}")));
+        Assert.assertEquals(JsonBuffers.OBJECT, JsonBuffers.type(Buffer.buffer(" \r\n\t{} \n")));
+        Assert.assertEquals(JsonBuffers.ARRAY, JsonBuffers.type(Buffer.buffer("  [1, 2]\n")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("   ")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("{")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("{]")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("\"foo\"")));
+        Assert.assertEquals(JsonBuffers.UNKNOWN, JsonBuffers.type(Buffer.buffer("1")));
+    }
+
+    @Test
+    public void testDecodeObject() {
+        JsonObject jsonObject = JsonBuffers.decodeObject(
+                Buffer.buffer("\n {\"foo\":\"中文\",\"bar\":{\"id\":1},\"list\":[1,2]}\t"));
+        Assert.assertEquals("中文", jsonObject.getString("foo"));
+        Assert.assertEquals(1, jsonObject.getJsonObject("bar").getInteger("id"), 0);
+        Assert.assertEquals(2, jsonObject.getJsonArray("list").size());
+    }
+
+    @Test
+    public void testDecodeArray() {
+        JsonArray jsonArray = JsonBuffers.decodeArray(
+                Buffer.buffer(" [{\"id\":1},{\"id\":2}] "));
+        Assert.assertEquals(2, jsonArray.size());
+        Assert.assertEquals(2, jsonArray.getJsonObject(1).getInteger("id"), 0);
+    }
+
+    @Test
+    public void testDecodeDirectAndSlicedBuffer() {
+        byte[] bytes = "xx {\"foo\":\"bar\"} yy".getBytes(StandardCharsets.UTF_8);
+        Buffer direct = Buffer.buffer(Unpooled.directBuffer().writeBytes(bytes));
+        Buffer sliced = direct.slice(2, bytes.length - 2);
+        Assert.assertEquals(JsonBuffers.OBJECT, JsonBuffers.type(sliced));
+        Assert.assertEquals("bar", JsonBuffers.decodeObject(sliced).getString("foo"));
+
+        Buffer heapSliced = Buffer.buffer(bytes).slice(2, bytes.length - 2);
+        Assert.assertEquals("bar", JsonBuffers.decodeObject(heapSliced).getString("foo"));
+    }
+
+    @Test
+    public void testDecodePartlyReadBuffer() {
+        byte[] bytes = "  {\"foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8);
+        Buffer heap = Buffer.buffer(Unpooled.buffer().writeBytes(bytes).readerIndex(1));
+        Assert.assertEquals(JsonBuffers.OBJECT, JsonBuffers.type(heap));
+        Assert.assertEquals("bar", JsonBuffers.decodeObject(heap).getString("foo"));
+
+        Buffer direct = Buffer.buffer(Unpooled.directBuffer().writeBytes(bytes).readerIndex(1));
+        Assert.assertEquals("bar", JsonBuffers.decodeObject(direct).getString("foo"));
+
+        Buffer sliced = Buffer.buffer(
+                Unpooled.wrappedBuffer(("x [1, 2] ").getBytes(StandardCharsets.UTF_8))
+                        .readerIndex(1).slice());
+        Assert.assertEquals(JsonBuffers.ARRAY, JsonBuffers.type(sliced));
+        Assert.assertEquals(2, JsonBuffers.decodeArray(sliced).size());
+    }
+
+    @Test(expected = DecodeException.class)
+    public void testInvalidJson() {
+        JsonBuffers.decodeObject(Buffer.buffer("{foo}"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.edgar615.gateway.core.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class PathTokenizerTest {
+
+    @Test
+    public void testTokenize() {
+        String path = "//devices/123//abc/";
+        int end = path.length();
+        int start = PathTokenizer.nextSegment(path, 0, end);
+        Assert.assertEquals(2, start);
+        int segmentEnd = PathTokenizer.segmentEnd(path, start, end);
+        Assert.assertEquals("devices", path.substring(start, segmentEnd));
+        start = PathTokenizer.nextSegment(path, segmentEnd, end);
+        segmentEnd = PathTokenizer.segmentEnd(path, start, end);
+        Assert.assertEquals("123", path.substring(start, segmentEnd));
+        start = PathTokenizer.nextSegment(path, segmentEnd, end);
+        segmentEnd = PathTokenizer.segmentEnd(path, start, end);
+        Assert.assertEquals("abc", path.substring(start, segmentEnd));
+        Assert.assertEquals(end, PathTokenizer.nextSegment(path, segmentEnd, end));
+    }
+
+    @Test
+    public void testSegmentCount() {
+        Assert.assertEquals(0, PathTokenizer.segmentCount(""));
+        Assert.assertEquals(0, PathTokenizer.segmentCount("/"));
+        Assert.assertEquals(1, PathTokenizer.segmentCount("/devices"));
+        Assert.assertEquals(3, PathTokenizer.segmentCount("//devices/123//abc/"));
+    }
+}
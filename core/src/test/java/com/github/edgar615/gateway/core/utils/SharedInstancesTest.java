@@ -0,0 +1,73 @@
+package com.github.edgar615.gateway.core.utils;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Edgar on 2026/10/18.
+ *
+ * @author Edgar  Date 2026/10/18
+ */
+public class SharedInstancesTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testFirstConfigWins() {
+        AtomicInteger created = new AtomicInteger();
+        JsonObject first = new JsonObject().put("maxKeys", 10);
+        JsonObject shared = SharedInstances.getOrCreate(vertx, "test", first, () -> {
+            created.incrementAndGet();
+            return first.copy();
+        });
+        JsonObject same = SharedInstances.getOrCreate(vertx, "test", first.copy(), () -> {
+            created.incrementAndGet();
+            return new JsonObject();
+        });
+        JsonObject ignored = SharedInstances.getOrCreate(vertx, "test",
+                                                         new JsonObject().put("maxKeys", 20), () -> {
+                    created.incrementAndGet();
+                    return new JsonObject();
+                });
+        Assert.assertEquals(1, created.get());
+        Assert.assertSame(shared, same);
+        Assert.assertSame(shared, ignored);
+        Assert.assertEquals(10, ignored.getInteger("maxKeys"), 0);
+    }
+
+    @Test
+    public void testDifferentKey() {
+        Object first = SharedInstances.getOrCreate(vertx, "first", null, Object::new);
+        Object second = SharedInstances.getOrCreate(vertx, "second", null, Object::new);
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first, SharedInstances.getOrCreate(vertx, "first", null, Object::new));
+    }
+
+    @Test
+    public void testSharedPerVertx() {
+        Vertx other = Vertx.vertx();
+        try {
+            Object first = SharedInstances.getOrCreate(vertx, "test", null, Object::new);
+            Object second = SharedInstances.getOrCreate(other, "test", null, Object::new);
+            Assert.assertNotSame(first, second);
+        } finally {
+            other.close();
+        }
+    }
+}